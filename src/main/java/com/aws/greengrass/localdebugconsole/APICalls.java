@@ -8,7 +8,8 @@ package com.aws.greengrass.localdebugconsole;
 public enum APICalls {
 
     /**
-     * Called by the client on startup to self-identify its sockets.
+     * Called by the client on startup to self-identify its sockets. Takes the username and password, and optionally
+     * "cbor" as a third argument to switch the connection to binary CBOR frames in both directions.
      */
     init,
     /**
@@ -73,15 +74,37 @@ public enum APICalls {
     unsubscribeToComponentLogs,
 
     /**
-     * Utility called by the client to get the current list of services.
+     * Searches the current and rotated log files of one component. Takes a JSON LogSearchRequest and returns one
+     * LogSearchPage, whose nextCursor is passed back to get the following page.
+     */
+    searchComponentLogs,
+
+    /**
+     * Utility called by the client to get the current list of services. Clients subscribed to component list deltas
+     * receive a full snapshot instead, which is also how they resync after missing a delta.
      */
     forcePushComponentList,
 
+    /**
+     * Switches the client from full component list pushes to deltas against the last version it received.
+     */
+    subscribeToComponentListDeltas,
+
+    /**
+     * Switches the client back to full component list pushes.
+     */
+    unsubscribeToComponentListDeltas,
+
     /**
      * Utility called by the client to get the current wireframe dependency graph.
      */
     forcePushDependencyGraph,
 
+    /**
+     * Returns server metrics in the form of a ServerMetrics object, including the outbound queue of every connection.
+     */
+    getServerMetrics,
+
     /**
      * Utility called by the client to subscribe to a local IPC topic.
      */
@@ -112,16 +135,58 @@ public enum APICalls {
      */
     streamManagerDeleteMessageStream,
 
+    /**
+     * Describes several message streams with one call, all streams if no names are given. Streams which were
+     * deleted in the meantime are left out.
+     */
+    streamManagerDescribeStreams,
+
     /**
      * Read message(s) from a chosen stream with options. If no options are specified it will try to read 1 message from the stream.
      */
     streamManagerReadMessages,
 
+    /**
+     * Reads one page of a stream as message summaries, each with the size and only the start of its payload. Takes
+     * a JSON StreamMessagesRequest and returns a StreamMessagesPage whose nextCursor continues with the next page.
+     */
+    streamManagerReadMessagesPage,
+
+    /**
+     * Reads the full payload of one message, for a summary of streamManagerReadMessagesPage which was truncated.
+     * Takes the stream name and the sequence number.
+     */
+    streamManagerReadMessagePayload,
+
+    /**
+     * Pushes new messages of a stream as STREAM_MESSAGES batches until the client stops the tail or disconnects.
+     * Takes the stream name and optionally the sequence number to start at, otherwise the newest few messages are
+     * pushed first.
+     */
+    streamManagerTailStream,
+
+    /**
+     * Stops pushing messages of a stream which was tailed with streamManagerTailStream.
+     */
+    streamManagerStopTailStream,
+
     /**
      * Append a message into the specified message stream.
      */
     streamManagerAppendMessage,
 
+    /**
+     * Appends many messages to a stream on a worker. Takes a JSON StreamAppendRequest with the payloads or a
+     * template to generate them from, and returns a StreamAppendProgress with the job id. The progress and throughput
+     * of the job are then pushed as STREAM_APPEND_PROGRESS messages until it is done.
+     */
+    streamManagerAppendMessages,
+
+    /**
+     * Stops an append job which was started with streamManagerAppendMessages. Takes the job id.
+     */
+    streamManagerStopAppendMessages,
+
     /**
      * Create a message stream with a given definition.
      */
@@ -16,4 +16,14 @@ public interface Authenticator {
      * @return true if it is valid
      */
     boolean isUsernameAndPasswordValid(Pair<String, String> usernameAndPassword);
+
+    /**
+     * Validate the session cookie which was issued when the dashboard page was loaded
+     *
+     * @param cookieHeader value of the Cookie header, may be null
+     * @return true if it carries a valid session
+     */
+    default boolean isSessionValid(String cookieHeader) {
+        return false;
+    }
 }
@@ -0,0 +1,648 @@
+/*
+ * Copyright Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package com.aws.greengrass.localdebugconsole;
+
+import com.aws.greengrass.localdebugconsole.messageutils.LogLevel;
+import com.aws.greengrass.localdebugconsole.messageutils.LogSearchLine;
+import com.aws.greengrass.localdebugconsole.messageutils.LogSearchPage;
+import com.aws.greengrass.localdebugconsole.messageutils.LogSearchRequest;
+import com.aws.greengrass.util.Utils;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.InvalidPathException;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.time.DateTimeException;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Base64;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.function.Function;
+import java.util.regex.Pattern;
+
+/**
+ * Searches the current and rotated log files of a component without loading them into the heap. The first search of
+ * a file builds a sparse index with the offset, timestamp and level of every {@value #BLOCK_LINES}th line by scanning
+ * a memory mapping of the file, and later searches only index what was appended since. A search then binary searches
+ * the index for the block where the time range starts and decodes the lines of the blocks it reads straight from the
+ * mapping, which the index keeps for the next search. Pages are returned with an opaque cursor which points at the
+ * next line to read.
+ */
+class ComponentLogSearch {
+    static final int DEFAULT_PAGE_SIZE = 200;
+    static final int MAX_PAGE_SIZE = 1000;
+    // bounds the work of one call, a page which hits it is returned early with a cursor
+    static final int MAX_SCANNED_LINES_PER_PAGE = 1_000_000;
+    private static final int MAX_LINE_BYTES = 16 * 1024;
+    // the level of the text format is within the first bytes of a line
+    private static final int TEXT_HEADER_BYTES = 128;
+    private static final long MAX_MAP_BYTES = Integer.MAX_VALUE;
+    // lines per entry of an index, a search decodes at most this many lines which it doesn't return
+    static final int BLOCK_LINES = 64;
+    // indexes of the most recently searched files are kept, each with a mapping of its file
+    static final int MAX_INDEXED_FILES = 32;
+    private static final long NO_TIMESTAMP = Long.MIN_VALUE;
+    private static final String[] LEVEL_NAMES = {"TRACE", "DEBUG", "INFO", "WARN", "ERROR"};
+    private static final int[] LEVEL_VALUES = {LogLevel.TRACE, LogLevel.DEBUG, LogLevel.INFO, LogLevel.WARN,
+            LogLevel.ERROR};
+    private static final byte[] JSON_LEVEL = "\"level\":\"".getBytes(StandardCharsets.UTF_8);
+    private static final byte[] JSON_TIMESTAMP = "\"timestamp\":".getBytes(StandardCharsets.UTF_8);
+
+    private final Function<String, Path> logFiles;
+    // least recently searched file first, so that its index is dropped when too many files are searched
+    private final Map<Path, LogFileIndex> indexes =
+            new LinkedHashMap<Path, LogFileIndex>(MAX_INDEXED_FILES, 0.75f, true) {
+                private static final long serialVersionUID = 1L;
+
+                @Override
+                protected boolean removeEldestEntry(Map.Entry<Path, LogFileIndex> eldest) {
+                    return size() > MAX_INDEXED_FILES;
+                }
+            };
+
+    /**
+     * Constructor.
+     *
+     * @param logFiles finds the current log file of a component, returning null if there is none
+     */
+    ComponentLogSearch(Function<String, Path> logFiles) {
+        this.logFiles = logFiles;
+    }
+
+    /**
+     * Finds one page of lines which match the request.
+     *
+     * @param request the query
+     * @return the page
+     * @throws IOException if the log files can't be read
+     */
+    LogSearchPage search(LogSearchRequest request) throws IOException {
+        if (Utils.isEmpty(request.getComponent())) {
+            return LogSearchPage.failure("Component is required");
+        }
+        Path current;
+        try {
+            current = logFiles.apply(request.getComponent());
+        } catch (InvalidPathException e) {
+            return LogSearchPage.failure("Invalid component name");
+        }
+        if (current == null) {
+            return LogSearchPage.failure("Logs of " + request.getComponent() + " are not written to files");
+        }
+        List<Path> files = listLogFiles(current);
+        // forget the indexes of files which were deleted by the log rotation
+        synchronized (indexes) {
+            indexes.keySet().removeIf(path -> !Files.exists(path));
+        }
+
+        boolean newestFirst = request.isNewestFirst();
+        int step = newestFirst ? -1 : 1;
+        long start = request.getStartTime() == null ? Long.MIN_VALUE : request.getStartTime();
+        long end = request.getEndTime() == null ? Long.MAX_VALUE : request.getEndTime();
+        int limit = request.getLimit() <= 0 ? DEFAULT_PAGE_SIZE : Math.min(request.getLimit(), MAX_PAGE_SIZE);
+        byte[] needle = Utils.isEmpty(request.getContains()) ? null
+                : request.getContains().getBytes(StandardCharsets.UTF_8);
+
+        int fileIdx = newestFirst ? files.size() - 1 : 0;
+        int resumeLine = -1;
+        if (request.getCursor() != null) {
+            Cursor cursor = Cursor.decode(request.getCursor());
+            if (cursor == null) {
+                return LogSearchPage.failure("Invalid cursor");
+            }
+            int idx = indexOfFile(files, cursor.file);
+            LogFileIndex index = idx < 0 ? null : index(files.get(idx));
+            if (index != null && index.fileKey.equals(cursor.fileKey) && cursor.line <= index.snapshot().lineCount) {
+                fileIdx = idx;
+                resumeLine = cursor.line;
+            } else if (newestFirst) {
+                // the file was rotated since the previous page, continue by time instead
+                end = Math.min(end, cursor.timestamp);
+            } else {
+                start = Math.max(start, cursor.timestamp);
+            }
+        }
+
+        List<LogSearchLine> lines = new ArrayList<>();
+        long scanned = 0;
+        String nextCursor = null;
+        files:
+        for (; fileIdx >= 0 && fileIdx < files.size(); fileIdx += step) {
+            Path file = files.get(fileIdx);
+            LogFileIndex index;
+            try {
+                index = index(file);
+            } catch (NoSuchFileException e) {
+                continue;
+            }
+            LogFileIndex.Snapshot snapshot = index.snapshot();
+            if (snapshot.lineCount == 0 || snapshot.maxTimestamp < start || snapshot.minTimestamp > end) {
+                continue;
+            }
+            int line;
+            if (resumeLine >= 0) {
+                line = resumeLine;
+                resumeLine = -1;
+            } else {
+                line = newestFirst ? snapshot.lastLineUntil(end) : snapshot.firstLineFrom(start);
+            }
+            BlockReader reader = new BlockReader(index, snapshot, newestFirst);
+            for (; line >= 0 && line < snapshot.lineCount; line += step) {
+                int at = reader.seek(line);
+                long timestamp = reader.timestamps[at];
+                if (lines.size() >= limit || scanned >= MAX_SCANNED_LINES_PER_PAGE) {
+                    nextCursor = new Cursor(file.getFileName().toString(), index.fileKey, line, timestamp).encode();
+                    break files;
+                }
+                if (newestFirst ? timestamp < start : timestamp > end) {
+                    // the logs are in time order, so nothing later can match
+                    break files;
+                }
+                scanned++;
+                if (timestamp < start || timestamp > end || reader.levels[at] < request.getMinLevel()) {
+                    continue;
+                }
+                Window window = reader.window;
+                int from = window.relative(reader.offsets[at]);
+                int to = window.relative(reader.offsets[at + 1]);
+                if (needle != null && indexOf(window.buffer, from, to, needle) < 0) {
+                    continue;
+                }
+                lines.add(new LogSearchLine(file.getFileName().toString(), timestamp == NO_TIMESTAMP ? 0 : timestamp,
+                        reader.levels[at], decode(window.buffer, from, to)));
+            }
+        }
+        return new LogSearchPage(true, null, lines.toArray(new LogSearchLine[0]), nextCursor, scanned);
+    }
+
+    /**
+     * Lists the rotated log files of a component from oldest to newest, followed by its current log file.
+     */
+    private static List<Path> listLogFiles(Path current) throws IOException {
+        String fileName = current.getFileName().toString();
+        String base = fileName.endsWith(".log") ? fileName.substring(0, fileName.length() - 4) : fileName;
+        Pattern rotated = Pattern.compile(Pattern.quote(base) + "_\\d{4}_\\d{2}_\\d{2}_\\d{2}_\\d+\\.log");
+        Map<Path, Long> modified = new HashMap<>();
+        try (DirectoryStream<Path> stream = Files.newDirectoryStream(current.getParent())) {
+            for (Path path : stream) {
+                if (rotated.matcher(path.getFileName().toString()).matches()) {
+                    modified.put(path, Files.getLastModifiedTime(path).toMillis());
+                }
+            }
+        } catch (NoSuchFileException e) {
+            return Collections.emptyList();
+        }
+        List<Path> files = new ArrayList<>(modified.keySet());
+        files.sort((a, b) -> {
+            int byTime = Long.compare(modified.get(a), modified.get(b));
+            return byTime == 0 ? a.compareTo(b) : byTime;
+        });
+        if (Files.exists(current)) {
+            files.add(current);
+        }
+        return files;
+    }
+
+    private static int indexOfFile(List<Path> files, String fileName) {
+        for (int i = 0; i < files.size(); i++) {
+            if (files.get(i).getFileName().toString().equals(fileName)) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * Gets the index of a file, building it or extending it with the lines appended since it was last used.
+     */
+    private LogFileIndex index(Path file) throws IOException {
+        BasicFileAttributes attributes = Files.readAttributes(file, BasicFileAttributes.class);
+        String fileKey = Objects.toString(attributes.fileKey(), "");
+        LogFileIndex index;
+        synchronized (indexes) {
+            index = indexes.get(file);
+            if (index == null || !index.fileKey.equals(fileKey) || attributes.size() < index.snapshot().indexedBytes) {
+                index = new LogFileIndex(file, fileKey);
+                indexes.put(file, index);
+            }
+        }
+        index.extend(attributes.size());
+        return index;
+    }
+
+    private static int indexOf(ByteBuffer buffer, int from, int to, byte[] needle) {
+        outer:
+        for (int i = from; i <= to - needle.length; i++) {
+            for (int j = 0; j < needle.length; j++) {
+                if (buffer.get(i + j) != needle[j]) {
+                    continue outer;
+                }
+            }
+            return i;
+        }
+        return -1;
+    }
+
+    private static boolean startsWith(ByteBuffer buffer, int at, int to, String prefix) {
+        if (at + prefix.length() > to) {
+            return false;
+        }
+        for (int i = 0; i < prefix.length(); i++) {
+            if (buffer.get(at + i) != prefix.charAt(i)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static String decode(ByteBuffer buffer, int from, int to) {
+        while (to > from && (buffer.get(to - 1) == '\n' || buffer.get(to - 1) == '\r')) {
+            to--;
+        }
+        byte[] bytes = new byte[Math.min(to - from, MAX_LINE_BYTES)];
+        ByteBuffer line = buffer.duplicate();
+        line.position(from);
+        line.get(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    /**
+     * Finds the level of a line in the text format "... [INFO] ..." or the JSON format "level":"INFO".
+     */
+    static int parseLevel(ByteBuffer buffer, int from, int to) {
+        if (from < to && buffer.get(from) == '{') {
+            int at = indexOf(buffer, from, to, JSON_LEVEL);
+            if (at >= 0) {
+                at += JSON_LEVEL.length;
+                for (int i = 0; i < LEVEL_NAMES.length; i++) {
+                    if (startsWith(buffer, at, to, LEVEL_NAMES[i] + '"')) {
+                        return LEVEL_VALUES[i];
+                    }
+                }
+            }
+            return LogLevel.ALL;
+        }
+        int headerEnd = Math.min(to, from + TEXT_HEADER_BYTES);
+        for (int at = from; at < headerEnd; at++) {
+            if (buffer.get(at) != '[') {
+                continue;
+            }
+            for (int i = 0; i < LEVEL_NAMES.length; i++) {
+                if (startsWith(buffer, at + 1, to, LEVEL_NAMES[i] + ']')) {
+                    return LEVEL_VALUES[i];
+                }
+            }
+        }
+        return LogLevel.ALL;
+    }
+
+    /**
+     * Finds the timestamp of a line in the text format, which starts with "2023-01-31T12:34:56.789Z", or the JSON
+     * format "timestamp":1675168496789.
+     */
+    static long parseTimestamp(ByteBuffer buffer, int from, int to) {
+        if (from < to && buffer.get(from) == '{') {
+            int at = indexOf(buffer, from, to, JSON_TIMESTAMP);
+            if (at < 0) {
+                return NO_TIMESTAMP;
+            }
+            at += JSON_TIMESTAMP.length;
+            int digitsEnd = at;
+            while (digitsEnd < to && digitsEnd - at < 19 && Character.isDigit(buffer.get(digitsEnd))) {
+                digitsEnd++;
+            }
+            return digitsEnd == at ? NO_TIMESTAMP : digits(buffer, at, digitsEnd - at);
+        }
+        if (to - from < 24 || buffer.get(from + 4) != '-' || buffer.get(from + 7) != '-'
+                || buffer.get(from + 10) != 'T' || buffer.get(from + 13) != ':' || buffer.get(from + 16) != ':'
+                || buffer.get(from + 19) != '.' || buffer.get(from + 23) != 'Z') {
+            return NO_TIMESTAMP;
+        }
+        long year = digits(buffer, from, 4);
+        long month = digits(buffer, from + 5, 2);
+        long day = digits(buffer, from + 8, 2);
+        long hour = digits(buffer, from + 11, 2);
+        long minute = digits(buffer, from + 14, 2);
+        long second = digits(buffer, from + 17, 2);
+        long millis = digits(buffer, from + 20, 3);
+        if (year < 0 || month < 0 || day < 0 || hour < 0 || minute < 0 || second < 0 || millis < 0) {
+            return NO_TIMESTAMP;
+        }
+        try {
+            long epochDay = LocalDate.of((int) year, (int) month, (int) day).toEpochDay();
+            return (((epochDay * 24 + hour) * 60 + minute) * 60 + second) * 1000 + millis;
+        } catch (DateTimeException e) {
+            return NO_TIMESTAMP;
+        }
+    }
+
+    // parses a number of decimal digits, returning -1 if any of them is not a digit
+    private static long digits(ByteBuffer buffer, int at, int count) {
+        long value = 0;
+        for (int i = at; i < at + count; i++) {
+            byte b = buffer.get(i);
+            if (b < '0' || b > '9') {
+                return -1;
+            }
+            value = value * 10 + (b - '0');
+        }
+        return value;
+    }
+
+    /**
+     * Timestamp and level of a line, where a line without them, such as a stack trace, takes those of the line it
+     * belongs to.
+     */
+    private static class LineParser {
+        private long timestamp;
+        private int level;
+
+        LineParser(long timestamp, int level) {
+            this.timestamp = timestamp;
+            this.level = level;
+        }
+
+        void parse(Window window, long from, long to) {
+            int start = window.relative(from);
+            int end = window.relative(to);
+            long parsedTimestamp = parseTimestamp(window.buffer, start, end);
+            if (parsedTimestamp != NO_TIMESTAMP) {
+                timestamp = parsedTimestamp;
+            }
+            int parsedLevel = parseLevel(window.buffer, start, end);
+            if (parsedLevel != LogLevel.ALL) {
+                level = parsedLevel;
+            }
+        }
+    }
+
+    /**
+     * Sparse index of the complete lines of one log file, with the offset, timestamp and level of the first line of
+     * every block of {@value #BLOCK_LINES} lines. The index keeps one mapping of its file, which is only mapped again
+     * when the file grew past it. Lines are only ever appended, so a snapshot of the arrays stays valid while the
+     * index grows.
+     */
+    private static class LogFileIndex {
+        private final Path file;
+        private final String fileKey;
+        private long indexedBytes;
+        private int lineCount;
+        private long[] blockOffsets = new long[64];
+        private long[] blockTimestamps = new long[64];
+        private byte[] blockLevels = new byte[64];
+        private long minTimestamp = Long.MAX_VALUE;
+        private long maxTimestamp = Long.MIN_VALUE;
+        private final LineParser parser = new LineParser(NO_TIMESTAMP, LogLevel.ALL);
+        private Window window;
+
+        LogFileIndex(Path file, String fileKey) {
+            this.file = file;
+            this.fileKey = fileKey;
+        }
+
+        synchronized void extend(long size) throws IOException {
+            while (indexedBytes < size) {
+                long base = indexedBytes;
+                long end = base + Math.min(size - base, MAX_MAP_BYTES);
+                Window w = map(base, end, size, false);
+                long lineStart = base;
+                for (long at = base; at < end; at++) {
+                    if (w.get(at) == '\n') {
+                        addLine(w, lineStart, at + 1);
+                        lineStart = at + 1;
+                    }
+                }
+                // a last line without a newline is still being written, it is indexed by a later search
+                indexedBytes = lineStart;
+                if (lineStart == base || end >= size) {
+                    break;
+                }
+            }
+        }
+
+        private void addLine(Window w, long from, long to) {
+            parser.parse(w, from, to);
+            if (parser.timestamp != NO_TIMESTAMP) {
+                minTimestamp = Math.min(minTimestamp, parser.timestamp);
+                maxTimestamp = Math.max(maxTimestamp, parser.timestamp);
+            }
+            if (lineCount % BLOCK_LINES == 0) {
+                int block = lineCount / BLOCK_LINES;
+                if (block == blockOffsets.length) {
+                    int capacity = block * 2;
+                    blockOffsets = Arrays.copyOf(blockOffsets, capacity);
+                    blockTimestamps = Arrays.copyOf(blockTimestamps, capacity);
+                    blockLevels = Arrays.copyOf(blockLevels, capacity);
+                }
+                blockOffsets[block] = from;
+                blockTimestamps[block] = parser.timestamp;
+                blockLevels[block] = (byte) parser.level;
+            }
+            lineCount++;
+        }
+
+        /**
+         * Gets a mapping which holds the given bytes. Log files are normally small enough to be mapped whole, larger
+         * ones are mapped in windows of at most 2 GiB ahead in the direction of the search.
+         */
+        synchronized Window map(long from, long to, long fileSize, boolean backwards) throws IOException {
+            if (window == null || from < window.base || to > window.base + window.buffer.capacity()) {
+                long base;
+                if (fileSize <= MAX_MAP_BYTES) {
+                    base = 0;
+                } else {
+                    base = backwards ? Math.max(0, to - MAX_MAP_BYTES) : from;
+                }
+                try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+                    window = new Window(channel.map(FileChannel.MapMode.READ_ONLY, base,
+                            Math.min(fileSize - base, MAX_MAP_BYTES)), base);
+                }
+            }
+            return window;
+        }
+
+        synchronized Snapshot snapshot() {
+            // a file without any timestamps can only be searched without a time range
+            long min = lineCount > 0 && minTimestamp == Long.MAX_VALUE ? NO_TIMESTAMP : minTimestamp;
+            long max = lineCount > 0 && maxTimestamp == Long.MIN_VALUE ? NO_TIMESTAMP : maxTimestamp;
+            return new Snapshot(indexedBytes, lineCount, blockOffsets, blockTimestamps, blockLevels, min, max);
+        }
+
+        private static class Snapshot {
+            private final long indexedBytes;
+            private final int lineCount;
+            private final long[] blockOffsets;
+            private final long[] blockTimestamps;
+            private final byte[] blockLevels;
+            private final long minTimestamp;
+            private final long maxTimestamp;
+
+            Snapshot(long indexedBytes, int lineCount, long[] blockOffsets, long[] blockTimestamps,
+                     byte[] blockLevels, long minTimestamp, long maxTimestamp) {
+                this.indexedBytes = indexedBytes;
+                this.lineCount = lineCount;
+                this.blockOffsets = blockOffsets;
+                this.blockTimestamps = blockTimestamps;
+                this.blockLevels = blockLevels;
+                this.minTimestamp = minTimestamp;
+                this.maxTimestamp = maxTimestamp;
+            }
+
+            int blockCount() {
+                return (lineCount + BLOCK_LINES - 1) / BLOCK_LINES;
+            }
+
+            long blockEnd(int block) {
+                return block + 1 < blockCount() ? blockOffsets[block + 1] : indexedBytes;
+            }
+
+            // first line of the block in which the lines at or after the given timestamp start
+            int firstLineFrom(long timestamp) {
+                return Math.max(0, firstBlockAfter(timestamp, false) - 1) * BLOCK_LINES;
+            }
+
+            // last line of the block in which the lines at or before the given timestamp end, -1 if there are none
+            int lastLineUntil(long timestamp) {
+                int block = firstBlockAfter(timestamp, true) - 1;
+                return block < 0 ? -1 : Math.min((block + 1) * BLOCK_LINES, lineCount) - 1;
+            }
+
+            // first block which starts after the given timestamp, or at it unless inclusive
+            private int firstBlockAfter(long timestamp, boolean inclusive) {
+                int low = 0;
+                int high = blockCount();
+                while (low < high) {
+                    int mid = (low + high) >>> 1;
+                    if (blockTimestamps[mid] < timestamp || inclusive && blockTimestamps[mid] == timestamp) {
+                        low = mid + 1;
+                    } else {
+                        high = mid;
+                    }
+                }
+                return low;
+            }
+        }
+    }
+
+    /**
+     * The lines of the block which a search is reading, decoded from the mapping of the file.
+     */
+    private static class BlockReader {
+        private final LogFileIndex index;
+        private final LogFileIndex.Snapshot snapshot;
+        private final boolean backwards;
+        private final long[] offsets = new long[BLOCK_LINES + 1];
+        private final long[] timestamps = new long[BLOCK_LINES];
+        private final byte[] levels = new byte[BLOCK_LINES];
+        private int block = -1;
+        private Window window;
+
+        BlockReader(LogFileIndex index, LogFileIndex.Snapshot snapshot, boolean backwards) {
+            this.index = index;
+            this.snapshot = snapshot;
+            this.backwards = backwards;
+        }
+
+        // decodes the block of a line unless it is already decoded, returns the position of the line in the block
+        int seek(int line) throws IOException {
+            int lineBlock = line / BLOCK_LINES;
+            if (lineBlock != block) {
+                long start = snapshot.blockOffsets[lineBlock];
+                long end = snapshot.blockEnd(lineBlock);
+                window = index.map(start, end, snapshot.indexedBytes, backwards);
+                LineParser parser = new LineParser(snapshot.blockTimestamps[lineBlock],
+                        snapshot.blockLevels[lineBlock]);
+                int count = 0;
+                long lineStart = start;
+                for (long at = start; at < end; at++) {
+                    if (window.get(at) == '\n') {
+                        parser.parse(window, lineStart, at + 1);
+                        offsets[count] = lineStart;
+                        timestamps[count] = parser.timestamp;
+                        levels[count] = (byte) parser.level;
+                        count++;
+                        lineStart = at + 1;
+                    }
+                }
+                offsets[count] = end;
+                block = lineBlock;
+            }
+            return line - lineBlock * BLOCK_LINES;
+        }
+    }
+
+    /**
+     * Mapping of a part of a file, starting at the given offset in the file.
+     */
+    private static class Window {
+        private final MappedByteBuffer buffer;
+        private final long base;
+
+        Window(MappedByteBuffer buffer, long base) {
+            this.buffer = buffer;
+            this.base = base;
+        }
+
+        byte get(long position) {
+            return buffer.get(relative(position));
+        }
+
+        int relative(long position) {
+            return (int) (position - base);
+        }
+    }
+
+    /**
+     * Position of the next line to read: the file, which file it was when the cursor was made, the line in it and its
+     * timestamp for when the file was rotated since.
+     */
+    private static class Cursor {
+        private static final String VERSION = "1";
+        private final String file;
+        private final String fileKey;
+        private final int line;
+        private final long timestamp;
+
+        Cursor(String file, String fileKey, int line, long timestamp) {
+            this.file = file;
+            this.fileKey = fileKey;
+            this.line = line;
+            this.timestamp = timestamp;
+        }
+
+        String encode() {
+            String value = String.join("\n", VERSION, file, fileKey, String.valueOf(line), String.valueOf(timestamp));
+            return Base64.getUrlEncoder().withoutPadding().encodeToString(value.getBytes(StandardCharsets.UTF_8));
+        }
+
+        static Cursor decode(String cursor) {
+            try {
+                String[] parts = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8)
+                        .split("\n", -1);
+                if (parts.length != 5 || !VERSION.equals(parts[0])) {
+                    return null;
+                }
+                return new Cursor(parts[1], parts[2], Integer.parseInt(parts[3]), Long.parseLong(parts[4]));
+            } catch (IllegalArgumentException e) {
+                return null;
+            }
+        }
+    }
+}
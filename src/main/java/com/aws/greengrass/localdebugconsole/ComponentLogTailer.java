@@ -0,0 +1,236 @@
+/*
+ * Copyright Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package com.aws.greengrass.localdebugconsole;
+
+import com.aws.greengrass.localdebugconsole.messageutils.ComponentLogLine;
+import com.aws.greengrass.localdebugconsole.messageutils.LogLevel;
+import com.aws.greengrass.logging.api.Logger;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.function.BiConsumer;
+import java.util.function.Function;
+
+/**
+ * Follows the log files of the components which have log subscribers. Every poll reads only the bytes appended since
+ * the previous one and hands the complete lines to the sink. The file is opened for each poll instead of being held
+ * open, so that the log rotation can rename it on every platform. A rotation is detected by a changed file key or by
+ * the file being shorter than what was already read, and the new file is then read from its start.
+ */
+class ComponentLogTailer {
+    static final long POLL_INTERVAL_MILLIS = 250;
+    // a new subscriber first gets the end of the current log for context
+    static final int INITIAL_TAIL_BYTES = 8 * 1024;
+    private static final int READ_CHUNK_BYTES = 64 * 1024;
+    // bounds the time and memory of one poll, the rest is read by the next poll
+    private static final int MAX_READ_BYTES_PER_POLL = 1024 * 1024;
+    private static final int MAX_LINE_BYTES = 16 * 1024;
+
+    private final Function<String, Path> logFiles;
+    private final ScheduledExecutorService ses;
+    private final Logger logger;
+    private final BiConsumer<String, List<ComponentLogLine>> sink;
+    private final Map<String, Tail> tails = new ConcurrentHashMap<>();
+    private ScheduledFuture<?> pollTask;
+
+    /**
+     * Constructor.
+     *
+     * @param logFiles finds the log file of a component, returning null if there is none
+     * @param ses      executor which runs the polls
+     * @param logger   logger
+     * @param sink     receives the new lines of a component
+     */
+    ComponentLogTailer(Function<String, Path> logFiles, ScheduledExecutorService ses, Logger logger,
+                       BiConsumer<String, List<ComponentLogLine>> sink) {
+        this.logFiles = logFiles;
+        this.ses = ses;
+        this.logger = logger;
+        this.sink = sink;
+    }
+
+    synchronized void follow(String component) {
+        tails.computeIfAbsent(component, Tail::new);
+        if (pollTask == null) {
+            try {
+                pollTask = ses.scheduleWithFixedDelay(this::poll, POLL_INTERVAL_MILLIS, POLL_INTERVAL_MILLIS,
+                        TimeUnit.MILLISECONDS);
+            } catch (RejectedExecutionException e) {
+                // shutting down
+            }
+        }
+    }
+
+    synchronized void unfollow(String component) {
+        tails.remove(component);
+        if (tails.isEmpty()) {
+            stopPolling();
+        }
+    }
+
+    synchronized void unfollowAll() {
+        tails.clear();
+        stopPolling();
+    }
+
+    private void stopPolling() {
+        if (pollTask != null) {
+            pollTask.cancel(false);
+            pollTask = null;
+        }
+    }
+
+    void poll() {
+        for (Tail tail : tails.values()) {
+            List<ComponentLogLine> lines;
+            try {
+                lines = tail.read();
+            } catch (NoSuchFileException e) {
+                // the component hasn't logged anything yet, or the file is being rotated
+                continue;
+            } catch (IOException e) {
+                logger.atDebug().kv("component", tail.component).setCause(e).log("Unable to read component log");
+                continue;
+            } catch (RuntimeException e) {
+                // must not escape, it would cancel the polling of every component
+                logger.atWarn().kv("component", tail.component).setCause(e).log("Unable to read component log");
+                continue;
+            }
+            if (!lines.isEmpty()) {
+                try {
+                    sink.accept(tail.component, lines);
+                } catch (RuntimeException e) {
+                    logger.atError().kv("component", tail.component).setCause(e).log("Unable to push component log");
+                }
+            }
+        }
+    }
+
+    private class Tail {
+        private final String component;
+        private final ByteBuffer readBuffer = ByteBuffer.allocate(READ_CHUNK_BYTES);
+        private final ByteArrayOutputStream partialLine = new ByteArrayOutputStream();
+        // -1 until the file was seen for the first time
+        private long position = -1;
+        private Object fileKey;
+        private boolean skipToNextLine;
+        // continuation lines such as stack traces take the level of the line they belong to
+        private int lastLevel = LogLevel.ALL;
+
+        Tail(String component) {
+            this.component = component;
+        }
+
+        List<ComponentLogLine> read() throws IOException {
+            Path file = logFiles.apply(component);
+            if (file == null) {
+                return Collections.emptyList();
+            }
+            BasicFileAttributes attributes = Files.readAttributes(file, BasicFileAttributes.class);
+            long size = attributes.size();
+            Object key = attributes.fileKey();
+            if (position < 0) {
+                position = Math.max(0, size - INITIAL_TAIL_BYTES);
+                skipToNextLine = position > 0;
+                fileKey = key;
+            } else if ((key != null && !Objects.equals(key, fileKey)) || size < position) {
+                // rotated or truncated
+                position = 0;
+                fileKey = key;
+                partialLine.reset();
+                skipToNextLine = false;
+            }
+            if (size <= position) {
+                return Collections.emptyList();
+            }
+
+            List<ComponentLogLine> lines = new ArrayList<>();
+            try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+                long end = Math.min(size, position + MAX_READ_BYTES_PER_POLL);
+                while (position < end) {
+                    readBuffer.clear();
+                    readBuffer.limit((int) Math.min(readBuffer.capacity(), end - position));
+                    int read = channel.read(readBuffer, position);
+                    if (read <= 0) {
+                        break;
+                    }
+                    position += read;
+                    readBuffer.flip();
+                    splitLines(lines);
+                }
+            }
+            return lines;
+        }
+
+        private void splitLines(List<ComponentLogLine> lines) {
+            byte[] bytes = readBuffer.array();
+            int start = 0;
+            int limit = readBuffer.limit();
+            for (int i = 0; i < limit; i++) {
+                if (bytes[i] != '\n') {
+                    continue;
+                }
+                if (skipToNextLine) {
+                    skipToNextLine = false;
+                } else {
+                    appendPartial(bytes, start, i - start);
+                    addLine(lines);
+                }
+                start = i + 1;
+            }
+            if (!skipToNextLine) {
+                appendPartial(bytes, start, limit - start);
+                if (partialLine.size() >= MAX_LINE_BYTES) {
+                    // don't buffer a runaway line without end
+                    addLine(lines);
+                }
+            }
+        }
+
+        private void appendPartial(byte[] bytes, int offset, int length) {
+            int room = MAX_LINE_BYTES - partialLine.size();
+            if (room > 0) {
+                partialLine.write(bytes, offset, Math.min(room, length));
+            }
+        }
+
+        private void addLine(List<ComponentLogLine> lines) {
+            String line = new String(partialLine.toByteArray(), StandardCharsets.UTF_8);
+            partialLine.reset();
+            if (line.endsWith("\r")) {
+                line = line.substring(0, line.length() - 1);
+            }
+            if (line.isEmpty()) {
+                return;
+            }
+            int level = LogLevel.parse(line);
+            if (level == LogLevel.ALL) {
+                level = lastLevel;
+            } else {
+                lastLevel = level;
+            }
+            lines.add(new ComponentLogLine(component, level, line));
+        }
+    }
+}
@@ -10,6 +10,8 @@ import com.aws.greengrass.localdebugconsole.messageutils.ConfigMessage;
 import com.aws.greengrass.localdebugconsole.messageutils.DepGraphNode;
 import com.aws.greengrass.localdebugconsole.messageutils.DeviceDetails;
 
+import java.nio.file.Path;
+
 public interface DashboardAPI {
 
     DeviceDetails getDeviceDetails();
@@ -73,4 +75,12 @@ public interface DashboardAPI {
      * @return an graph in the form of a map of service names to a list of dependencies.
      */
     DepGraphNode[] getDependencyGraph();
+
+    /**
+     * Method to find the file which a component currently logs to.
+     *
+     * @param name the service name
+     * @return path of the log file, or null if logs are not written to files or the name is not a valid service name
+     */
+    Path getComponentLogFile(String name);
 }
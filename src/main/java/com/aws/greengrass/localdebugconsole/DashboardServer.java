@@ -5,6 +5,7 @@
 
 package com.aws.greengrass.localdebugconsole;
 
+import com.amazonaws.greengrass.streammanager.client.exception.StreamManagerException;
 import com.amazonaws.greengrass.streammanager.model.MessageStreamDefinition;
 import com.aws.greengrass.builtin.services.pubsub.PubSubIPCEventStreamAgent;
 import com.aws.greengrass.builtin.services.pubsub.PublishEvent;
@@ -12,12 +13,24 @@ import com.aws.greengrass.builtin.services.pubsub.SubscribeRequest;
 import com.aws.greengrass.deployment.DeviceConfiguration;
 import com.aws.greengrass.lifecyclemanager.Kernel;
 import com.aws.greengrass.localdebugconsole.messageutils.CommunicationMessage;
+import com.aws.greengrass.localdebugconsole.messageutils.ComponentLogBatch;
+import com.aws.greengrass.localdebugconsole.messageutils.ComponentLogLine;
+import com.aws.greengrass.localdebugconsole.messageutils.ComponentItem;
+import com.aws.greengrass.localdebugconsole.messageutils.ComponentListDelta;
+import com.aws.greengrass.localdebugconsole.messageutils.ConnectionMetrics;
 import com.aws.greengrass.localdebugconsole.messageutils.DeviceDetails;
+import com.aws.greengrass.localdebugconsole.messageutils.LogSearchPage;
+import com.aws.greengrass.localdebugconsole.messageutils.LogSearchRequest;
 import com.aws.greengrass.localdebugconsole.messageutils.Message;
 import com.aws.greengrass.localdebugconsole.messageutils.MessageType;
 import com.aws.greengrass.localdebugconsole.messageutils.PackedRequest;
 import com.aws.greengrass.localdebugconsole.messageutils.Request;
+import com.aws.greengrass.localdebugconsole.messageutils.ServerMetrics;
+import com.aws.greengrass.localdebugconsole.messageutils.StreamAppendProgress;
+import com.aws.greengrass.localdebugconsole.messageutils.StreamAppendRequest;
 import com.aws.greengrass.localdebugconsole.messageutils.StreamManagerResponseMessage;
+import com.aws.greengrass.localdebugconsole.messageutils.StreamMessagesPage;
+import com.aws.greengrass.localdebugconsole.messageutils.StreamMessagesRequest;
 import com.aws.greengrass.logging.api.Logger;
 import com.aws.greengrass.mqttclient.MqttClient;
 import com.aws.greengrass.mqttclient.MqttRequestException;
@@ -30,23 +43,43 @@ import com.aws.greengrass.util.Utils;
 import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
 import lombok.AccessLevel;
 import lombok.Getter;
 import org.java_websocket.WebSocket;
-import org.java_websocket.exceptions.WebsocketNotConnectedException;
 import org.java_websocket.handshake.ClientHandshake;
 import org.java_websocket.server.WebSocketServer;
 import software.amazon.awssdk.aws.greengrass.model.ReceiveMode;
 
+import java.io.IOException;
 import java.net.InetSocketAddress;
-import java.util.HashSet;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.EnumSet;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.CopyOnWriteArraySet;
 import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
 import java.util.function.Consumer;
+import java.util.stream.Collectors;
 import javax.inject.Provider;
 import javax.inject.Singleton;
 import javax.net.ssl.SSLEngine;
@@ -55,26 +88,89 @@ import javax.net.ssl.SSLEngine;
 public class DashboardServer extends WebSocketServer implements KernelMessagePusher {
     static final String SERVER_START_MESSAGE = "Server started successfully";
     private static final String IOT_CORE_SOURCE = "iotcore";
+    private static final long NO_COMPONENT_LIST_VERSION = -1;
+    static final int DEFAULT_DISPATCH_THREADS = 4;
+    static final int DEFAULT_LOG_LINES_PER_SECOND = 200;
+    private static final int DISPATCH_QUEUE_SIZE = 64;
+    private static final String STREAM_MANAGER_CALL_PREFIX = "streamManager";
+    // optional third argument of init which switches the connection to binary CBOR frames
+    static final String CBOR_WIRE_FORMAT = "cbor";
+    // calls which can block for a long time, these are run on the dispatch executor instead of the websocket thread
+    private static final Set<APICalls> ASYNC_CALLS = Collections.unmodifiableSet(EnumSet.of(APICalls.updateConfig,
+            APICalls.searchComponentLogs, APICalls.subscribeToPubSubTopic, APICalls.publishToPubSubTopic,
+            APICalls.unsubscribeToPubSubTopic,
+            APICalls.streamManagerListStreams, APICalls.streamManagerDescribeStream,
+            APICalls.streamManagerDescribeStreams,
+            APICalls.streamManagerDeleteMessageStream, APICalls.streamManagerReadMessages,
+            APICalls.streamManagerReadMessagesPage, APICalls.streamManagerReadMessagePayload,
+            APICalls.streamManagerAppendMessage, APICalls.streamManagerCreateMessageStream,
+            APICalls.streamManagerUpdateMessageStream));
 
     private final DashboardAPI dashboardAPI;
     private final Logger logger;
     private static final ObjectMapper jsonMapper = new ObjectMapper();
+    private static final ObjectMapper cborMapper = new ObjectMapper(new CBORFactory());
 
     private final CopyOnWriteArraySet<WebSocket> connections = new CopyOnWriteArraySet<>();
+    // connections which negotiated CBOR during init, all others get JSON text frames
+    private final Set<WebSocket> cborConnections = ConcurrentHashMap.newKeySet();
+    private final Map<WebSocket, OutboundQueue> outboundQueues = new ConcurrentHashMap<>();
+    private volatile OutboundLimits outboundLimits = OutboundLimits.DEFAULT;
+    private final AtomicLong evictedConnections = new AtomicLong();
     private final DefaultConcurrentHashMap<String, Set<WebSocket>> statusWatchlist =
-            new DefaultConcurrentHashMap<>(HashSet::new);
+            new DefaultConcurrentHashMap<>(ConcurrentHashMap::newKeySet);
     private final DefaultConcurrentHashMap<String, Set<WebSocket>> logWatchlist =
-            new DefaultConcurrentHashMap<>(HashSet::new);
+            new DefaultConcurrentHashMap<>(ConcurrentHashMap::newKeySet);
     private final DefaultConcurrentHashMap<WebSocket, Map<String, SubscribeRequest>> pubSubWatchList =
             new DefaultConcurrentHashMap<>(ConcurrentHashMap::new);
     private final DefaultConcurrentHashMap<WebSocket, Map<String, Subscribe>> mqttWatchList =
             new DefaultConcurrentHashMap<>(ConcurrentHashMap::new);
     @Getter(AccessLevel.PACKAGE)
     private final CompletableFuture<Object> started = new CompletableFuture<>();
+    // last component list version sent to each connection which is subscribed to component list deltas
+    private final Map<WebSocket, Long> componentListVersions = new ConcurrentHashMap<>();
+    private final Object componentListLock = new Object();
+    private Map<String, ComponentItem> lastComponentList = Collections.emptyMap();
+    private long componentListVersion = 0;
+    // number of serializations avoided by encoding pushes once for all of their recipients
+    private final AtomicLong savedEncodes = new AtomicLong();
     private final Authenticator authenticator;
     private final MqttClient mqttClient;
 
     private final StreamManagerHelper streamManagerHelper;
+    private final ScheduledExecutorService pushExecutor = Executors.newSingleThreadScheduledExecutor(r -> {
+        Thread t = new Thread(r, "LocalDebugConsole-push");
+        t.setDaemon(true);
+        return t;
+    });
+    private final PushScheduler pushScheduler;
+    private final ThreadPoolExecutor dispatchExecutor = newDispatchExecutor(DEFAULT_DISPATCH_THREADS);
+    private final ScheduledExecutorService logExecutor = Executors.newSingleThreadScheduledExecutor(r -> {
+        Thread t = new Thread(r, "LocalDebugConsole-logs");
+        t.setDaemon(true);
+        return t;
+    });
+    private final ComponentLogTailer logTailer;
+    private final ScheduledExecutorService streamExecutor = Executors.newSingleThreadScheduledExecutor(r -> {
+        Thread t = new Thread(r, "LocalDebugConsole-streams");
+        t.setDaemon(true);
+        return t;
+    });
+    private final StreamTailer streamTailer;
+    // jobs of other connections wait in a bounded queue, a job which doesn't fit is rejected
+    private final ExecutorService appendExecutor = new ThreadPoolExecutor(1, 1, 0, TimeUnit.MILLISECONDS,
+            new ArrayBlockingQueue<>(StreamAppender.MAX_QUEUED_JOBS), r -> {
+        Thread t = new Thread(r, "LocalDebugConsole-streamappend");
+        t.setDaemon(true);
+        return t;
+    });
+    private final StreamAppender streamAppender;
+    private final StreamMessagePager streamPager;
+    private final ComponentLogSearch logSearch;
+    private final Map<WebSocket, LineRateLimiter> logRateLimiters = new ConcurrentHashMap<>();
+    private volatile int logLinesPerSecond = DEFAULT_LOG_LINES_PER_SECOND;
+    private volatile TlsStats tlsStats = new TlsStats();
+    private final GGSSLWebSocketServerFactory sslWebSocketFactory;
 
     PubSubIPCEventStreamAgent pubSubIPCAgent;
     private final String SERVICE_NAME = "LocalDebugConsole";
@@ -95,7 +191,10 @@ public class DashboardServer extends WebSocketServer implements KernelMessagePus
         setReuseAddr(true);
         setTcpNoDelay(true);
         if (engineProvider != null) {
-            setWebSocketFactory(new GGSSLWebSocketServerFactory(engineProvider));
+            sslWebSocketFactory = new GGSSLWebSocketServerFactory(engineProvider);
+            setWebSocketFactory(sslWebSocketFactory);
+        } else {
+            sslWebSocketFactory = null;
         }
         this.logger = logger;
         this.dashboardAPI = dashboardAPI;
@@ -104,26 +203,199 @@ public class DashboardServer extends WebSocketServer implements KernelMessagePus
         this.pubSubIPCAgent = pubSubIPCAgent;
         this.mqttClient = mqttClient;
         this.streamManagerHelper = streamManagerHelper;
+        this.pushScheduler = new PushScheduler(this, pushExecutor, logger, PushScheduler.DEFAULT_WINDOW_MILLIS);
+        this.logTailer = new ComponentLogTailer(dashboardAPI::getComponentLogFile, logExecutor, logger,
+                this::pushComponentLogs);
+        this.logSearch = new ComponentLogSearch(dashboardAPI::getComponentLogFile);
+        this.streamTailer = new StreamTailer(streamManagerHelper, streamExecutor, logger,
+                (conn, batch) -> sendIfOpen(conn, new Message(MessageType.STREAM_MESSAGES, batch)));
+        this.streamPager = new StreamMessagePager(streamManagerHelper);
+        this.streamAppender = new StreamAppender(streamManagerHelper, appendExecutor, logger,
+                (conn, progress) -> sendIfOpen(conn, new Message(MessageType.STREAM_APPEND_PROGRESS, progress)));
+    }
+
+    /**
+     * Set how long kernel events are collected before they are pushed to the clients as one batch.
+     *
+     * @param windowMillis coalescing window in milliseconds, 0 to push every event immediately
+     */
+    void setPushCoalesceWindowMillis(long windowMillis) {
+        pushScheduler.setWindowMillis(windowMillis);
+    }
+
+    /**
+     * Set the outbound queue limits of all connections, including the ones which are already open.
+     *
+     * @param limits new limits
+     */
+    void setOutboundLimits(OutboundLimits limits) {
+        this.outboundLimits = limits;
+    }
+
+    /**
+     * Set the handshake counters which are shared with the HTTP listener.
+     *
+     * @param tlsStats handshake counters
+     */
+    void setTlsStats(TlsStats tlsStats) {
+        this.tlsStats = tlsStats;
+    }
+
+    /**
+     * Set how many log lines per second each connection may receive. Lines over the rate are skipped.
+     *
+     * @param linesPerSecond line rate of each connection
+     */
+    void setLogLinesPerSecond(int linesPerSecond) {
+        this.logLinesPerSecond = linesPerSecond;
+        // new limiters pick up the rate
+        logRateLimiters.clear();
+    }
+
+    /**
+     * Set how many messages per second each stream tail subscription may receive.
+     *
+     * @param messagesPerSecond message rate of each subscription
+     */
+    void setStreamTailMessagesPerSecond(int messagesPerSecond) {
+        streamTailer.setMessagesPerSecond(messagesPerSecond);
+    }
+
+    /**
+     * Set how many slow API calls may run at the same time. Further calls queue up to a fixed bound and are
+     * rejected with an error response after that.
+     *
+     * @param threads number of dispatch threads
+     */
+    void setDispatchThreads(int threads) {
+        if (threads > dispatchExecutor.getMaximumPoolSize()) {
+            dispatchExecutor.setMaximumPoolSize(threads);
+            dispatchExecutor.setCorePoolSize(threads);
+        } else {
+            dispatchExecutor.setCorePoolSize(threads);
+            dispatchExecutor.setMaximumPoolSize(threads);
+        }
+    }
+
+    /**
+     * Set how many TLS handshakes may run their delegated tasks at the same time.
+     *
+     * @param threads number of SSL threads
+     */
+    void setSslThreads(int threads) {
+        if (sslWebSocketFactory != null) {
+            sslWebSocketFactory.setThreads(threads);
+        }
+    }
+
+    /**
+     * Set how many Stream Manager clients are kept connected, which is how many Stream Manager calls may run at
+     * the same time.
+     *
+     * @param clients number of clients
+     */
+    void setStreamManagerClients(int clients) {
+        if (streamManagerHelper != null) {
+            streamManagerHelper.setClients(clients);
+        }
+    }
+
+    /**
+     * Set how long stream lists and stream descriptions are reused for all clients.
+     *
+     * @param ttlMillis time to live in milliseconds, 0 to only share concurrent calls
+     */
+    void setStreamInfoCacheMillis(long ttlMillis) {
+        if (streamManagerHelper != null) {
+            streamManagerHelper.setStreamInfoCacheMillis(ttlMillis);
+        }
+    }
+
+    private static ThreadPoolExecutor newDispatchExecutor(int threads) {
+        AtomicInteger threadCount = new AtomicInteger();
+        ThreadPoolExecutor executor = new ThreadPoolExecutor(threads, threads, 60, TimeUnit.SECONDS,
+                new ArrayBlockingQueue<>(DISPATCH_QUEUE_SIZE), r -> {
+            Thread t = new Thread(r, "LocalDebugConsole-dispatch-" + threadCount.incrementAndGet());
+            t.setDaemon(true);
+            return t;
+        });
+        executor.allowCoreThreadTimeOut(true);
+        return executor;
     }
 
     // links the API impl and starts the socket server
     void startup() {
+        linkApi();
+        start();
+    }
+
+    // links the API impl without starting the socket server, when the HTTP server upgrades the websockets itself
+    void linkApi() {
         if (dashboardAPI instanceof KernelCommunicator) {
-            ((KernelCommunicator) dashboardAPI).linkWithPusher(this);
+            // kernel events are coalesced before they reach the clients
+            ((KernelCommunicator) dashboardAPI).linkWithPusher(pushScheduler);
             ((KernelCommunicator) dashboardAPI).linkWithKernel();
         }
-        start();
     }
 
     // for use in testing only
     void clearSubscriptions() {
         statusWatchlist.clear();
         logWatchlist.clear();
+        componentListVersions.clear();
+        cborConnections.clear();
+        logTailer.unfollowAll();
+        logRateLimiters.clear();
+    }
+
+    long getSavedEncodes() {
+        return savedEncodes.get();
+    }
+
+    ServerMetrics getServerMetrics() {
+        List<ConnectionMetrics> connectionMetrics = new ArrayList<>();
+        for (OutboundQueue queue : outboundQueues.values()) {
+            connectionMetrics.add(queue.metrics());
+        }
+        StreamManagerClientPool smClients = streamManagerHelper == null ? null : streamManagerHelper.getClientPool();
+        StreamMessageCache smCache = streamManagerHelper == null ? null : streamManagerHelper.getMessageCache();
+        StreamInfoCache<?> smInfoCache = streamManagerHelper == null ? null : streamManagerHelper.getStreamInfoCache();
+        return new ServerMetrics(connectionMetrics.toArray(new ConnectionMetrics[0]), savedEncodes.get(),
+                evictedConnections.get(), tlsStats.getFullHandshakes(), tlsStats.getResumedHandshakes(),
+                tlsStats.getResumptionRatio(),
+                sslWebSocketFactory == null ? 0 : sslWebSocketFactory.getQueuedTasks(),
+                sslWebSocketFactory == null ? 0 : sslWebSocketFactory.getActiveThreads(),
+                sslWebSocketFactory == null ? 0 : sslWebSocketFactory.getCompletedTasks(),
+                sslWebSocketFactory == null ? 0 : sslWebSocketFactory.getCallerRunsTasks(),
+                smClients == null ? 0 : smClients.getIdleClients(),
+                smClients == null ? 0 : smClients.getClientsInUse(),
+                smClients == null ? 0 : smClients.getConnects(),
+                smClients == null ? 0 : smClients.getProbeFailures(),
+                smCache == null ? 0 : smCache.getHits(),
+                smCache == null ? 0 : smCache.getMisses(),
+                smInfoCache == null ? 0 : smInfoCache.getHits(),
+                smInfoCache == null ? 0 : smInfoCache.getMisses());
     }
 
     @Override
     public void onOpen(WebSocket conn, ClientHandshake handshake) {
-        conn.setAttachment(false);
+        if (conn.hasSSLSupport()) {
+            tlsStats.record(conn.getSSLSession());
+        }
+        onOpen(conn, handshake.getFieldValue("Cookie"));
+    }
+
+    /**
+     * Registers a new connection, either one of this server's listener or one which the HTTP server upgraded.
+     *
+     * @param conn         the connection
+     * @param cookieHeader Cookie header of the handshake, may be null
+     */
+    void onOpen(WebSocket conn, String cookieHeader) {
+        // browsers send the session cookie of the page with the handshake, so a valid one authenticates right away
+        conn.setAttachment(authenticator.isSessionValid(cookieHeader));
+        outboundQueues.put(conn, new OutboundQueue(conn, () -> outboundLimits, pushExecutor, logger,
+                evictedConnections::incrementAndGet));
         connections.add(conn);
         logger.atInfo().log("New connection from {}", conn.getRemoteSocketAddress());
     }
@@ -137,6 +409,25 @@ public class DashboardServer extends WebSocketServer implements KernelMessagePus
             logger.atError().setCause(e).log("Unable to process the incoming message: {}", msg);
             return;
         }
+        onRequest(conn, packedRequest);
+    }
+
+    @Override
+    public void onMessage(WebSocket conn, ByteBuffer msg) {
+        byte[] bytes = new byte[msg.remaining()];
+        msg.duplicate().get(bytes);
+        PackedRequest packedRequest;
+        try {
+            packedRequest = cborMapper.readValue(bytes, PackedRequest.class);
+        } catch (IOException e) {
+            logger.atError().setCause(e).log("Unable to process the incoming binary message of {} bytes",
+                    bytes.length);
+            return;
+        }
+        onRequest(conn, packedRequest);
+    }
+
+    private void onRequest(WebSocket conn, PackedRequest packedRequest) {
         Request req = packedRequest.request;
         logger.atDebug().kv("Call", req.call).kv("Socket", conn.getRemoteSocketAddress()).log("Client API call");
 
@@ -151,155 +442,273 @@ public class DashboardServer extends WebSocketServer implements KernelMessagePus
         // initialize connection
         if (APICalls.init.equals(call)) {
             logger.atDebug().log("Client connection init");
-            String echoResponse = null;
-            if (req.args.length != 2 || !authenticator.isUsernameAndPasswordValid(new Pair<>(req.args[0], req.args[1]))) {
+            boolean hasSession = Boolean.TRUE.equals(conn.getAttachment());
+            if (req.args.length > 3 || !hasSession && (req.args.length < 2
+                    || !authenticator.isUsernameAndPasswordValid(new Pair<>(req.args[0], req.args[1])))) {
                 logger.atError().log("Websocket connection is not authenticated");
-                try {
-                    echoResponse = jsonMapper.writeValueAsString(new Message(MessageType.RESPONSE,
-                            packedRequest.requestID, "Not authenticated"));
-                    conn.send(echoResponse);
-                } catch (JsonProcessingException e) {
-                    logger.atError().setCause(e).log("Unable to stringify the message: {}", echoResponse);
-                }
+                send(conn, new Message(MessageType.RESPONSE, packedRequest.requestID, "Not authenticated"));
                 return;
             }
+            // the init response is already sent in the negotiated wire format
+            if (req.args.length == 3 && CBOR_WIRE_FORMAT.equalsIgnoreCase(req.args[2])) {
+                cborConnections.add(conn);
+            } else {
+                cborConnections.remove(conn);
+            }
             // Set attachment to true meaning that the client has been authenticated
             conn.setAttachment(true);
-            try {
-                echoResponse = jsonMapper.writeValueAsString(new Message(MessageType.RESPONSE,
-                        packedRequest.requestID, true));
-                conn.send(echoResponse);
-            } catch (JsonProcessingException j) {
-                logger.atError().setCause(j).log("Unable to stringify the message: {}", echoResponse);
-            }
+            send(conn, new Message(MessageType.RESPONSE, packedRequest.requestID, true));
+        } else if (ASYNC_CALLS.contains(call)) {
+            dispatchAsync(conn, packedRequest, call);
         } else {
-            switch (call) {
-                case getDeviceDetails: {
-                    DeviceDetails deviceDetails = dashboardAPI.getDeviceDetails();
-                    sendIfOpen(conn, new Message(MessageType.RESPONSE, packedRequest.requestID, deviceDetails));
-                    break;
-                }
-                case getComponentList: {
-                    sendIfOpen(conn, new Message(MessageType.RESPONSE, packedRequest.requestID,
-                            dashboardAPI.getComponentList()));
-                    break;
-                }
-                case getComponent: {
-                    sendIfOpen(conn, new Message(MessageType.RESPONSE, packedRequest.requestID,
-                            dashboardAPI.getComponent(req.args[0])));
-                    break;
-                }
+            handleCall(conn, packedRequest, call);
+        }
+    }
 
-                case startComponent: {
-                    boolean retval = dashboardAPI.startComponent(req.args[0]);
-                    sendIfOpen(conn, new Message(MessageType.RESPONSE, packedRequest.requestID, retval));
-                    break;
-                }
-                case stopComponent: {
-                    boolean retval = dashboardAPI.stopComponent(req.args[0]);
-                    sendIfOpen(conn, new Message(MessageType.RESPONSE, packedRequest.requestID, retval));
-                    break;
-                }
-                case reinstallComponent: {
-                    boolean retval = dashboardAPI.reinstallComponent(req.args[0]);
-                    sendIfOpen(conn, new Message(MessageType.RESPONSE, packedRequest.requestID, retval));
-                    break;
-                }
-                case getConfig: {
-                    sendIfOpen(conn, new Message(MessageType.RESPONSE, packedRequest.requestID,
-                            dashboardAPI.getConfig(req.args[0])));
-                    break;
+    /**
+     * Runs a call which may block on the dispatch executor, so that it does not hold up requests from other
+     * connections. The response is matched to the request by its requestID like any other response.
+     */
+    private void dispatchAsync(WebSocket conn, PackedRequest packedRequest, APICalls call) {
+        try {
+            dispatchExecutor.execute(() -> {
+                if (!conn.isOpen()) {
+                    return;
                 }
-                case updateConfig: {
+                try {
+                    handleCall(conn, packedRequest, call);
+                } catch (RuntimeException e) {
+                    logger.atError().kv("Call", call).setCause(e).log("Unable to process the client API call");
                     sendIfOpen(conn, new Message(MessageType.RESPONSE, packedRequest.requestID,
-                            dashboardAPI.updateConfig(req.args[0], req.args[1])));
-                    break;
-                }
-                case subscribeToComponent: {
-                    statusWatchlist.get(req.args[0]).add(conn);
-                    pushComponentChange(req.args[0]);
-                    sendIfOpen(conn, new Message(MessageType.RESPONSE, packedRequest.requestID, true));
-                    break;
-                }
-                case unsubscribeToComponent: {
-                    removeFromMapOfLists(statusWatchlist, req.args[0], conn);
-                    sendIfOpen(conn, new Message(MessageType.RESPONSE, packedRequest.requestID, true));
-                    break;
-                }
-                case subscribeToComponentLogs: {
-                    logWatchlist.get(req.args[0]).add(conn);
-                    sendIfOpen(conn, new Message(MessageType.RESPONSE, packedRequest.requestID, true));
-                    break;
-                }
-                case unsubscribeToComponentLogs: {
-                    removeFromMapOfLists(logWatchlist, req.args[0], conn);
-                    sendIfOpen(conn, new Message(MessageType.RESPONSE, packedRequest.requestID, true));
-                    break;
-                }
-                case forcePushComponentList: {
-                    pushComponentListUpdate();
-                    sendIfOpen(conn, new Message(MessageType.RESPONSE, packedRequest.requestID, true));
-                    break;
-                }
-                case forcePushDependencyGraph: {
-                    pushDependencyGraphUpdate();
-                    sendIfOpen(conn, new Message(MessageType.RESPONSE, packedRequest.requestID, true));
-                    break;
-                }
-                case subscribeToPubSubTopic: {
-                    subscribeToPubSubTopic(conn, packedRequest, req);
-                    break;
-                }
-                case publishToPubSubTopic: {
-                    publishToPubSubTopic(conn, packedRequest, req);
-                    break;
-                }
-                case unsubscribeToPubSubTopic: {
-                    unsubscribeFromPubSubTopic(conn, packedRequest, req);
-                    break;
-                }
-                case streamManagerListStreams: {
-                    streamManagerListStreams(conn, packedRequest);
-                    break;
-                }
-                case streamManagerDescribeStream: {
-                    streamManagerDescribeStream(conn, packedRequest, req);
-                    break;
+                            Utils.generateFailureMessage(e)));
                 }
+            });
+        } catch (RejectedExecutionException e) {
+            String errorMsg = "Too many requests in progress, try again later";
+            logger.atWarn().kv("Call", call).kv("Socket", conn.getRemoteSocketAddress()).log(errorMsg);
+            if (call.name().startsWith(STREAM_MANAGER_CALL_PREFIX)) {
+                StreamManagerResponseMessage responseMessage = new StreamManagerResponseMessage();
+                responseMessage.errorMsg = errorMsg;
+                sendIfOpen(conn, new Message(MessageType.RESPONSE, packedRequest.requestID, responseMessage));
+            } else {
+                sendIfOpen(conn, new Message(MessageType.RESPONSE, packedRequest.requestID, errorMsg));
+            }
+        }
+    }
 
-                case streamManagerDeleteMessageStream: {
-                    streamManagerDeleteMessageStream(conn, packedRequest, req);
-                    break;
-                }
+    private void handleCall(WebSocket conn, PackedRequest packedRequest, APICalls call) {
+        Request req = packedRequest.request;
+        switch (call) {
+            case getDeviceDetails: {
+                DeviceDetails deviceDetails = dashboardAPI.getDeviceDetails();
+                sendIfOpen(conn, new Message(MessageType.RESPONSE, packedRequest.requestID, deviceDetails));
+                break;
+            }
+            case getComponentList: {
+                sendIfOpen(conn, new Message(MessageType.RESPONSE, packedRequest.requestID,
+                        dashboardAPI.getComponentList()));
+                break;
+            }
+            case getComponent: {
+                sendIfOpen(conn, new Message(MessageType.RESPONSE, packedRequest.requestID,
+                        dashboardAPI.getComponent(req.args[0])));
+                break;
+            }
 
-                case streamManagerReadMessages: {
-                    streamManagerReadMessages(conn, packedRequest, req);
-                    break;
-                }
+            case startComponent: {
+                boolean retval = dashboardAPI.startComponent(req.args[0]);
+                sendIfOpen(conn, new Message(MessageType.RESPONSE, packedRequest.requestID, retval));
+                break;
+            }
+            case stopComponent: {
+                boolean retval = dashboardAPI.stopComponent(req.args[0]);
+                sendIfOpen(conn, new Message(MessageType.RESPONSE, packedRequest.requestID, retval));
+                break;
+            }
+            case reinstallComponent: {
+                boolean retval = dashboardAPI.reinstallComponent(req.args[0]);
+                sendIfOpen(conn, new Message(MessageType.RESPONSE, packedRequest.requestID, retval));
+                break;
+            }
+            case getConfig: {
+                sendIfOpen(conn, new Message(MessageType.RESPONSE, packedRequest.requestID,
+                        dashboardAPI.getConfig(req.args[0])));
+                break;
+            }
+            case updateConfig: {
+                sendIfOpen(conn, new Message(MessageType.RESPONSE, packedRequest.requestID,
+                        dashboardAPI.updateConfig(req.args[0], req.args[1])));
+                break;
+            }
+            case subscribeToComponent: {
+                statusWatchlist.compute(req.args[0], (k, set) -> {
+                    Set<WebSocket> watchers = set == null ? ConcurrentHashMap.newKeySet() : set;
+                    watchers.add(conn);
+                    return watchers;
+                });
+                pushComponentChange(req.args[0]);
+                sendIfOpen(conn, new Message(MessageType.RESPONSE, packedRequest.requestID, true));
+                break;
+            }
+            case unsubscribeToComponent: {
+                removeFromMapOfLists(statusWatchlist, req.args[0], conn);
+                sendIfOpen(conn, new Message(MessageType.RESPONSE, packedRequest.requestID, true));
+                break;
+            }
+            case subscribeToComponentLogs: {
+                watchComponentLogs(req.args[0], conn);
+                sendIfOpen(conn, new Message(MessageType.RESPONSE, packedRequest.requestID, true));
+                break;
+            }
+            case unsubscribeToComponentLogs: {
+                unwatchComponentLogs(req.args[0], conn);
+                sendIfOpen(conn, new Message(MessageType.RESPONSE, packedRequest.requestID, true));
+                break;
+            }
+            case searchComponentLogs: {
+                sendIfOpen(conn, new Message(MessageType.RESPONSE, packedRequest.requestID,
+                        searchComponentLogs(req.args[0])));
+                break;
+            }
+            case forcePushComponentList: {
+                // delta subscribers get a full snapshot
+                componentListVersions.computeIfPresent(conn, (k, v) -> NO_COMPONENT_LIST_VERSION);
+                pushComponentListUpdate();
+                sendIfOpen(conn, new Message(MessageType.RESPONSE, packedRequest.requestID, true));
+                break;
+            }
+            case subscribeToComponentListDeltas: {
+                componentListVersions.put(conn, NO_COMPONENT_LIST_VERSION);
+                pushComponentListUpdate();
+                sendIfOpen(conn, new Message(MessageType.RESPONSE, packedRequest.requestID, true));
+                break;
+            }
+            case unsubscribeToComponentListDeltas: {
+                componentListVersions.remove(conn);
+                sendIfOpen(conn, new Message(MessageType.RESPONSE, packedRequest.requestID, true));
+                break;
+            }
+            case forcePushDependencyGraph: {
+                pushDependencyGraphUpdate();
+                sendIfOpen(conn, new Message(MessageType.RESPONSE, packedRequest.requestID, true));
+                break;
+            }
+            case getServerMetrics: {
+                sendIfOpen(conn, new Message(MessageType.RESPONSE, packedRequest.requestID, getServerMetrics()));
+                break;
+            }
+            case subscribeToPubSubTopic: {
+                subscribeToPubSubTopic(conn, packedRequest, req);
+                break;
+            }
+            case publishToPubSubTopic: {
+                publishToPubSubTopic(conn, packedRequest, req);
+                break;
+            }
+            case unsubscribeToPubSubTopic: {
+                unsubscribeFromPubSubTopic(conn, packedRequest, req);
+                break;
+            }
+            case streamManagerListStreams: {
+                streamManagerListStreams(conn, packedRequest);
+                break;
+            }
+            case streamManagerDescribeStream: {
+                streamManagerDescribeStream(conn, packedRequest, req);
+                break;
+            }
 
-                case streamManagerAppendMessage:{
-                    streamManagerAppendMessage(conn, packedRequest, req);
-                    break;
-                }
+            case streamManagerDescribeStreams: {
+                streamManagerDescribeStreams(conn, packedRequest, req);
+                break;
+            }
 
-                case streamManagerCreateMessageStream:{
-                    streamManagerCreateMessageStream(conn, packedRequest, req);
-                    break;
-                }
+            case streamManagerDeleteMessageStream: {
+                streamManagerDeleteMessageStream(conn, packedRequest, req);
+                break;
+            }
 
-                case streamManagerUpdateMessageStream:{
-                    streamManagerUpdateMessageStream(conn, packedRequest, req);
-                    break;
-                }
+            case streamManagerReadMessages: {
+                streamManagerReadMessages(conn, packedRequest, req);
+                break;
+            }
+
+            case streamManagerReadMessagesPage: {
+                sendIfOpen(conn, new Message(MessageType.RESPONSE, packedRequest.requestID,
+                        streamManagerReadMessagesPage(req.args[0])));
+                break;
+            }
+
+            case streamManagerReadMessagePayload: {
+                streamManagerReadMessagePayload(conn, packedRequest, req);
+                break;
+            }
+
+            case streamManagerTailStream: {
+                streamManagerTailStream(conn, packedRequest, req);
+                break;
+            }
+
+            case streamManagerStopTailStream: {
+                streamTailer.unsubscribe(conn, req.args[0]);
+                StreamManagerResponseMessage responseMessage = new StreamManagerResponseMessage();
+                responseMessage.successful = true;
+                sendIfOpen(conn, new Message(MessageType.RESPONSE, packedRequest.requestID, responseMessage));
+                break;
+            }
+
+            case streamManagerAppendMessage:{
+                streamManagerAppendMessage(conn, packedRequest, req);
+                break;
+            }
 
-                default: { // echo
-                    sendIfOpen(conn, new Message(MessageType.RESPONSE, packedRequest.requestID, req.call));
-                    break;
+            case streamManagerAppendMessages: {
+                streamManagerAppendMessages(conn, packedRequest, req);
+                break;
+            }
+
+            case streamManagerStopAppendMessages: {
+                StreamManagerResponseMessage responseMessage = new StreamManagerResponseMessage();
+                responseMessage.successful = streamAppender.stop(conn, req.args[0]);
+                if (!responseMessage.successful) {
+                    responseMessage.errorMsg = "No running append job " + req.args[0];
                 }
+                sendIfOpen(conn, new Message(MessageType.RESPONSE, packedRequest.requestID, responseMessage));
+                break;
+            }
+
+            case streamManagerCreateMessageStream:{
+                streamManagerCreateMessageStream(conn, packedRequest, req);
+                break;
+            }
+
+            case streamManagerUpdateMessageStream:{
+                streamManagerUpdateMessageStream(conn, packedRequest, req);
+                break;
+            }
+
+            default: { // echo
+                sendIfOpen(conn, new Message(MessageType.RESPONSE, packedRequest.requestID, req.call));
+                break;
             }
         }
     }
 
+    private LogSearchPage searchComponentLogs(String query) {
+        LogSearchRequest request;
+        try {
+            request = jsonMapper.readValue(query, LogSearchRequest.class);
+        } catch (JsonProcessingException e) {
+            return LogSearchPage.failure(e.getMessage());
+        }
+        try {
+            return logSearch.search(request);
+        } catch (IOException e) {
+            logger.atWarn().kv("component", request.getComponent()).setCause(e).log("Unable to search component log");
+            return LogSearchPage.failure(e.getMessage());
+        }
+    }
+
     private void subscribeToPubSubTopic(WebSocket conn, PackedRequest packedRequest, Request req) {
         JsonNode tree;
         try {
@@ -422,6 +831,20 @@ public class DashboardServer extends WebSocketServer implements KernelMessagePus
         sendIfOpen(conn, new Message(MessageType.RESPONSE, packedRequest.requestID, responseMessage));
     }
 
+    private void streamManagerDescribeStreams(WebSocket conn, PackedRequest packedRequest, Request req) {
+        StreamManagerResponseMessage responseMessage = new StreamManagerResponseMessage();
+        try {
+            responseMessage.streamInfoList = this.streamManagerHelper.describeStreams(
+                    req.args == null || req.args.length == 0 ? null : Arrays.asList(req.args));
+            responseMessage.successful = true;
+        }
+        catch (Exception e){
+            logger.error("Error while describing streams:", e);
+            responseMessage.errorMsg = Utils.generateFailureMessage(e);
+        }
+        sendIfOpen(conn, new Message(MessageType.RESPONSE, packedRequest.requestID, responseMessage));
+    }
+
     private void streamManagerDeleteMessageStream(WebSocket conn, PackedRequest packedRequest, Request req) {
         StreamManagerResponseMessage responseMessage = new StreamManagerResponseMessage();
         try {
@@ -459,10 +882,73 @@ public class DashboardServer extends WebSocketServer implements KernelMessagePus
         sendIfOpen(conn, new Message(MessageType.RESPONSE, packedRequest.requestID, responseMessage));
     }
 
+    private StreamMessagesPage streamManagerReadMessagesPage(String query) {
+        StreamMessagesRequest request;
+        try {
+            request = jsonMapper.readValue(query, StreamMessagesRequest.class);
+        } catch (JsonProcessingException e) {
+            return StreamMessagesPage.failure(e.getMessage());
+        }
+        try {
+            return streamPager.read(request);
+        } catch (StreamManagerException | RuntimeException e) {
+            logger.atWarn().kv("stream", request.getStreamName()).setCause(e).log("Unable to read messages");
+            return StreamMessagesPage.failure(Utils.generateFailureMessage(e));
+        }
+    }
+
+    private void streamManagerReadMessagePayload(WebSocket conn, PackedRequest packedRequest, Request req) {
+        StreamManagerResponseMessage responseMessage = new StreamManagerResponseMessage();
+        try {
+            if (req.args.length == 2) {
+                responseMessage.messagesList = this.streamManagerHelper.readMessages(req.args[0],
+                        Long.parseLong(req.args[1]), 1L, 1L, 1000L);
+                responseMessage.successful = true;
+            } else {
+                logger.atError().log("StreamManagerReadMessagePayload requires 2 arguments");
+                responseMessage.errorMsg = "StreamManagerReadMessagePayload requires 2 arguments";
+            }
+        } catch (Exception e) {
+            logger.error("Error while reading message:", e);
+            responseMessage.errorMsg = Utils.generateFailureMessage(e);
+        }
+        sendIfOpen(conn, new Message(MessageType.RESPONSE, packedRequest.requestID, responseMessage));
+    }
+
+    private void streamManagerAppendMessages(WebSocket conn, PackedRequest packedRequest, Request req) {
+        StreamAppendRequest request;
+        try {
+            request = jsonMapper.readValue(req.args[0], StreamAppendRequest.class);
+        } catch (JsonProcessingException e) {
+            sendIfOpen(conn, new Message(MessageType.RESPONSE, packedRequest.requestID,
+                    StreamAppendProgress.failure(e.getMessage())));
+            return;
+        }
+        // the response carries the job id, so it must be queued before the job's first progress
+        streamAppender.start(conn, request,
+                progress -> sendIfOpen(conn, new Message(MessageType.RESPONSE, packedRequest.requestID, progress)));
+    }
+
+    private void streamManagerTailStream(WebSocket conn, PackedRequest packedRequest, Request req) {
+        StreamManagerResponseMessage responseMessage = new StreamManagerResponseMessage();
+        try {
+            if (req.args.length == 1 || req.args.length == 2) {
+                streamTailer.subscribe(conn, req.args[0], req.args.length == 2 ? Long.parseLong(req.args[1]) : null);
+                responseMessage.successful = true;
+            } else {
+                logger.atError().log("StreamManagerTailStream requires 1 or 2 arguments");
+                responseMessage.errorMsg = "StreamManagerTailStream requires 1 or 2 arguments";
+            }
+        } catch (NumberFormatException e) {
+            responseMessage.errorMsg = Utils.generateFailureMessage(e);
+        }
+        sendIfOpen(conn, new Message(MessageType.RESPONSE, packedRequest.requestID, responseMessage));
+    }
+
     private void streamManagerAppendMessage(WebSocket conn, PackedRequest packedRequest, Request req) {
         StreamManagerResponseMessage responseMessage = new StreamManagerResponseMessage();
         try {
-            this.streamManagerHelper.appendMessage(req.args[0], req.args[1].getBytes());
+            this.streamManagerHelper.appendMessage(req.args[0], req.args[1].getBytes(StandardCharsets.UTF_8));
             responseMessage.successful = true;
         }
         catch (Exception e){
@@ -504,8 +990,19 @@ public class DashboardServer extends WebSocketServer implements KernelMessagePus
     @Override
     public void onClose(WebSocket conn, int code, String reason, boolean remote) {
         connections.remove(conn);
+        componentListVersions.remove(conn);
+        cborConnections.remove(conn);
+        OutboundQueue queue = outboundQueues.remove(conn);
+        if (queue != null) {
+            queue.close();
+        }
         statusWatchlist.forEach((name, set) -> set.remove(conn));
-        logWatchlist.forEach((name, set) -> set.remove(conn));
+        logRateLimiters.remove(conn);
+        streamTailer.unsubscribeAll(conn);
+        streamAppender.stopAll(conn);
+        for (String name : new ArrayList<>(logWatchlist.keySet())) {
+            unwatchComponentLogs(name, conn);
+        }
         pubSubWatchList.get(conn).forEach((topic, sub) -> pubSubIPCAgent.unsubscribe(sub));
         mqttWatchList.get(conn).forEach((topic, sub) -> {
             try {
@@ -526,6 +1023,22 @@ public class DashboardServer extends WebSocketServer implements KernelMessagePus
                 conn == null ? null : conn.getRemoteSocketAddress());
     }
 
+    @Override
+    public void stop(int timeout) throws InterruptedException {
+        try {
+            super.stop(timeout);
+        } finally {
+            pushExecutor.shutdownNow();
+            dispatchExecutor.shutdownNow();
+            logExecutor.shutdownNow();
+            streamExecutor.shutdownNow();
+            appendExecutor.shutdownNow();
+            if (streamManagerHelper != null) {
+                streamManagerHelper.close();
+            }
+        }
+    }
+
     @Override
     public void onStart() {
         logger.atInfo().log(SERVER_START_MESSAGE);
@@ -534,33 +1047,167 @@ public class DashboardServer extends WebSocketServer implements KernelMessagePus
 
     @Override
     public void pushComponentListUpdate() {
-        for (WebSocket conn : connections) {
-            sendIfOpen(conn, new Message(MessageType.COMPONENT_LIST, dashboardAPI.getComponentList()));
+        List<WebSocket> targets = authenticatedConnections();
+        if (targets.isEmpty()) {
+            return;
+        }
+        ComponentItem[] list = dashboardAPI.getComponentList();
+        List<WebSocket> fullTargets = new ArrayList<>();
+        List<WebSocket> deltaTargets = new ArrayList<>();
+        List<WebSocket> snapshotTargets = new ArrayList<>();
+        // held while sending so that every client sees the versions in order
+        synchronized (componentListLock) {
+            ComponentListDelta delta = diffComponentList(list);
+            for (WebSocket conn : targets) {
+                Long version = componentListVersions.get(conn);
+                if (version == null) {
+                    fullTargets.add(conn);
+                } else if (version == delta.getVersion()) {
+                    continue; // already up to date
+                } else if (version == delta.getBaseVersion()) {
+                    deltaTargets.add(conn);
+                } else {
+                    snapshotTargets.add(conn);
+                }
+                componentListVersions.computeIfPresent(conn, (k, v) -> delta.getVersion());
+            }
+            if (!fullTargets.isEmpty()) {
+                broadcastIfOpen(fullTargets, new Message(MessageType.COMPONENT_LIST, list));
+            }
+            if (!deltaTargets.isEmpty()) {
+                broadcastIfOpen(deltaTargets, new Message(MessageType.COMPONENT_LIST_DELTA, delta));
+            }
+            if (!snapshotTargets.isEmpty()) {
+                broadcastIfOpen(snapshotTargets, new Message(MessageType.COMPONENT_LIST_DELTA,
+                        ComponentListDelta.snapshot(delta.getVersion(), list)));
+            }
         }
     }
 
+    /**
+     * Compares the list with the previously pushed one and advances the list version if anything changed.
+     *
+     * @param list the current component list
+     * @return the changes from the previous version to the current one
+     */
+    private ComponentListDelta diffComponentList(ComponentItem[] list) {
+        Map<String, ComponentItem> current = new LinkedHashMap<>();
+        for (ComponentItem item : list) {
+            current.put(item.getName(), item);
+        }
+        List<ComponentItem> added = new ArrayList<>();
+        List<ComponentItem> changed = new ArrayList<>();
+        List<String> removed = new ArrayList<>();
+        for (ComponentItem item : current.values()) {
+            ComponentItem previous = lastComponentList.get(item.getName());
+            if (previous == null) {
+                added.add(item);
+            } else if (!previous.equals(item)) {
+                changed.add(item);
+            }
+        }
+        for (String name : lastComponentList.keySet()) {
+            if (!current.containsKey(name)) {
+                removed.add(name);
+            }
+        }
+        lastComponentList = current;
+        long baseVersion = componentListVersion;
+        if (!added.isEmpty() || !changed.isEmpty() || !removed.isEmpty()) {
+            componentListVersion++;
+        }
+        return new ComponentListDelta(componentListVersion, baseVersion, false,
+                added.toArray(new ComponentItem[0]), changed.toArray(new ComponentItem[0]),
+                removed.toArray(new String[0]));
+    }
+
     @Override
     public void pushComponentChange(String name) {
         if (statusWatchlist.containsKey(name)) {
             statusWatchlist.computeIfPresent(name, (k,set) -> {
-                for (WebSocket conn : set) {
-                    sendIfOpen(conn, new Message(MessageType.COMPONENT_CHANGE, dashboardAPI.getComponent(name)));
+                List<WebSocket> targets = set.stream().filter(DashboardServer::isAuthenticated)
+                        .collect(Collectors.toList());
+                if (!targets.isEmpty()) {
+                    broadcastIfOpen(targets,
+                            new Message(MessageType.COMPONENT_CHANGE, dashboardAPI.getComponent(name)));
                 }
                 return set;
             });
         }
     }
 
+    @Override
+    public void pushComponentChanges(Collection<String> names) {
+        // connections which watch the same changed components share one encoded batch
+        Map<WebSocket, List<String>> watchedByConnection = new LinkedHashMap<>();
+        for (String name : names) {
+            statusWatchlist.computeIfPresent(name, (k, set) -> {
+                set.stream().filter(DashboardServer::isAuthenticated).forEach(conn ->
+                        watchedByConnection.computeIfAbsent(conn, c -> new ArrayList<>()).add(name));
+                return set;
+            });
+        }
+        Map<List<String>, List<WebSocket>> targetsByComponents = new LinkedHashMap<>();
+        watchedByConnection.forEach((conn, watched) ->
+                targetsByComponents.computeIfAbsent(watched, k -> new ArrayList<>()).add(conn));
+        Map<String, ComponentItem> items = new HashMap<>();
+        targetsByComponents.forEach((watched, targets) -> {
+            if (watched.size() == 1) {
+                broadcastIfOpen(targets, new Message(MessageType.COMPONENT_CHANGE,
+                        items.computeIfAbsent(watched.get(0), dashboardAPI::getComponent)));
+            } else {
+                broadcastIfOpen(targets, new Message(MessageType.COMPONENT_CHANGES, watched.stream()
+                        .map(name -> items.computeIfAbsent(name, dashboardAPI::getComponent))
+                        .toArray(ComponentItem[]::new)));
+            }
+        });
+    }
+
     @Override
     public void pushDependencyGraphUpdate() {
-        for (WebSocket conn : connections) {
-            sendIfOpen(conn, new Message(MessageType.DEPS_GRAPH, dashboardAPI.getDependencyGraph()));
+        List<WebSocket> targets = authenticatedConnections();
+        if (!targets.isEmpty()) {
+            broadcastIfOpen(targets, new Message(MessageType.DEPS_GRAPH, dashboardAPI.getDependencyGraph()));
+        }
+    }
+
+    /**
+     * Pushes new lines of a component's log to the connections which subscribed to it, as one batch per connection.
+     * A connection which is over its line rate only gets the newest lines it is allowed, together with the number of
+     * skipped lines.
+     *
+     * @param name  the component
+     * @param lines the new lines, oldest first
+     */
+    void pushComponentLogs(String name, List<ComponentLogLine> lines) {
+        List<WebSocket> subscribers = new ArrayList<>();
+        logWatchlist.computeIfPresent(name, (k, set) -> {
+            subscribers.addAll(set);
+            return set;
+        });
+        // connections which are allowed the same number of lines share one encoded batch
+        Map<Integer, List<WebSocket>> targetsByLineCount = new LinkedHashMap<>();
+        for (WebSocket conn : subscribers) {
+            if (!isAuthenticated(conn)) {
+                continue;
+            }
+            int allowed = logRateLimiters.computeIfAbsent(conn, k -> new LineRateLimiter(logLinesPerSecond))
+                    .acquire(lines.size());
+            if (allowed > 0) {
+                targetsByLineCount.computeIfAbsent(allowed, k -> new ArrayList<>()).add(conn);
+            }
         }
+        targetsByLineCount.forEach((allowed, targets) -> {
+            List<ComponentLogLine> sent = lines.subList(lines.size() - allowed, lines.size());
+            broadcastIfOpen(targets, new Message(MessageType.COMPONENT_LOGS, new ComponentLogBatch(name,
+                    sent.toArray(new ComponentLogLine[0]), lines.size() - allowed)));
+        });
     }
 
     void removeFromMapOfLists(Map<String, Set<WebSocket>> map, String key, WebSocket entry) {
-        map.get(key).remove(entry);
+        // remove under the key's lock, so that a concurrent subscribe doesn't add to a set which is being dropped
         map.computeIfPresent(key, (k, v) -> {
+            v.remove(entry);
             if (v.isEmpty()) {
                 return null;
             }
@@ -568,16 +1215,120 @@ public class DashboardServer extends WebSocketServer implements KernelMessagePus
         });
     }
 
-    private void sendIfOpen(WebSocket conn, Message msg) {
-        if (conn != null && (boolean) conn.getAttachment()) {
-            try {
-                String temp = jsonMapper.writeValueAsString(msg);
-                conn.send(temp);
-            } catch (WebsocketNotConnectedException e) {
-                // a normal occurrence if the dashboard is not connected, e.g. if the user closes the browser
-            } catch (JsonProcessingException j) {
-                logger.atError().setCause(j).log("Unable to stringify the message: {}", msg);
+    // the tail of a component changes under the key's lock as well, so it is followed exactly while it has watchers
+    private void watchComponentLogs(String name, WebSocket conn) {
+        logWatchlist.compute(name, (k, set) -> {
+            Set<WebSocket> watchers = set == null ? ConcurrentHashMap.newKeySet() : set;
+            watchers.add(conn);
+            logTailer.follow(name);
+            return watchers;
+        });
+    }
+
+    private void unwatchComponentLogs(String name, WebSocket conn) {
+        logWatchlist.computeIfPresent(name, (k, set) -> {
+            set.remove(conn);
+            if (set.isEmpty()) {
+                logTailer.unfollow(name);
+                return null;
+            }
+            return set;
+        });
+    }
+
+    private List<WebSocket> authenticatedConnections() {
+        return connections.stream().filter(DashboardServer::isAuthenticated).collect(Collectors.toList());
+    }
+
+    private static boolean isAuthenticated(WebSocket conn) {
+        return conn != null && Boolean.TRUE.equals(conn.getAttachment());
+    }
+
+    /**
+     * Serializes the message once per wire format and hands the same frame to the outbound queue of every target
+     * connection using that format, instead of serializing it again for each of them.
+     *
+     * @param targets authenticated connections which should receive the message
+     * @param msg     the message to push
+     */
+    private void broadcastIfOpen(Collection<WebSocket> targets, Message msg) {
+        String coalesceKey = coalesceKey(msg);
+        String text = null;
+        byte[] binary = null;
+        int encodes = 0;
+        try {
+            for (WebSocket conn : targets) {
+                if (cborConnections.contains(conn)) {
+                    if (binary == null) {
+                        binary = cborMapper.writeValueAsBytes(msg);
+                        encodes++;
+                    }
+                    enqueue(conn, msg.getMessageType(), coalesceKey, binary);
+                } else {
+                    if (text == null) {
+                        text = jsonMapper.writeValueAsString(msg);
+                        encodes++;
+                    }
+                    enqueue(conn, msg.getMessageType(), coalesceKey, text);
+                }
             }
+        } catch (JsonProcessingException j) {
+            logger.atError().setCause(j).log("Unable to stringify the message: {}", msg);
+            return;
+        }
+        int saved = Math.max(0, targets.size() - encodes);
+        long total = savedEncodes.addAndGet(saved);
+        logger.atTrace().kv("messageType", msg.getMessageType()).kv("recipients", targets.size())
+                .kv("encodes", encodes).kv("savedEncodes", saved).kv("totalSavedEncodes", total)
+                .log("Broadcast push");
+    }
+
+    private void sendIfOpen(WebSocket conn, Message msg) {
+        if (isAuthenticated(conn)) {
+            send(conn, msg);
+        }
+    }
+
+    // sends the message in the wire format negotiated by the connection, whether or not it is authenticated
+    private void send(WebSocket conn, Message msg) {
+        try {
+            Object frame = cborConnections.contains(conn) ? cborMapper.writeValueAsBytes(msg)
+                    : jsonMapper.writeValueAsString(msg);
+            enqueue(conn, msg.getMessageType(), coalesceKey(msg), frame);
+        } catch (JsonProcessingException j) {
+            logger.atError().setCause(j).log("Unable to stringify the message: {}", msg);
+        }
+    }
+
+    private void enqueue(WebSocket conn, int messageType, String coalesceKey, Object frame) {
+        OutboundQueue queue = outboundQueues.get(conn);
+        if (queue != null) {
+            queue.offer(messageType, coalesceKey, frame);
+        }
+    }
+
+    /**
+     * Identifies what a push is about, so that a newer push can replace a queued one for a slow connection.
+     *
+     * @param msg message to send
+     * @return the key or null if the message can't be coalesced
+     */
+    private static String coalesceKey(Message msg) {
+        Object payload = msg.getPayload();
+        switch (msg.getMessageType()) {
+            case MessageType.COMPONENT_CHANGE:
+                return payload instanceof ComponentItem ? ((ComponentItem) payload).getName() : null;
+            case MessageType.PUB_SUB_MSG:
+                if (payload instanceof CommunicationMessage) {
+                    CommunicationMessage pubSubMessage = (CommunicationMessage) payload;
+                    return pubSubMessage.getSubId() + '/' + pubSubMessage.getTopic();
+                }
+                return null;
+            case MessageType.COMPONENT_LIST:
+            case MessageType.DEPS_GRAPH:
+                return "";
+            default:
+                return null;
         }
     }
 }
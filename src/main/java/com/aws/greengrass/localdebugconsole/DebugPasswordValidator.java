@@ -0,0 +1,157 @@
+/*
+ * Copyright Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package com.aws.greengrass.localdebugconsole;
+
+import com.aws.greengrass.config.Topic;
+import com.aws.greengrass.config.Topics;
+import com.aws.greengrass.logging.api.Logger;
+import com.aws.greengrass.util.Coerce;
+
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+import static com.aws.greengrass.localdebugconsole.SimpleHttpServer.EXPIRATION_NAMESPACE;
+
+/**
+ * Validates the temporary passwords which the CLI stores as _debugPassword/username/password/expiration. A request
+ * only looks up its own username and password, and expired passwords are removed by a task which is scheduled for
+ * the earliest expiration whenever the passwords change, instead of by walking every password on every request.
+ */
+class DebugPasswordValidator {
+    private final Supplier<Topics> passwords;
+    private final ScheduledExecutorService ses;
+    private final Logger logger;
+    private ScheduledFuture<?> pruneTask;
+    private long pruneAtMillis = Long.MAX_VALUE;
+
+    /**
+     * Constructor.
+     *
+     * @param passwords finds the _debugPassword topics, returning null if there are none
+     * @param ses       executor which runs the pruning
+     * @param logger    logger
+     */
+    DebugPasswordValidator(Supplier<Topics> passwords, ScheduledExecutorService ses, Logger logger) {
+        this.passwords = passwords;
+        this.ses = ses;
+        this.logger = logger;
+    }
+
+    /**
+     * Watches the passwords for changes to keep the pruning scheduled for the earliest expiration.
+     *
+     * @param watched the _debugPassword topics
+     */
+    void watch(Topics watched) {
+        watched.subscribe((what, child) -> schedulePrune());
+    }
+
+    /**
+     * Checks a username and password.
+     *
+     * @param username username
+     * @param password password
+     * @return true if the password exists and has not expired
+     */
+    boolean isValid(String username, String password) {
+        return validUntil(username, password) > 0;
+    }
+
+    /**
+     * Checks a username and password.
+     *
+     * @param username username
+     * @param password password
+     * @return when the password expires in epoch milliseconds, or 0 if it is not valid
+     */
+    long validUntil(String username, String password) {
+        Topics root = passwords.get();
+        Topics entry = root == null ? null : root.findTopics(username, password);
+        if (entry == null) {
+            return 0;
+        }
+        Topic expiration = entry.find(EXPIRATION_NAMESPACE);
+        if (expiration != null) {
+            long expiresAt = Coerce.toLong(expiration);
+            if (System.currentTimeMillis() < expiresAt) {
+                return expiresAt;
+            }
+        }
+        // expired before the pruning got to it
+        entry.remove();
+        return 0;
+    }
+
+    synchronized void schedulePrune() {
+        Topics root = passwords.get();
+        long[] min = {Long.MAX_VALUE};
+        if (root != null) {
+            root.forEach(user -> {
+                if (user instanceof Topics) {
+                    ((Topics) user).forEach(password -> {
+                        if (password instanceof Topics) {
+                            min[0] = Math.min(min[0], expirationOf((Topics) password));
+                        }
+                    });
+                }
+            });
+        }
+        long earliest = min[0];
+        if (pruneTask != null && pruneAtMillis <= earliest) {
+            return;
+        }
+        cancel();
+        if (earliest == Long.MAX_VALUE) {
+            return;
+        }
+        try {
+            pruneTask = ses.schedule(this::prune, Math.max(0, earliest - System.currentTimeMillis()),
+                    TimeUnit.MILLISECONDS);
+            pruneAtMillis = earliest;
+        } catch (RejectedExecutionException e) {
+            // shutting down
+        }
+    }
+
+    synchronized void cancel() {
+        if (pruneTask != null) {
+            pruneTask.cancel(false);
+            pruneTask = null;
+        }
+        pruneAtMillis = Long.MAX_VALUE;
+    }
+
+    void prune() {
+        synchronized (this) {
+            pruneTask = null;
+            pruneAtMillis = Long.MAX_VALUE;
+        }
+        Topics root = passwords.get();
+        if (root != null) {
+            long now = System.currentTimeMillis();
+            root.forEach(user -> {
+                if (user instanceof Topics) {
+                    ((Topics) user).forEach(password -> {
+                        // a password without an expiration is removed as well
+                        if (password instanceof Topics && expirationOf((Topics) password) <= now) {
+                            logger.atDebug().kv("user", user.getName()).log("Removing expired debug password");
+                            password.remove();
+                        }
+                    });
+                }
+            });
+        }
+        schedulePrune();
+    }
+
+    private static long expirationOf(Topics password) {
+        Topic expiration = password.find(EXPIRATION_NAMESPACE);
+        return expiration == null ? 0 : Coerce.toLong(expiration);
+    }
+}
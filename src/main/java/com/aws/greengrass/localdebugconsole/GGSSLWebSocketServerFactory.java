@@ -19,21 +19,39 @@ import java.nio.channels.SocketChannel;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
 import java.util.concurrent.ExecutorService;
-import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
 import javax.inject.Provider;
 import javax.net.ssl.SSLEngine;
 
 /**
  * This class is based on {@link DefaultSSLWebSocketServerFactory} but instead of accepting a {@link javax.net.ssl.SSLContext}
  * it instead takes a provider of {@link SSLEngine}.
+ *
+ * <p>SSL delegated tasks, which do the expensive part of each handshake, run on a bounded pool so that many browsers
+ * reconnecting at once handshake in parallel. When the pool's queue is full the selector thread runs the task itself,
+ * which is what the single thread executor of {@link DefaultSSLWebSocketServerFactory} amounts to.</p>
  */
 public class GGSSLWebSocketServerFactory implements WebSocketServerFactory {
+    static final int DEFAULT_SSL_THREADS = Math.min(4, Runtime.getRuntime().availableProcessors());
+    private static final int SSL_QUEUE_SIZE = 64;
+    private static final long CLOSE_TIMEOUT_MILLIS = 1000;
+
     protected Provider<SSLEngine> engineProvider;
     protected ExecutorService exec;
+    // all engines come from the same context, so the filtered cipher list is only computed once
+    private volatile String[] enabledCipherSuites;
 
     public GGSSLWebSocketServerFactory(Provider<SSLEngine> engineProvider) {
-        this(engineProvider, Executors.newSingleThreadScheduledExecutor());
+        this(engineProvider, DEFAULT_SSL_THREADS);
+    }
+
+    public GGSSLWebSocketServerFactory(Provider<SSLEngine> engineProvider, int threads) {
+        this(engineProvider, newDelegatedTaskExecutor(threads));
     }
 
     public GGSSLWebSocketServerFactory(Provider<SSLEngine> engineProvider, ExecutorService exec) {
@@ -48,13 +66,22 @@ public class GGSSLWebSocketServerFactory implements WebSocketServerFactory {
     @Override
     public ByteChannel wrapChannel(SocketChannel channel, SelectionKey key) throws IOException {
         SSLEngine e = this.engineProvider.get();
-        List<String> ciphers = new ArrayList<>(Arrays.asList(e.getEnabledCipherSuites()));
-        ciphers.remove("TLS_ECDHE_RSA_WITH_AES_128_GCM_SHA256");
-        e.setEnabledCipherSuites(ciphers.toArray(new String[0]));
+        e.setEnabledCipherSuites(enabledCipherSuites(e));
         e.setUseClientMode(false);
         return new SSLSocketChannel2(channel, e, this.exec, key);
     }
 
+    private String[] enabledCipherSuites(SSLEngine e) {
+        String[] ciphers = enabledCipherSuites;
+        if (ciphers == null) {
+            List<String> filtered = new ArrayList<>(Arrays.asList(e.getEnabledCipherSuites()));
+            filtered.remove("TLS_ECDHE_RSA_WITH_AES_128_GCM_SHA256");
+            ciphers = filtered.toArray(new String[0]);
+            enabledCipherSuites = ciphers;
+        }
+        return ciphers;
+    }
+
     @Override
     public WebSocketImpl createWebSocket(WebSocketAdapter a, Draft d) {
         return new WebSocketImpl(a, d);
@@ -65,8 +92,85 @@ public class GGSSLWebSocketServerFactory implements WebSocketServerFactory {
         return new WebSocketImpl(a, d);
     }
 
+    private static ThreadPoolExecutor newDelegatedTaskExecutor(int threads) {
+        AtomicInteger threadCount = new AtomicInteger();
+        ThreadPoolExecutor executor = new ThreadPoolExecutor(threads, threads, 60, TimeUnit.SECONDS,
+                new ArrayBlockingQueue<>(SSL_QUEUE_SIZE), r -> {
+            Thread t = new Thread(r, "LocalDebugConsole-ssl-" + threadCount.incrementAndGet());
+            t.setDaemon(true);
+            return t;
+        }, new CountingCallerRunsPolicy());
+        executor.allowCoreThreadTimeOut(true);
+        return executor;
+    }
+
+    /**
+     * Set how many handshakes may run their delegated tasks at the same time.
+     *
+     * @param threads number of SSL threads
+     */
+    void setThreads(int threads) {
+        if (!(exec instanceof ThreadPoolExecutor)) {
+            return;
+        }
+        ThreadPoolExecutor executor = (ThreadPoolExecutor) exec;
+        if (threads > executor.getMaximumPoolSize()) {
+            executor.setMaximumPoolSize(threads);
+            executor.setCorePoolSize(threads);
+        } else {
+            executor.setCorePoolSize(threads);
+            executor.setMaximumPoolSize(threads);
+        }
+    }
+
+    int getQueuedTasks() {
+        return exec instanceof ThreadPoolExecutor ? ((ThreadPoolExecutor) exec).getQueue().size() : 0;
+    }
+
+    int getActiveThreads() {
+        return exec instanceof ThreadPoolExecutor ? ((ThreadPoolExecutor) exec).getActiveCount() : 0;
+    }
+
+    long getCompletedTasks() {
+        return exec instanceof ThreadPoolExecutor ? ((ThreadPoolExecutor) exec).getCompletedTaskCount() : 0;
+    }
+
+    /**
+     * Number of tasks which the selector thread ran itself because the queue was full.
+     *
+     * @return task count
+     */
+    long getCallerRunsTasks() {
+        if (exec instanceof ThreadPoolExecutor
+                && ((ThreadPoolExecutor) exec).getRejectedExecutionHandler() instanceof CountingCallerRunsPolicy) {
+            return ((CountingCallerRunsPolicy) ((ThreadPoolExecutor) exec).getRejectedExecutionHandler()).count.get();
+        }
+        return 0;
+    }
+
     @Override
     public void close() {
-        this.exec.shutdownNow();
+        // let running handshakes finish so that their threads don't die in the middle of the SSLEngine
+        this.exec.shutdown();
+        try {
+            if (!this.exec.awaitTermination(CLOSE_TIMEOUT_MILLIS, TimeUnit.MILLISECONDS)) {
+                this.exec.shutdownNow();
+            }
+        } catch (InterruptedException e) {
+            this.exec.shutdownNow();
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private static class CountingCallerRunsPolicy extends ThreadPoolExecutor.CallerRunsPolicy {
+        private final AtomicLong count = new AtomicLong();
+
+        @Override
+        public void rejectedExecution(Runnable r, ThreadPoolExecutor e) {
+            if (!e.isShutdown()) {
+                count.incrementAndGet();
+            }
+            super.rejectedExecution(r, e);
+        }
     }
 }
@@ -32,10 +32,14 @@ import com.fasterxml.jackson.databind.JsonMappingException;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.fasterxml.jackson.dataformat.yaml.YAMLFactory;
 
+import java.nio.file.InvalidPathException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
 import java.text.MessageFormat;
 import java.util.HashMap;
 import java.util.HashSet;
 import java.util.Map;
+import java.util.Objects;
 import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
 import javax.inject.Singleton;
@@ -198,6 +202,31 @@ public class KernelCommunicator implements DashboardAPI {
                 .toArray(DepGraphNode[]::new);
     }
 
+    @Override
+    public Path getComponentLogFile(String name) {
+        LogConfig rootConfig = LogConfig.getRootLogConfig();
+        if (rootConfig.getStore() == LogStore.CONSOLE || name == null || name.isEmpty()) {
+            return null;
+        }
+        Path nucleusLog = Paths.get(rootConfig.getStoreName()).toAbsolutePath().normalize();
+        if (name.equals(root.getMain().getName())
+                || deviceConfig != null && name.equals(deviceConfig.getNucleusComponentName())) {
+            return nucleusLog;
+        }
+        // the name comes from the client, so it must not be able to point outside of the log directory
+        Path componentLog;
+        try {
+            componentLog = nucleusLog.resolveSibling(name + ".log").normalize();
+        } catch (InvalidPathException e) {
+            // e.g. a NUL character
+            return null;
+        }
+        if (!Objects.equals(componentLog.getParent(), nucleusLog.getParent())) {
+            return null;
+        }
+        return componentLog;
+    }
+
     /**
      * Updates the dependency tree rooted at a service, inserting nodes and adding listeners where necessary.
      *
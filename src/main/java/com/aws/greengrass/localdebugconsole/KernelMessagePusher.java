@@ -5,6 +5,8 @@
 
 package com.aws.greengrass.localdebugconsole;
 
+import java.util.Collection;
+
 /**
  * Relays information from the kernel communicator to the client interface.
  */
@@ -21,6 +23,14 @@ public interface KernelMessagePusher {
      */
     void pushComponentChange(String name);
 
+    /**
+     * Called with the components which changed together, for example during one coalescing window.
+     * @param names the service names
+     */
+    default void pushComponentChanges(Collection<String> names) {
+        names.forEach(this::pushComponentChange);
+    }
+
     /**
      * Called when the wireframe dependency graph is updated.
      */
@@ -0,0 +1,93 @@
+/*
+ * Copyright Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package com.aws.greengrass.localdebugconsole;
+
+import java.security.InvalidAlgorithmParameterException;
+import java.security.Key;
+import java.security.KeyPair;
+import java.security.KeyPairGenerator;
+import java.security.NoSuchAlgorithmException;
+import java.security.SecureRandom;
+import java.security.spec.ECGenParameterSpec;
+import java.util.Locale;
+
+/**
+ * Key type of the self-signed certificate which the dashboard serves over HTTPS.
+ */
+enum KeyAlgorithm {
+    /**
+     * RSA 4096. Takes seconds to generate on small devices.
+     */
+    RSA("RSA", "SHA256WithRSA"),
+    /**
+     * ECDSA on P-256. Generates in milliseconds and is accepted by every current browser.
+     */
+    EC("EC", "SHA256WithECDSA");
+
+    private static final int RSA_KEY_BITS = 4096;
+    private static final String EC_CURVE = "secp256r1";
+
+    private final String keyAlgorithm;
+    private final String signatureAlgorithm;
+
+    KeyAlgorithm(String keyAlgorithm, String signatureAlgorithm) {
+        this.keyAlgorithm = keyAlgorithm;
+        this.signatureAlgorithm = signatureAlgorithm;
+    }
+
+    String getSignatureAlgorithm() {
+        return signatureAlgorithm;
+    }
+
+    /**
+     * Generates a new key pair.
+     *
+     * @return key pair
+     * @throws NoSuchAlgorithmException if the platform does not support the algorithm
+     */
+    KeyPair generateKeyPair() throws NoSuchAlgorithmException {
+        KeyPairGenerator keyGen = KeyPairGenerator.getInstance(keyAlgorithm);
+        try {
+            if (this == RSA) {
+                keyGen.initialize(RSA_KEY_BITS, new SecureRandom());
+            } else {
+                keyGen.initialize(new ECGenParameterSpec(EC_CURVE), new SecureRandom());
+            }
+        } catch (InvalidAlgorithmParameterException e) {
+            throw new NoSuchAlgorithmException(e);
+        }
+        return keyGen.generateKeyPair();
+    }
+
+    /**
+     * Checks if a stored key is of this type, so that changing the configured type replaces the keystore.
+     *
+     * @param key stored key
+     * @return true if the key is of this type
+     */
+    boolean matches(Key key) {
+        return key != null && keyAlgorithm.equalsIgnoreCase(key.getAlgorithm());
+    }
+
+    /**
+     * Parses an algorithm from configuration, accepting both "EC" and "ec" spellings.
+     *
+     * @param value configured value
+     * @return the algorithm or null if the value is not a valid algorithm
+     */
+    static KeyAlgorithm parse(String value) {
+        if (value == null) {
+            return null;
+        }
+        String normalized = value.trim().toUpperCase(Locale.ROOT);
+        for (KeyAlgorithm algorithm : values()) {
+            if (algorithm.name().equals(normalized)) {
+                return algorithm;
+            }
+        }
+        return null;
+    }
+}
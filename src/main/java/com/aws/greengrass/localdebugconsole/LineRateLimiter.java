@@ -0,0 +1,45 @@
+/*
+ * Copyright Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package com.aws.greengrass.localdebugconsole;
+
+/**
+ * Token bucket which allows a number of lines per second, with bursts of up to one second's worth of lines.
+ */
+class LineRateLimiter {
+    private final int linesPerSecond;
+    private double tokens;
+    private long lastRefillNanos;
+
+    LineRateLimiter(int linesPerSecond) {
+        this.linesPerSecond = linesPerSecond;
+        this.tokens = linesPerSecond;
+        this.lastRefillNanos = System.nanoTime();
+    }
+
+    /**
+     * Takes up to the requested number of lines from the bucket.
+     *
+     * @param lines number of lines which should be sent
+     * @return number of lines which may be sent
+     */
+    synchronized int acquire(int lines) {
+        long now = System.nanoTime();
+        tokens = Math.min(linesPerSecond, tokens + (now - lastRefillNanos) * linesPerSecond / 1e9);
+        lastRefillNanos = now;
+        int granted = (int) Math.min(lines, Math.floor(tokens));
+        tokens -= granted;
+        return granted;
+    }
+
+    /**
+     * Puts back lines which were acquired but not sent.
+     *
+     * @param lines number of unused lines
+     */
+    synchronized void refund(int lines) {
+        tokens = Math.min(linesPerSecond, tokens + lines);
+    }
+}
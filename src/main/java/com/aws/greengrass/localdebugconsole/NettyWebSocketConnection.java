@@ -0,0 +1,259 @@
+/*
+ * Copyright Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package com.aws.greengrass.localdebugconsole;
+
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.Unpooled;
+import io.netty.channel.Channel;
+import io.netty.channel.ChannelFutureListener;
+import io.netty.handler.codec.http.websocketx.BinaryWebSocketFrame;
+import io.netty.handler.codec.http.websocketx.CloseWebSocketFrame;
+import io.netty.handler.codec.http.websocketx.ContinuationWebSocketFrame;
+import io.netty.handler.codec.http.websocketx.PingWebSocketFrame;
+import io.netty.handler.codec.http.websocketx.PongWebSocketFrame;
+import io.netty.handler.codec.http.websocketx.TextWebSocketFrame;
+import io.netty.handler.codec.http.websocketx.WebSocketFrame;
+import io.netty.handler.ssl.SslHandler;
+import org.java_websocket.WebSocket;
+import org.java_websocket.drafts.Draft;
+import org.java_websocket.enums.Opcode;
+import org.java_websocket.enums.ReadyState;
+import org.java_websocket.exceptions.WebsocketNotConnectedException;
+import org.java_websocket.framing.CloseFrame;
+import org.java_websocket.framing.Framedata;
+
+import java.net.InetSocketAddress;
+import java.nio.ByteBuffer;
+import java.util.Collection;
+import javax.net.ssl.SSLSession;
+
+/**
+ * A WebSocket which was upgraded inside the Netty pipeline of the HTTP server, presented as a Java-WebSocket
+ * connection so that {@link DashboardServer} handles it like the connections of its own listener.
+ */
+class NettyWebSocketConnection implements WebSocket {
+    private final Channel channel;
+    private final String resourceDescriptor;
+    private volatile Object attachment;
+    private volatile boolean closing;
+    // opcode of the message which sendFragmentedFrame is sending, null between messages
+    private Opcode fragmentedOpcode;
+
+    NettyWebSocketConnection(Channel channel, String resourceDescriptor) {
+        this.channel = channel;
+        this.resourceDescriptor = resourceDescriptor;
+    }
+
+    /**
+     * Bytes which Netty has queued but not yet written to the socket. Only Netty's thread safe writability counters
+     * are read, so the count is exact up to the channel's write buffer high water mark and Long.MAX_VALUE above it.
+     *
+     * @return queued bytes
+     */
+    long getPendingBytes() {
+        if (!channel.isActive()) {
+            return 0;
+        }
+        if (!channel.isWritable()) {
+            return Long.MAX_VALUE;
+        }
+        return Math.max(0, channel.config().getWriteBufferHighWaterMark() - channel.bytesBeforeUnwritable());
+    }
+
+    private void write(WebSocketFrame frame) {
+        if (!channel.isActive()) {
+            frame.release();
+            throw new WebsocketNotConnectedException();
+        }
+        channel.writeAndFlush(frame);
+    }
+
+    private static WebSocketFrame toNettyFrame(Framedata framedata) {
+        ByteBuf payload = Unpooled.wrappedBuffer(framedata.getPayloadData());
+        int rsv = (framedata.isRSV1() ? 4 : 0) | (framedata.isRSV2() ? 2 : 0) | (framedata.isRSV3() ? 1 : 0);
+        switch (framedata.getOpcode()) {
+            case TEXT:
+                return new TextWebSocketFrame(framedata.isFin(), rsv, payload);
+            case BINARY:
+                return new BinaryWebSocketFrame(framedata.isFin(), rsv, payload);
+            case CONTINUOUS:
+                return new ContinuationWebSocketFrame(framedata.isFin(), rsv, payload);
+            case PING:
+                return new PingWebSocketFrame(framedata.isFin(), rsv, payload);
+            case PONG:
+                return new PongWebSocketFrame(framedata.isFin(), rsv, payload);
+            case CLOSING:
+                // the payload holds the close code and reason
+                return new CloseWebSocketFrame(framedata.isFin(), rsv, payload);
+            default:
+                payload.release();
+                throw new IllegalArgumentException("Unsupported opcode " + framedata.getOpcode());
+        }
+    }
+
+    @Override
+    public void close(int code, String message) {
+        if (channel.isActive() && !closing) {
+            closing = true;
+            channel.writeAndFlush(new CloseWebSocketFrame(code, message)).addListener(ChannelFutureListener.CLOSE);
+        }
+    }
+
+    @Override
+    public void close(int code) {
+        close(code, "");
+    }
+
+    @Override
+    public void close() {
+        close(CloseFrame.NORMAL);
+    }
+
+    @Override
+    public void closeConnection(int code, String message) {
+        closing = true;
+        channel.close();
+    }
+
+    @Override
+    public void send(String text) {
+        write(new TextWebSocketFrame(text));
+    }
+
+    @Override
+    public void send(ByteBuffer bytes) {
+        write(new BinaryWebSocketFrame(Unpooled.wrappedBuffer(bytes)));
+    }
+
+    @Override
+    public void send(byte[] bytes) {
+        write(new BinaryWebSocketFrame(Unpooled.wrappedBuffer(bytes)));
+    }
+
+    @Override
+    public void sendFrame(Framedata framedata) {
+        write(toNettyFrame(framedata));
+    }
+
+    @Override
+    public void sendFrame(Collection<Framedata> frames) {
+        if (!channel.isActive()) {
+            throw new WebsocketNotConnectedException();
+        }
+        for (Framedata framedata : frames) {
+            channel.write(toNettyFrame(framedata));
+        }
+        channel.flush();
+    }
+
+    @Override
+    public void sendPing() {
+        write(new PingWebSocketFrame());
+    }
+
+    @Override
+    public synchronized void sendFragmentedFrame(Opcode op, ByteBuffer buffer, boolean fin) {
+        if (op != Opcode.TEXT && op != Opcode.BINARY) {
+            throw new IllegalArgumentException("Only Opcode.BINARY or Opcode.TEXT are allowed");
+        }
+        ByteBuf payload = Unpooled.wrappedBuffer(buffer);
+        WebSocketFrame frame;
+        if (fragmentedOpcode != null) {
+            frame = new ContinuationWebSocketFrame(fin, 0, payload);
+        } else if (op == Opcode.TEXT) {
+            frame = new TextWebSocketFrame(fin, 0, payload);
+        } else {
+            frame = new BinaryWebSocketFrame(fin, 0, payload);
+        }
+        write(frame);
+        fragmentedOpcode = fin ? null : op;
+    }
+
+    @Override
+    public boolean hasBufferedData() {
+        return getPendingBytes() > 0;
+    }
+
+    @Override
+    public InetSocketAddress getRemoteSocketAddress() {
+        return channel.remoteAddress() instanceof InetSocketAddress ? (InetSocketAddress) channel.remoteAddress()
+                : null;
+    }
+
+    @Override
+    public InetSocketAddress getLocalSocketAddress() {
+        return channel.localAddress() instanceof InetSocketAddress ? (InetSocketAddress) channel.localAddress()
+                : null;
+    }
+
+    @Override
+    public boolean isOpen() {
+        return getReadyState() == ReadyState.OPEN;
+    }
+
+    @Override
+    public boolean isClosing() {
+        return closing && channel.isOpen();
+    }
+
+    @Override
+    public boolean isFlushAndClose() {
+        return false;
+    }
+
+    @Override
+    public boolean isClosed() {
+        return !channel.isOpen();
+    }
+
+    @Override
+    public Draft getDraft() {
+        return null;
+    }
+
+    @Override
+    public ReadyState getReadyState() {
+        if (!channel.isActive()) {
+            return ReadyState.CLOSED;
+        }
+        return closing ? ReadyState.CLOSING : ReadyState.OPEN;
+    }
+
+    @Override
+    public String getResourceDescriptor() {
+        return resourceDescriptor;
+    }
+
+    @Override
+    public <T> void setAttachment(T attachment) {
+        this.attachment = attachment;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public <T> T getAttachment() {
+        return (T) attachment;
+    }
+
+    @Override
+    public boolean hasSSLSupport() {
+        return channel.pipeline().get(SslHandler.class) != null;
+    }
+
+    @Override
+    public SSLSession getSSLSession() {
+        SslHandler sslHandler = channel.pipeline().get(SslHandler.class);
+        if (sslHandler == null) {
+            throw new IllegalArgumentException("This websocket does not use SSL");
+        }
+        return sslHandler.engine().getSession();
+    }
+
+    @Override
+    public String toString() {
+        return String.valueOf(channel.remoteAddress());
+    }
+}
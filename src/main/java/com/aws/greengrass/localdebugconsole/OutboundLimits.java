@@ -0,0 +1,54 @@
+/*
+ * Copyright Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package com.aws.greengrass.localdebugconsole;
+
+import com.aws.greengrass.localdebugconsole.messageutils.MessageType;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+/**
+ * Limits shared by the outbound queues of all dashboard connections. Replaced as a whole when the configuration
+ * changes.
+ */
+@Getter
+@AllArgsConstructor
+class OutboundLimits {
+    static final int DEFAULT_MAX_MESSAGES = 1000;
+    static final long DEFAULT_MAX_BYTES = 8L * 1024 * 1024;
+    static final long DEFAULT_EVICT_AFTER_MILLIS = 30_000;
+    static final long DEFAULT_SOCKET_HIGH_WATER_BYTES = 256L * 1024;
+    static final OverflowPolicy DEFAULT_PUB_SUB_POLICY = OverflowPolicy.DROP_OLDEST;
+    static final OverflowPolicy DEFAULT_COMPONENT_CHANGE_POLICY = OverflowPolicy.COALESCE;
+    static final OutboundLimits DEFAULT = new OutboundLimits(DEFAULT_MAX_MESSAGES, DEFAULT_MAX_BYTES,
+            DEFAULT_EVICT_AFTER_MILLIS, DEFAULT_SOCKET_HIGH_WATER_BYTES, DEFAULT_PUB_SUB_POLICY,
+            DEFAULT_COMPONENT_CHANGE_POLICY);
+
+    // frames waiting in the console for a connection
+    private final int maxMessages;
+    private final long maxBytes;
+    // a connection which stays full for this long is closed
+    private final long evictAfterMillis;
+    // frames are only handed to the websocket library while less than this is waiting to be written to the socket
+    private final long socketHighWaterBytes;
+    private final OverflowPolicy pubSubPolicy;
+    private final OverflowPolicy componentChangePolicy;
+
+    OverflowPolicy policyFor(int messageType) {
+        switch (messageType) {
+            case MessageType.PUB_SUB_MSG:
+                return pubSubPolicy;
+            case MessageType.COMPONENT_CHANGE:
+            case MessageType.COMPONENT_CHANGES:
+                return componentChangePolicy;
+            case MessageType.COMPONENT_LIST:
+            case MessageType.DEPS_GRAPH:
+                // full snapshots, only the latest one matters
+                return OverflowPolicy.COALESCE;
+            default:
+                return OverflowPolicy.KEEP;
+        }
+    }
+}
@@ -0,0 +1,281 @@
+/*
+ * Copyright Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package com.aws.greengrass.localdebugconsole;
+
+import com.aws.greengrass.localdebugconsole.messageutils.ConnectionMetrics;
+import com.aws.greengrass.logging.api.Logger;
+import org.java_websocket.WebSocket;
+import org.java_websocket.WebSocketImpl;
+import org.java_websocket.exceptions.WebsocketNotConnectedException;
+import org.java_websocket.framing.CloseFrame;
+
+import java.nio.ByteBuffer;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.Iterator;
+import java.util.Objects;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+/**
+ * Bounded buffer of frames for one dashboard connection. Frames go straight to the websocket while the socket keeps
+ * up. Once the bytes waiting to be written to the socket pass the high water mark, frames wait here instead and are
+ * drained as the socket catches up, so a slow client can only hold a bounded amount of heap. A full queue applies
+ * the overflow policy of the frame's message type. A connection is closed when it stays full, or right away when a
+ * frame which must not be dropped doesn't fit.
+ */
+class OutboundQueue {
+    static final long DRAIN_INTERVAL_MILLIS = 20;
+
+    private final WebSocket conn;
+    private final Supplier<OutboundLimits> limits;
+    private final ScheduledExecutorService ses;
+    private final Logger logger;
+    private final Runnable onEvict;
+
+    private final Deque<Frame> pending = new ArrayDeque<>();
+    private long pendingBytes;
+    private long sentMessages;
+    private long droppedMessages;
+    private long coalescedMessages;
+    // upper bound of the socket backlog: the last measured backlog plus what was written since. The backlog is only
+    // measured again once the estimate reaches the high water mark, instead of on every frame.
+    private long backlogEstimateBytes = Long.MAX_VALUE;
+    // System.nanoTime() when the queue became full, 0 while it is not full
+    private long fullSinceNanos;
+    private boolean drainScheduled;
+    private boolean closed;
+
+    OutboundQueue(WebSocket conn, Supplier<OutboundLimits> limits, ScheduledExecutorService ses, Logger logger,
+                  Runnable onEvict) {
+        this.conn = conn;
+        this.limits = limits;
+        this.ses = ses;
+        this.logger = logger;
+        this.onEvict = onEvict;
+    }
+
+    /**
+     * Sends or queues an encoded frame.
+     *
+     * @param messageType type of the message in the frame, selects the overflow policy
+     * @param coalesceKey identifies what the message is about for {@link OverflowPolicy#COALESCE}, null if the
+     *                    message can not be coalesced
+     * @param data        the frame, either a String for a text frame or a byte[] for a binary frame
+     */
+    void offer(int messageType, String coalesceKey, Object data) {
+        boolean evict;
+        synchronized (this) {
+            evict = enqueue(messageType, coalesceKey, data);
+        }
+        if (evict) {
+            evict();
+        }
+    }
+
+    // returns true if the connection has to be closed because the frame can't be queued
+    private boolean enqueue(int messageType, String coalesceKey, Object data) {
+        if (closed) {
+            return false;
+        }
+        OutboundLimits l = limits.get();
+        if (pending.isEmpty() && socketHasRoom(l)) {
+            write(data);
+            return false;
+        }
+
+        Frame frame = new Frame(messageType, coalesceKey, data);
+        OverflowPolicy policy = l.policyFor(messageType);
+        if (policy == OverflowPolicy.COALESCE && coalesceKey != null) {
+            for (Frame queued : pending) {
+                if (queued.messageType == messageType && coalesceKey.equals(queued.coalesceKey)) {
+                    pendingBytes += frame.bytes - queued.bytes;
+                    queued.data = frame.data;
+                    queued.bytes = frame.bytes;
+                    coalescedMessages++;
+                    return false;
+                }
+            }
+        }
+
+        if (wouldOverflow(l, frame)) {
+            markFull();
+            if (policy == OverflowPolicy.DROP_OLDEST) {
+                dropOldest(l, frame);
+            }
+            if (policy == OverflowPolicy.DROP_NEWEST
+                    || policy == OverflowPolicy.DROP_OLDEST && wouldOverflow(l, frame)) {
+                droppedMessages++;
+                return false;
+            }
+            if (wouldOverflow(l, frame)) {
+                // responses, logs and changes which have nothing to replace can't be dropped without leaving the
+                // dashboard out of sync, so the connection is closed instead of growing the queue past its limits
+                logger.atWarn().kv("Socket", conn.getRemoteSocketAddress()).kv("messageType", messageType)
+                        .kv("queuedMessages", pending.size()).kv("queuedBytes", pendingBytes)
+                        .log("Closing slow dashboard connection which has no room for a message");
+                close();
+                return true;
+            }
+        }
+        pending.add(frame);
+        pendingBytes += frame.bytes;
+        if (isFull(l)) {
+            markFull();
+        }
+        scheduleDrain();
+        return false;
+    }
+
+    /**
+     * Drops all queued frames and stops accepting new ones.
+     */
+    synchronized void close() {
+        closed = true;
+        pending.clear();
+        pendingBytes = 0;
+    }
+
+    synchronized ConnectionMetrics metrics() {
+        long fullMillis = fullSinceNanos == 0 ? 0 : TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - fullSinceNanos);
+        return new ConnectionMetrics(Objects.toString(conn.getRemoteSocketAddress()), pending.size(), pendingBytes,
+                socketBacklogBytes(), sentMessages, droppedMessages, coalescedMessages, fullMillis);
+    }
+
+    void drain() {
+        boolean evict = false;
+        synchronized (this) {
+            drainScheduled = false;
+            if (closed) {
+                return;
+            }
+            OutboundLimits l = limits.get();
+            while (!pending.isEmpty() && socketHasRoom(l)) {
+                Frame frame = pending.poll();
+                pendingBytes -= frame.bytes;
+                write(frame.data);
+            }
+            if (!isFull(l)) {
+                fullSinceNanos = 0;
+            } else if (markFull() >= TimeUnit.MILLISECONDS.toNanos(l.getEvictAfterMillis())) {
+                evict = true;
+                logger.atWarn().kv("Socket", conn.getRemoteSocketAddress()).kv("queuedMessages", pending.size())
+                        .kv("queuedBytes", pendingBytes).kv("droppedMessages", droppedMessages)
+                        .log("Closing slow dashboard connection which stayed over its outbound limit");
+                close();
+            }
+            if (!pending.isEmpty()) {
+                scheduleDrain();
+            }
+        }
+        if (evict) {
+            evict();
+        }
+    }
+
+    private void evict() {
+        onEvict.run();
+        conn.close(CloseFrame.TRY_AGAIN_LATER, "Slow consumer");
+    }
+
+    private void dropOldest(OutboundLimits l, Frame frame) {
+        for (Iterator<Frame> it = pending.iterator(); it.hasNext() && wouldOverflow(l, frame); ) {
+            Frame queued = it.next();
+            if (queued.messageType == frame.messageType) {
+                it.remove();
+                pendingBytes -= queued.bytes;
+                droppedMessages++;
+            }
+        }
+    }
+
+    private boolean isFull(OutboundLimits l) {
+        return pending.size() >= l.getMaxMessages() || pendingBytes >= l.getMaxBytes();
+    }
+
+    private boolean wouldOverflow(OutboundLimits l, Frame frame) {
+        return pending.size() + 1 > l.getMaxMessages() || pendingBytes + frame.bytes > l.getMaxBytes();
+    }
+
+    // returns for how many nanoseconds the queue has been full
+    private long markFull() {
+        long now = System.nanoTime();
+        if (fullSinceNanos == 0) {
+            fullSinceNanos = now;
+        }
+        return now - fullSinceNanos;
+    }
+
+    private boolean socketHasRoom(OutboundLimits l) {
+        if (backlogEstimateBytes >= l.getSocketHighWaterBytes()) {
+            backlogEstimateBytes = socketBacklogBytes();
+        }
+        return backlogEstimateBytes < l.getSocketHighWaterBytes();
+    }
+
+    private void scheduleDrain() {
+        if (drainScheduled) {
+            return;
+        }
+        try {
+            ses.schedule(this::drain, DRAIN_INTERVAL_MILLIS, TimeUnit.MILLISECONDS);
+            drainScheduled = true;
+        } catch (RejectedExecutionException e) {
+            // shutting down
+        }
+    }
+
+    private void write(Object data) {
+        try {
+            if (data instanceof String) {
+                conn.send((String) data);
+            } else {
+                conn.send((byte[]) data);
+            }
+            sentMessages++;
+            backlogEstimateBytes += sizeOf(data);
+        } catch (WebsocketNotConnectedException e) {
+            // a normal occurrence if the dashboard is not connected, e.g. if the user closes the browser
+            close();
+        }
+    }
+
+    // bytes which the websocket library or Netty has queued but not yet written to the socket
+    private long socketBacklogBytes() {
+        if (conn instanceof WebSocketImpl) {
+            long total = 0;
+            for (ByteBuffer buffer : ((WebSocketImpl) conn).outQueue) {
+                total += buffer.remaining();
+            }
+            return total;
+        }
+        if (conn instanceof NettyWebSocketConnection) {
+            return ((NettyWebSocketConnection) conn).getPendingBytes();
+        }
+        return conn.hasBufferedData() ? Long.MAX_VALUE : 0;
+    }
+
+    private static class Frame {
+        private final int messageType;
+        private final String coalesceKey;
+        private Object data;
+        private long bytes;
+
+        Frame(int messageType, String coalesceKey, Object data) {
+            this.messageType = messageType;
+            this.coalesceKey = coalesceKey;
+            this.data = data;
+            this.bytes = sizeOf(data);
+        }
+    }
+
+    private static long sizeOf(Object data) {
+        // the length of a JSON string is close enough to its UTF-8 size for accounting
+        return data instanceof String ? ((String) data).length() : ((byte[]) data).length;
+    }
+}
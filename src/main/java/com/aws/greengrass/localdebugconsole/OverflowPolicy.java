@@ -0,0 +1,50 @@
+/*
+ * Copyright Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package com.aws.greengrass.localdebugconsole;
+
+import java.util.Locale;
+
+/**
+ * What a connection's outbound queue does with a new frame of a given message type once the queue is full.
+ */
+enum OverflowPolicy {
+    /**
+     * Never drop the frame. A frame which doesn't fit closes the connection, and the dashboard reconnects.
+     */
+    KEEP,
+    /**
+     * Make room by dropping the oldest queued frames of the same message type.
+     */
+    DROP_OLDEST,
+    /**
+     * Drop the new frame.
+     */
+    DROP_NEWEST,
+    /**
+     * Replace a queued frame about the same thing (e.g. the same component) with the new one, which never grows the
+     * queue. A frame with nothing to replace is handled like {@link #KEEP}.
+     */
+    COALESCE;
+
+    /**
+     * Parses a policy from configuration, accepting both "dropOldest" and "DROP_OLDEST" spellings.
+     *
+     * @param value configured value
+     * @return the policy or null if the value is not a valid policy
+     */
+    static OverflowPolicy parse(String value) {
+        if (value == null) {
+            return null;
+        }
+        String normalized = value.replace("_", "").replace("-", "").toUpperCase(Locale.ROOT);
+        for (OverflowPolicy policy : values()) {
+            if (policy.name().replace("_", "").equals(normalized)) {
+                return policy;
+            }
+        }
+        return null;
+    }
+}
@@ -0,0 +1,109 @@
+/*
+ * Copyright Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package com.aws.greengrass.localdebugconsole;
+
+import com.aws.greengrass.logging.api.Logger;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Sits between the kernel communicator and the client interface and coalesces bursts of kernel events. Components
+ * which changed during a window are collected and pushed as one batch when the window closes, together with at most
+ * one component list update and one dependency graph update. A window of 0 disables coalescing.
+ */
+class PushScheduler implements KernelMessagePusher {
+    static final long DEFAULT_WINDOW_MILLIS = 100;
+
+    private final KernelMessagePusher delegate;
+    private final ScheduledExecutorService ses;
+    private final Logger logger;
+
+    private final Set<String> dirtyComponents = ConcurrentHashMap.newKeySet();
+    private final AtomicBoolean listDirty = new AtomicBoolean();
+    private final AtomicBoolean depGraphDirty = new AtomicBoolean();
+    private final AtomicBoolean flushScheduled = new AtomicBoolean();
+    private volatile long windowMillis;
+
+    PushScheduler(KernelMessagePusher delegate, ScheduledExecutorService ses, Logger logger, long windowMillis) {
+        this.delegate = delegate;
+        this.ses = ses;
+        this.logger = logger;
+        this.windowMillis = windowMillis;
+    }
+
+    void setWindowMillis(long windowMillis) {
+        this.windowMillis = windowMillis;
+    }
+
+    @Override
+    public void pushComponentListUpdate() {
+        listDirty.set(true);
+        schedule();
+    }
+
+    @Override
+    public void pushComponentChange(String name) {
+        dirtyComponents.add(name);
+        schedule();
+    }
+
+    @Override
+    public void pushDependencyGraphUpdate() {
+        depGraphDirty.set(true);
+        schedule();
+    }
+
+    private void schedule() {
+        long window = windowMillis;
+        if (window <= 0) {
+            flush();
+            return;
+        }
+        // the first event of a window schedules the flush, so an event is never delayed by more than one window
+        if (flushScheduled.compareAndSet(false, true)) {
+            try {
+                ses.schedule(this::flush, window, TimeUnit.MILLISECONDS);
+            } catch (RejectedExecutionException e) {
+                // shutting down
+                flushScheduled.set(false);
+            }
+        }
+    }
+
+    /**
+     * Sends everything which became dirty since the last flush.
+     */
+    void flush() {
+        flushScheduled.set(false);
+        List<String> changed = new ArrayList<>();
+        for (Iterator<String> it = dirtyComponents.iterator(); it.hasNext(); ) {
+            changed.add(it.next());
+            it.remove();
+        }
+        try {
+            if (!changed.isEmpty()) {
+                delegate.pushComponentChanges(changed);
+            }
+            if (listDirty.getAndSet(false)) {
+                delegate.pushComponentListUpdate();
+            }
+            if (depGraphDirty.getAndSet(false)) {
+                delegate.pushDependencyGraphUpdate();
+            }
+        } catch (RuntimeException e) {
+            logger.atError().setCause(e).log("Unable to push batched kernel updates");
+        }
+        logger.atTrace().kv("changedComponents", changed.size()).log("Flushed batched kernel updates");
+    }
+}
@@ -0,0 +1,112 @@
+/*
+ * Copyright Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package com.aws.greengrass.localdebugconsole;
+
+import java.nio.charset.StandardCharsets;
+import java.security.InvalidKeyException;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.security.SecureRandom;
+import java.util.Base64;
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+
+/**
+ * Signed session tokens which the HTTP server hands out as a cookie after a successful Basic login. A token carries
+ * the username and the expiration of the password it was issued for, signed with a key which only lives in memory,
+ * so checking one is a single HMAC and no config lookup. Restarting the server invalidates all sessions.
+ */
+class SessionTokens {
+    static final String COOKIE_NAME = "gg_debug_session";
+    private static final String HMAC_ALGORITHM = "HmacSHA256";
+    private static final int KEY_BYTES = 32;
+    private static final Base64.Encoder ENCODER = Base64.getUrlEncoder().withoutPadding();
+    private static final Base64.Decoder DECODER = Base64.getUrlDecoder();
+
+    private final SecretKeySpec key;
+    // Mac instances are not thread safe
+    private final ThreadLocal<Mac> macs = ThreadLocal.withInitial(this::newMac);
+
+    SessionTokens() {
+        byte[] secret = new byte[KEY_BYTES];
+        new SecureRandom().nextBytes(secret);
+        key = new SecretKeySpec(secret, HMAC_ALGORITHM);
+    }
+
+    /**
+     * Issues a token.
+     *
+     * @param username        the user which logged in
+     * @param expiresAtMillis when the token expires, the expiration of the password which was used
+     * @return the token
+     */
+    String issue(String username, long expiresAtMillis) {
+        String payload = ENCODER.encodeToString(username.getBytes(StandardCharsets.UTF_8)) + '.' + expiresAtMillis;
+        return payload + '.' + ENCODER.encodeToString(sign(payload));
+    }
+
+    /**
+     * Checks a token.
+     *
+     * @param token the token, may be null
+     * @return true if the token was issued by this server and has not expired
+     */
+    boolean isValid(String token) {
+        if (token == null) {
+            return false;
+        }
+        int signatureStart = token.lastIndexOf('.');
+        int expirationStart = token.indexOf('.');
+        if (signatureStart <= expirationStart) {
+            return false;
+        }
+        String payload = token.substring(0, signatureStart);
+        byte[] signature;
+        long expiresAtMillis;
+        try {
+            signature = DECODER.decode(token.substring(signatureStart + 1));
+            expiresAtMillis = Long.parseLong(payload.substring(expirationStart + 1));
+        } catch (IllegalArgumentException e) {
+            return false;
+        }
+        // constant time comparison, so the signature can't be guessed byte by byte
+        return MessageDigest.isEqual(sign(payload), signature) && System.currentTimeMillis() < expiresAtMillis;
+    }
+
+    /**
+     * Finds the session token in a Cookie header.
+     *
+     * @param cookieHeader the header, may be null
+     * @return the token, or null if there is none
+     */
+    static String fromCookieHeader(String cookieHeader) {
+        if (cookieHeader == null) {
+            return null;
+        }
+        for (String cookie : cookieHeader.split(";")) {
+            cookie = cookie.trim();
+            if (cookie.startsWith(COOKIE_NAME + '=')) {
+                return cookie.substring(COOKIE_NAME.length() + 1);
+            }
+        }
+        return null;
+    }
+
+    private byte[] sign(String payload) {
+        return macs.get().doFinal(payload.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private Mac newMac() {
+        try {
+            Mac mac = Mac.getInstance(HMAC_ALGORITHM);
+            mac.init(key);
+            return mac;
+        } catch (NoSuchAlgorithmException | InvalidKeyException e) {
+            // every Java platform has HmacSHA256
+            throw new IllegalStateException(e);
+        }
+    }
+}
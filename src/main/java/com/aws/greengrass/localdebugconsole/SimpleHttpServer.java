@@ -7,7 +7,6 @@
 
 package com.aws.greengrass.localdebugconsole;
 
-import com.aws.greengrass.config.Topic;
 import com.aws.greengrass.config.Topics;
 import com.aws.greengrass.dependency.ImplementsService;
 import com.aws.greengrass.dependency.State;
@@ -22,27 +21,59 @@ import com.aws.greengrass.util.Utils;
 import io.netty.bootstrap.ServerBootstrap;
 import io.netty.buffer.ByteBuf;
 import io.netty.buffer.ByteBufAllocator;
+import io.netty.buffer.PooledByteBufAllocator;
+import io.netty.channel.Channel;
 import io.netty.channel.ChannelFuture;
 import io.netty.channel.ChannelHandlerContext;
 import io.netty.channel.ChannelInboundHandlerAdapter;
 import io.netty.channel.ChannelInitializer;
 import io.netty.channel.ChannelOption;
+import io.netty.channel.ChannelPipeline;
+import io.netty.channel.DefaultFileRegion;
 import io.netty.channel.EventLoopGroup;
+import io.netty.channel.SimpleChannelInboundHandler;
+import io.netty.channel.epoll.Epoll;
+import io.netty.channel.epoll.EpollEventLoopGroup;
+import io.netty.channel.epoll.EpollServerSocketChannel;
 import io.netty.channel.nio.NioEventLoopGroup;
 import io.netty.channel.socket.SocketChannel;
 import io.netty.channel.socket.nio.NioServerSocketChannel;
 import io.netty.handler.codec.http.DefaultFullHttpResponse;
+import io.netty.handler.codec.http.DefaultHttpResponse;
 import io.netty.handler.codec.http.FullHttpRequest;
 import io.netty.handler.codec.http.FullHttpResponse;
+import io.netty.handler.codec.http.HttpChunkedInput;
 import io.netty.handler.codec.http.HttpHeaderNames;
 import io.netty.handler.codec.http.HttpHeaderValues;
 import io.netty.handler.codec.http.HttpObjectAggregator;
+import io.netty.handler.codec.http.HttpResponse;
 import io.netty.handler.codec.http.HttpResponseStatus;
 import io.netty.handler.codec.http.HttpServerCodec;
 import io.netty.handler.codec.http.HttpUtil;
 import io.netty.handler.codec.http.HttpVersion;
+import io.netty.handler.codec.http.LastHttpContent;
+import io.netty.handler.codec.http.cookie.CookieHeaderNames;
+import io.netty.handler.codec.http.cookie.DefaultCookie;
+import io.netty.handler.codec.http.cookie.ServerCookieEncoder;
+import io.netty.handler.codec.http.websocketx.BinaryWebSocketFrame;
+import io.netty.handler.codec.http.websocketx.TextWebSocketFrame;
+import io.netty.handler.codec.http.websocketx.WebSocketFrame;
+import io.netty.handler.codec.http.websocketx.WebSocketFrameAggregator;
+import io.netty.handler.codec.http.websocketx.WebSocketServerProtocolHandler;
+import io.netty.handler.codec.http2.Http2FrameCodecBuilder;
+import io.netty.handler.codec.http2.Http2MultiplexHandler;
+import io.netty.handler.codec.http2.Http2SecurityUtil;
+import io.netty.handler.codec.http2.Http2StreamFrameToHttpObjectCodec;
+import io.netty.handler.ssl.ApplicationProtocolConfig;
+import io.netty.handler.ssl.ApplicationProtocolNames;
+import io.netty.handler.ssl.ApplicationProtocolNegotiationHandler;
 import io.netty.handler.ssl.SslContext;
 import io.netty.handler.ssl.SslContextBuilder;
+import io.netty.handler.ssl.SslHandler;
+import io.netty.handler.ssl.SslProvider;
+import io.netty.handler.ssl.SupportedCipherSuiteFilter;
+import io.netty.handler.stream.ChunkedNioFile;
+import io.netty.handler.stream.ChunkedWriteHandler;
 import org.bouncycastle.asn1.ASN1ObjectIdentifier;
 import org.bouncycastle.asn1.x500.X500Name;
 import org.bouncycastle.asn1.x509.BasicConstraints;
@@ -52,33 +83,31 @@ import org.bouncycastle.jce.provider.BouncyCastleProvider;
 import org.bouncycastle.operator.ContentSigner;
 import org.bouncycastle.operator.OperatorCreationException;
 import org.bouncycastle.operator.jcajce.JcaContentSignerBuilder;
+import org.java_websocket.framing.CloseFrame;
 import software.amazon.awssdk.regions.Region;
 
-import java.io.ByteArrayOutputStream;
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.OutputStream;
 import java.math.BigInteger;
 import java.net.InetSocketAddress;
-import java.net.URL;
+import java.nio.channels.FileChannel;
 import java.nio.charset.StandardCharsets;
 import java.nio.file.Files;
 import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
 import java.security.KeyPair;
-import java.security.KeyPairGenerator;
 import java.security.KeyStore;
 import java.security.KeyStoreException;
 import java.security.MessageDigest;
 import java.security.NoSuchAlgorithmException;
 import java.security.PrivateKey;
-import java.security.SecureRandom;
 import java.security.Security;
 import java.security.UnrecoverableKeyException;
 import java.security.cert.Certificate;
 import java.security.cert.CertificateEncodingException;
 import java.security.cert.CertificateException;
 import java.security.cert.X509Certificate;
-import java.time.Instant;
 import java.util.Base64;
 import java.util.Calendar;
 import java.util.Collections;
@@ -87,7 +116,11 @@ import java.util.HashMap;
 import java.util.LinkedHashMap;
 import java.util.Map;
 import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.ScheduledExecutorService;
 import java.util.concurrent.TimeUnit;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
@@ -122,24 +155,69 @@ public class SimpleHttpServer extends PluginService implements Authenticator {
     private static final int DEFAULT_HTTP_PORT = 1441;
     private static final int DEFAULT_WEBSOCKET_PORT = 1442;
     private static final boolean DEFAULT_HTTPS_ENABLED = true;
+    // one thread accepts connections, Netty would otherwise start two threads per core for each group
+    private static final int DEFAULT_BOSS_THREADS = 1;
+    private static final int DEFAULT_WORKER_THREADS = 2;
+    private static final boolean DEFAULT_HTTP2_ENABLED = true;
+    private static final boolean DEFAULT_NATIVE_TRANSPORT = true;
+    // path of the websocket when it shares the port of the HTTP server
+    static final String WEBSOCKET_PATH = "/ws";
+    private static final int MAX_WEBSOCKET_FRAME_BYTES = 512 * 1024;
+    private static final KeyAlgorithm DEFAULT_KEY_ALGORITHM = KeyAlgorithm.RSA;
+    private static final int FILE_CHUNK_BYTES = 64 * 1024;
+    // sessions are shared by both listeners, so a browser which reconnects either of them skips the key exchange
+    private static final long TLS_SESSION_CACHE_SIZE = 1024;
+    private static final long TLS_SESSION_TIMEOUT_SECONDS = TimeUnit.HOURS.toSeconds(8);
     int port = DEFAULT_HTTP_PORT;
 
     private final Kernel kernel;
     private final DeviceConfiguration deviceConfig;
+    private final DebugPasswordValidator debugPasswords;
+    private final SessionTokens sessionTokens = new SessionTokens();
+    private final TlsStats tlsStats = new TlsStats();
+    private final StaticAssetCache staticAssets;
+    // whether the region of the device is in the China partition, which is looked up from the SDK's region metadata
+    private final Map<String, Boolean> chinaPartitions = new ConcurrentHashMap<>();
 
-    private DashboardServer dashboardServer;
+    private volatile DashboardServer dashboardServer;
     int websocketPort = DEFAULT_WEBSOCKET_PORT;
     private String bindHostname = "localhost";
     private boolean httpsEnabled = DEFAULT_HTTPS_ENABLED;
+    private boolean websocketOnHttpPort = false;
+    private int bossThreads = DEFAULT_BOSS_THREADS;
+    private int workerThreads = DEFAULT_WORKER_THREADS;
+    private boolean nativeTransport = DEFAULT_NATIVE_TRANSPORT;
+    private boolean http2Enabled = DEFAULT_HTTP2_ENABLED;
+    // whether the running TLS context offers HTTP/2 through ALPN
+    private boolean alpnEnabled;
+    private KeyAlgorithm keyAlgorithm = DEFAULT_KEY_ALGORITHM;
+    private final Object lifecycleLock = new Object();
+    private Future<?> startupTask;
     private SslContext context;
     private Provider<SSLEngine> engineProvider;
     private String streamManagerAuthToken;
+    private long pushCoalesceWindowMs = PushScheduler.DEFAULT_WINDOW_MILLIS;
+    private int apiDispatchThreads = DashboardServer.DEFAULT_DISPATCH_THREADS;
+    private int sslThreads = GGSSLWebSocketServerFactory.DEFAULT_SSL_THREADS;
+    private int streamManagerClients = StreamManagerClientPool.DEFAULT_SIZE;
+    private long streamInfoCacheMs = StreamInfoCache.DEFAULT_TTL_MILLIS;
+    private int outboundQueueMaxMessages = OutboundLimits.DEFAULT_MAX_MESSAGES;
+    private long outboundQueueMaxBytes = OutboundLimits.DEFAULT_MAX_BYTES;
+    private long slowConsumerEvictionMs = OutboundLimits.DEFAULT_EVICT_AFTER_MILLIS;
+    private OverflowPolicy pubSubOverflowPolicy = OutboundLimits.DEFAULT_PUB_SUB_POLICY;
+    private OverflowPolicy componentChangeOverflowPolicy = OutboundLimits.DEFAULT_COMPONENT_CHANGE_POLICY;
+    private int logLinesPerSecond = DashboardServer.DEFAULT_LOG_LINES_PER_SECOND;
+    private int streamTailMessagesPerSecond = StreamTailer.DEFAULT_MESSAGES_PER_SECOND;
 
     @Inject
     public SimpleHttpServer(Topics t, Kernel kernel, DeviceConfiguration deviceConfiguration) {
         super(t);
         this.kernel = kernel;
         this.deviceConfig = deviceConfiguration;
+        this.debugPasswords = new DebugPasswordValidator(() -> config.getRoot().findTopics(DEBUG_PASSWORD_NAMESPACE),
+                kernel.getContext().get(ScheduledExecutorService.class), logger);
+        this.staticAssets = new StaticAssetCache(SimpleHttpServer.class.getClassLoader(), "node/dashboard-frontend/",
+                kernel.getContext().get(ExecutorService.class));
     }
 
     @Override
@@ -148,6 +226,7 @@ public class SimpleHttpServer extends PluginService implements Authenticator {
         // Does not happen for built-in/plugin services so doing explicitly
         AuthenticationHandler.registerAuthenticationToken(this);
         streamManagerAuthToken = Coerce.toString(this.getPrivateConfig().findLeafChild(SERVICE_UNIQUE_ID_KEY));
+        debugPasswords.watch(config.getRoot().lookupTopics(DEBUG_PASSWORD_NAMESPACE));
 
         config.lookup(CONFIGURATION_CONFIG_KEY, "port").dflt(port).subscribe((w, n) -> {
             int oldPort = port;
@@ -168,6 +247,20 @@ public class SimpleHttpServer extends PluginService implements Authenticator {
                 requestRestart();
             }
         });
+        config.lookup(CONFIGURATION_CONFIG_KEY, "keyAlgorithm").dflt(DEFAULT_KEY_ALGORITHM.name())
+                .subscribe((w, n) -> {
+                    KeyAlgorithm oldAlgorithm = keyAlgorithm;
+                    keyAlgorithm = KeyAlgorithm.parse(Coerce.toString(n));
+                    if (keyAlgorithm == null) {
+                        logger.atWarn().kv("keyAlgorithm", Coerce.toString(n))
+                                .kv("defaultKeyAlgorithm", DEFAULT_KEY_ALGORITHM)
+                                .log("Unknown key algorithm. Using default.");
+                        keyAlgorithm = DEFAULT_KEY_ALGORITHM;
+                    }
+                    if (oldAlgorithm != keyAlgorithm && httpsEnabled) {
+                        requestRestart();
+                    }
+                });
         config.lookup(CONFIGURATION_CONFIG_KEY, "websocketPort").dflt(websocketPort).subscribe((w, n) -> {
             int oldPort = websocketPort;
             websocketPort = Coerce.toInt(n);
@@ -180,6 +273,53 @@ public class SimpleHttpServer extends PluginService implements Authenticator {
                 requestRestart();
             }
         });
+        config.lookup(CONFIGURATION_CONFIG_KEY, "websocketOnHttpPort").dflt(websocketOnHttpPort)
+                .subscribe((w, n) -> {
+                    boolean oldValue = websocketOnHttpPort;
+                    websocketOnHttpPort = Coerce.toBoolean(n);
+                    if (oldValue != websocketOnHttpPort) {
+                        requestRestart();
+                    }
+                });
+        config.lookup(CONFIGURATION_CONFIG_KEY, "http2Enabled").dflt(DEFAULT_HTTP2_ENABLED).subscribe((w, n) -> {
+            boolean oldEnabled = http2Enabled;
+            http2Enabled = Coerce.toBoolean(n);
+            if (oldEnabled != http2Enabled && httpsEnabled) {
+                requestRestart();
+            }
+        });
+        config.lookup(CONFIGURATION_CONFIG_KEY, "bossThreads").dflt(bossThreads).subscribe((w, n) -> {
+            int oldThreads = bossThreads;
+            bossThreads = Coerce.toInt(n);
+            if (bossThreads < 1) {
+                logger.atWarn().kv("bossThreads", bossThreads).kv("defaultBossThreads", DEFAULT_BOSS_THREADS)
+                        .log("Boss threads should be at least 1. Using default.");
+                bossThreads = DEFAULT_BOSS_THREADS;
+            }
+            if (oldThreads != bossThreads) {
+                requestRestart();
+            }
+        });
+        config.lookup(CONFIGURATION_CONFIG_KEY, "workerThreads").dflt(workerThreads).subscribe((w, n) -> {
+            int oldThreads = workerThreads;
+            workerThreads = Coerce.toInt(n);
+            if (workerThreads < 1) {
+                logger.atWarn().kv("workerThreads", workerThreads).kv("defaultWorkerThreads", DEFAULT_WORKER_THREADS)
+                        .log("Worker threads should be at least 1. Using default.");
+                workerThreads = DEFAULT_WORKER_THREADS;
+            }
+            if (oldThreads != workerThreads) {
+                requestRestart();
+            }
+        });
+        config.lookup(CONFIGURATION_CONFIG_KEY, "nativeTransport").dflt(DEFAULT_NATIVE_TRANSPORT)
+                .subscribe((w, n) -> {
+                    boolean oldValue = nativeTransport;
+                    nativeTransport = Coerce.toBoolean(n);
+                    if (oldValue != nativeTransport) {
+                        requestRestart();
+                    }
+                });
         config.lookup(CONFIGURATION_CONFIG_KEY, "bindHostname").dflt(bindHostname).subscribe((w, n) -> {
             String oldName = bindHostname;
             bindHostname = Coerce.toString(n);
@@ -187,11 +327,196 @@ public class SimpleHttpServer extends PluginService implements Authenticator {
                 requestRestart();
             }
         });
+        config.lookup(CONFIGURATION_CONFIG_KEY, "pushCoalesceWindowMs").dflt(pushCoalesceWindowMs)
+                .subscribe((w, n) -> {
+                    pushCoalesceWindowMs = Coerce.toLong(n);
+                    if (pushCoalesceWindowMs < 0) {
+                        logger.atWarn().kv("pushCoalesceWindowMs", pushCoalesceWindowMs)
+                                .kv("defaultPushCoalesceWindowMs", PushScheduler.DEFAULT_WINDOW_MILLIS)
+                                .log("Push coalescing window should not be negative. Using default.");
+                        pushCoalesceWindowMs = PushScheduler.DEFAULT_WINDOW_MILLIS;
+                    }
+                    // the window can change without restarting the servers
+                    DashboardServer server = dashboardServer;
+                    if (server != null) {
+                        server.setPushCoalesceWindowMillis(pushCoalesceWindowMs);
+                    }
+                });
+        config.lookup(CONFIGURATION_CONFIG_KEY, "apiDispatchThreads").dflt(apiDispatchThreads)
+                .subscribe((w, n) -> {
+                    apiDispatchThreads = Coerce.toInt(n);
+                    if (apiDispatchThreads < 1) {
+                        logger.atWarn().kv("apiDispatchThreads", apiDispatchThreads)
+                                .kv("defaultApiDispatchThreads", DashboardServer.DEFAULT_DISPATCH_THREADS)
+                                .log("API dispatch threads should be at least 1. Using default.");
+                        apiDispatchThreads = DashboardServer.DEFAULT_DISPATCH_THREADS;
+                    }
+                    DashboardServer server = dashboardServer;
+                    if (server != null) {
+                        server.setDispatchThreads(apiDispatchThreads);
+                    }
+                });
+        config.lookup(CONFIGURATION_CONFIG_KEY, "sslThreads").dflt(sslThreads)
+                .subscribe((w, n) -> {
+                    sslThreads = Coerce.toInt(n);
+                    if (sslThreads < 1) {
+                        logger.atWarn().kv("sslThreads", sslThreads)
+                                .kv("defaultSslThreads", GGSSLWebSocketServerFactory.DEFAULT_SSL_THREADS)
+                                .log("SSL threads should be at least 1. Using default.");
+                        sslThreads = GGSSLWebSocketServerFactory.DEFAULT_SSL_THREADS;
+                    }
+                    DashboardServer server = dashboardServer;
+                    if (server != null) {
+                        server.setSslThreads(sslThreads);
+                    }
+                });
+        config.lookup(CONFIGURATION_CONFIG_KEY, "streamManagerClients").dflt(streamManagerClients)
+                .subscribe((w, n) -> {
+                    streamManagerClients = Coerce.toInt(n);
+                    if (streamManagerClients < 1) {
+                        logger.atWarn().kv("streamManagerClients", streamManagerClients)
+                                .kv("defaultStreamManagerClients", StreamManagerClientPool.DEFAULT_SIZE)
+                                .log("Stream Manager clients should be at least 1. Using default.");
+                        streamManagerClients = StreamManagerClientPool.DEFAULT_SIZE;
+                    }
+                    DashboardServer server = dashboardServer;
+                    if (server != null) {
+                        server.setStreamManagerClients(streamManagerClients);
+                    }
+                });
+        config.lookup(CONFIGURATION_CONFIG_KEY, "streamInfoCacheMs").dflt(streamInfoCacheMs)
+                .subscribe((w, n) -> {
+                    streamInfoCacheMs = Coerce.toLong(n);
+                    if (streamInfoCacheMs < 0) {
+                        logger.atWarn().kv("streamInfoCacheMs", streamInfoCacheMs)
+                                .kv("defaultStreamInfoCacheMs", StreamInfoCache.DEFAULT_TTL_MILLIS)
+                                .log("Stream info cache time should not be negative. Using default.");
+                        streamInfoCacheMs = StreamInfoCache.DEFAULT_TTL_MILLIS;
+                    }
+                    DashboardServer server = dashboardServer;
+                    if (server != null) {
+                        server.setStreamInfoCacheMillis(streamInfoCacheMs);
+                    }
+                });
+        config.lookup(CONFIGURATION_CONFIG_KEY, "outboundQueueMaxMessages").dflt(outboundQueueMaxMessages)
+                .subscribe((w, n) -> {
+                    outboundQueueMaxMessages = Coerce.toInt(n);
+                    if (outboundQueueMaxMessages < 1) {
+                        logger.atWarn().kv("outboundQueueMaxMessages", outboundQueueMaxMessages)
+                                .kv("defaultOutboundQueueMaxMessages", OutboundLimits.DEFAULT_MAX_MESSAGES)
+                                .log("Outbound queue message limit should be at least 1. Using default.");
+                        outboundQueueMaxMessages = OutboundLimits.DEFAULT_MAX_MESSAGES;
+                    }
+                    updateOutboundLimits();
+                });
+        config.lookup(CONFIGURATION_CONFIG_KEY, "outboundQueueMaxBytes").dflt(outboundQueueMaxBytes)
+                .subscribe((w, n) -> {
+                    outboundQueueMaxBytes = Coerce.toLong(n);
+                    if (outboundQueueMaxBytes < 1) {
+                        logger.atWarn().kv("outboundQueueMaxBytes", outboundQueueMaxBytes)
+                                .kv("defaultOutboundQueueMaxBytes", OutboundLimits.DEFAULT_MAX_BYTES)
+                                .log("Outbound queue byte limit should be at least 1. Using default.");
+                        outboundQueueMaxBytes = OutboundLimits.DEFAULT_MAX_BYTES;
+                    }
+                    updateOutboundLimits();
+                });
+        config.lookup(CONFIGURATION_CONFIG_KEY, "slowConsumerEvictionMs").dflt(slowConsumerEvictionMs)
+                .subscribe((w, n) -> {
+                    slowConsumerEvictionMs = Coerce.toLong(n);
+                    if (slowConsumerEvictionMs < 0) {
+                        logger.atWarn().kv("slowConsumerEvictionMs", slowConsumerEvictionMs)
+                                .kv("defaultSlowConsumerEvictionMs", OutboundLimits.DEFAULT_EVICT_AFTER_MILLIS)
+                                .log("Slow consumer eviction time should not be negative. Using default.");
+                        slowConsumerEvictionMs = OutboundLimits.DEFAULT_EVICT_AFTER_MILLIS;
+                    }
+                    updateOutboundLimits();
+                });
+        config.lookup(CONFIGURATION_CONFIG_KEY, "pubSubOverflowPolicy").dflt("dropOldest")
+                .subscribe((w, n) -> {
+                    pubSubOverflowPolicy = OverflowPolicy.parse(Coerce.toString(n));
+                    if (pubSubOverflowPolicy == null) {
+                        logger.atWarn().kv("pubSubOverflowPolicy", Coerce.toString(n))
+                                .kv("defaultPubSubOverflowPolicy", OutboundLimits.DEFAULT_PUB_SUB_POLICY)
+                                .log("Unknown overflow policy. Using default.");
+                        pubSubOverflowPolicy = OutboundLimits.DEFAULT_PUB_SUB_POLICY;
+                    }
+                    updateOutboundLimits();
+                });
+        config.lookup(CONFIGURATION_CONFIG_KEY, "componentChangeOverflowPolicy").dflt("coalesce")
+                .subscribe((w, n) -> {
+                    componentChangeOverflowPolicy = OverflowPolicy.parse(Coerce.toString(n));
+                    if (componentChangeOverflowPolicy == null) {
+                        logger.atWarn().kv("componentChangeOverflowPolicy", Coerce.toString(n))
+                                .kv("defaultComponentChangeOverflowPolicy",
+                                        OutboundLimits.DEFAULT_COMPONENT_CHANGE_POLICY)
+                                .log("Unknown overflow policy. Using default.");
+                        componentChangeOverflowPolicy = OutboundLimits.DEFAULT_COMPONENT_CHANGE_POLICY;
+                    }
+                    updateOutboundLimits();
+                });
+        config.lookup(CONFIGURATION_CONFIG_KEY, "logLinesPerSecond").dflt(logLinesPerSecond)
+                .subscribe((w, n) -> {
+                    logLinesPerSecond = Coerce.toInt(n);
+                    if (logLinesPerSecond < 1) {
+                        logger.atWarn().kv("logLinesPerSecond", logLinesPerSecond)
+                                .kv("defaultLogLinesPerSecond", DashboardServer.DEFAULT_LOG_LINES_PER_SECOND)
+                                .log("Log line rate should be at least 1. Using default.");
+                        logLinesPerSecond = DashboardServer.DEFAULT_LOG_LINES_PER_SECOND;
+                    }
+                    DashboardServer server = dashboardServer;
+                    if (server != null) {
+                        server.setLogLinesPerSecond(logLinesPerSecond);
+                    }
+                });
+        config.lookup(CONFIGURATION_CONFIG_KEY, "streamTailMessagesPerSecond").dflt(streamTailMessagesPerSecond)
+                .subscribe((w, n) -> {
+                    streamTailMessagesPerSecond = Coerce.toInt(n);
+                    if (streamTailMessagesPerSecond < 1) {
+                        logger.atWarn().kv("streamTailMessagesPerSecond", streamTailMessagesPerSecond)
+                                .kv("defaultStreamTailMessagesPerSecond", StreamTailer.DEFAULT_MESSAGES_PER_SECOND)
+                                .log("Stream tail message rate should be at least 1. Using default.");
+                        streamTailMessagesPerSecond = StreamTailer.DEFAULT_MESSAGES_PER_SECOND;
+                    }
+                    DashboardServer server = dashboardServer;
+                    if (server != null) {
+                        server.setStreamTailMessagesPerSecond(streamTailMessagesPerSecond);
+                    }
+                });
+    }
+
+    private OutboundLimits outboundLimits() {
+        return new OutboundLimits(outboundQueueMaxMessages, outboundQueueMaxBytes, slowConsumerEvictionMs,
+                OutboundLimits.DEFAULT_SOCKET_HIGH_WATER_BYTES, pubSubOverflowPolicy, componentChangeOverflowPolicy);
+    }
+
+    // the limits apply to open connections as well, so they can change without restarting the servers
+    private void updateOutboundLimits() {
+        DashboardServer server = dashboardServer;
+        if (server != null) {
+            server.setOutboundLimits(outboundLimits());
+        }
     }
 
     @SuppressWarnings("UseSpecificCatch")
     @Override
     public void startup() throws InterruptedException {
+        // generating a keystore takes seconds on small devices, so it and the binding happen off the lifecycle thread.
+        // The service reports RUNNING once both servers are listening.
+        startupTask = kernel.getContext().get(ExecutorService.class).submit(() -> {
+            synchronized (lifecycleLock) {
+                try {
+                    startServers();
+                } catch (InterruptedException e) {
+                    logger.atDebug().log("Interrupted while starting, the service is shutting down");
+                } catch (Throwable t) {
+                    logger.atError().setCause(t).log("Fail starting httpd");
+                    serviceErrored(t);
+                }
+            }
+        });
+    }
+
+    private void startServers() throws InterruptedException {
         context = null;
         engineProvider = null;
         if (httpsEnabled) {
@@ -199,33 +524,67 @@ public class SimpleHttpServer extends PluginService implements Authenticator {
                 return;
             }
         }
+        if (Thread.currentThread().isInterrupted()) {
+            // shut down while the keystore was being generated
+            return;
+        }
 
         logger.atInfo().log("Starting local dashboard server");
+        boolean upgradeOnHttpPort = websocketOnHttpPort;
         dashboardServer = new DashboardServer(new InetSocketAddress(bindHostname, websocketPort), logger,
-                kernel, deviceConfig, this, engineProvider, streamManagerAuthToken);
-        dashboardServer.startup();
-        try {
-            // We need to wait for the server to startup before grabbing the port because it starts in a separate thread
-            dashboardServer.getStarted().get();
-        } catch (ExecutionException ignored) {
-            // Not possible, we never throw anything
-        }
-        websocketPort = dashboardServer.getPort();
-        logger.atInfo().addKeyValue("port", websocketPort).log("Finished starting websocket server");
-        primaryGroup = new NioEventLoopGroup();
-        secondaryGroup = new NioEventLoopGroup();
+                kernel, deviceConfig, this, upgradeOnHttpPort ? null : engineProvider, streamManagerAuthToken);
+        dashboardServer.setPushCoalesceWindowMillis(pushCoalesceWindowMs);
+        dashboardServer.setDispatchThreads(apiDispatchThreads);
+        dashboardServer.setSslThreads(sslThreads);
+        dashboardServer.setStreamManagerClients(streamManagerClients);
+        dashboardServer.setStreamInfoCacheMillis(streamInfoCacheMs);
+        dashboardServer.setOutboundLimits(outboundLimits());
+        dashboardServer.setLogLinesPerSecond(logLinesPerSecond);
+        dashboardServer.setStreamTailMessagesPerSecond(streamTailMessagesPerSecond);
+        dashboardServer.setTlsStats(tlsStats);
+        if (upgradeOnHttpPort) {
+            // websockets are upgraded in the HTTP server's pipeline, so the dashboard server doesn't listen itself
+            dashboardServer.linkApi();
+        } else {
+            dashboardServer.startup();
+            try {
+                // We need to wait for the server to startup before grabbing the port because it starts in a separate
+                // thread
+                dashboardServer.getStarted().get();
+            } catch (ExecutionException ignored) {
+                // Not possible, we never throw anything
+            }
+            websocketPort = dashboardServer.getPort();
+            logger.atInfo().addKeyValue("port", websocketPort).log("Finished starting websocket server");
+        }
+        // the native transport is used wherever it loads unless it is turned off, e.g. it is not shipped for every CPU
+        // architecture
+        boolean epoll = nativeTransport && Epoll.isAvailable();
+        primaryGroup = epoll ? new EpollEventLoopGroup(bossThreads) : new NioEventLoopGroup(bossThreads);
+        secondaryGroup = epoll ? new EpollEventLoopGroup(workerThreads) : new NioEventLoopGroup(workerThreads);
+        logger.atInfo().kv("transport", epoll ? "epoll" : "nio").kv("bossThreads", bossThreads)
+                .kv("workerThreads", workerThreads).log("Selected httpd transport");
+        if (nativeTransport && !epoll) {
+            logger.atDebug().setCause(Epoll.unavailabilityCause()).log("Native epoll transport is not available");
+        }
         try {
             final ServerBootstrap bootstrap =
-                    new ServerBootstrap().group(primaryGroup, secondaryGroup).channel(NioServerSocketChannel.class)
-                            .childHandler(new ChannelInitializerImpl(context)).option(ChannelOption.SO_BACKLOG,
+                    new ServerBootstrap().group(primaryGroup, secondaryGroup)
+                            .channel(epoll ? EpollServerSocketChannel.class : NioServerSocketChannel.class)
+                            .childHandler(new ChannelInitializerImpl(context, upgradeOnHttpPort,
+                                    context != null && alpnEnabled))
+                            .option(ChannelOption.SO_BACKLOG,
                             128)
+                            .option(ChannelOption.ALLOCATOR, PooledByteBufAllocator.DEFAULT)
+                            .childOption(ChannelOption.ALLOCATOR, PooledByteBufAllocator.DEFAULT)
                             .childOption(ChannelOption.SO_KEEPALIVE, true);
             channel = bootstrap.bind(new InetSocketAddress(bindHostname, port)).sync();
         } catch (InterruptedException e) {
             logger.atError().setCause(e).log("Fail starting httpd");
             throw e;
         }
-        logger.atInfo().addKeyValue("port", port).log("Finished starting httpd");
+        logger.atInfo().addKeyValue("port", port).kv("websocketOnHttpPort", upgradeOnHttpPort)
+                .log("Finished starting httpd");
 
         reportState(State.RUNNING);
     }
@@ -258,11 +617,17 @@ public class SimpleHttpServer extends PluginService implements Authenticator {
                     Files.deleteIfExists(keyStorePath);
                     initializeKeyStore(ks, passphrase, keyStorePath);
                 }
+                if (!keyAlgorithm.matches(ks.getKey(PRIVATE_KEY_NAME, new char[0]))) {
+                    logger.atInfo().kv("keyAlgorithm", keyAlgorithm)
+                            .log("Key algorithm changed. Replacing self-signed certificate");
+                    Files.deleteIfExists(keyStorePath);
+                    initializeKeyStore(ks, passphrase, keyStorePath);
+                }
             } else {
                 initializeKeyStore(ks, passphrase, keyStorePath);
             }
         } catch (IOException | NoSuchAlgorithmException | CertificateException
-                | KeyStoreException | OperatorCreationException e) {
+                | KeyStoreException | UnrecoverableKeyException | OperatorCreationException e) {
             serviceErrored(e);
             return false;
         }
@@ -271,7 +636,21 @@ public class SimpleHttpServer extends PluginService implements Authenticator {
             // Grab key and cert for SSL setup
             PrivateKey privateKey = (PrivateKey) ks.getKey(PRIVATE_KEY_NAME, new char[0]);
             X509Certificate cert = (X509Certificate) ks.getCertificate(CERT_NAME);
-            context = SslContextBuilder.forServer(privateKey, cert).build();
+            SslContextBuilder builder = SslContextBuilder.forServer(privateKey, cert)
+                    .sessionCacheSize(TLS_SESSION_CACHE_SIZE).sessionTimeout(TLS_SESSION_TIMEOUT_SECONDS);
+            alpnEnabled = http2Enabled && SslProvider.isAlpnSupported(SslProvider.JDK);
+            if (alpnEnabled) {
+                // browsers which don't negotiate h2 get HTTP/1.1 as before
+                builder.ciphers(Http2SecurityUtil.CIPHERS, SupportedCipherSuiteFilter.INSTANCE)
+                        .applicationProtocolConfig(new ApplicationProtocolConfig(
+                                ApplicationProtocolConfig.Protocol.ALPN,
+                                ApplicationProtocolConfig.SelectorFailureBehavior.NO_ADVERTISE,
+                                ApplicationProtocolConfig.SelectedListenerFailureBehavior.ACCEPT,
+                                ApplicationProtocolNames.HTTP_2, ApplicationProtocolNames.HTTP_1_1));
+            } else if (http2Enabled) {
+                logger.atWarn().log("This Java runtime does not support ALPN. Serving HTTP/1.1 only");
+            }
+            context = builder.build();
             SslContext finalContext = context;
             engineProvider = () -> finalContext.newEngine(ByteBufAllocator.DEFAULT);
 
@@ -295,10 +674,11 @@ public class SimpleHttpServer extends PluginService implements Authenticator {
         ks.load(null, passphrase);
 
         // Generate keys and certificate
-        KeyPairGenerator keyGen = KeyPairGenerator.getInstance("RSA");
-        keyGen.initialize(4096, new SecureRandom());
-        KeyPair keyPair = keyGen.generateKeyPair();
-        X509Certificate cert = selfSign(keyPair, bindHostname);
+        long start = System.currentTimeMillis();
+        KeyPair keyPair = keyAlgorithm.generateKeyPair();
+        X509Certificate cert = selfSign(keyPair, bindHostname, keyAlgorithm);
+        logger.atInfo().kv("keyAlgorithm", keyAlgorithm).kv("durationMs", System.currentTimeMillis() - start)
+                .log("Generated self-signed certificate");
 
         ks.setCertificateEntry(CERT_NAME, cert);
         ks.setKeyEntry(PRIVATE_KEY_NAME, keyPair.getPrivate(), new char[0], new Certificate[]{cert});
@@ -316,7 +696,8 @@ public class SimpleHttpServer extends PluginService implements Authenticator {
         return sb.toString().trim();
     }
 
-    private static X509Certificate selfSign(KeyPair keyPair, String subjectDN) throws OperatorCreationException,
+    static X509Certificate selfSign(KeyPair keyPair, String subjectDN, KeyAlgorithm keyAlgorithm)
+            throws OperatorCreationException,
             CertificateException,
             IOException
     {
@@ -334,8 +715,8 @@ public class SimpleHttpServer extends PluginService implements Authenticator {
         calendar.add(Calendar.YEAR, 10); // 10 year validity period
         Date endDate = calendar.getTime();
 
-        String signatureAlgorithm = "SHA256WithRSA";
-        ContentSigner contentSigner = new JcaContentSignerBuilder(signatureAlgorithm).build(keyPair.getPrivate());
+        ContentSigner contentSigner =
+                new JcaContentSignerBuilder(keyAlgorithm.getSignatureAlgorithm()).build(keyPair.getPrivate());
         JcaX509v3CertificateBuilder
                 certBuilder = new JcaX509v3CertificateBuilder(dnName, certSerialNumber, startDate,
                 endDate, dnName, keyPair.getPublic());
@@ -349,40 +730,148 @@ public class SimpleHttpServer extends PluginService implements Authenticator {
     @Override
     public void shutdown() throws InterruptedException {
         logger.atInfo().log("Shutting down httpd");
-        secondaryGroup.shutdownGracefully();
-        primaryGroup.shutdownGracefully();
-        try {
-            if (dashboardServer != null) {
-                dashboardServer.stop();
-            }
-        } catch (Exception e) {
-            serviceErrored(e);
+        Future<?> task = startupTask;
+        if (task != null) {
+            task.cancel(true);
         }
+        // waits for a startup which is still generating the keystore or binding
+        synchronized (lifecycleLock) {
+            if (secondaryGroup != null) {
+                secondaryGroup.shutdownGracefully();
+            }
+            if (primaryGroup != null) {
+                primaryGroup.shutdownGracefully();
+            }
+            try {
+                if (dashboardServer != null) {
+                    dashboardServer.stop();
+                }
+            } catch (Exception e) {
+                serviceErrored(e);
+            }
 
-        if (channel != null) {
-            channel.channel().close().sync();
+            if (channel != null) {
+                channel.channel().close().sync();
+            }
         }
     }
 
     private class ChannelInitializerImpl extends ChannelInitializer<SocketChannel> {
         private final SslContext sslContext;
+        private final boolean upgradeWebsockets;
+        private final boolean alpn;
 
-        public ChannelInitializerImpl(SslContext sslContext) {
+        public ChannelInitializerImpl(SslContext sslContext, boolean upgradeWebsockets, boolean alpn) {
             this.sslContext = sslContext;
+            this.upgradeWebsockets = upgradeWebsockets;
+            this.alpn = alpn;
         }
 
         @Override
         public void initChannel(final SocketChannel ch) throws Exception {
             if (sslContext != null) {
-                ch.pipeline().addFirst("ssl", sslContext.newHandler(ch.alloc()));
+                SslHandler sslHandler = sslContext.newHandler(ch.alloc());
+                sslHandler.handshakeFuture().addListener(f -> {
+                    if (f.isSuccess()) {
+                        tlsStats.record(sslHandler.engine().getSession());
+                    }
+                });
+                ch.pipeline().addFirst("ssl", sslHandler);
+                if (alpn) {
+                    // the rest of the pipeline depends on the protocol which the handshake negotiates
+                    ch.pipeline().addLast("alpn", new ProtocolNegotiationHandler());
+                    return;
+                }
+            }
+            addHttp1Handlers(ch.pipeline());
+        }
+
+        private void addHttp1Handlers(ChannelPipeline pipeline) {
+            pipeline.addLast("codec", new HttpServerCodec());
+            pipeline.addLast("aggregator", new HttpObjectAggregator(512 * 1024));
+            if (upgradeWebsockets) {
+                // requests for any other path go on to the page handler
+                pipeline.addLast("websocket", new WebSocketServerProtocolHandler(WEBSOCKET_PATH, null, false,
+                        MAX_WEBSOCKET_FRAME_BYTES));
+                pipeline.addLast("websocketAggregator", new WebSocketFrameAggregator(MAX_WEBSOCKET_FRAME_BYTES));
+                pipeline.addLast("websocketFrames", new WebSocketFrameHandler());
+            }
+            pipeline.addLast("chunked", new ChunkedWriteHandler());
+            pipeline.addLast("request", new PageHandler());
+        }
+
+        private class ProtocolNegotiationHandler extends ApplicationProtocolNegotiationHandler {
+            ProtocolNegotiationHandler() {
+                super(ApplicationProtocolNames.HTTP_1_1);
+            }
+
+            @Override
+            protected void configurePipeline(ChannelHandlerContext ctx, String protocol) {
+                if (!ApplicationProtocolNames.HTTP_2.equals(protocol)) {
+                    addHttp1Handlers(ctx.pipeline());
+                    return;
+                }
+                // every request is a stream of the one connection, each stream gets the same handlers as an
+                // HTTP/1.1 connection so the page handler doesn't know the difference
+                ctx.pipeline().addLast("http2", Http2FrameCodecBuilder.forServer().build());
+                ctx.pipeline().addLast("http2Streams", new Http2MultiplexHandler(new ChannelInitializer<Channel>() {
+                    @Override
+                    protected void initChannel(Channel stream) {
+                        stream.pipeline().addLast("codec", new Http2StreamFrameToHttpObjectCodec(true));
+                        stream.pipeline().addLast("aggregator", new HttpObjectAggregator(512 * 1024));
+                        stream.pipeline().addLast("chunked", new ChunkedWriteHandler());
+                        stream.pipeline().addLast("request", new PageHandler());
+                    }
+                }));
             }
-            ch.pipeline().addLast("codec", new HttpServerCodec());
-            ch.pipeline().addLast("aggregator", new HttpObjectAggregator(512 * 1024));
-            ch.pipeline().addLast("request", new PageHandler());
         }
     }
 
-    static final byte[] missing = {1, 2, 3};
+    /**
+     * Hands the frames of a websocket which was upgraded on the HTTP port to the dashboard server.
+     */
+    private class WebSocketFrameHandler extends SimpleChannelInboundHandler<WebSocketFrame> {
+        private NettyWebSocketConnection conn;
+
+        @Override
+        public void userEventTriggered(ChannelHandlerContext ctx, Object evt) throws Exception {
+            if (evt instanceof WebSocketServerProtocolHandler.HandshakeComplete) {
+                WebSocketServerProtocolHandler.HandshakeComplete handshake =
+                        (WebSocketServerProtocolHandler.HandshakeComplete) evt;
+                conn = new NettyWebSocketConnection(ctx.channel(), handshake.requestUri());
+                dashboardServer.onOpen(conn, handshake.requestHeaders().get(HttpHeaderNames.COOKIE));
+            } else {
+                super.userEventTriggered(ctx, evt);
+            }
+        }
+
+        @Override
+        protected void channelRead0(ChannelHandlerContext ctx, WebSocketFrame frame) {
+            if (conn == null) {
+                return;
+            }
+            if (frame instanceof TextWebSocketFrame) {
+                dashboardServer.onMessage(conn, ((TextWebSocketFrame) frame).text());
+            } else if (frame instanceof BinaryWebSocketFrame) {
+                dashboardServer.onMessage(conn, frame.content().nioBuffer());
+            }
+        }
+
+        @Override
+        public void channelInactive(ChannelHandlerContext ctx) throws Exception {
+            if (conn != null) {
+                dashboardServer.onClose(conn, CloseFrame.NORMAL, "", true);
+                conn = null;
+            }
+            super.channelInactive(ctx);
+        }
+
+        @Override
+        public void exceptionCaught(ChannelHandlerContext ctx, Throwable cause) {
+            dashboardServer.onError(conn, cause instanceof Exception ? (Exception) cause : new Exception(cause));
+            ctx.close();
+        }
+    }
 
     @SuppressWarnings("UseSpecificCatch")
     public class PageHandler extends ChannelInboundHandlerAdapter {
@@ -397,6 +886,7 @@ public class SimpleHttpServer extends PluginService implements Authenticator {
         public String ext;
         public String basename;
         public FullHttpRequest request;
+        private String sessionCookie;
 
         @Override
         public void channelRead(ChannelHandlerContext ctx, Object msg) {
@@ -433,28 +923,30 @@ public class SimpleHttpServer extends PluginService implements Authenticator {
                             ext = "html";
                         }
                     }
-                    String authHeader = request.headers().get(HttpHeaderNames.AUTHORIZATION);
-                    if (!authenticated(authHeader)) {
-                        logger.atWarn().log("Failed to authenticate request from {}", ctx.channel().remoteAddress());
-                        FullHttpResponse response = new DefaultFullHttpResponse(HttpVersion.HTTP_1_1, HttpResponseStatus.UNAUTHORIZED);
-                        response.headers().set(HttpHeaderNames.WWW_AUTHENTICATE,
-                                "Basic realm=\"Greengrass View\", charset=\"UTF-8\"");
-                        response.headers().set(HttpHeaderNames.CONTENT_LENGTH, 0);
+                    // a valid session skips the password lookup, otherwise a new session is started
+                    sessionCookie = null;
+                    if (!isSessionValid(request.headers().get(HttpHeaderNames.COOKIE))) {
+                        sessionCookie = login(request.headers().get(HttpHeaderNames.AUTHORIZATION));
+                        if (sessionCookie == null) {
+                            logger.atWarn().log("Failed to authenticate request from {}",
+                                    ctx.channel().remoteAddress());
+                            FullHttpResponse response = new DefaultFullHttpResponse(HttpVersion.HTTP_1_1,
+                                    HttpResponseStatus.UNAUTHORIZED);
+                            response.headers().set(HttpHeaderNames.WWW_AUTHENTICATE,
+                                    "Basic realm=\"Greengrass View\", charset=\"UTF-8\"");
+                            response.headers().set(HttpHeaderNames.CONTENT_LENGTH, 0);
 
-                        ctx.writeAndFlush(response);
-                        return;
+                            ctx.writeAndFlush(response);
+                            return;
+                        }
                     }
                     logger.atDebug().kv("URI", uri).log("Incoming request");
 
-                    byte[] blob = this.getBlobForURI(uri, getUsernameAndPassword(authHeader));
+                    StaticAssetCache.Asset asset = this.getAssetForURI(uri);
                     String mime = ext2mime(ext);
 
-                    if (blob != missing) {
-                        ByteBuf bb = copiedBuffer(blob);
-                        FullHttpResponse response = new DefaultFullHttpResponse(HttpVersion.HTTP_1_1, HttpResponseStatus.OK, bb);
-                        response.headers().set(HttpHeaderNames.CONTENT_TYPE, mime);
-                        response.headers().set(HttpHeaderNames.CONTENT_LENGTH, bb.writerIndex());
-                        ctx.writeAndFlush(response);
+                    if (asset != null) {
+                        writeAsset(ctx, asset, mime);
                         return;
                     }
 
@@ -464,6 +956,7 @@ public class SimpleHttpServer extends PluginService implements Authenticator {
                     if (HttpUtil.isKeepAlive(request)) {
                         response.headers().set(HttpHeaderNames.CONNECTION, HttpHeaderValues.KEEP_ALIVE);
                     }
+                    setSessionCookie(response);
                     ctx.writeAndFlush(response);
                 } finally {
                     request.release();
@@ -497,43 +990,147 @@ public class SimpleHttpServer extends PluginService implements Authenticator {
                             copiedBuffer(cause.getMessage().getBytes())));
         }
 
-        private byte[] getBlobForURI(String uri, Pair<String, String> usernameAndPassword) {
+        private StaticAssetCache.Asset getAssetForURI(String uri) {
             try {
                 if (isEmpty(uri) || "/".equals(uri)) {
                     uri = "index.html";
                 }
-                URL u = this.getClass().getClassLoader().getResource("node/dashboard-frontend/" + uri);
-                if (u == null) {
-                    return missing;
-                }
-                try (InputStream in = u.openStream()) {
-                    ByteArrayOutputStream bos = new ByteArrayOutputStream();
-                    byte[] buf = new byte[1024];
-                    int nread;
-                    while ((nread = in.read(buf)) > 0) {
-                        bos.write(buf, 0, nread);
-                    }
-                    return bos.toString(StandardCharsets.UTF_8.name())
-                            .replace("%WEBSOCKET_PORT%", Integer.toString(websocketPort))
-                            .replace("%USERNAME%", usernameAndPassword.getLeft())
-                            .replace("%PASSWORD%", usernameAndPassword.getRight())
-                            .replace("%CHINA_PARTITION%",
-                                    String.valueOf("aws-cn"
-                                            .equals(Region.of(Coerce.toString(deviceConfig.getAWSRegion())).metadata()
-                                                    .partition().id())))
-                            .getBytes(StandardCharsets.UTF_8);
-                }
+                return staticAssets.asset(uri);
             } catch (Throwable t) {
                 logger.atError().setCause(t).log("Error loading HTTP blob");
                 serviceErrored(t);
-                return missing;
+                return null;
+            }
+        }
+
+        private void writeAsset(ChannelHandlerContext ctx, StaticAssetCache.Asset asset, String mime) {
+            if (asset.isTemplate()) {
+                ByteBuf bb = asset.render(placeholder -> {
+                    switch (placeholder) {
+                        case StaticAssetCache.WEBSOCKET_PORT:
+                            return Integer.toString(websocketOnHttpPort ? port : websocketPort);
+                        case StaticAssetCache.WEBSOCKET_PATH:
+                            return websocketOnHttpPort ? WEBSOCKET_PATH : "";
+                        case StaticAssetCache.CHINA_PARTITION:
+                            return String.valueOf(isChinaPartition());
+                        default:
+                            return placeholder;
+                    }
+                });
+                FullHttpResponse response =
+                        new DefaultFullHttpResponse(HttpVersion.HTTP_1_1, HttpResponseStatus.OK, bb);
+                response.headers().set(HttpHeaderNames.CONTENT_TYPE, mime);
+                response.headers().set(HttpHeaderNames.CONTENT_LENGTH, bb.readableBytes());
+                response.headers().set(HttpHeaderNames.CACHE_CONTROL, asset.getCacheControl());
+                setSessionCookie(response);
+                ctx.writeAndFlush(response);
+                return;
+            }
+
+            String etag = asset.matchingEtag(request.headers().get(HttpHeaderNames.IF_NONE_MATCH));
+            if (etag != null) {
+                FullHttpResponse response =
+                        new DefaultFullHttpResponse(HttpVersion.HTTP_1_1, HttpResponseStatus.NOT_MODIFIED);
+                setCacheHeaders(response, asset, etag);
+                ctx.writeAndFlush(response);
+                return;
+            }
+
+            StaticAssetCache.Representation representation =
+                    asset.select(request.headers().get(HttpHeaderNames.ACCEPT_ENCODING));
+            if (representation.getFile() == null) {
+                FullHttpResponse response = new DefaultFullHttpResponse(HttpVersion.HTTP_1_1, HttpResponseStatus.OK,
+                        representation.content());
+                setContentHeaders(response, representation, mime);
+                setCacheHeaders(response, asset, representation.getEtag());
+                ctx.writeAndFlush(response);
+                return;
+            }
+
+            // large files on disk are sent without copying them through the heap
+            FileChannel file;
+            try {
+                file = FileChannel.open(representation.getFile(), StandardOpenOption.READ);
+            } catch (IOException e) {
+                logger.atError().kv("file", representation.getFile()).setCause(e).log("Error opening HTTP blob");
+                ctx.writeAndFlush(new DefaultFullHttpResponse(HttpVersion.HTTP_1_1,
+                        HttpResponseStatus.INTERNAL_SERVER_ERROR));
+                return;
+            }
+            HttpResponse response = new DefaultHttpResponse(HttpVersion.HTTP_1_1, HttpResponseStatus.OK);
+            setContentHeaders(response, representation, mime);
+            setCacheHeaders(response, asset, representation.getEtag());
+            ctx.write(response);
+            // HTTP/2 streams are not sockets, their frames have to be built from buffers as well
+            if (ctx.channel() instanceof SocketChannel && ctx.pipeline().get(SslHandler.class) == null) {
+                ctx.write(new DefaultFileRegion(file, 0, representation.getLength()));
+                ctx.writeAndFlush(LastHttpContent.EMPTY_LAST_CONTENT);
+            } else {
+                // TLS has to encrypt in user space, so the file is read in chunks into pooled direct buffers
+                ctx.writeAndFlush(new HttpChunkedInput(
+                        new ChunkedNioFile(file, 0, representation.getLength(), FILE_CHUNK_BYTES)));
+            }
+        }
+
+        private void setContentHeaders(HttpResponse response, StaticAssetCache.Representation representation,
+                                       String mime) {
+            response.headers().set(HttpHeaderNames.CONTENT_TYPE, mime);
+            response.headers().set(HttpHeaderNames.CONTENT_LENGTH, representation.getLength());
+            if (representation.getEncoding() != null) {
+                response.headers().set(HttpHeaderNames.CONTENT_ENCODING, representation.getEncoding());
+            }
+        }
+
+        private void setCacheHeaders(HttpResponse response, StaticAssetCache.Asset asset, String etag) {
+            response.headers().set(HttpHeaderNames.ETAG, etag);
+            response.headers().set(HttpHeaderNames.CACHE_CONTROL, asset.getCacheControl());
+            if (asset.hasEncodings()) {
+                response.headers().set(HttpHeaderNames.VARY, HttpHeaderNames.ACCEPT_ENCODING);
+            }
+            setSessionCookie(response);
+        }
+
+        private void setSessionCookie(HttpResponse response) {
+            if (sessionCookie != null) {
+                response.headers().set(HttpHeaderNames.SET_COOKIE, sessionCookie);
             }
         }
     }
 
-    private boolean authenticated(String authHeader) {
+    private boolean isChinaPartition() {
+        String region = Coerce.toString(deviceConfig.getAWSRegion());
+        return chinaPartitions.computeIfAbsent(String.valueOf(region),
+                r -> "aws-cn".equals(Region.of(region).metadata().partition().id()));
+    }
+
+    /**
+     * Checks the Basic credentials and starts a session which lasts as long as the password.
+     *
+     * @param authHeader Authorization header
+     * @return Set-Cookie header value for the new session, or null if the credentials are not valid
+     */
+    private String login(String authHeader) {
         Pair<String, String> usernameAndPassword = getUsernameAndPassword(authHeader);
-        return usernameAndPassword != null && isUsernameAndPasswordValid(usernameAndPassword);
+        if (usernameAndPassword == null) {
+            return null;
+        }
+        long expiresAt = debugPasswords.validUntil(usernameAndPassword.getLeft(), usernameAndPassword.getRight());
+        if (expiresAt <= 0) {
+            return null;
+        }
+        DefaultCookie cookie = new DefaultCookie(SessionTokens.COOKIE_NAME,
+                sessionTokens.issue(usernameAndPassword.getLeft(), expiresAt));
+        cookie.setPath("/");
+        cookie.setHttpOnly(true);
+        cookie.setSecure(httpsEnabled);
+        cookie.setSameSite(CookieHeaderNames.SameSite.Strict);
+        cookie.setMaxAge(TimeUnit.MILLISECONDS.toSeconds(expiresAt - System.currentTimeMillis()));
+        return ServerCookieEncoder.STRICT.encode(cookie);
+    }
+
+    @Override
+    public boolean isSessionValid(String cookieHeader) {
+        return consoleAuthDisabled() || sessionTokens.isValid(SessionTokens.fromCookieHeader(cookieHeader));
     }
 
     @Override
@@ -542,36 +1139,10 @@ public class SimpleHttpServer extends PluginService implements Authenticator {
             return true;
         }
 
-        Topics passwordTopics = config.getRoot().findTopics(DEBUG_PASSWORD_NAMESPACE);
-        if (passwordTopics == null || usernameAndPassword == null) {
-            return false;
-        }
-
-        // Cleanup any expired passwords first
-        // foreach user
-        passwordTopics.forEach(n -> {
-            if (n instanceof Topics) {
-                // foreach password under the user
-                ((Topics) n).forEach(p -> {
-                    if (p instanceof Topics) {
-                        Topic exp = ((Topics) p).find(EXPIRATION_NAMESPACE);
-                        // If there's somehow no expiration set or if it has expired already, then remove it from the
-                        // store
-                        if (exp == null || Instant.now().isAfter(Instant.ofEpochMilli(Coerce.toLong(exp)))) {
-                            p.remove();
-                        }
-                    }
-                });
-            }
-        });
-
-        // Verify this incoming request
-        Topic expirationTopic = passwordTopics.find(usernameAndPassword.getLeft(), usernameAndPassword.getRight(),
-                EXPIRATION_NAMESPACE);
-        if (expirationTopic == null) {
+        if (usernameAndPassword == null) {
             return false;
         }
-        return Instant.now().isBefore(Instant.ofEpochMilli(Coerce.toLong(expirationTopic)));
+        return debugPasswords.isValid(usernameAndPassword.getLeft(), usernameAndPassword.getRight());
     }
 
     private static boolean consoleAuthDisabled() {
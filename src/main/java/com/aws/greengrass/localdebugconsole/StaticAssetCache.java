@@ -0,0 +1,581 @@
+/*
+ * Copyright Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package com.aws.greengrass.localdebugconsole;
+
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.Unpooled;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.URISyntaxException;
+import java.net.URL;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Base64;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.function.Function;
+import java.util.regex.Pattern;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Raw bytes of the dashboard frontend files, read from the classpath once and then served from memory. Only files
+ * which contain placeholders such as %WEBSOCKET_PORT% are templates. Those are split into the literal parts around
+ * the placeholders when they are loaded, so that serving one only fills in the values and never decodes the file.
+ *
+ * <p>Other files are served with a strong ETag and, if the client accepts it, in a compressed encoding. A file.gz or
+ * file.br next to the file is used as its precompressed variant, otherwise the gzip variant is compressed in the
+ * background when the file is loaded and kept if it is meaningfully smaller. The file is served as is until then, so
+ * that no request waits for the compression.</p>
+ *
+ * <p>When the frontend is unpacked on disk, large files which are not templates are not held in memory at all. They
+ * are only scanned once through a memory mapping for their ETag, and sent straight from the file. Their gzip variant
+ * is written to a temporary file and sent from there.</p>
+ */
+class StaticAssetCache {
+    static final String WEBSOCKET_PORT = "%WEBSOCKET_PORT%";
+    static final String WEBSOCKET_PATH = "%WEBSOCKET_PATH%";
+    static final String CHINA_PARTITION = "%CHINA_PARTITION%";
+    static final String GZIP = "gzip";
+    static final String BROTLI = "br";
+    // bundles with a content hash in their name never change, anything else must be revalidated
+    static final String CACHE_IMMUTABLE = "public, max-age=31536000, immutable";
+    static final String CACHE_REVALIDATE = "no-cache";
+    // templates carry per-request values
+    static final String CACHE_NONE = "no-store";
+    private static final String[] PLACEHOLDERS = {WEBSOCKET_PORT, WEBSOCKET_PATH, CHINA_PARTITION};
+    private static final Pattern HASHED_NAME = Pattern.compile("\\.[0-9a-f]{8,}\\.");
+    private static final int READ_BUFFER_BYTES = 64 * 1024;
+    private static final int MIN_COMPRESS_BYTES = 1024;
+    // a compressed variant has to save at least this share of the size to be worth the decompression
+    private static final double MAX_COMPRESSED_RATIO = 0.9;
+    private static final int ETAG_HASH_BYTES = 16;
+    // smaller files are cheaper to keep in memory than to open for every request
+    static final long MIN_FILE_REGION_BYTES = 64 * 1024;
+    static final int MAX_PATHS = 256;
+
+    private final ClassLoader classLoader;
+    private final String root;
+    private final Executor compressor;
+    // keyed by the file which a path resolves to, so that other spellings of the path share its entry
+    private final Map<String, Asset> assets = new ConcurrentHashMap<>();
+    // normalized request paths which were found, so that repeated requests don't look the file up again. Least
+    // recently requested first, so that requests for many spellings of the same files can't grow it without bound
+    private final Map<String, Asset> paths = new LinkedHashMap<String, Asset>(MAX_PATHS, 0.75f, true) {
+        private static final long serialVersionUID = 1L;
+
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<String, Asset> eldest) {
+            return size() > MAX_PATHS;
+        }
+    };
+
+    /**
+     * Constructor.
+     *
+     * @param classLoader loads the files
+     * @param root        resource path of the frontend directory, ending with a slash
+     * @param compressor  compresses the gzip variants of loaded files
+     */
+    StaticAssetCache(ClassLoader classLoader, String root, Executor compressor) {
+        this.classLoader = classLoader;
+        this.root = root;
+        this.compressor = compressor;
+    }
+
+    /**
+     * Gets a file, loading it on first use.
+     *
+     * @param path path of the file relative to the frontend directory
+     * @return the file, or null if there is no such file
+     * @throws IOException if the file can't be read
+     */
+    Asset asset(String path) throws IOException {
+        path = normalize(path);
+        if (path == null) {
+            return null;
+        }
+        Asset asset;
+        synchronized (paths) {
+            asset = paths.get(path);
+        }
+        if (asset == null) {
+            asset = resolve(path);
+            if (asset != null) {
+                synchronized (paths) {
+                    paths.put(path, asset);
+                }
+            }
+        }
+        return asset;
+    }
+
+    private Asset resolve(String path) throws IOException {
+        URL url = classLoader.getResource(root + path);
+        if (url == null) {
+            return null;
+        }
+        Path file = fileOf(url);
+        // the real path also folds other cases of the name on case-insensitive file systems
+        String key = file == null ? url.toString() : file.toRealPath().toString();
+        Asset asset = assets.get(key);
+        if (asset != null) {
+            return asset;
+        }
+        Asset loaded;
+        if (file != null && Files.size(file) >= MIN_FILE_REGION_BYTES) {
+            loaded = Asset.loadFile(path, file, fileOf(classLoader.getResource(root + path + ".gz")),
+                    fileOf(classLoader.getResource(root + path + ".br")));
+        } else {
+            loaded = Asset.load(path, read(url), readIfExists(path + ".gz"), readIfExists(path + ".br"));
+        }
+        asset = assets.putIfAbsent(key, loaded);
+        if (asset != null) {
+            return asset;
+        }
+        loaded.compressIn(compressor);
+        return loaded;
+    }
+
+    /**
+     * Resolves "." and ".." segments and repeated slashes of a request path.
+     *
+     * @param path path relative to the frontend directory
+     * @return the normalized path, or null if it leaves the frontend directory or is not a file name
+     */
+    static String normalize(String path) {
+        List<String> segments = new ArrayList<>();
+        for (String segment : path.split("/")) {
+            if (segment.isEmpty() || ".".equals(segment)) {
+                continue;
+            }
+            if ("..".equals(segment)) {
+                if (segments.isEmpty()) {
+                    return null;
+                }
+                segments.remove(segments.size() - 1);
+            } else if (segment.indexOf('\\') >= 0) {
+                // a separator on Windows
+                return null;
+            } else {
+                segments.add(segment);
+            }
+        }
+        return segments.isEmpty() ? null : String.join("/", segments);
+    }
+
+    private byte[] readIfExists(String path) throws IOException {
+        URL url = classLoader.getResource(root + path);
+        return url == null ? null : read(url);
+    }
+
+    // the file of a resource which is on disk, or null if it is inside a jar
+    private static Path fileOf(URL url) {
+        if (url == null || !"file".equals(url.getProtocol())) {
+            return null;
+        }
+        try {
+            return Paths.get(url.toURI());
+        } catch (URISyntaxException | IllegalArgumentException e) {
+            return null;
+        }
+    }
+
+    private static byte[] read(URL url) throws IOException {
+        try (InputStream in = url.openStream()) {
+            ByteArrayOutputStream bos = new ByteArrayOutputStream();
+            byte[] buf = new byte[READ_BUFFER_BYTES];
+            int nread;
+            while ((nread = in.read(buf)) > 0) {
+                bos.write(buf, 0, nread);
+            }
+            return bos.toByteArray();
+        }
+    }
+
+    /**
+     * Checks whether an Accept-Encoding header allows a content coding.
+     *
+     * @param acceptEncoding header value, may be null
+     * @param coding         content coding such as gzip
+     * @return true if the coding is listed, or covered by *, without q=0
+     */
+    static boolean accepts(String acceptEncoding, String coding) {
+        if (acceptEncoding == null) {
+            return false;
+        }
+        boolean wildcard = false;
+        for (String entry : acceptEncoding.split(",")) {
+            String[] params = entry.split(";");
+            String name = params[0].trim().toLowerCase(Locale.ROOT);
+            boolean allowed = true;
+            for (int i = 1; i < params.length; i++) {
+                String param = params[i].trim();
+                if (param.startsWith("q=")) {
+                    try {
+                        allowed = Double.parseDouble(param.substring(2)) > 0;
+                    } catch (NumberFormatException e) {
+                        allowed = false;
+                    }
+                }
+            }
+            if (name.equals(coding)) {
+                return allowed;
+            }
+            if ("*".equals(name)) {
+                wildcard = allowed;
+            }
+        }
+        return wildcard;
+    }
+
+    /**
+     * One encoding of a file, either held in memory or sent from a file on disk.
+     */
+    static class Representation {
+        private final String encoding;
+        private final byte[] bytes;
+        private final Path file;
+        private final long length;
+        private final String etag;
+
+        Representation(String encoding, byte[] bytes, String etag) {
+            this.encoding = encoding;
+            this.bytes = bytes;
+            this.file = null;
+            this.length = bytes.length;
+            this.etag = etag;
+        }
+
+        Representation(String encoding, Path file, long length, String etag) {
+            this.encoding = encoding;
+            this.bytes = null;
+            this.file = file;
+            this.length = length;
+            this.etag = etag;
+        }
+
+        // content coding for the Content-Encoding header, null for the file as is
+        String getEncoding() {
+            return encoding;
+        }
+
+        String getEtag() {
+            return etag;
+        }
+
+        // the file to send the content from, null if the content is in memory
+        Path getFile() {
+            return file;
+        }
+
+        long getLength() {
+            return length;
+        }
+
+        // only for content which is in memory
+        ByteBuf content() {
+            return Unpooled.wrappedBuffer(bytes);
+        }
+
+        InputStream open() throws IOException {
+            return file == null ? new ByteArrayInputStream(bytes) : Files.newInputStream(file);
+        }
+    }
+
+    /**
+     * A loaded file. literals[i] is followed by the value of placeholders[i], and the last literal ends the file.
+     */
+    static class Asset {
+        private final byte[][] literals;
+        private final String[] placeholders;
+        private final String cacheControl;
+        private final String etagBase;
+        private final Representation identity;
+        private final Representation brotli;
+        private volatile Representation gzip;
+        private volatile boolean gzipChecked;
+
+        private Asset(byte[][] literals, String[] placeholders, String cacheControl, String etagBase,
+                      Representation identity, Representation gzip, Representation brotli) {
+            this.literals = literals;
+            this.placeholders = placeholders;
+            this.cacheControl = cacheControl;
+            this.etagBase = etagBase;
+            this.identity = identity;
+            this.gzip = gzip;
+            this.gzipChecked = gzip != null;
+            this.brotli = brotli;
+        }
+
+        static Asset parse(byte[] content) {
+            return load("", content, null, null);
+        }
+
+        static Asset load(String path, byte[] content, byte[] gzip, byte[] brotli) {
+            List<byte[]> literals = new ArrayList<>();
+            List<String> placeholders = new ArrayList<>();
+            ByteBuffer buffer = ByteBuffer.wrap(content);
+            int literalStart = 0;
+            for (int i = 0; i < content.length; i++) {
+                String placeholder = placeholderAt(buffer, i);
+                if (placeholder != null) {
+                    literals.add(Arrays.copyOfRange(content, literalStart, i));
+                    placeholders.add(placeholder);
+                    i += placeholder.length() - 1;
+                    literalStart = i + 1;
+                }
+            }
+            if (placeholders.isEmpty()) {
+                String etagBase = hash(buffer);
+                return new Asset(new byte[][]{content}, new String[0], cacheControl(path), etagBase,
+                        new Representation(null, content, etag(etagBase, null)),
+                        gzip == null ? null : new Representation(GZIP, gzip, etag(etagBase, GZIP)),
+                        brotli == null ? null : new Representation(BROTLI, brotli, etag(etagBase, BROTLI)));
+            }
+            literals.add(Arrays.copyOfRange(content, literalStart, content.length));
+            return new Asset(literals.toArray(new byte[0][]), placeholders.toArray(new String[0]), CACHE_NONE, null,
+                    null, null, null);
+        }
+
+        static Asset loadFile(String path, Path file, Path gzip, Path brotli) throws IOException {
+            String etagBase;
+            long length;
+            try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+                length = channel.size();
+                MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, length);
+                for (int i = 0; i < length; i++) {
+                    if (placeholderAt(buffer, i) != null) {
+                        // templates are filled in from memory
+                        return load(path, Files.readAllBytes(file), gzip == null ? null : Files.readAllBytes(gzip),
+                                brotli == null ? null : Files.readAllBytes(brotli));
+                    }
+                }
+                etagBase = hash(buffer);
+            }
+            return new Asset(null, new String[0], cacheControl(path), etagBase,
+                    new Representation(null, file, length, etag(etagBase, null)),
+                    gzip == null ? null : new Representation(GZIP, gzip, Files.size(gzip), etag(etagBase, GZIP)),
+                    brotli == null ? null
+                            : new Representation(BROTLI, brotli, Files.size(brotli), etag(etagBase, BROTLI)));
+        }
+
+        private static String cacheControl(String path) {
+            return HASHED_NAME.matcher(path).find() ? CACHE_IMMUTABLE : CACHE_REVALIDATE;
+        }
+
+        private static String placeholderAt(ByteBuffer content, int at) {
+            if (content.get(at) != '%') {
+                return null;
+            }
+            outer:
+            for (String placeholder : PLACEHOLDERS) {
+                if (at + placeholder.length() > content.limit()) {
+                    continue;
+                }
+                for (int i = 0; i < placeholder.length(); i++) {
+                    if (content.get(at + i) != placeholder.charAt(i)) {
+                        continue outer;
+                    }
+                }
+                return placeholder;
+            }
+            return null;
+        }
+
+        private static String hash(ByteBuffer content) {
+            try {
+                MessageDigest digest = MessageDigest.getInstance("SHA-256");
+                digest.update(content.duplicate());
+                return Base64.getUrlEncoder().withoutPadding()
+                        .encodeToString(Arrays.copyOf(digest.digest(), ETAG_HASH_BYTES));
+            } catch (NoSuchAlgorithmException e) {
+                // every Java platform has SHA-256
+                throw new IllegalStateException(e);
+            }
+        }
+
+        // strong ETags must differ between encodings of the same file
+        private static String etag(String base, String encoding) {
+            return encoding == null ? '"' + base + '"' : '"' + base + '-' + encoding + '"';
+        }
+
+        boolean isTemplate() {
+            return placeholders.length > 0;
+        }
+
+        String getCacheControl() {
+            return cacheControl;
+        }
+
+        /**
+         * Whether the response depends on Accept-Encoding, for the Vary header.
+         */
+        boolean hasEncodings() {
+            return brotli != null || gzip != null || !gzipChecked && identity.length >= MIN_COMPRESS_BYTES;
+        }
+
+        /**
+         * Fills in the placeholders of a template.
+         *
+         * @param values gives the value of a placeholder, only called for the placeholders in the file
+         * @return the content
+         */
+        ByteBuf render(Function<String, String> values) {
+            if (!isTemplate()) {
+                return identity.content();
+            }
+            byte[][] parts = new byte[literals.length + placeholders.length][];
+            for (int i = 0; i < placeholders.length; i++) {
+                parts[2 * i] = literals[i];
+                parts[2 * i + 1] = String.valueOf(values.apply(placeholders[i])).getBytes(StandardCharsets.UTF_8);
+            }
+            parts[parts.length - 1] = literals[literals.length - 1];
+            return Unpooled.wrappedBuffer(parts);
+        }
+
+        /**
+         * Picks the smallest encoding of a file which is not a template that the client accepts.
+         *
+         * @param acceptEncoding Accept-Encoding header of the request, may be null
+         * @return the representation to send
+         */
+        Representation select(String acceptEncoding) {
+            if (brotli != null && accepts(acceptEncoding, BROTLI)) {
+                return brotli;
+            }
+            // null while it is still being compressed
+            Representation compressed = gzip;
+            if (compressed != null && accepts(acceptEncoding, GZIP)) {
+                return compressed;
+            }
+            return identity;
+        }
+
+        /**
+         * Checks an If-None-Match header against the ETags of a file which is not a template, so that the client's
+         * copy can be confirmed without touching or compressing the content.
+         *
+         * @param ifNoneMatch header value, may be null
+         * @return the matching ETag if the client has the current version of the file, otherwise null
+         */
+        String matchingEtag(String ifNoneMatch) {
+            if (ifNoneMatch == null || isTemplate()) {
+                return null;
+            }
+            for (String tag : ifNoneMatch.split(",")) {
+                tag = tag.trim();
+                // If-None-Match uses the weak comparison
+                if (tag.startsWith("W/")) {
+                    tag = tag.substring(2);
+                }
+                if ("*".equals(tag)) {
+                    return identity.etag;
+                }
+                Representation compressed = gzip;
+                if (tag.equals(identity.etag) || compressed != null && tag.equals(compressed.etag)
+                        || brotli != null && tag.equals(brotli.etag)) {
+                    return tag;
+                }
+            }
+            return null;
+        }
+
+        /**
+         * Compresses the gzip variant of a file which has none. It is only served once it is done.
+         *
+         * @param executor runs the compression
+         */
+        void compressIn(Executor executor) {
+            if (gzipChecked) {
+                return;
+            }
+            try {
+                executor.execute(() -> {
+                    gzip = compress();
+                    gzipChecked = true;
+                });
+            } catch (RejectedExecutionException e) {
+                // shutting down, keep serving it uncompressed
+            }
+        }
+
+        private Representation compress() {
+            if (identity.length < MIN_COMPRESS_BYTES) {
+                return null;
+            }
+            if (identity.file != null) {
+                return compressToFile();
+            }
+            ByteArrayOutputStream bos = new ByteArrayOutputStream((int) Math.min(identity.length / 2, 1 << 20));
+            try {
+                gzip(bos);
+            } catch (IOException e) {
+                return null;
+            }
+            if (!isWorthCompressing(bos.size())) {
+                return null;
+            }
+            return new Representation(GZIP, bos.toByteArray(), etag(etagBase, GZIP));
+        }
+
+        // the variant of a file which is sent from disk is not held in memory either, it is sent from a temporary file
+        private Representation compressToFile() {
+            Path compressed = null;
+            try {
+                compressed = Files.createTempFile("greengrass-debug-console-", ".gz");
+                compressed.toFile().deleteOnExit();
+                try (OutputStream out = Files.newOutputStream(compressed)) {
+                    gzip(out);
+                }
+                long size = Files.size(compressed);
+                if (isWorthCompressing(size)) {
+                    return new Representation(GZIP, compressed, size, etag(etagBase, GZIP));
+                }
+            } catch (IOException e) {
+                // the file was removed or the temporary directory is not writable, keep serving it uncompressed
+            }
+            if (compressed != null) {
+                compressed.toFile().delete();
+            }
+            return null;
+        }
+
+        private void gzip(OutputStream destination) throws IOException {
+            // the default level, higher ones cost several times the CPU for a few percent of the size
+            try (InputStream in = identity.open(); GZIPOutputStream out = new GZIPOutputStream(destination)) {
+                byte[] buf = new byte[READ_BUFFER_BYTES];
+                int nread;
+                while ((nread = in.read(buf)) > 0) {
+                    out.write(buf, 0, nread);
+                }
+            }
+        }
+
+        // already compressed content, such as images, isn't worth the decompression
+        private boolean isWorthCompressing(long compressedLength) {
+            return compressedLength <= identity.length * MAX_COMPRESSED_RATIO;
+        }
+    }
+}
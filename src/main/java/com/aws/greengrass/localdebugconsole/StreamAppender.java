@@ -0,0 +1,229 @@
+/*
+ * Copyright Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package com.aws.greengrass.localdebugconsole;
+
+import com.amazonaws.greengrass.streammanager.client.exception.StreamManagerException;
+import com.aws.greengrass.localdebugconsole.messageutils.StreamAppendProgress;
+import com.aws.greengrass.localdebugconsole.messageutils.StreamAppendRequest;
+import com.aws.greengrass.logging.api.Logger;
+import com.aws.greengrass.util.Utils;
+import org.java_websocket.WebSocket;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.BiConsumer;
+import java.util.function.Consumer;
+import java.util.function.LongSupplier;
+
+/**
+ * Appends batches of messages to streams for dashboard connections, for example to load test a stream's exporters.
+ * The messages are appended one after the other on a worker instead of one websocket request each, and the
+ * connection gets the progress and throughput of its job pushed while it runs. Generated payloads are made one at a
+ * time, so a large job doesn't hold all of its messages in memory. A connection has at most one job at a time, and
+ * the jobs of other connections wait in the executor's bounded queue.
+ */
+class StreamAppender {
+    static final int MAX_MESSAGES_PER_JOB = 100_000;
+    static final int MAX_GENERATED_BYTES = 1024 * 1024;
+    static final long PROGRESS_INTERVAL_MILLIS = 500;
+    static final int MAX_QUEUED_JOBS = 8;
+    private static final byte PADDING = 'x';
+
+    private final StreamManagerHelper streamManager;
+    private final ExecutorService executor;
+    private final Logger logger;
+    private final BiConsumer<WebSocket, StreamAppendProgress> sink;
+    private final LongSupplier nanoClock;
+    private final Map<String, Job> jobs = new ConcurrentHashMap<>();
+    // the job which each connection is running or waiting to run
+    private final Map<WebSocket, Job> connectionJobs = new ConcurrentHashMap<>();
+    private final AtomicLong jobIds = new AtomicLong();
+
+    /**
+     * Constructor.
+     *
+     * @param streamManager Stream Manager client
+     * @param executor      executor which runs the jobs
+     * @param logger        logger
+     * @param sink          receives the progress of a connection's jobs
+     */
+    StreamAppender(StreamManagerHelper streamManager, ExecutorService executor, Logger logger,
+                   BiConsumer<WebSocket, StreamAppendProgress> sink) {
+        this(streamManager, executor, logger, sink, System::nanoTime);
+    }
+
+    StreamAppender(StreamManagerHelper streamManager, ExecutorService executor, Logger logger,
+                   BiConsumer<WebSocket, StreamAppendProgress> sink, LongSupplier nanoClock) {
+        this.streamManager = streamManager;
+        this.executor = executor;
+        this.logger = logger;
+        this.sink = sink;
+        this.nanoClock = nanoClock;
+    }
+
+    /**
+     * Starts a job. The accepted job's first progress is given to the callback before the job can push any, so
+     * that the client learns the job id before it gets the job's progress. A job which the executor's queue has no
+     * room for is pushed as done with an error right after.
+     *
+     * @param conn     connection which gets the progress
+     * @param request  messages to append
+     * @param response receives the first progress of the job, or a failure if the request is invalid or the
+     *                 connection already has a job
+     */
+    void start(WebSocket conn, StreamAppendRequest request, Consumer<StreamAppendProgress> response) {
+        String error = validate(request);
+        if (error != null) {
+            response.accept(StreamAppendProgress.failure(error));
+            return;
+        }
+        Job job = new Job(conn, String.valueOf(jobIds.incrementAndGet()), request);
+        if (connectionJobs.putIfAbsent(conn, job) != null) {
+            response.accept(StreamAppendProgress.failure("An append job of this connection is already running"));
+            return;
+        }
+        jobs.put(job.id, job);
+        response.accept(job.progress(null, false));
+        try {
+            executor.execute(job);
+        } catch (RejectedExecutionException e) {
+            // the queue is full or the server is shutting down
+            job.finish();
+            logger.atWarn().kv("stream", request.getStreamName()).log("Too many append jobs are waiting");
+            sink.accept(conn, job.progress("Too many append jobs are waiting, try again later", true));
+        }
+    }
+
+    /**
+     * Stops a job of a connection after the message which is being appended.
+     *
+     * @param conn  connection which started the job
+     * @param jobId job
+     * @return true if the job was running or waiting to run
+     */
+    boolean stop(WebSocket conn, String jobId) {
+        Job job = jobs.get(jobId);
+        if (job == null || job.conn != conn) {
+            return false;
+        }
+        job.cancelled = true;
+        return true;
+    }
+
+    void stopAll(WebSocket conn) {
+        jobs.values().stream().filter(job -> job.conn == conn).forEach(job -> job.cancelled = true);
+    }
+
+    int getJobCount() {
+        return jobs.size();
+    }
+
+    private static String validate(StreamAppendRequest request) {
+        if (Utils.isEmpty(request.getStreamName())) {
+            return "Missing stream name";
+        }
+        long total = total(request);
+        if (total < 1 || total > MAX_MESSAGES_PER_JOB) {
+            return "Number of messages must be between 1 and " + MAX_MESSAGES_PER_JOB;
+        }
+        if (request.getPayloads() == null && (request.getSize() < 0 || request.getSize() > MAX_GENERATED_BYTES)) {
+            return "Size of generated messages must be between 0 and " + MAX_GENERATED_BYTES;
+        }
+        return null;
+    }
+
+    private static long total(StreamAppendRequest request) {
+        return request.getPayloads() == null ? request.getCount() : request.getPayloads().length;
+    }
+
+    /**
+     * Makes a generated payload from the template of a request.
+     *
+     * @param request generator spec
+     * @param index   index of the message in the batch
+     * @return UTF-8 payload, padded or cut to the requested size which may cut a multi-byte character
+     */
+    static byte[] generate(StreamAppendRequest request, long index) {
+        String template = request.getTemplate() == null ? "" : request.getTemplate();
+        byte[] payload = template.replace("{seq}", String.valueOf(index))
+                .replace("{timestamp}", String.valueOf(System.currentTimeMillis()))
+                .getBytes(StandardCharsets.UTF_8);
+        if (request.getSize() <= 0 || payload.length == request.getSize()) {
+            return payload;
+        }
+        byte[] sized = Arrays.copyOf(payload, request.getSize());
+        if (payload.length < sized.length) {
+            Arrays.fill(sized, payload.length, sized.length, PADDING);
+        }
+        return sized;
+    }
+
+    private class Job implements Runnable {
+        private final WebSocket conn;
+        private final String id;
+        private final StreamAppendRequest request;
+        private final long total;
+        // only touched by the job's thread
+        private long appended;
+        private long bytes;
+        private long startNanos;
+        private boolean started;
+        private volatile boolean cancelled;
+
+        Job(WebSocket conn, String id, StreamAppendRequest request) {
+            this.conn = conn;
+            this.id = id;
+            this.request = request;
+            this.total = total(request);
+        }
+
+        @Override
+        public void run() {
+            startNanos = nanoClock.getAsLong();
+            started = true;
+            long lastPushNanos = startNanos;
+            String error = null;
+            try {
+                for (long i = 0; i < total && !cancelled && conn.isOpen(); i++) {
+                    byte[] payload = request.getPayloads() == null ? generate(request, i)
+                            : request.getPayloads()[(int) i].getBytes(StandardCharsets.UTF_8);
+                    streamManager.appendMessage(request.getStreamName(), payload);
+                    appended++;
+                    bytes += payload.length;
+                    long now = nanoClock.getAsLong();
+                    if (now - lastPushNanos >= TimeUnit.MILLISECONDS.toNanos(PROGRESS_INTERVAL_MILLIS)) {
+                        lastPushNanos = now;
+                        sink.accept(conn, progress(null, false));
+                    }
+                }
+            } catch (StreamManagerException | RuntimeException e) {
+                logger.atWarn().kv("stream", request.getStreamName()).kv("appended", appended).setCause(e)
+                        .log("Unable to append messages");
+                error = Utils.generateFailureMessage(e);
+            } finally {
+                finish();
+            }
+            sink.accept(conn, progress(error, true));
+        }
+
+        void finish() {
+            jobs.remove(id);
+            connectionJobs.remove(conn, this);
+        }
+
+        StreamAppendProgress progress(String error, boolean done) {
+            double seconds = !started ? 0 : (nanoClock.getAsLong() - startNanos) / 1e9;
+            return new StreamAppendProgress(error == null, error, id, request.getStreamName(), appended, total, bytes,
+                    seconds > 0 ? appended / seconds : 0, seconds > 0 ? bytes / seconds : 0, done);
+        }
+    }
+}
@@ -0,0 +1,134 @@
+/*
+ * Copyright Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package com.aws.greengrass.localdebugconsole;
+
+import com.amazonaws.greengrass.streammanager.client.exception.StreamManagerException;
+
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongSupplier;
+
+/**
+ * Keeps Stream Manager answers which the dashboard asks for over and over, like the stream list and stream
+ * descriptions, for a short time. Callers which ask for a key that is being loaded wait for that load instead of
+ * starting their own, so a page with many viewers costs one Stream Manager call per key and time to live. A failed
+ * load is not kept.
+ *
+ * @param <V> type of the cached values
+ */
+class StreamInfoCache<V> {
+    static final long DEFAULT_TTL_MILLIS = 2_000;
+
+    private final Map<String, Entry<V>> entries = new ConcurrentHashMap<>();
+    private final LongSupplier nanoClock;
+    private volatile long ttlNanos;
+    private final AtomicLong hits = new AtomicLong();
+    private final AtomicLong misses = new AtomicLong();
+
+    interface Loader<V> {
+        V load() throws StreamManagerException;
+    }
+
+    StreamInfoCache() {
+        this(DEFAULT_TTL_MILLIS, System::nanoTime);
+    }
+
+    StreamInfoCache(long ttlMillis, LongSupplier nanoClock) {
+        this.ttlNanos = TimeUnit.MILLISECONDS.toNanos(ttlMillis);
+        this.nanoClock = nanoClock;
+    }
+
+    /**
+     * Set how long values are kept, 0 to only share loads which are in flight.
+     *
+     * @param ttlMillis time to live in milliseconds
+     */
+    void setTtlMillis(long ttlMillis) {
+        this.ttlNanos = TimeUnit.MILLISECONDS.toNanos(ttlMillis);
+    }
+
+    /**
+     * Returns the value of a key, loading it if it is missing or expired.
+     *
+     * @param key    key
+     * @param loader loads the value from Stream Manager
+     * @return the value
+     * @throws StreamManagerException if the load fails
+     */
+    V get(String key, Loader<V> loader) throws StreamManagerException {
+        Entry<V> fresh = new Entry<>();
+        Entry<V> entry = entries.compute(key, (k, current) -> {
+            if (current != null && (!current.future.isDone()
+                    || nanoClock.getAsLong() - current.loadedAtNanos < ttlNanos)) {
+                return current;
+            }
+            return fresh;
+        });
+        if (entry != fresh) {
+            hits.incrementAndGet();
+            return await(entry);
+        }
+        misses.incrementAndGet();
+        try {
+            V value = loader.load();
+            fresh.loadedAtNanos = nanoClock.getAsLong();
+            fresh.future.complete(value);
+            return value;
+        } catch (StreamManagerException | RuntimeException e) {
+            entries.remove(key, fresh);
+            fresh.future.completeExceptionally(e);
+            throw e;
+        }
+    }
+
+    /**
+     * Drops the value of a key, so that the next caller loads it again. A load which is in flight still completes
+     * for the callers waiting for it.
+     *
+     * @param key key
+     */
+    void invalidate(String key) {
+        entries.remove(key);
+    }
+
+    void invalidateAll() {
+        entries.clear();
+    }
+
+    long getHits() {
+        return hits.get();
+    }
+
+    long getMisses() {
+        return misses.get();
+    }
+
+    private V await(Entry<V> entry) throws StreamManagerException {
+        try {
+            return entry.future.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new StreamManagerException(e);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof StreamManagerException) {
+                throw (StreamManagerException) e.getCause();
+            }
+            if (e.getCause() instanceof RuntimeException) {
+                throw (RuntimeException) e.getCause();
+            }
+            throw new StreamManagerException(e.getCause());
+        }
+    }
+
+    private static class Entry<V> {
+        private final CompletableFuture<V> future = new CompletableFuture<>();
+        private volatile long loadedAtNanos;
+    }
+}
@@ -0,0 +1,219 @@
+/*
+ * Copyright Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package com.aws.greengrass.localdebugconsole;
+
+import com.amazonaws.greengrass.streammanager.client.StreamManagerClient;
+import com.amazonaws.greengrass.streammanager.client.exception.ClientClosedException;
+import com.amazonaws.greengrass.streammanager.client.exception.ConnectException;
+import com.amazonaws.greengrass.streammanager.client.exception.StreamManagerException;
+import com.aws.greengrass.logging.api.Logger;
+
+import java.util.concurrent.BlockingDeque;
+import java.util.concurrent.LinkedBlockingDeque;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * A small pool of connected Stream Manager clients. Every call checks a client out for its own use, so calls from
+ * several dashboard connections run in parallel instead of sharing one socket. A client which turns out to be
+ * closed is replaced by a new one and the call is retried once. Clients are only connected by calls, so a device
+ * without Stream Manager doesn't try to connect until the dashboard asks for streams. Idle clients are probed in the
+ * background and dead ones are dropped, the next call connects a new one.
+ */
+class StreamManagerClientPool implements AutoCloseable {
+    static final int DEFAULT_SIZE = 2;
+    static final long DEFAULT_PROBE_INTERVAL_MILLIS = 30_000;
+    private static final long CHECKOUT_TIMEOUT_MILLIS = 10_000;
+
+    private final ClientFactory factory;
+    private final Logger logger;
+    // most recently used first, so that the probes visit the clients which waited longest
+    private final BlockingDeque<StreamManagerClient> idle = new LinkedBlockingDeque<>();
+    // one permit per client which may be in use
+    private final ResizableSemaphore permits;
+    private final ScheduledFuture<?> probeTask;
+    private final AtomicLong connects = new AtomicLong();
+    private final AtomicLong probeFailures = new AtomicLong();
+    private volatile int size;
+    private volatile boolean closed;
+
+    interface ClientFactory {
+        StreamManagerClient create() throws StreamManagerException;
+    }
+
+    interface ClientCall<T> {
+        T call(StreamManagerClient client) throws StreamManagerException;
+    }
+
+    StreamManagerClientPool(ClientFactory factory, int size, ScheduledExecutorService ses, long probeIntervalMillis,
+                            Logger logger) {
+        this.factory = factory;
+        this.size = size;
+        this.logger = logger;
+        this.permits = new ResizableSemaphore(size);
+        this.probeTask = ses.scheduleWithFixedDelay(this::probe, probeIntervalMillis, probeIntervalMillis,
+                TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Set how many clients the pool keeps. Surplus clients are closed when they are returned.
+     *
+     * @param newSize number of clients
+     */
+    synchronized void setSize(int newSize) {
+        int delta = newSize - size;
+        size = newSize;
+        if (delta > 0) {
+            permits.release(delta);
+        } else if (delta < 0) {
+            permits.reducePermits(-delta);
+        }
+    }
+
+    /**
+     * Runs a call with a client of the pool, waiting for a client if all of them are in use.
+     *
+     * @param call the call
+     * @param <T> result type
+     * @return result of the call
+     * @throws StreamManagerException if the call fails, or with a new client after the first one was closed
+     */
+    <T> T call(ClientCall<T> call) throws StreamManagerException {
+        checkout();
+        StreamManagerClient client = null;
+        try {
+            client = idle.pollFirst();
+            if (client == null) {
+                client = connect();
+            }
+            try {
+                return call.call(client);
+            } catch (ClientClosedException | ConnectException e) {
+                // the connection is gone, retry once with a new one
+                closeQuietly(client);
+                client = null;
+                client = connect();
+                return call.call(client);
+            }
+        } catch (ClientClosedException | ConnectException e) {
+            closeQuietly(client);
+            client = null;
+            throw e;
+        } finally {
+            if (client != null) {
+                giveBack(client);
+            }
+            permits.release();
+        }
+    }
+
+    private void checkout() throws StreamManagerException {
+        if (closed) {
+            throw new StreamManagerException("Stream Manager client pool is closed");
+        }
+        try {
+            if (!permits.tryAcquire(CHECKOUT_TIMEOUT_MILLIS, TimeUnit.MILLISECONDS)) {
+                throw new StreamManagerException("Timed out waiting for a Stream Manager client");
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new StreamManagerException(e);
+        }
+    }
+
+    private void giveBack(StreamManagerClient client) {
+        if (closed || idle.size() >= size) {
+            closeQuietly(client);
+        } else {
+            idle.offerFirst(client);
+        }
+    }
+
+    /**
+     * Checks each idle client once and drops the ones which don't answer. Probes hold a permit like calls do, so they
+     * never run on a client which is in use.
+     */
+    void probe() {
+        int toCheck = idle.size();
+        for (int i = 0; i < toCheck && !closed && permits.tryAcquire(); i++) {
+            try {
+                StreamManagerClient client = idle.pollLast();
+                if (client == null) {
+                    break;
+                }
+                try {
+                    client.listStreams();
+                    giveBack(client);
+                } catch (StreamManagerException | RuntimeException e) {
+                    probeFailures.incrementAndGet();
+                    logger.atDebug().setCause(e).log("Stream Manager client failed its liveness probe");
+                    closeQuietly(client);
+                }
+            } finally {
+                permits.release();
+            }
+        }
+    }
+
+    private StreamManagerClient connect() throws StreamManagerException {
+        StreamManagerClient client = factory.create();
+        connects.incrementAndGet();
+        return client;
+    }
+
+    int getIdleClients() {
+        return idle.size();
+    }
+
+    int getClientsInUse() {
+        return Math.max(0, size - permits.availablePermits());
+    }
+
+    long getConnects() {
+        return connects.get();
+    }
+
+    long getProbeFailures() {
+        return probeFailures.get();
+    }
+
+    @Override
+    public void close() {
+        closed = true;
+        probeTask.cancel(false);
+        StreamManagerClient client;
+        while ((client = idle.pollFirst()) != null) {
+            closeQuietly(client);
+        }
+    }
+
+    private void closeQuietly(StreamManagerClient client) {
+        if (client == null) {
+            return;
+        }
+        try {
+            client.close();
+        } catch (Exception e) {
+            logger.atError().log("Unable to close StreamManager client", e);
+        }
+    }
+
+    private static class ResizableSemaphore extends Semaphore {
+        private static final long serialVersionUID = 1L;
+
+        ResizableSemaphore(int permits) {
+            super(permits);
+        }
+
+        @Override
+        protected void reducePermits(int reduction) {
+            super.reducePermits(reduction);
+        }
+    }
+}
@@ -5,8 +5,7 @@ import com.amazonaws.greengrass.streammanager.client.StreamManagerClientFactory;
 import com.amazonaws.greengrass.streammanager.client.config.StreamManagerAuthInfo;
 import com.amazonaws.greengrass.streammanager.client.config.StreamManagerClientConfig;
 import com.amazonaws.greengrass.streammanager.client.config.StreamManagerServerInfo;
-import com.amazonaws.greengrass.streammanager.client.exception.ClientClosedException;
-import com.amazonaws.greengrass.streammanager.client.exception.ConnectException;
+import com.amazonaws.greengrass.streammanager.client.exception.ResourceNotFoundException;
 import com.amazonaws.greengrass.streammanager.client.exception.StreamManagerException;
 import com.amazonaws.greengrass.streammanager.model.Message;
 import com.amazonaws.greengrass.streammanager.model.MessageStreamDefinition;
@@ -20,7 +19,11 @@ import com.aws.greengrass.logging.impl.LogManager;
 import com.aws.greengrass.util.Coerce;
 
 import java.lang.reflect.Field;
+import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
 
 import static com.aws.greengrass.authorization.AuthorizationIPCAgent.STREAM_MANAGER_SERVICE_NAME;
 import static com.aws.greengrass.componentmanager.KernelConfigResolver.CONFIGURATION_CONFIG_KEY;
@@ -28,29 +31,29 @@ import static com.aws.greengrass.componentmanager.KernelConfigResolver.CONFIGURA
 public class StreamManagerHelper {
 
     private final Logger logger;
-    private StreamManagerClient client;
     private final String streamManagerAuthToken;
-
-    private boolean isConnected;
+    private final ScheduledExecutorService probeExecutor = Executors.newSingleThreadScheduledExecutor(r -> {
+        Thread t = new Thread(r, "LocalDebugConsole-streammanager");
+        t.setDaemon(true);
+        return t;
+    });
+    private final StreamManagerClientPool clients;
+    private final StreamMessageCache messageCache = new StreamMessageCache();
+    private final StreamInfoCache<List<String>> streamListCache = new StreamInfoCache<>();
+    private final StreamInfoCache<MessageStreamInfo> streamInfoCache = new StreamInfoCache<>();
+    private static volatile Field authTokenField;
 
     private final Kernel kernel;
 
     public StreamManagerHelper(Kernel kernel, String authToken) {
         this.logger = LogManager.getLogger(StreamManagerHelper.class);
         this.streamManagerAuthToken = authToken;
-        this.isConnected = false;
         this.kernel = kernel;
+        this.clients = new StreamManagerClientPool(this::connect, StreamManagerClientPool.DEFAULT_SIZE,
+                probeExecutor, StreamManagerClientPool.DEFAULT_PROBE_INTERVAL_MILLIS, logger);
     }
 
-    private void connect() throws StreamManagerException {
-        if (this.client != null) {
-            try {
-                this.client.close();
-            } catch (Exception e) {
-                logger.atError().log("Unable to close StreamManager client", e);
-            }
-        }
-
+    private StreamManagerClient connect() throws StreamManagerException {
         try {
             Integer streamManagerPort = null;
             Topics smTopics = this.kernel.findServiceTopic(STREAM_MANAGER_SERVICE_NAME);
@@ -68,114 +71,183 @@ public class StreamManagerHelper {
             StreamManagerClientConfig config = StreamManagerClientConfig.builder()
                     .serverInfo(StreamManagerServerInfo.builder().port(streamManagerPort).build()).build();
             StreamManagerAuthInfo authInfo = config.getAuthInfo();
-            Field field = authInfo.getClass().getDeclaredField("authToken");
-            field.setAccessible(true);
-            field.set(authInfo, this.streamManagerAuthToken);
+            authTokenField(authInfo).set(authInfo, this.streamManagerAuthToken);
 
-            this.client = StreamManagerClientFactory.standard().withClientConfig(config).build();
-            this.isConnected = true;
-        } catch (StreamManagerException exception) {
-            this.isConnected = false;
-            throw exception;
+            return StreamManagerClientFactory.standard().withClientConfig(config).build();
         } catch (IllegalAccessException | NoSuchFieldException e) {
-            this.isConnected = false;
             throw new StreamManagerException(e);
         }
     }
 
-    public List<String> listStreams() throws StreamManagerException {
-        if (!this.isConnected) {
-            this.connect();
-        }
-        try {
-            return this.client.listStreams();
-        } catch (ClientClosedException | ConnectException e) {
-            // reconnect
-            this.connect();
-            return this.client.listStreams();
+    // the lookup is the same for every client of the pool
+    private static Field authTokenField(StreamManagerAuthInfo authInfo) throws NoSuchFieldException {
+        Field field = authTokenField;
+        if (field == null) {
+            field = authInfo.getClass().getDeclaredField("authToken");
+            field.setAccessible(true);
+            authTokenField = field;
         }
+        return field;
+    }
+
+    /**
+     * Set how many Stream Manager clients are kept connected for the dashboard.
+     *
+     * @param count number of clients
+     */
+    void setClients(int count) {
+        clients.setSize(count);
+    }
+
+    StreamManagerClientPool getClientPool() {
+        return clients;
+    }
+
+    StreamMessageCache getMessageCache() {
+        return messageCache;
+    }
+
+    /**
+     * Set how long stream lists and stream descriptions are reused before Stream Manager is asked again.
+     *
+     * @param ttlMillis time to live in milliseconds, 0 to only share concurrent calls
+     */
+    void setStreamInfoCacheMillis(long ttlMillis) {
+        streamListCache.setTtlMillis(ttlMillis);
+        streamInfoCache.setTtlMillis(ttlMillis);
+    }
+
+    StreamInfoCache<MessageStreamInfo> getStreamInfoCache() {
+        return streamInfoCache;
+    }
+
+    /**
+     * Closes all Stream Manager clients and stops probing them.
+     */
+    public void close() {
+        clients.close();
+        probeExecutor.shutdownNow();
+    }
+
+    public List<String> listStreams() throws StreamManagerException {
+        // shared by all callers, so it must not be changed
+        return streamListCache.get("",
+                () -> Collections.unmodifiableList(clients.call(StreamManagerClient::listStreams)));
     }
 
     public MessageStreamInfo describeStream(String streamName) throws StreamManagerException {
-        if (!this.isConnected) {
-            this.connect();
+        MessageStreamInfo info = streamInfoCache.get(streamName,
+                () -> clients.call(client -> client.describeMessageStream(streamName)));
+        if (info.getStorageStatus() != null && info.getStorageStatus().getNewestSequenceNumber() != null) {
+            messageCache.noteNewest(streamName, info.getStorageStatus().getNewestSequenceNumber());
         }
-        try {
-            return this.client.describeMessageStream(streamName);
-        } catch (ClientClosedException | ConnectException e) {
-            // reconnect
-            this.connect();
-            return this.client.describeMessageStream(streamName);
+        return info;
+    }
+
+    /**
+     * Describes several streams with one call, skipping the ones which no longer exist.
+     *
+     * @param streamNames streams to describe, null for all streams
+     * @return the descriptions in the order of the names
+     * @throws StreamManagerException if Stream Manager fails
+     */
+    public List<MessageStreamInfo> describeStreams(List<String> streamNames) throws StreamManagerException {
+        List<String> names = streamNames == null ? listStreams() : streamNames;
+        List<MessageStreamInfo> infos = new ArrayList<>(names.size());
+        for (String name : names) {
+            try {
+                infos.add(describeStream(name));
+            } catch (ResourceNotFoundException e) {
+                logger.atDebug().kv("stream", name).log("Stream was deleted before it was described");
+            }
         }
+        return infos;
     }
 
     public void deleteMessageStream(String streamName) throws StreamManagerException {
-        if (!this.isConnected) {
-            this.connect();
-        }
+        messageCache.invalidate(streamName);
         try {
-            this.client.deleteMessageStream(streamName);
-        } catch (ClientClosedException | ConnectException e) {
-            // reconnect
-            this.connect();
-            this.client.deleteMessageStream(streamName);
+            clients.call(client -> {
+                client.deleteMessageStream(streamName);
+                return null;
+            });
+        } finally {
+            invalidateStream(streamName, true);
+        }
+    }
+
+    // also after a failed call, which may have changed the stream anyway
+    private void invalidateStream(String streamName, boolean listChanged) {
+        streamInfoCache.invalidate(streamName);
+        if (listChanged) {
+            streamListCache.invalidateAll();
         }
     }
 
     public List<Message> readMessages(String streamName, Long desiredStartSequenceNumber, Long minMessageCount,
                                       Long maxMessageCount, Long readTimeoutMillis) throws StreamManagerException {
-        if (!this.isConnected) {
-            this.connect();
-        }
-        try {
-            return this.client.readMessages(streamName,
-                    new ReadMessagesOptions(desiredStartSequenceNumber, minMessageCount, maxMessageCount,
-                            readTimeoutMillis));
-        } catch (ClientClosedException | ConnectException e) {
-            // reconnect
-            this.connect();
-            return this.client.readMessages(streamName,
-                    new ReadMessagesOptions(desiredStartSequenceNumber, minMessageCount, maxMessageCount,
-                            readTimeoutMillis));
+        if (desiredStartSequenceNumber == null || minMessageCount == null || maxMessageCount == null
+                || readTimeoutMillis == null) {
+            return readFromStreamManager(streamName, desiredStartSequenceNumber, minMessageCount, maxMessageCount,
+                    readTimeoutMillis);
         }
+        return messageCache.read(this::readFromStreamManager, streamName, desiredStartSequenceNumber,
+                minMessageCount, maxMessageCount, readTimeoutMillis, false);
+    }
+
+    /**
+     * Reads the messages after a viewer's cursor. Messages which another viewer of the stream already read are
+     * returned right away, without waiting for newer ones.
+     *
+     * @param streamName          stream
+     * @param startSequenceNumber first sequence number
+     * @param maxMessageCount     maximum number of messages
+     * @param readTimeoutMillis   how long to wait for at least one message
+     * @return the messages
+     * @throws StreamManagerException if the read fails, including when no message arrives in time
+     */
+    List<Message> tailMessages(String streamName, long startSequenceNumber, long maxMessageCount,
+                               long readTimeoutMillis) throws StreamManagerException {
+        return messageCache.read(this::readFromStreamManager, streamName, startSequenceNumber, 1, maxMessageCount,
+                readTimeoutMillis, true);
+    }
+
+    private List<Message> readFromStreamManager(String streamName, Long desiredStartSequenceNumber,
+                                                Long minMessageCount, Long maxMessageCount, Long readTimeoutMillis)
+            throws StreamManagerException {
+        return clients.call(client -> client.readMessages(streamName,
+                new ReadMessagesOptions(desiredStartSequenceNumber, minMessageCount, maxMessageCount,
+                        readTimeoutMillis)));
     }
 
     public void appendMessage(String streamName, byte[] message) throws StreamManagerException {
-        if (!this.isConnected) {
-            this.connect();
-        }
         try {
-            this.client.appendMessage(streamName, message);
-        } catch (ClientClosedException | ConnectException e) {
-            // reconnect
-            this.connect();
-            this.client.appendMessage(streamName, message);
+            messageCache.noteNewest(streamName, clients.call(client -> client.appendMessage(streamName, message)));
+        } finally {
+            invalidateStream(streamName, false);
         }
     }
 
     public void createMessageStream(MessageStreamDefinition messageStream) throws StreamManagerException {
-        if (!this.isConnected) {
-            this.connect();
-        }
+        messageCache.invalidate(messageStream.getName());
         try {
-            this.client.createMessageStream(messageStream);
-        } catch (ClientClosedException | ConnectException e) {
-            // reconnect
-            this.connect();
-            this.client.createMessageStream(messageStream);
+            clients.call(client -> {
+                client.createMessageStream(messageStream);
+                return null;
+            });
+        } finally {
+            invalidateStream(messageStream.getName(), true);
         }
     }
 
     public void updateMessageStream(MessageStreamDefinition messageStream) throws StreamManagerException {
-        if (!this.isConnected) {
-            this.connect();
-        }
         try {
-            this.client.updateMessageStream(messageStream);
-        } catch (ClientClosedException | ConnectException e) {
-            // reconnect
-            this.connect();
-            this.client.updateMessageStream(messageStream);
+            clients.call(client -> {
+                client.updateMessageStream(messageStream);
+                return null;
+            });
+        } finally {
+            invalidateStream(messageStream.getName(), false);
         }
     }
 }
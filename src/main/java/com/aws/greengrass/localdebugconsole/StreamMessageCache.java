@@ -0,0 +1,247 @@
+/*
+ * Copyright Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package com.aws.greengrass.localdebugconsole;
+
+import com.amazonaws.greengrass.streammanager.client.exception.NotEnoughMessagesException;
+import com.amazonaws.greengrass.streammanager.client.exception.StreamManagerException;
+import com.amazonaws.greengrass.streammanager.model.Message;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Recent messages of the streams which dashboard viewers read, so that several viewers of one stream are served
+ * from one read instead of each having Stream Manager read and send the same range again. Each stream keeps a ring
+ * buffer of consecutive messages keyed by sequence number, bounded by a number of messages and by payload bytes.
+ * Stream Manager is called without holding the buffer, so a read which waits for new messages doesn't hold up the
+ * viewers which are served from the buffer. What it returns is merged into the buffer afterwards.
+ */
+class StreamMessageCache {
+    static final int DEFAULT_MAX_MESSAGES_PER_STREAM = 1000;
+    static final long DEFAULT_MAX_BYTES_PER_STREAM = 4L * 1024 * 1024;
+    static final int MAX_STREAMS = 16;
+
+    private final int maxMessagesPerStream;
+    private final long maxBytesPerStream;
+    // least recently read stream first, so that it is dropped when too many streams are read
+    private final Map<String, Ring> rings = new LinkedHashMap<String, Ring>(MAX_STREAMS, 0.75f, true) {
+        private static final long serialVersionUID = 1L;
+
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<String, Ring> eldest) {
+            return size() > MAX_STREAMS;
+        }
+    };
+    private final AtomicLong hits = new AtomicLong();
+    private final AtomicLong misses = new AtomicLong();
+
+    interface Reader {
+        List<Message> read(String streamName, long start, long minMessages, long maxMessages, long timeoutMillis)
+                throws StreamManagerException;
+    }
+
+    StreamMessageCache() {
+        this(DEFAULT_MAX_MESSAGES_PER_STREAM, DEFAULT_MAX_BYTES_PER_STREAM);
+    }
+
+    StreamMessageCache(int maxMessagesPerStream, long maxBytesPerStream) {
+        this.maxMessagesPerStream = maxMessagesPerStream;
+        this.maxBytesPerStream = maxBytesPerStream;
+    }
+
+    /**
+     * Reads messages like Stream Manager does, taking the ones which are buffered from the buffer and reading the
+     * rest from Stream Manager.
+     *
+     * @param reader        reads from Stream Manager
+     * @param streamName    stream
+     * @param start         first sequence number
+     * @param minMessages   minimum number of messages to return
+     * @param maxMessages   maximum number of messages to return
+     * @param timeoutMillis how long Stream Manager may wait for the minimum number of messages
+     * @param partial       true to return buffered messages right away instead of completing them up to the maximum
+     * @return consecutive messages starting at the start sequence number
+     * @throws StreamManagerException if Stream Manager fails
+     */
+    List<Message> read(Reader reader, String streamName, long start, long minMessages, long maxMessages,
+                       long timeoutMillis, boolean partial) throws StreamManagerException {
+        Ring ring;
+        synchronized (rings) {
+            ring = rings.computeIfAbsent(streamName, k -> new Ring());
+        }
+        List<Message> cached;
+        boolean complete;
+        synchronized (ring) {
+            cached = ring.get(start, maxMessages);
+            // a run which ends at the newest message of the stream can't be completed without waiting for a new one
+            complete = !cached.isEmpty() && cached.size() >= minMessages && (partial
+                    || cached.get(cached.size() - 1).getSequenceNumber() >= ring.newestSequenceNumber);
+        }
+        if (cached.size() == maxMessages || complete) {
+            hits.incrementAndGet();
+            return cached;
+        }
+        misses.incrementAndGet();
+        long remainderStart = start + cached.size();
+        long remainderMax = maxMessages - cached.size();
+        boolean enough = !cached.isEmpty() && cached.size() >= minMessages;
+        List<Message> read;
+        try {
+            // once the buffer has the minimum, the rest is only taken if Stream Manager already has it
+            read = reader.read(streamName, remainderStart, Math.max(1, minMessages - cached.size()), remainderMax,
+                    enough ? 0 : timeoutMillis);
+        } catch (NotEnoughMessagesException e) {
+            if (enough) {
+                return cached;
+            }
+            throw e;
+        }
+        synchronized (ring) {
+            ring.put(read);
+            // Stream Manager returns all it has up to the maximum, so a shorter read ends at the newest message
+            Long last = read.isEmpty() ? null : read.get(read.size() - 1).getSequenceNumber();
+            if (last != null && read.size() < remainderMax) {
+                ring.noteNewest(last);
+            }
+        }
+        if (cached.isEmpty()) {
+            return read;
+        }
+        List<Message> result = new ArrayList<>(cached.size() + read.size());
+        result.addAll(cached);
+        result.addAll(read);
+        return result;
+    }
+
+    /**
+     * Records a sequence number which a stream is known to have reached, for example from its description or an
+     * append. Buffered messages up to it are returned without asking Stream Manager for newer ones.
+     *
+     * @param streamName     stream
+     * @param sequenceNumber sequence number of a message of the stream
+     */
+    void noteNewest(String streamName, long sequenceNumber) {
+        Ring ring;
+        synchronized (rings) {
+            ring = rings.get(streamName);
+        }
+        if (ring != null) {
+            synchronized (ring) {
+                ring.noteNewest(sequenceNumber);
+            }
+        }
+    }
+
+    /**
+     * Drops the buffered messages of a stream, for example because it was deleted and its sequence numbers will be
+     * used again.
+     *
+     * @param streamName stream
+     */
+    void invalidate(String streamName) {
+        synchronized (rings) {
+            rings.remove(streamName);
+        }
+    }
+
+    long getHits() {
+        return hits.get();
+    }
+
+    long getMisses() {
+        return misses.get();
+    }
+
+    /**
+     * Consecutive messages of one stream, the oldest ones are dropped to make room.
+     */
+    private class Ring {
+        private final Message[] messages = new Message[maxMessagesPerStream];
+        private int head;
+        private int size;
+        private long bytes;
+        // newest sequence number the stream is known to have, messages after it may not exist yet
+        private long newestSequenceNumber = Long.MAX_VALUE;
+
+        private long firstSequenceNumber() {
+            return messages[head].getSequenceNumber();
+        }
+
+        private long lastSequenceNumber() {
+            return messages[(head + size - 1) % messages.length].getSequenceNumber();
+        }
+
+        List<Message> get(long start, long max) {
+            if (size == 0 || start < firstSequenceNumber() || start > lastSequenceNumber()) {
+                return Collections.emptyList();
+            }
+            int offset = (int) (start - firstSequenceNumber());
+            int count = (int) Math.min(max, size - offset);
+            List<Message> result = new ArrayList<>(count);
+            for (int i = 0; i < count; i++) {
+                result.add(messages[(head + offset + i) % messages.length]);
+            }
+            return result;
+        }
+
+        void noteNewest(long sequenceNumber) {
+            if (newestSequenceNumber == Long.MAX_VALUE || sequenceNumber > newestSequenceNumber) {
+                newestSequenceNumber = sequenceNumber;
+            }
+        }
+
+        void put(List<Message> read) {
+            for (Message message : read) {
+                if (message.getSequenceNumber() == null) {
+                    continue;
+                }
+                long sequenceNumber = message.getSequenceNumber();
+                if (size > 0 && sequenceNumber != lastSequenceNumber() + 1) {
+                    if (sequenceNumber >= firstSequenceNumber() && sequenceNumber <= lastSequenceNumber()) {
+                        continue;
+                    }
+                    // not consecutive, start over with the new range
+                    clear();
+                }
+                append(message);
+            }
+        }
+
+        private void append(Message message) {
+            long messageBytes = payloadBytes(message);
+            if (messageBytes > maxBytesPerStream) {
+                clear();
+                return;
+            }
+            while (size == messages.length || size > 0 && bytes + messageBytes > maxBytesPerStream) {
+                bytes -= payloadBytes(messages[head]);
+                messages[head] = null;
+                head = (head + 1) % messages.length;
+                size--;
+            }
+            messages[(head + size) % messages.length] = message;
+            size++;
+            bytes += messageBytes;
+        }
+
+        private void clear() {
+            for (int i = 0; i < size; i++) {
+                messages[(head + i) % messages.length] = null;
+            }
+            head = 0;
+            size = 0;
+            bytes = 0;
+        }
+
+        private long payloadBytes(Message message) {
+            return message.getPayload() == null ? 0 : message.getPayload().length;
+        }
+    }
+}
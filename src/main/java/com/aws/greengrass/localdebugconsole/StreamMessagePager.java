@@ -0,0 +1,166 @@
+/*
+ * Copyright Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package com.aws.greengrass.localdebugconsole;
+
+import com.amazonaws.greengrass.streammanager.client.exception.NotEnoughMessagesException;
+import com.amazonaws.greengrass.streammanager.client.exception.StreamManagerException;
+import com.amazonaws.greengrass.streammanager.model.Message;
+import com.amazonaws.greengrass.streammanager.model.MessageStreamInfo;
+import com.aws.greengrass.localdebugconsole.messageutils.StreamMessageSummary;
+import com.aws.greengrass.localdebugconsole.messageutils.StreamMessagesPage;
+import com.aws.greengrass.localdebugconsole.messageutils.StreamMessagesRequest;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Base64;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Pages through the messages of a stream, returning each message's metadata and the start of its payload instead of
+ * the full payload, so that a page of large messages stays small on the wire and in the console's heap. Pages are
+ * chained with an opaque cursor which holds the next sequence number to read.
+ */
+class StreamMessagePager {
+    static final int DEFAULT_LIMIT = 50;
+    static final int MAX_LIMIT = 500;
+    static final int DEFAULT_PREVIEW_BYTES = 256;
+    static final int MAX_PREVIEW_BYTES = 64 * 1024;
+    private static final long READ_TIMEOUT_MILLIS = 1000;
+
+    private final StreamManagerHelper streamManager;
+
+    StreamMessagePager(StreamManagerHelper streamManager) {
+        this.streamManager = streamManager;
+    }
+
+    /**
+     * Reads one page.
+     *
+     * @param request page to read
+     * @return the page, or a failure if the request or its cursor is invalid
+     * @throws StreamManagerException if Stream Manager fails
+     */
+    StreamMessagesPage read(StreamMessagesRequest request) throws StreamManagerException {
+        if (request.getStreamName() == null) {
+            return StreamMessagesPage.failure("Missing stream name");
+        }
+        int limit = request.getLimit() <= 0 ? DEFAULT_LIMIT : Math.min(request.getLimit(), MAX_LIMIT);
+        int previewBytes = request.getPreviewBytes() <= 0 ? DEFAULT_PREVIEW_BYTES
+                : Math.min(request.getPreviewBytes(), MAX_PREVIEW_BYTES);
+        boolean newestFirst = request.isNewestFirst();
+        Cursor cursor = null;
+        if (request.getCursor() != null) {
+            cursor = Cursor.decode(request.getCursor());
+            if (cursor == null || !cursor.streamName.equals(request.getStreamName())
+                    || cursor.newestFirst != newestFirst) {
+                return StreamMessagesPage.failure("Invalid cursor");
+            }
+        }
+
+        MessageStreamInfo info = streamManager.describeStream(request.getStreamName());
+        if (info.getStorageStatus() == null || info.getStorageStatus().getNewestSequenceNumber() == null) {
+            return empty();
+        }
+        long newest = info.getStorageStatus().getNewestSequenceNumber();
+        Long oldestStored = info.getStorageStatus().getOldestSequenceNumber();
+        long oldest = oldestStored == null ? 0 : oldestStored;
+
+        long start;
+        if (cursor != null) {
+            start = cursor.next;
+        } else if (request.getStartSequenceNumber() != null) {
+            start = request.getStartSequenceNumber();
+        } else {
+            start = newestFirst ? newest : oldest;
+        }
+
+        long from;
+        long to;
+        if (newestFirst) {
+            to = Math.min(start, newest);
+            from = Math.max(oldest, to - limit + 1);
+        } else {
+            from = Math.max(start, oldest);
+            to = Math.min(newest, from + limit - 1);
+        }
+        if (from > to) {
+            return empty();
+        }
+
+        List<Message> messages;
+        try {
+            messages = streamManager.readMessages(request.getStreamName(), from, 1L, to - from + 1,
+                    READ_TIMEOUT_MILLIS);
+        } catch (NotEnoughMessagesException e) {
+            // expired between describing and reading the stream
+            messages = Collections.emptyList();
+        }
+        List<StreamMessageSummary> summaries = new ArrayList<>(messages.size());
+        for (Message message : messages) {
+            summaries.add(summarize(message, previewBytes));
+        }
+        if (newestFirst) {
+            Collections.reverse(summaries);
+        }
+
+        String nextCursor = null;
+        if (newestFirst && from > oldest) {
+            nextCursor = new Cursor(request.getStreamName(), from - 1, true).encode();
+        } else if (!newestFirst && to < newest) {
+            nextCursor = new Cursor(request.getStreamName(), to + 1, false).encode();
+        }
+        return new StreamMessagesPage(true, null, summaries.toArray(new StreamMessageSummary[0]), nextCursor);
+    }
+
+    static StreamMessageSummary summarize(Message message, int previewBytes) {
+        byte[] payload = message.getPayload() == null ? new byte[0] : message.getPayload();
+        boolean truncated = payload.length > previewBytes;
+        byte[] preview = truncated ? Arrays.copyOf(payload, previewBytes) : payload;
+        return new StreamMessageSummary(message.getSequenceNumber(), message.getIngestTime(), payload.length,
+                preview, truncated);
+    }
+
+    private static StreamMessagesPage empty() {
+        return new StreamMessagesPage(true, null, new StreamMessageSummary[0], null);
+    }
+
+    /**
+     * Next sequence number to read, tied to the stream and direction it was made for.
+     */
+    private static class Cursor {
+        private static final String VERSION = "1";
+        private final String streamName;
+        private final long next;
+        private final boolean newestFirst;
+
+        Cursor(String streamName, long next, boolean newestFirst) {
+            this.streamName = streamName;
+            this.next = next;
+            this.newestFirst = newestFirst;
+        }
+
+        String encode() {
+            String value = String.join("\n", VERSION, streamName, String.valueOf(next),
+                    String.valueOf(newestFirst));
+            return Base64.getUrlEncoder().withoutPadding().encodeToString(value.getBytes(StandardCharsets.UTF_8));
+        }
+
+        static Cursor decode(String cursor) {
+            try {
+                String[] parts = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8)
+                        .split("\n", -1);
+                if (parts.length != 4 || !VERSION.equals(parts[0])) {
+                    return null;
+                }
+                return new Cursor(parts[1], Long.parseLong(parts[2]), Boolean.parseBoolean(parts[3]));
+            } catch (IllegalArgumentException e) {
+                return null;
+            }
+        }
+    }
+}
@@ -0,0 +1,204 @@
+/*
+ * Copyright Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package com.aws.greengrass.localdebugconsole;
+
+import com.amazonaws.greengrass.streammanager.client.exception.NotEnoughMessagesException;
+import com.amazonaws.greengrass.streammanager.client.exception.StreamManagerException;
+import com.amazonaws.greengrass.streammanager.model.Message;
+import com.amazonaws.greengrass.streammanager.model.MessageStreamInfo;
+import com.aws.greengrass.localdebugconsole.messageutils.StreamMessageBatch;
+import com.aws.greengrass.logging.api.Logger;
+import com.aws.greengrass.util.Utils;
+import org.java_websocket.WebSocket;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.function.BiConsumer;
+
+/**
+ * Follows Stream Manager streams for dashboard connections. Each subscription keeps the sequence number it has read up
+ * to and polls Stream Manager for the messages after it, so the client only receives new messages and doesn't have to
+ * ask for them. Reads don't wait for messages to arrive, a subscription which is caught up is read again after a delay
+ * instead, so a few threads serve any number of subscriptions. Subscriptions of the same stream share what was read
+ * through the stream's message cache. Each subscription is limited to a number of messages per second. A subscription
+ * which is over its rate reads fewer messages instead of skipping any, so it falls behind and catches up later.
+ */
+class StreamTailer {
+    static final int DEFAULT_MESSAGES_PER_SECOND = 100;
+    // reads return right away, so that one subscription doesn't hold up the others on the executor
+    static final long POLL_TIMEOUT_MILLIS = 0;
+    // how long a subscription which is caught up waits before it is read again
+    static final long IDLE_POLL_INTERVAL_MILLIS = 500;
+    static final int MAX_BATCH_MESSAGES = 100;
+    // a new subscriber first gets the newest messages for context
+    static final int INITIAL_TAIL_MESSAGES = 10;
+    private static final long RATE_LIMITED_DELAY_MILLIS = 100;
+    private static final long ERROR_RETRY_MILLIS = 5_000;
+
+    private final StreamManagerHelper streamManager;
+    private final ScheduledExecutorService ses;
+    private final Logger logger;
+    private final BiConsumer<WebSocket, StreamMessageBatch> sink;
+    private final Map<WebSocket, Map<String, Subscription>> subscriptions = new ConcurrentHashMap<>();
+    private volatile int messagesPerSecond = DEFAULT_MESSAGES_PER_SECOND;
+
+    /**
+     * Constructor.
+     *
+     * @param streamManager Stream Manager client
+     * @param ses           executor which runs the reads
+     * @param logger        logger
+     * @param sink          receives the new messages for a connection
+     */
+    StreamTailer(StreamManagerHelper streamManager, ScheduledExecutorService ses, Logger logger,
+                 BiConsumer<WebSocket, StreamMessageBatch> sink) {
+        this.streamManager = streamManager;
+        this.ses = ses;
+        this.logger = logger;
+        this.sink = sink;
+    }
+
+    /**
+     * Set how many messages per second each subscription may receive, including the ones which already exist.
+     *
+     * @param messagesPerSecond message rate of each subscription
+     */
+    void setMessagesPerSecond(int messagesPerSecond) {
+        this.messagesPerSecond = messagesPerSecond;
+        subscriptions.values().forEach(streams -> streams.values()
+                .forEach(s -> s.limiter = new LineRateLimiter(messagesPerSecond)));
+    }
+
+    /**
+     * Starts pushing the messages of a stream to a connection, replacing an earlier subscription of the connection
+     * to the same stream.
+     *
+     * @param conn               connection
+     * @param streamName         stream
+     * @param startSequenceNumber first message to push, null to start with the newest messages
+     */
+    void subscribe(WebSocket conn, String streamName, Long startSequenceNumber) {
+        Subscription subscription = new Subscription(conn, streamName, startSequenceNumber);
+        Subscription previous = subscriptions.computeIfAbsent(conn, k -> new ConcurrentHashMap<>())
+                .put(streamName, subscription);
+        if (previous != null) {
+            previous.cancelled = true;
+        }
+        subscription.schedule(0);
+    }
+
+    void unsubscribe(WebSocket conn, String streamName) {
+        Map<String, Subscription> streams = subscriptions.get(conn);
+        if (streams != null) {
+            Subscription subscription = streams.remove(streamName);
+            if (subscription != null) {
+                subscription.cancelled = true;
+            }
+        }
+    }
+
+    void unsubscribeAll(WebSocket conn) {
+        Map<String, Subscription> streams = subscriptions.remove(conn);
+        if (streams != null) {
+            streams.values().forEach(s -> s.cancelled = true);
+        }
+    }
+
+    int getSubscriptionCount() {
+        return subscriptions.values().stream().mapToInt(Map::size).sum();
+    }
+
+    private long startOfTail(String streamName) throws StreamManagerException {
+        MessageStreamInfo info = streamManager.describeStream(streamName);
+        if (info.getStorageStatus() == null || info.getStorageStatus().getNewestSequenceNumber() == null) {
+            return 0;
+        }
+        long newest = info.getStorageStatus().getNewestSequenceNumber();
+        Long oldest = info.getStorageStatus().getOldestSequenceNumber();
+        return Math.max(oldest == null ? 0 : oldest, newest - INITIAL_TAIL_MESSAGES + 1);
+    }
+
+    private class Subscription implements Runnable {
+        private final WebSocket conn;
+        private final String streamName;
+        // only touched by the read, which never runs concurrently with itself
+        private Long nextSequenceNumber;
+        private boolean failing;
+        private volatile LineRateLimiter limiter = new LineRateLimiter(messagesPerSecond);
+        private volatile boolean cancelled;
+
+        Subscription(WebSocket conn, String streamName, Long startSequenceNumber) {
+            this.conn = conn;
+            this.streamName = streamName;
+            this.nextSequenceNumber = startSequenceNumber;
+        }
+
+        void schedule(long delayMillis) {
+            if (cancelled) {
+                return;
+            }
+            try {
+                ses.schedule(this, delayMillis, TimeUnit.MILLISECONDS);
+            } catch (RejectedExecutionException e) {
+                // shutting down
+            }
+        }
+
+        @Override
+        public void run() {
+            if (cancelled) {
+                return;
+            }
+            long delay = 0;
+            try {
+                if (nextSequenceNumber == null) {
+                    nextSequenceNumber = startOfTail(streamName);
+                }
+                LineRateLimiter rateLimiter = limiter;
+                int allowed = rateLimiter.acquire(MAX_BATCH_MESSAGES);
+                if (allowed == 0) {
+                    delay = RATE_LIMITED_DELAY_MILLIS;
+                } else {
+                    List<Message> messages = read(allowed);
+                    rateLimiter.refund(allowed - messages.size());
+                    // a full batch may have more messages behind it, otherwise the subscription is caught up
+                    if (messages.size() < allowed) {
+                        delay = IDLE_POLL_INTERVAL_MILLIS;
+                    }
+                    if (!messages.isEmpty() && !cancelled) {
+                        nextSequenceNumber = messages.get(messages.size() - 1).getSequenceNumber() + 1;
+                        sink.accept(conn, new StreamMessageBatch(streamName, messages, nextSequenceNumber, null));
+                    }
+                }
+                failing = false;
+            } catch (StreamManagerException | RuntimeException e) {
+                // the stream may be created again, so keep trying but only report the first failure
+                if (!failing && !cancelled) {
+                    logger.atWarn().kv("stream", streamName).setCause(e).log("Unable to tail stream");
+                    sink.accept(conn, new StreamMessageBatch(streamName, Collections.emptyList(),
+                            nextSequenceNumber == null ? 0 : nextSequenceNumber, Utils.generateFailureMessage(e)));
+                }
+                failing = true;
+                delay = ERROR_RETRY_MILLIS;
+            }
+            schedule(delay);
+        }
+
+        private List<Message> read(int maxMessages) throws StreamManagerException {
+            try {
+                return streamManager.tailMessages(streamName, nextSequenceNumber, maxMessages, POLL_TIMEOUT_MILLIS);
+            } catch (NotEnoughMessagesException e) {
+                // nothing new
+                return Collections.emptyList();
+            }
+        }
+    }
+}
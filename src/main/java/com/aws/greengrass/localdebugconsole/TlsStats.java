@@ -0,0 +1,57 @@
+/*
+ * Copyright Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package com.aws.greengrass.localdebugconsole;
+
+import java.util.concurrent.atomic.AtomicLong;
+import javax.net.ssl.SSLSession;
+
+/**
+ * Counts completed TLS handshakes of the HTTP and WebSocket listeners, which share one session cache, and how many
+ * of them resumed an earlier session instead of doing a full key exchange.
+ */
+class TlsStats {
+    // marks a session which was already counted, the value is kept in the session cache along with the session
+    private static final String SEEN_KEY = "aws.greengrass.localdebugconsole.seen";
+
+    private final AtomicLong fullHandshakes = new AtomicLong();
+    private final AtomicLong resumedHandshakes = new AtomicLong();
+
+    /**
+     * Records a completed handshake.
+     *
+     * @param session the negotiated session
+     */
+    void record(SSLSession session) {
+        if (session == null) {
+            return;
+        }
+        if (session.getValue(SEEN_KEY) == null) {
+            session.putValue(SEEN_KEY, Boolean.TRUE);
+            fullHandshakes.incrementAndGet();
+        } else {
+            resumedHandshakes.incrementAndGet();
+        }
+    }
+
+    long getFullHandshakes() {
+        return fullHandshakes.get();
+    }
+
+    long getResumedHandshakes() {
+        return resumedHandshakes.get();
+    }
+
+    /**
+     * Share of handshakes which resumed a session.
+     *
+     * @return ratio between 0 and 1, 0 if there was no handshake yet
+     */
+    double getResumptionRatio() {
+        long resumed = resumedHandshakes.get();
+        long total = fullHandshakes.get() + resumed;
+        return total == 0 ? 0 : (double) resumed / total;
+    }
+}
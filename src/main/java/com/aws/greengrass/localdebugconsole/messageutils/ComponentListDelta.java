@@ -0,0 +1,32 @@
+/*
+ * Copyright Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package com.aws.greengrass.localdebugconsole.messageutils;
+
+import lombok.AllArgsConstructor;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+/**
+ * Changes to the component list between two versions. A client holding the list at baseVersion applies the delta
+ * to get the list at version. A snapshot replaces the client's list with the added components instead.
+ */
+@AllArgsConstructor
+@NoArgsConstructor
+@Getter
+@EqualsAndHashCode
+public class ComponentListDelta {
+    private long version;
+    private long baseVersion;
+    private boolean snapshot;
+    private ComponentItem[] added;
+    private ComponentItem[] changed;
+    private String[] removed;
+
+    public static ComponentListDelta snapshot(long version, ComponentItem[] list) {
+        return new ComponentListDelta(version, 0, true, list, new ComponentItem[0], new String[0]);
+    }
+}
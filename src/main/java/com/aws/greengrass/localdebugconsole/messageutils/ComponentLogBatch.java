@@ -0,0 +1,23 @@
+/*
+ * Copyright Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package com.aws.greengrass.localdebugconsole.messageutils;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+/**
+ * New lines of a component's log, pushed as one COMPONENT_LOGS message.
+ */
+@Getter
+@AllArgsConstructor
+@NoArgsConstructor
+public class ComponentLogBatch {
+    private String name;
+    private ComponentLogLine[] logs;
+    // older lines of this batch which were not sent because the subscriber is over its line rate
+    private long skippedLines;
+}
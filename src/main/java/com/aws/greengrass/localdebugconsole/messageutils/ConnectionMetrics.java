@@ -0,0 +1,24 @@
+/*
+ * Copyright Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package com.aws.greengrass.localdebugconsole.messageutils;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+@Getter
+@AllArgsConstructor
+@NoArgsConstructor
+public class ConnectionMetrics {
+    private String remoteAddress;
+    private int queuedMessages;
+    private long queuedBytes;
+    private long socketBacklogBytes;
+    private long sentMessages;
+    private long droppedMessages;
+    private long coalescedMessages;
+    private long overLimitMillis;
+}
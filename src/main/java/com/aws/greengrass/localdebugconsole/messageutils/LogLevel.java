@@ -0,0 +1,54 @@
+/*
+ * Copyright Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package com.aws.greengrass.localdebugconsole.messageutils;
+
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Constants for the level of a log line, in the same order as LogLevelType in the frontend.
+ */
+public class LogLevel {
+    public static final int ALL = 0;
+    public static final int TRACE = 1;
+    public static final int DEBUG = 2;
+    public static final int INFO = 3;
+    public static final int WARN = 4;
+    public static final int ERROR = 5;
+
+    // matches both the text format "[INFO]" and the JSON format "level":"INFO" of Greengrass logs
+    private static final Pattern LEVEL_PATTERN =
+            Pattern.compile("\\[(TRACE|DEBUG|INFO|WARN|ERROR)]|\"level\":\"(TRACE|DEBUG|INFO|WARN|ERROR)\"");
+
+    private LogLevel() {
+    }
+
+    /**
+     * Finds the level of a Greengrass log line.
+     *
+     * @param line a line of a log file
+     * @return the level, or ALL if the line has no level, e.g. if it is part of a stack trace
+     */
+    public static int parse(CharSequence line) {
+        Matcher matcher = LEVEL_PATTERN.matcher(line);
+        if (!matcher.find()) {
+            return ALL;
+        }
+        String level = matcher.group(1) == null ? matcher.group(2) : matcher.group(1);
+        switch (level) {
+            case "TRACE":
+                return TRACE;
+            case "DEBUG":
+                return DEBUG;
+            case "INFO":
+                return INFO;
+            case "WARN":
+                return WARN;
+            default:
+                return ERROR;
+        }
+    }
+}
@@ -0,0 +1,26 @@
+/*
+ * Copyright Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package com.aws.greengrass.localdebugconsole.messageutils;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+@Getter
+@AllArgsConstructor
+@NoArgsConstructor
+public class LogSearchPage {
+    private boolean successful;
+    private String errorMsg;
+    private LogSearchLine[] lines;
+    // pass back in the next request to get the following page, null if there are no more lines
+    private String nextCursor;
+    private long scannedLines;
+
+    public static LogSearchPage failure(String errorMsg) {
+        return new LogSearchPage(false, errorMsg, new LogSearchLine[0], null, 0);
+    }
+}
@@ -0,0 +1,30 @@
+/*
+ * Copyright Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package com.aws.greengrass.localdebugconsole.messageutils;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+/**
+ * Query of the searchComponentLogs call. Everything except the component is optional.
+ */
+@Getter
+@AllArgsConstructor
+@NoArgsConstructor
+public class LogSearchRequest {
+    private String component;
+    // epoch milliseconds, inclusive
+    private Long startTime;
+    private Long endTime;
+    // one of the LogLevel constants, lines below it are skipped
+    private int minLevel;
+    private String contains;
+    private int limit;
+    // nextCursor of the previous page, null for the first page
+    private String cursor;
+    private boolean newestFirst;
+}
@@ -15,6 +15,10 @@ public class MessageType {
     public static final int COMPONENT_CHANGE = 3;
     public static final int COMPONENT_LOGS = 4;
     public static final int PUB_SUB_MSG = 5;
+    public static final int COMPONENT_LIST_DELTA = 6;
+    public static final int STREAM_MESSAGES = 7;
+    public static final int STREAM_APPEND_PROGRESS = 8;
+    public static final int COMPONENT_CHANGES = 9;
 
     private MessageType() {
     }
@@ -0,0 +1,34 @@
+/*
+ * Copyright Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package com.aws.greengrass.localdebugconsole.messageutils;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+@Getter
+@AllArgsConstructor
+@NoArgsConstructor
+public class ServerMetrics {
+    private ConnectionMetrics[] connections;
+    private long savedEncodes;
+    private long evictedConnections;
+    private long tlsFullHandshakes;
+    private long tlsResumedHandshakes;
+    private double tlsResumptionRatio;
+    private int sslQueuedTasks;
+    private int sslActiveThreads;
+    private long sslCompletedTasks;
+    private long sslTasksRunOnSelector;
+    private int streamManagerIdleClients;
+    private int streamManagerClientsInUse;
+    private long streamManagerConnects;
+    private long streamManagerProbeFailures;
+    private long streamCacheHits;
+    private long streamCacheMisses;
+    private long streamInfoCacheHits;
+    private long streamInfoCacheMisses;
+}
@@ -0,0 +1,35 @@
+/*
+ * Copyright Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package com.aws.greengrass.localdebugconsole.messageutils;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+/**
+ * Progress of a streamManagerAppendMessages job. It is the response to the call and is then pushed as
+ * STREAM_APPEND_PROGRESS messages while the job runs, the last one is done. A job which fails or is stopped is done
+ * with the messages appended so far.
+ */
+@Getter
+@AllArgsConstructor
+@NoArgsConstructor
+public class StreamAppendProgress {
+    private boolean successful;
+    private String errorMsg;
+    private String jobId;
+    private String streamName;
+    private long appended;
+    private long total;
+    private long bytes;
+    private double messagesPerSecond;
+    private double bytesPerSecond;
+    private boolean done;
+
+    public static StreamAppendProgress failure(String errorMsg) {
+        return new StreamAppendProgress(false, errorMsg, null, null, 0, 0, 0, 0, 0, true);
+    }
+}
@@ -0,0 +1,28 @@
+/*
+ * Copyright Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package com.aws.greengrass.localdebugconsole.messageutils;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+/**
+ * Messages to append to a stream with streamManagerAppendMessages, either the given payloads or count messages made
+ * from a template.
+ */
+@Getter
+@AllArgsConstructor
+@NoArgsConstructor
+public class StreamAppendRequest {
+    private String streamName;
+    // appended as UTF-8, the generator fields are ignored when payloads are given
+    private String[] payloads;
+    private int count;
+    // bytes of each generated payload, the template is padded or cut to it, 0 to use the template as it is
+    private int size;
+    // {seq} is replaced by the index of the message in the batch and {timestamp} by the current time in millis
+    private String template;
+}
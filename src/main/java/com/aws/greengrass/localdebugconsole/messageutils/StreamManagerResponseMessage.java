@@ -24,6 +24,7 @@ public class StreamManagerResponseMessage {
     public MessageStreamInfo messageStreamInfo;
     public List<Message> messagesList;
     public List<String> streamsList;
+    public List<MessageStreamInfo> streamInfoList;
 
     // Default constructor
     public StreamManagerResponseMessage() {
@@ -33,5 +34,6 @@ public class StreamManagerResponseMessage {
         this.messageStreamInfo = null; // Default null for Object
         this.messagesList = Collections.emptyList(); // Default empty list
         this.streamsList = Collections.emptyList(); // Default empty list
+        this.streamInfoList = Collections.emptyList(); // Default empty list
     }
 }
@@ -0,0 +1,28 @@
+/*
+ * Copyright Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package com.aws.greengrass.localdebugconsole.messageutils;
+
+import com.amazonaws.greengrass.streammanager.model.Message;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * New messages of a tailed stream, pushed as one STREAM_MESSAGES message. A batch with an error message and no
+ * messages reports that reading the stream failed, the tail keeps retrying.
+ */
+@Getter
+@AllArgsConstructor
+@NoArgsConstructor
+public class StreamMessageBatch {
+    private String streamName;
+    private List<Message> messages;
+    // sequence number which the next batch starts at
+    private long nextSequenceNumber;
+    private String errorMsg;
+}
@@ -0,0 +1,27 @@
+/*
+ * Copyright Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package com.aws.greengrass.localdebugconsole.messageutils;
+
+import lombok.AllArgsConstructor;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+/**
+ * A stream message without its full payload. The full payload is read with streamManagerReadMessagePayload.
+ */
+@Getter
+@AllArgsConstructor
+@NoArgsConstructor
+@EqualsAndHashCode
+public class StreamMessageSummary {
+    private long sequenceNumber;
+    private Long ingestTime;
+    // bytes of the full payload
+    private int size;
+    private byte[] preview;
+    private boolean truncated;
+}
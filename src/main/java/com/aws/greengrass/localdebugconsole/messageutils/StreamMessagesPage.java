@@ -0,0 +1,28 @@
+/*
+ * Copyright Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package com.aws.greengrass.localdebugconsole.messageutils;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+/**
+ * Response to streamManagerReadMessagesPage.
+ */
+@Getter
+@AllArgsConstructor
+@NoArgsConstructor
+public class StreamMessagesPage {
+    private boolean successful;
+    private String errorMsg;
+    private StreamMessageSummary[] messages;
+    // pass back in the next request to get the following page, null if there are no more messages
+    private String nextCursor;
+
+    public static StreamMessagesPage failure(String errorMsg) {
+        return new StreamMessagesPage(false, errorMsg, new StreamMessageSummary[0], null);
+    }
+}
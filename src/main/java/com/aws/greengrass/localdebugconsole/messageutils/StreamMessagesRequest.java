@@ -0,0 +1,28 @@
+/*
+ * Copyright Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package com.aws.greengrass.localdebugconsole.messageutils;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+/**
+ * One page of message summaries of a stream, see streamManagerReadMessagesPage.
+ */
+@Getter
+@AllArgsConstructor
+@NoArgsConstructor
+public class StreamMessagesRequest {
+    private String streamName;
+    // first sequence number of the first page, null to start at the newest (or oldest) message
+    private Long startSequenceNumber;
+    private int limit;
+    // payload bytes of each message to include, 0 for the default
+    private int previewBytes;
+    // nextCursor of the previous page, null for the first page
+    private String cursor;
+    private boolean newestFirst;
+}
@@ -18,7 +18,7 @@ let SERVER: ServerEndpoint;
 
 beforeAll(async () => {
   mockServer = new MockServer(4000);
-  SERVER = new ServerEndpoint(4000, "", "", 1);
+  SERVER = new ServerEndpoint(4000, 1);
   await SERVER.initConnections();
   console.log("Connections made");
 });
@@ -5,6 +5,8 @@
 
 import {
   APICall,
+  ComponentListDelta,
+  ComponentLogBatch,
   DeferredPromise,
   Dependency,
   DepGraphNode,
@@ -15,6 +17,8 @@ import {
   PackedRequest,
   Request,
   RequestID,
+  StreamAppendProgress,
+  StreamMessageBatch,
 } from "../util/CommUtils";
 import {ComponentItem} from "../util/ComponentItem";
 import React, {ReactNode} from "react";
@@ -34,13 +38,16 @@ export default class ServerEndpoint {
   dependencyGraphSubscribers: Set<Function> = new Set();
   componentSubscribers: Map<string, Set<Function>> = new Map();
   componentLogSubscribers: Map<string, Set<Function>> = new Map();
+  streamTailSubscribers: Map<string, Set<Function>> = new Map();
+  streamAppendSubscribers: Map<string, Function> = new Map();
 
   cachedComponentList: ComponentItem[] = [];
+  componentListVersion: number = -1;
   cachedDependencyGraph: Map<string, Dependency[]> = new Map();
 
   pubSubTopicsSubscribers: Map<string, Set<Function>> = new Map();
 
-  constructor(portno: number, username: string, password: string, timeout: number, onError: (m: ReactNode) => void) {
+  constructor(portno: number, timeout: number, onError: (m: ReactNode) => void, path: string = "") {
     this.portno = portno;
     this.timeout = timeout;
     this.onError = onError;
@@ -48,7 +55,7 @@ export default class ServerEndpoint {
     // declare connections
     const proto = window.location.protocol === "https:" ? "wss" : "ws";
     this.conn = new WebSocket(
-      `${proto}://${window.location.hostname}:${this.portno}`
+      `${proto}://${window.location.hostname}:${this.portno}${path}`
     );
 
     // initialize connections
@@ -102,7 +109,7 @@ export default class ServerEndpoint {
           requestID: this.initReqID,
           request: {
             call: InternalAPICall.init,
-            args: [username, password],
+            args: [],
           },
         })
       );
@@ -117,6 +124,11 @@ export default class ServerEndpoint {
     let msg: Message = JSON.parse(m.data);
     if (msg.requestID === this.initReqID) {
       this._connectionPromise.resolve();
+      // only receive the components which changed from now on
+      this.sendRequest({
+        call: InternalAPICall.subscribeToComponentListDeltas,
+        args: [],
+      });
       return;
     }
     switch (msg.messageType) {
@@ -128,6 +140,10 @@ export default class ServerEndpoint {
         this.listHandler(msg);
         break;
       }
+      case MessageType.COMPONENT_LIST_DELTA: {
+        this.listDeltaHandler(msg);
+        break;
+      }
       case MessageType.DEPS_GRAPH: {
         this.depsHandler(msg);
         break;
@@ -136,6 +152,10 @@ export default class ServerEndpoint {
         this.componentUpdateHandler(msg);
         break;
       }
+      case MessageType.COMPONENT_CHANGES: {
+        this.componentUpdatesHandler(msg);
+        break;
+      }
       case MessageType.COMPONENT_LOGS: {
         this.logHandler(msg);
         break;
@@ -144,6 +164,14 @@ export default class ServerEndpoint {
         this.pubSubMessageHandler(msg);
         break;
       }
+      case MessageType.STREAM_MESSAGES: {
+        this.streamMessagesHandler(msg);
+        break;
+      }
+      case MessageType.STREAM_APPEND_PROGRESS: {
+        this.streamAppendProgressHandler(msg);
+        break;
+      }
     }
   };
 
@@ -157,6 +185,31 @@ export default class ServerEndpoint {
     this.cachedComponentList = list;
     this.componentListSubscribers.forEach((callback) => callback(list));
   };
+  listDeltaHandler = (msg: Message) => {
+    let delta: ComponentListDelta = msg.payload;
+    let list: ComponentItem[];
+    if (delta.snapshot) {
+      list = delta.added;
+    } else if (delta.baseVersion === this.componentListVersion) {
+      const removed = new Set(delta.removed);
+      const changed = new Map(delta.changed.map((c) => [c.name, c]));
+      list = this.cachedComponentList
+        .filter((c) => !removed.has(c.name))
+        .map((c) => changed.get(c.name) || c)
+        .concat(delta.added);
+    } else {
+      // missed a version, ask for a full snapshot
+      this.componentListVersion = -1;
+      this.sendRequest({
+        call: InternalAPICall.forcePushComponentList,
+        args: [],
+      });
+      return;
+    }
+    this.componentListVersion = delta.version;
+    this.cachedComponentList = list;
+    this.componentListSubscribers.forEach((callback) => callback(list));
+  };
   depsHandler = (msg: Message) => {
     let pre: DepGraphNode[] = msg.payload;
     let graph: Map<string, Dependency[]> = pre.reduce(
@@ -171,10 +224,30 @@ export default class ServerEndpoint {
     let set = this.componentSubscribers.get(component.name);
     if (set) set.forEach((callback) => callback(component));
   };
+  componentUpdatesHandler = (msg: Message) => {
+    const components: ComponentItem[] = msg.payload;
+    components.forEach((component) => {
+      const set = this.componentSubscribers.get(component.name);
+      if (set) set.forEach((callback) => callback(component));
+    });
+  };
   logHandler = (msg: Message) => {
-    let log: Log = msg.payload;
-    let set = this.componentLogSubscribers.get(log.name);
-    if (set) set.forEach((callback) => callback(log));
+    const batch: ComponentLogBatch = msg.payload;
+    const set = this.componentLogSubscribers.get(batch.name);
+    if (set) {
+      batch.logs.forEach((log: Log) => set.forEach((callback) => callback(log)));
+    }
+  };
+  streamMessagesHandler = (msg: Message) => {
+    const batch: StreamMessageBatch = msg.payload;
+    const set = this.streamTailSubscribers.get(batch.streamName);
+    if (set) set.forEach((callback) => callback(batch));
+  };
+  streamAppendProgressHandler = (msg: Message) => {
+    const progress: StreamAppendProgress = msg.payload;
+    const callback = this.streamAppendSubscribers.get(progress.jobId);
+    if (progress.done) this.streamAppendSubscribers.delete(progress.jobId);
+    if (callback) callback(progress);
   };
   pubSubMessageHandler = (msg: Message) => {
     const pubsubMsg : CommunicationMessage = msg.payload;
@@ -295,6 +368,43 @@ export default class ServerEndpoint {
         }
         break;
       }
+      case APICall.streamManagerTailStream: {
+        let pot = this.streamTailSubscribers.get(request.args[0]);
+        if (pot === undefined || pot.size === 0) {
+          this.streamTailSubscribers.set(
+            request.args[0],
+            new Set([messageHandler])
+          );
+          return this.sendRequest(request);
+        } else {
+          pot.add(messageHandler);
+          return Promise.resolve(true);
+        }
+      }
+      case APICall.streamManagerAppendMessages: {
+        // every call starts a job, its progress goes to the handler until it is done
+        return this.sendRequest(request).then((progress: StreamAppendProgress) => {
+          if (progress && progress.successful) {
+            this.streamAppendSubscribers.set(progress.jobId, messageHandler);
+          }
+          return progress;
+        });
+      }
+      case APICall.streamManagerStopAppendMessages: {
+        return this.sendRequest(request);
+      }
+      case APICall.streamManagerStopTailStream: {
+        let pot = this.streamTailSubscribers.get(request.args[0]);
+        if (pot !== undefined) {
+          pot.delete(messageHandler);
+          if (pot.size === 0) {
+            return this.sendRequest(request);
+          } else {
+            return Promise.resolve(true);
+          }
+        }
+        break;
+      }
       case APICall.subscribeToPubSubTopic: {
         const subId = request.args[0].subId;
         const pot = this.pubSubTopicsSubscribers.get(subId);
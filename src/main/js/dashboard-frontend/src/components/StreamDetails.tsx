@@ -28,13 +28,14 @@ import {
     getElapsedTime,
     getExportType,
     Message,
+    MessagesPage,
     Persistence,
     StrategyOnFull,
     Stream,
     StreamManagerReducer,
 } from "../util/StreamManagerUtils";
 import {DefaultContext, SERVER} from "../index";
-import {APICall} from "../util/CommUtils";
+import {APICall, StreamAppendProgress, StreamMessageBatch} from "../util/CommUtils";
 import {STREAM_MANAGER_ROUTE_HREF_PREFIX} from "../util/constNames";
 import PaginationRendering from "../util/PaginationRendering";
 import StreamExportDefinition from "./details/StreamExportDefinition"
@@ -64,6 +65,7 @@ const StreamDetail: React.FC<StreamManagerProps> = () => {
     const [viewUpdateDefinition, setViewUpdateDefinition] = useState(false);
     const [viewDelete, setViewDeleteStream] = useState(false);
     const [messageToAppend, setMessageToAppend] = useState("");
+    const [copiesToAppend, setCopiesToAppend] = useState("1");
     const defaultContext = useContext(DefaultContext);
     const [updateStreamErrorText, setUpdateStreamErrorText] = useState("");
     let history = useHistory();
@@ -89,7 +91,7 @@ const StreamDetail: React.FC<StreamManagerProps> = () => {
         {
             id: "message",
             header: "Message",
-            cell: (e: Message) => atob(e.payload?.toString() || '')
+            cell: (e: Message) => atob(e.payload?.toString() || '') + (e.truncated ? '…' : '')
         },
         {
             id: "ingestTime",
@@ -275,26 +277,26 @@ const StreamDetail: React.FC<StreamManagerProps> = () => {
 
         try {
             if (desiredStartSequenceNumber >= 0) {
-                if (desiredStartSequenceNumber - (preferencesMessages.pageSize || 100) * (currentPageIndex - 1) >= (preferencesMessages.pageSize || 100)) {
-                    const response: StreamManagerResponseMessage = await SERVER.sendRequest({
-                        call: APICall.streamManagerReadMessages,
-                        args: [streamName, desiredStartSequenceNumber - (preferencesMessages.pageSize || 100) * (currentPageIndex) + 1, 1, (preferencesMessages.pageSize || 100), 5000]
-                    });
-
-                    if (response && response.successful && response.messagesList) {
-                        const listMessageDescending: Message[] = response.messagesList;
-                        listMessageDescending.sort((a: any, b: any) => b.sequenceNumber - a.sequenceNumber);
-                        setMessagesList(listMessageDescending);
-                    }
-                } else {
-                    const response: StreamManagerResponseMessage = await SERVER.sendRequest({
-                        call: APICall.streamManagerReadMessages,
-                        args: [streamName, 0, 1, desiredStartSequenceNumber - (preferencesMessages.pageSize || 100) * (currentPageIndex - 1) + 1, 5000]
-                    });
-                    if (response && response.successful && response.messagesList) {
-                        const listMessageDescending: Message[] = response.messagesList.sort((a: any, b: any) => b.sequenceNumber - a.sequenceNumber);
-                        setMessagesList(listMessageDescending);
-                    }
+                // only the start of each payload is read, large messages are marked as truncated
+                const pageSize = preferencesMessages.pageSize || 100;
+                const response: MessagesPage = await SERVER.sendRequest({
+                    call: APICall.streamManagerReadMessagesPage,
+                    args: [JSON.stringify({
+                        streamName: streamName,
+                        startSequenceNumber: desiredStartSequenceNumber - pageSize * (currentPageIndex - 1),
+                        limit: pageSize,
+                        newestFirst: true,
+                    })]
+                });
+                if (response && response.successful && response.messages) {
+                    setMessagesList(response.messages.map((m) => ({
+                        streamName: streamName,
+                        sequenceNumber: m.sequenceNumber,
+                        ingestTime: m.ingestTime,
+                        payload: m.preview,
+                        size: m.size,
+                        truncated: m.truncated,
+                    })));
                 }
             }
         } finally {
@@ -305,6 +307,7 @@ const StreamDetail: React.FC<StreamManagerProps> = () => {
     const onDismiss = () => {
         setViewAppendMessage(false);
         setMessageToAppend("");
+        setCopiesToAppend("1");
         setViewUpdateDefinition(false)
         setViewDeleteStream(false);
     }
@@ -328,6 +331,10 @@ const StreamDetail: React.FC<StreamManagerProps> = () => {
     };
 
     const appendMessageClick = async () => {
+        const copies = parseInt(copiesToAppend) || 1;
+        if (copies > 1) {
+            return appendMessagesClick(copies);
+        }
         setAppendMessageRequest(true);
         const response: StreamManagerResponseMessage = await SERVER.sendRequest({
             call: APICall.streamManagerAppendMessage,
@@ -345,6 +352,35 @@ const StreamDetail: React.FC<StreamManagerProps> = () => {
         }
     }
 
+    // the copies are appended by the server, which pushes the progress until they are all appended
+    const appendMessagesClick = async (copies: number) => {
+        setAppendMessageRequest(true);
+        const onProgress = (progress: StreamAppendProgress) => {
+            if (progress.done) {
+                setAppendMessageRequest(false);
+                defaultContext.addFlashItem!({
+                    type: progress.successful ? 'success' : 'error',
+                    header: `${progress.appended} of ${progress.total} messages have been added to ${streamName}`,
+                    content: `${Math.round(progress.messagesPerSecond)} messages/s, ${formatBytes(Math.round(progress.bytesPerSecond))}/s` + (progress.errorMsg ? ` - ${progress.errorMsg}` : '')
+                });
+                describeStream(streamName, 0);
+            }
+        };
+        const response: StreamAppendProgress = await SERVER.sendSubscriptionMessage({
+            call: APICall.streamManagerAppendMessages,
+            args: [JSON.stringify({streamName: streamName, count: copies, template: messageToAppend})]
+        }, onProgress);
+        if (response && !response.successful) {
+            setAppendMessageRequest(false);
+            defaultContext.addFlashItem!({
+                type: 'error',
+                header: `Failed to add the messages to ${streamName}`,
+                content: response.errorMsg
+            });
+        }
+        setViewAppendMessage(false);
+    }
+
     const onClickUpdate = async () => {
         if (streamDetails) {
             const response: StreamManagerResponseMessage = await SERVER.sendRequest({
@@ -373,6 +409,33 @@ const StreamDetail: React.FC<StreamManagerProps> = () => {
         // eslint-disable-next-line react-hooks/exhaustive-deps
     }, [currentPageIndex]);
 
+    // the first page shows the newest messages, so the server pushes new ones to it as they arrive
+    useEffect(() => {
+        if (currentPageIndex !== 1 || !streamDetails) {
+            return;
+        }
+        const pageSize = preferencesMessages.pageSize || 100;
+        const onBatch = (batch: StreamMessageBatch) => {
+            if (batch.errorMsg || batch.messages.length === 0) {
+                return;
+            }
+            const newest = [...batch.messages].sort((a: any, b: any) => b.sequenceNumber - a.sequenceNumber);
+            setMessagesList((list) => newest.concat(list).slice(0, pageSize));
+            setMessageCount((count) => count + batch.messages.length);
+        };
+        SERVER.sendSubscriptionMessage({
+            call: APICall.streamManagerTailStream,
+            args: [streamName, streamDetails.messageStreamInfo.storageStatus.newestSequenceNumber + 1]
+        }, onBatch);
+        return () => {
+            SERVER.sendSubscriptionMessage({
+                call: APICall.streamManagerStopTailStream,
+                args: [streamName]
+            }, onBatch);
+        };
+        // eslint-disable-next-line react-hooks/exhaustive-deps
+    }, [streamDetails, currentPageIndex]);
+
     return (
         <ContentLayout
             header={
@@ -611,6 +674,16 @@ const StreamDetail: React.FC<StreamManagerProps> = () => {
                                                     disabled={false}
                                                     placeholder="Enter the message here..."
                                                 />
+                                                <FormField
+                                                    label="Copies"
+                                                    description="More than one copy is appended by the server, {seq} in the message is replaced by the copy's index."
+                                                >
+                                                    <Input
+                                                        type="number"
+                                                        onChange={({detail}) => setCopiesToAppend(detail.value)}
+                                                        value={copiesToAppend}
+                                                    />
+                                                </FormField>
                                             </Form>
                                         </Modal>
                                     </SpaceBetween>
@@ -286,25 +286,17 @@ function StreamManager() {
     }
 
     async function listStreams() {
+        // all streams are listed and described in one request
         const response: StreamManagerResponseMessage = await SERVER.sendRequest({
-            call: APICall.streamManagerListStreams,
+            call: APICall.streamManagerDescribeStreams,
             args: []
         });
         if (response) {
             if (response.successful) {
-                const streams: Stream[] = [];
-                for (const [index, streamName] of response.streamsList.entries()) {
-                    const response: StreamManagerResponseMessage = await SERVER.sendRequest({
-                        call: APICall.streamManagerDescribeStream,
-                        args: [streamName]
-                    });
-                    if (response && response.successful && response.messageStreamInfo) {
-                        streams.push({
-                            key: index,
-                            messageStreamInfo: response.messageStreamInfo
-                        });
-                    }
-                }
+                const streams: Stream[] = response.streamInfoList.map((messageStreamInfo, index) => ({
+                    key: index,
+                    messageStreamInfo: messageStreamInfo
+                }));
                 setStreamManagerStreamsList(streams);
             } else {
                 defaultContext.addFlashItem!({
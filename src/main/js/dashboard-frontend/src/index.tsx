@@ -26,7 +26,9 @@ export var SERVER: ServerEndpoint;
 const apiResource = (websocketError: (m: ReactNode) => void) => {
     if (!SERVER) {
         // @ts-ignore
-        SERVER = new ServerEndpoint(window.WEBSOCKET_PORT, window.USERNAME, window.PASSWORD, 5, websocketError);
+        SERVER = new ServerEndpoint(window.WEBSOCKET_PORT, 5, websocketError,
+            // @ts-ignore
+            window.WEBSOCKET_PATH);
     }
 
     enum PromiseStatus {
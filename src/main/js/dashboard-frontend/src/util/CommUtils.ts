@@ -3,6 +3,9 @@
  * SPDX-License-Identifier: Apache-2.0
  */
 
+import {ComponentItem} from "./ComponentItem";
+import {Message as StreamMessage} from "./StreamManagerUtils";
+
 export type RequestID = number;
 
 export interface PackedRequest {
@@ -32,14 +35,22 @@ export enum APICall {
   unsubscribeToComponent = "unsubscribeToComponent",
   subscribeToComponentLogs = "subscribeToComponentLogs",
   unsubscribeToComponentLogs = "unsubscribeToComponentLogs",
+  searchComponentLogs = "searchComponentLogs",
   subscribeToPubSubTopic = "subscribeToPubSubTopic",
   publishToPubSubTopic = "publishToPubSubTopic",
   unsubscribeToPubSubTopic = "unsubscribeToPubSubTopic",
   streamManagerListStreams = "streamManagerListStreams",
   streamManagerDescribeStream = "streamManagerDescribeStream",
+  streamManagerDescribeStreams = "streamManagerDescribeStreams",
   streamManagerDeleteMessageStream = "streamManagerDeleteMessageStream",
   streamManagerReadMessages = "streamManagerReadMessages",
+  streamManagerReadMessagesPage = "streamManagerReadMessagesPage",
+  streamManagerReadMessagePayload = "streamManagerReadMessagePayload",
+  streamManagerTailStream = "streamManagerTailStream",
+  streamManagerStopTailStream = "streamManagerStopTailStream",
   streamManagerAppendMessage = "streamManagerAppendMessage",
+  streamManagerAppendMessages = "streamManagerAppendMessages",
+  streamManagerStopAppendMessages = "streamManagerStopAppendMessages",
   streamManagerCreateMessageStream = "streamManagerCreateMessageStream",
   streamManagerUpdateMessageStream = "streamManagerUpdateMessageStream",
 }
@@ -47,6 +58,7 @@ export enum InternalAPICall {
   init = "init",
   forcePushComponentList = "forcePushComponentList",
   forcePushDependencyGraph = "forcePushDependencyGraph",
+  subscribeToComponentListDeltas = "subscribeToComponentListDeltas",
   ping = "ping",
 }
 
@@ -62,6 +74,19 @@ export enum MessageType {
   COMPONENT_CHANGE,
   COMPONENT_LOGS,
   PUB_SUB_MSG,
+  COMPONENT_LIST_DELTA,
+  STREAM_MESSAGES,
+  STREAM_APPEND_PROGRESS,
+  COMPONENT_CHANGES,
+}
+
+export interface ComponentListDelta {
+  version: number;
+  baseVersion: number;
+  snapshot: boolean;
+  added: ComponentItem[];
+  changed: ComponentItem[];
+  removed: string[];
 }
 
 export interface DepGraphNode {
@@ -84,6 +109,29 @@ export interface Log {
   level: LogLevelType;
   log: string;
 }
+export interface ComponentLogBatch {
+  name: string;
+  logs: Log[];
+  skippedLines: number;
+}
+export interface StreamMessageBatch {
+  streamName: string;
+  messages: StreamMessage[];
+  nextSequenceNumber: number;
+  errorMsg: string | null;
+}
+export interface StreamAppendProgress {
+  successful: boolean;
+  errorMsg: string | null;
+  jobId: string;
+  streamName: string;
+  appended: number;
+  total: number;
+  bytes: number;
+  messagesPerSecond: number;
+  bytesPerSecond: number;
+  done: boolean;
+}
 export enum LogLevelType {
   ALL,
   TRACE,
@@ -6,6 +6,7 @@ class StreamManagerResponseMessage {
   public messageStreamInfo: MessageStreamInfo | null;
   public messagesList: Message[];
   public streamsList: string[];
+  public streamInfoList: MessageStreamInfo[];
 
   // Default constructor
   constructor() {
@@ -15,6 +16,7 @@ class StreamManagerResponseMessage {
     this.messageStreamInfo = null; // Default null for Object
     this.messagesList = []; // Default empty list
     this.streamsList = []; // Default empty list
+    this.streamInfoList = []; // Default empty list
   }
 }
 
@@ -226,6 +226,23 @@ export interface Message {
     sequenceNumber?: number | null; // Use number or null to represent Long or optional
     ingestTime?: number | null; // Use number or null to represent Long or optional
     payload: Uint8Array | null; // Use Uint8Array or null to represent byte[] or optional
+    size?: number; // bytes of the full payload when only a preview was read
+    truncated?: boolean;
+}
+
+export interface MessageSummary {
+    sequenceNumber: number;
+    ingestTime: number | null;
+    size: number;
+    preview: Uint8Array | null;
+    truncated: boolean;
+}
+
+export interface MessagesPage {
+    successful: boolean;
+    errorMsg: string | null;
+    messages: MessageSummary[];
+    nextCursor: string | null;
 }
 
 export interface MessageStreamDefinition {
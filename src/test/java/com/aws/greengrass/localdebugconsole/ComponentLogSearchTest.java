@@ -0,0 +1,177 @@
+/*
+ * Copyright Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package com.aws.greengrass.localdebugconsole;
+
+import com.aws.greengrass.localdebugconsole.messageutils.LogLevel;
+import com.aws.greengrass.localdebugconsole.messageutils.LogSearchLine;
+import com.aws.greengrass.localdebugconsole.messageutils.LogSearchPage;
+import com.aws.greengrass.localdebugconsole.messageutils.LogSearchRequest;
+import com.aws.greengrass.testcommons.testutilities.GGExtension;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.nio.file.attribute.FileTime;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@ExtendWith(GGExtension.class)
+class ComponentLogSearchTest {
+    private static final Instant START = Instant.parse("2023-01-01T00:00:00.000Z");
+
+    @TempDir
+    Path logDir;
+    private ComponentLogSearch search;
+
+    @BeforeEach
+    void setup() throws IOException {
+        search = new ComponentLogSearch(name -> logDir.resolve(name + ".log"));
+        // minutes 0-9 were rotated, 10-19 are in the current file
+        Path rotated = logDir.resolve("foo_2023_01_01_00_0.log");
+        append(rotated, 0, 10);
+        Files.setLastModifiedTime(rotated, FileTime.from(START.plusSeconds(600)));
+        append(logDir.resolve("foo.log"), 10, 20);
+        Files.write(logDir.resolve("foobar.log"), "[ERROR] another component\n".getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static void append(Path file, int fromMinute, int toMinute) throws IOException {
+        StringBuilder sb = new StringBuilder();
+        for (int i = fromMinute; i < toMinute; i++) {
+            String level = i % 5 == 0 ? "ERROR" : "INFO";
+            sb.append(String.format("2023-01-01T00:%02d:00.000Z [%s] (Copier) foo: minute %d\n", i, level, i));
+            if (i % 5 == 0) {
+                sb.append("\tat Foo.bar(Foo.java:").append(i).append(")\n");
+            }
+        }
+        Files.write(file, sb.toString().getBytes(StandardCharsets.UTF_8), StandardOpenOption.CREATE,
+                StandardOpenOption.APPEND);
+    }
+
+    private static LogSearchRequest request(Long startMinute, Long endMinute, int minLevel, String contains, int limit,
+                                            String cursor, boolean newestFirst) {
+        return new LogSearchRequest("foo",
+                startMinute == null ? null : START.plusSeconds(startMinute * 60).toEpochMilli(),
+                endMinute == null ? null : START.plusSeconds(endMinute * 60).toEpochMilli(),
+                minLevel, contains, limit, cursor, newestFirst);
+    }
+
+    private static List<String> logs(LogSearchPage page) {
+        return Arrays.stream(page.getLines()).map(LogSearchLine::getLog).collect(Collectors.toList());
+    }
+
+    @Test
+    void GIVEN_rotated_logs_WHEN_time_range_is_paged_THEN_all_lines_in_range_are_returned_in_order()
+            throws IOException {
+        List<String> all = new ArrayList<>();
+        String cursor = null;
+        int pages = 0;
+        do {
+            LogSearchPage page = search.search(request(8L, 11L, LogLevel.ALL, null, 2, cursor, false));
+            assertTrue(page.isSuccessful());
+            all.addAll(logs(page));
+            cursor = page.getNextCursor();
+            pages++;
+        } while (cursor != null);
+
+        assertEquals(Arrays.asList("2023-01-01T00:08:00.000Z [INFO] (Copier) foo: minute 8",
+                "2023-01-01T00:09:00.000Z [INFO] (Copier) foo: minute 9",
+                "2023-01-01T00:10:00.000Z [ERROR] (Copier) foo: minute 10",
+                "\tat Foo.bar(Foo.java:10)",
+                "2023-01-01T00:11:00.000Z [INFO] (Copier) foo: minute 11"), all);
+        assertEquals(3, pages);
+    }
+
+    @Test
+    void GIVEN_logs_WHEN_filtered_by_level_and_text_THEN_matching_lines_are_returned_newest_first()
+            throws IOException {
+        LogSearchPage page = search.search(request(null, null, LogLevel.ERROR, "Foo.java", 0, null, true));
+
+        assertEquals(Arrays.asList("\tat Foo.bar(Foo.java:15)", "\tat Foo.bar(Foo.java:10)",
+                "\tat Foo.bar(Foo.java:5)", "\tat Foo.bar(Foo.java:0)"), logs(page));
+        // continuation lines take the timestamp and level of the line they belong to
+        LogSearchLine first = page.getLines()[0];
+        assertEquals(START.plusSeconds(15 * 60).toEpochMilli(), first.getTimestamp());
+        assertEquals(LogLevel.ERROR, first.getLevel());
+        assertEquals("foo.log", first.getFile());
+        assertEquals("foo_2023_01_01_00_0.log", page.getLines()[3].getFile());
+        assertNull(page.getNextCursor());
+    }
+
+    @Test
+    void GIVEN_searched_log_WHEN_lines_are_appended_THEN_they_are_found() throws IOException {
+        search.search(request(null, null, LogLevel.ALL, null, 0, null, false));
+        append(logDir.resolve("foo.log"), 20, 21);
+
+        LogSearchPage page = search.search(request(null, null, LogLevel.ALL, "minute 20", 0, null, false));
+        assertEquals(Arrays.asList("2023-01-01T00:20:00.000Z [ERROR] (Copier) foo: minute 20"), logs(page));
+    }
+
+    @Test
+    void GIVEN_cursor_WHEN_file_was_rotated_since_THEN_search_continues_by_time() throws IOException {
+        LogSearchPage page = search.search(request(12L, null, LogLevel.ALL, null, 2, null, false));
+        assertEquals(2, page.getLines().length);
+
+        Files.move(logDir.resolve("foo.log"), logDir.resolve("foo_2023_01_01_00_1.log"));
+        append(logDir.resolve("foo.log"), 20, 21);
+        List<String> rest = new ArrayList<>();
+        String cursor = page.getNextCursor();
+        while (cursor != null) {
+            page = search.search(request(12L, null, LogLevel.ALL, null, 100, cursor, false));
+            rest.addAll(logs(page));
+            cursor = page.getNextCursor();
+        }
+        assertEquals("2023-01-01T00:14:00.000Z [INFO] (Copier) foo: minute 14", rest.get(0));
+        assertEquals("2023-01-01T00:20:00.000Z [ERROR] (Copier) foo: minute 20", rest.get(rest.size() - 2));
+    }
+
+    @Test
+    void GIVEN_log_spanning_many_index_blocks_WHEN_time_range_is_searched_THEN_only_its_blocks_are_scanned()
+            throws IOException {
+        StringBuilder sb = new StringBuilder();
+        for (int i = 0; i < 20 * ComponentLogSearch.BLOCK_LINES; i++) {
+            // with milliseconds, which the text format always has
+            sb.append(START.plusSeconds(3600 + i).plusMillis(1)).append(" [INFO] (Copier) bar: second ").append(i)
+                    .append('\n');
+        }
+        Files.write(logDir.resolve("bar.log"), sb.toString().getBytes(StandardCharsets.UTF_8));
+        long from = START.plusSeconds(3600 + 500).plusMillis(1).toEpochMilli();
+        long to = START.plusSeconds(3600 + 502).plusMillis(1).toEpochMilli();
+
+        for (boolean newestFirst : new boolean[]{false, true}) {
+            LogSearchPage page = search.search(
+                    new LogSearchRequest("bar", from, to, LogLevel.ALL, null, 0, null, newestFirst));
+            List<String> expected = Arrays.asList("second 500", "second 501", "second 502");
+            if (newestFirst) {
+                expected = Arrays.asList("second 502", "second 501", "second 500");
+            }
+            assertEquals(expected, logs(page).stream().map(log -> log.substring(log.indexOf("second")))
+                    .collect(Collectors.toList()));
+            assertTrue(page.getScannedLines() <= 2 * ComponentLogSearch.BLOCK_LINES);
+        }
+    }
+
+    @Test
+    void GIVEN_bad_request_WHEN_searched_THEN_failure_is_returned() throws IOException {
+        assertFalse(search.search(request(null, null, LogLevel.ALL, null, 0, "not a cursor", false)).isSuccessful());
+        assertFalse(search.search(new LogSearchRequest()).isSuccessful());
+        assertFalse(search.search(new LogSearchRequest("a\u0000b", null, null, LogLevel.ALL, null, 0, null, false))
+                .isSuccessful());
+    }
+}
@@ -0,0 +1,138 @@
+/*
+ * Copyright Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package com.aws.greengrass.localdebugconsole;
+
+import com.aws.greengrass.lifecyclemanager.Kernel;
+import com.aws.greengrass.localdebugconsole.messageutils.ComponentLogLine;
+import com.aws.greengrass.localdebugconsole.messageutils.LogLevel;
+import com.aws.greengrass.logging.impl.LogManager;
+import com.aws.greengrass.testcommons.testutilities.GGExtension;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.mock;
+
+@ExtendWith(GGExtension.class)
+class ComponentLogTailerTest {
+    @TempDir
+    Path logDir;
+    private Path logFile;
+    private final List<ComponentLogLine> pushed = new ArrayList<>();
+    private ComponentLogTailer tailer;
+
+    @BeforeEach
+    void setup() {
+        logFile = logDir.resolve("foo.log");
+        pushed.clear();
+        tailer = new ComponentLogTailer(name -> logDir.resolve(name + ".log"), mock(ScheduledExecutorService.class),
+                LogManager.getLogger(Kernel.class), (name, lines) -> pushed.addAll(lines));
+    }
+
+    private void append(String text) throws IOException {
+        Files.write(logFile, text.getBytes(StandardCharsets.UTF_8), StandardOpenOption.CREATE,
+                StandardOpenOption.APPEND);
+    }
+
+    private List<String> pushedLines() {
+        return pushed.stream().map(ComponentLogLine::getLog).collect(Collectors.toList());
+    }
+
+    @Test
+    void GIVEN_followed_component_WHEN_lines_are_appended_THEN_only_new_complete_lines_are_pushed()
+            throws IOException {
+        append("2023-01-01T00:00:00.000Z [INFO] (Copier) foo: old line\n");
+        tailer.follow("foo");
+        tailer.poll();
+        assertEquals(1, pushed.size());
+
+        pushed.clear();
+        append("2023-01-01T00:00:01.000Z [ERROR] (Copier) foo: stderr. boom\n\tat Foo.bar(Foo.java:1)\n"
+                + "2023-01-01T00:00:02.000Z [WARN] (Copier) foo: half");
+        tailer.poll();
+        assertEquals(2, pushed.size());
+        assertEquals(LogLevel.ERROR, pushed.get(0).getLevel());
+        // the stack trace line takes the level of the line it belongs to
+        assertEquals(LogLevel.ERROR, pushed.get(1).getLevel());
+        assertEquals("foo", pushed.get(1).getName());
+
+        pushed.clear();
+        append(" line\n");
+        tailer.poll();
+        assertEquals(1, pushed.size());
+        assertEquals("2023-01-01T00:00:02.000Z [WARN] (Copier) foo: half line", pushed.get(0).getLog());
+        assertEquals(LogLevel.WARN, pushed.get(0).getLevel());
+    }
+
+    @Test
+    void GIVEN_large_existing_log_WHEN_followed_THEN_only_its_end_is_pushed() throws IOException {
+        StringBuilder sb = new StringBuilder();
+        int lines = 2 * ComponentLogTailer.INITIAL_TAIL_BYTES / 10;
+        for (int i = 0; i < lines; i++) {
+            sb.append(String.format("line %04d%n", i));
+        }
+        append(sb.toString());
+        tailer.follow("foo");
+        tailer.poll();
+
+        List<String> logs = pushedLines();
+        assertEquals(String.format("line %04d", lines - 1), logs.get(logs.size() - 1));
+        // starts at a line boundary
+        assertEquals(9, logs.get(0).length());
+        assertTrue(logs.size() < lines);
+    }
+
+    @Test
+    void GIVEN_followed_component_WHEN_log_is_rotated_THEN_new_file_is_read_from_the_start() throws IOException {
+        append("[INFO] first line of the old file\n");
+        tailer.follow("foo");
+        tailer.poll();
+
+        Files.move(logFile, logDir.resolve("foo_2023_01_01_00_0.log"));
+        append("[INFO] rotated\n");
+        pushed.clear();
+        tailer.poll();
+        assertEquals(1, pushed.size());
+        assertEquals("[INFO] rotated", pushed.get(0).getLog());
+    }
+
+    @Test
+    void GIVEN_component_name_which_is_not_a_valid_path_WHEN_polled_THEN_other_components_are_still_tailed()
+            throws IOException {
+        tailer.follow("a\u0000b");
+        tailer.follow("foo");
+        tailer.poll();
+        append("[INFO] first\n");
+        tailer.poll();
+        append("[INFO] second\n");
+        tailer.poll();
+        assertEquals(Arrays.asList("[INFO] first", "[INFO] second"), pushedLines());
+    }
+
+    @Test
+    void GIVEN_unfollowed_component_WHEN_polled_THEN_nothing_is_pushed() throws IOException {
+        tailer.follow("foo");
+        tailer.poll();
+        tailer.unfollow("foo");
+        append("[INFO] line\n");
+        tailer.poll();
+        assertEquals(0, pushed.size());
+    }
+}
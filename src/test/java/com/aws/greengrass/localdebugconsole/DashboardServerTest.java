@@ -8,6 +8,8 @@ package com.aws.greengrass.localdebugconsole;
 import com.aws.greengrass.lifecyclemanager.Kernel;
 import com.aws.greengrass.localdebugconsole.dashboardtestmocks.DashboardClientMock;
 import com.aws.greengrass.localdebugconsole.messageutils.ComponentItem;
+import com.aws.greengrass.localdebugconsole.messageutils.ComponentListDelta;
+import com.aws.greengrass.localdebugconsole.messageutils.ConfigMessage;
 import com.aws.greengrass.localdebugconsole.messageutils.DepGraphNode;
 import com.aws.greengrass.localdebugconsole.messageutils.Dependency;
 import com.aws.greengrass.localdebugconsole.messageutils.PackedRequest;
@@ -21,12 +23,19 @@ import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.BeforeAll;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.io.TempDir;
 
 import java.io.IOException;
 import java.net.InetSocketAddress;
 import java.net.URI;
 import java.net.URISyntaxException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
 import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.CountDownLatch;
 import java.util.concurrent.ExecutionException;
 import java.util.concurrent.TimeUnit;
@@ -160,6 +169,7 @@ class DashboardServerTest {
         otherConnection.listLatch = new CountDownLatch(1);
         otherConnection.depGraphLatch = new CountDownLatch(1);
 
+        long savedEncodes = ds.getSavedEncodes();
         ds.pushComponentListUpdate();
         ds.pushDependencyGraphUpdate();
 
@@ -167,10 +177,76 @@ class DashboardServerTest {
         Assertions.assertTrue(dm.depGraphLatch.await(500, TimeUnit.MILLISECONDS));
         Assertions.assertTrue(otherConnection.listLatch.await(500, TimeUnit.MILLISECONDS));
         Assertions.assertTrue(otherConnection.depGraphLatch.await(500, TimeUnit.MILLISECONDS));
+        // each push is serialized once and shared by both connections
+        Assertions.assertTrue(ds.getSavedEncodes() - savedEncodes >= 2);
 
         otherConnection.close();
     }
 
+    @Test
+    void GIVEN_cbor_and_json_connections_WHEN_server_pushes_THEN_each_gets_its_own_wire_format()
+            throws InterruptedException, ExecutionException, TimeoutException {
+        dm = new DashboardClientMock(address, LogManager.getLogger(Kernel.class));
+        dm.init().get(500, TimeUnit.MILLISECONDS);
+
+        DashboardClientMock cborConnection = new DashboardClientMock(address, LogManager.getLogger(Kernel.class),
+                true);
+        Assertions.assertEquals(true, cborConnection.init().get(500, TimeUnit.MILLISECONDS));
+        when(kc.getComponent("foo")).thenReturn(expList[0]);
+        assertNotNull(cborConnection.sendRequest(new PackedRequest(29, APICalls.getComponent.name(),
+                new String[]{"foo"})).get(500, TimeUnit.MILLISECONDS));
+
+        when(kc.getComponentList()).thenReturn(expList);
+        dm.listLatch = new CountDownLatch(1);
+        cborConnection.listLatch = new CountDownLatch(1);
+        ds.pushComponentListUpdate();
+
+        assertTrue(dm.listLatch.await(500, TimeUnit.MILLISECONDS));
+        assertTrue(cborConnection.listLatch.await(500, TimeUnit.MILLISECONDS));
+        assertArrayEquals(dm.latestList, cborConnection.latestList);
+        Assertions.assertEquals(0, dm.binaryFrames);
+        assertTrue(cborConnection.binaryFrames >= 3);
+
+        cborConnection.close();
+    }
+
+    @Test
+    void GIVEN_subscription_to_list_deltas_WHEN_a_component_changes_THEN_only_the_change_is_pushed()
+            throws InterruptedException, ExecutionException, TimeoutException {
+        dm = new DashboardClientMock(address, LogManager.getLogger(Kernel.class));
+        dm.init().get(500, TimeUnit.MILLISECONDS);
+
+        when(kc.getComponentList()).thenReturn(expList);
+        dm.listDeltaLatch = new CountDownLatch(1);
+        dm.sendRequest(new PackedRequest(25, APICalls.subscribeToComponentListDeltas.name(), new String[0]))
+                .get(500, TimeUnit.MILLISECONDS);
+        assertTrue(dm.listDeltaLatch.await(500, TimeUnit.MILLISECONDS));
+        ComponentListDelta snapshot = dm.latestListDelta;
+        assertTrue(snapshot.isSnapshot());
+        Assertions.assertEquals(expList.length, snapshot.getAdded().length);
+
+        ComponentItem stopped = new ComponentItem("foo", "0.0.0", "Finished", "success", "User", true, false);
+        when(kc.getComponentList()).thenReturn(new ComponentItem[]{stopped, expList[1]});
+        dm.listDeltaLatch = new CountDownLatch(1);
+        dm.listLatch = new CountDownLatch(1);
+        ds.pushComponentListUpdate();
+        assertTrue(dm.listDeltaLatch.await(500, TimeUnit.MILLISECONDS));
+        ComponentListDelta delta = dm.latestListDelta;
+        Assertions.assertFalse(delta.isSnapshot());
+        Assertions.assertEquals(snapshot.getVersion(), delta.getBaseVersion());
+        assertArrayEquals(new ComponentItem[]{stopped}, delta.getChanged());
+        Assertions.assertEquals(0, delta.getAdded().length);
+        Assertions.assertEquals(0, delta.getRemoved().length);
+        // delta subscribers no longer get the full list
+        Assertions.assertFalse(dm.listLatch.await(200, TimeUnit.MILLISECONDS));
+
+        // a forced push resyncs with a full snapshot
+        dm.listDeltaLatch = new CountDownLatch(1);
+        dm.sendRequest(new PackedRequest(26, APICalls.forcePushComponentList.name(), new String[0]))
+                .get(500, TimeUnit.MILLISECONDS);
+        assertTrue(dm.listDeltaLatch.await(500, TimeUnit.MILLISECONDS));
+        assertTrue(dm.latestListDelta.isSnapshot());
+    }
 
     @Test
     void GIVEN_connections_inited_WHEN_subscriptions_to_components_are_made_THEN_they_are_pushed()
@@ -198,6 +274,80 @@ class DashboardServerTest {
         Assertions.assertEquals(4, dm.componentPushes.size());
     }
 
+    @Test
+    void GIVEN_subscriptions_to_components_WHEN_they_change_together_THEN_one_batch_is_pushed()
+            throws InterruptedException, ExecutionException, TimeoutException {
+        dm = new DashboardClientMock(address, LogManager.getLogger(Kernel.class));
+        dm.init().get(500, TimeUnit.MILLISECONDS);
+        when(kc.getComponent("foo")).thenReturn(expList[0]);
+        when(kc.getComponent("bar")).thenReturn(expList[1]);
+        dm.sendRequest(new PackedRequest(31, APICalls.subscribeToComponent.name(), new String[]{"foo"}))
+                .get(500, TimeUnit.MILLISECONDS);
+        dm.sendRequest(new PackedRequest(32, APICalls.subscribeToComponent.name(), new String[]{"bar"}))
+                .get(500, TimeUnit.MILLISECONDS);
+
+        dm.componentPushes.clear();
+        dm.componentBatchLatch = new CountDownLatch(1);
+        ds.pushComponentChanges(Arrays.asList("foo", "bar", "baz"));
+        assertTrue(dm.componentBatchLatch.await(500, TimeUnit.MILLISECONDS));
+        Assertions.assertEquals(1, dm.componentBatchPushes.size());
+        assertArrayEquals(expList, dm.componentBatchPushes.get(0));
+        Assertions.assertEquals(0, dm.componentPushes.size());
+    }
+
+    @Test
+    void GIVEN_log_subscription_WHEN_component_logs_faster_than_the_line_rate_THEN_newest_lines_are_pushed(
+            @TempDir Path logDir) throws InterruptedException, ExecutionException, TimeoutException, IOException {
+        Path logFile = logDir.resolve("foo.log");
+        StringBuilder sb = new StringBuilder();
+        for (int i = 0; i < 20; i++) {
+            sb.append("2023-01-01T00:00:00.000Z [INFO] (Copier) foo: line ").append(i).append('\n');
+        }
+        Files.write(logFile, sb.toString().getBytes(StandardCharsets.UTF_8));
+        when(kc.getComponentLogFile("foo")).thenReturn(logFile);
+        ds.setLogLinesPerSecond(5);
+        try {
+            dm = new DashboardClientMock(address, LogManager.getLogger(Kernel.class));
+            dm.init().get(500, TimeUnit.MILLISECONDS);
+            dm.logLatch = new CountDownLatch(1);
+            dm.sendRequest(new PackedRequest(30, APICalls.subscribeToComponentLogs.name(), new String[]{"foo"}))
+                    .get(500, TimeUnit.MILLISECONDS);
+            assertTrue(dm.logLatch.await(2, TimeUnit.SECONDS));
+
+            Map<?, ?> batch = (Map<?, ?>) dm.latestLog;
+            Assertions.assertEquals("foo", batch.get("name"));
+            Assertions.assertEquals(15, ((Number) batch.get("skippedLines")).intValue());
+            List<?> logs = (List<?>) batch.get("logs");
+            Assertions.assertEquals(5, logs.size());
+            Assertions.assertTrue(((Map<?, ?>) logs.get(4)).get("log").toString().endsWith("line 19"));
+        } finally {
+            ds.setLogLinesPerSecond(DashboardServer.DEFAULT_LOG_LINES_PER_SECOND);
+        }
+    }
+
+    @Test
+    void GIVEN_slow_call_in_progress_WHEN_cheap_call_is_made_THEN_cheap_call_is_not_blocked()
+            throws InterruptedException, ExecutionException, TimeoutException {
+        dm = new DashboardClientMock(address, LogManager.getLogger(Kernel.class));
+        dm.init().get(500, TimeUnit.MILLISECONDS);
+
+        CountDownLatch updateLatch = new CountDownLatch(1);
+        when(kc.updateConfig(anyString(), anyString())).thenAnswer(invocation -> {
+            updateLatch.await(5, TimeUnit.SECONDS);
+            return new ConfigMessage(true, null, null);
+        });
+        when(kc.getComponent("foo")).thenReturn(expList[0]);
+
+        CompletableFuture<Object> update = dm.sendRequest(new PackedRequest(27, APICalls.updateConfig.name(),
+                new String[]{"foo", "a: b"}));
+        assertNotNull(dm.sendRequest(new PackedRequest(28, APICalls.getComponent.name(), new String[]{"foo"}))
+                .get(500, TimeUnit.MILLISECONDS));
+        Assertions.assertFalse(update.isDone());
+
+        updateLatch.countDown();
+        assertNotNull(update.get(500, TimeUnit.MILLISECONDS));
+    }
+
     @Test
     void GIVEN_connections_inited_WHEN_subscriptions_are_not_present_THEN_they_are_not_pushed()
             throws InterruptedException, TimeoutException, ExecutionException {
@@ -0,0 +1,84 @@
+/*
+ * Copyright Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package com.aws.greengrass.localdebugconsole;
+
+import com.aws.greengrass.config.Configuration;
+import com.aws.greengrass.dependency.Context;
+import com.aws.greengrass.lifecyclemanager.Kernel;
+import com.aws.greengrass.logging.impl.LogManager;
+import com.aws.greengrass.testcommons.testutilities.GGExtension;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+import static com.aws.greengrass.localdebugconsole.SimpleHttpServer.DEBUG_PASSWORD_NAMESPACE;
+import static com.aws.greengrass.localdebugconsole.SimpleHttpServer.EXPIRATION_NAMESPACE;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+@ExtendWith(GGExtension.class)
+class DebugPasswordValidatorTest {
+    private Context context;
+    private Configuration config;
+    private ScheduledExecutorService ses;
+    private DebugPasswordValidator validator;
+
+    @BeforeEach
+    void setup() {
+        context = new Context();
+        config = new Configuration(context);
+        ses = mock(ScheduledExecutorService.class);
+        validator = new DebugPasswordValidator(() -> config.getRoot().findTopics(DEBUG_PASSWORD_NAMESPACE), ses,
+                LogManager.getLogger(Kernel.class));
+    }
+
+    @AfterEach
+    void after() throws IOException {
+        context.close();
+    }
+
+    @Test
+    void GIVEN_expired_password_WHEN_pruning_is_due_THEN_it_is_removed_without_a_request() {
+        long now = System.currentTimeMillis();
+        config.lookup(DEBUG_PASSWORD_NAMESPACE, "a", "valid", EXPIRATION_NAMESPACE)
+                .withValue(now + Duration.ofHours(1).toMillis());
+        config.lookup(DEBUG_PASSWORD_NAMESPACE, "a", "expired", EXPIRATION_NAMESPACE).withValue(now - 1);
+
+        validator.schedulePrune();
+        verify(ses).schedule(any(Runnable.class), eq(0L), eq(TimeUnit.MILLISECONDS));
+        validator.prune();
+
+        assertNull(config.getRoot().findTopics(DEBUG_PASSWORD_NAMESPACE, "a", "expired"));
+        assertNotNull(config.getRoot().findTopics(DEBUG_PASSWORD_NAMESPACE, "a", "valid"));
+        // the remaining password is pruned when it expires
+        verify(ses, times(2)).schedule(any(Runnable.class), anyLong(), eq(TimeUnit.MILLISECONDS));
+        assertTrue(validator.isValid("a", "valid"));
+        assertFalse(validator.isValid("a", "expired"));
+        assertFalse(validator.isValid("b", "valid"));
+    }
+
+    @Test
+    void GIVEN_no_passwords_WHEN_validated_THEN_request_is_rejected() {
+        assertFalse(validator.isValid("a", "b"));
+        validator.schedulePrune();
+        verify(ses, never()).schedule(any(Runnable.class), anyLong(), any());
+    }
+}
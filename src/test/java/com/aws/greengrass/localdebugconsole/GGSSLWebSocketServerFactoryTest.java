@@ -0,0 +1,64 @@
+/*
+ * Copyright Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package com.aws.greengrass.localdebugconsole;
+
+import com.aws.greengrass.testcommons.testutilities.GGExtension;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@ExtendWith(GGExtension.class)
+class GGSSLWebSocketServerFactoryTest {
+
+    @Test
+    void GIVEN_busy_ssl_pool_WHEN_queue_is_full_THEN_task_runs_on_the_caller() throws InterruptedException {
+        GGSSLWebSocketServerFactory factory = new GGSSLWebSocketServerFactory(() -> null, 1);
+        CountDownLatch release = new CountDownLatch(1);
+        CountDownLatch started = new CountDownLatch(1);
+        factory.exec.submit(() -> {
+            started.countDown();
+            release.await();
+            return null;
+        });
+        assertTrue(started.await(5, TimeUnit.SECONDS));
+        assertEquals(1, factory.getActiveThreads());
+
+        int queued = 0;
+        while (factory.getCallerRunsTasks() == 0) {
+            factory.exec.submit(() -> { });
+            queued++;
+        }
+        assertEquals(queued - 1, factory.getQueuedTasks());
+        AtomicReference<Thread> runner = new AtomicReference<>();
+        factory.exec.submit(() -> runner.set(Thread.currentThread()));
+        assertEquals(Thread.currentThread(), runner.get());
+        assertEquals(2, factory.getCallerRunsTasks());
+
+        release.countDown();
+        factory.close();
+        assertTrue(factory.exec.isTerminated());
+        // the blocked task and everything which was queued behind it
+        assertEquals(queued, factory.getCompletedTasks());
+    }
+
+    @Test
+    void GIVEN_ssl_pool_WHEN_resized_THEN_more_handshakes_run_in_parallel() {
+        GGSSLWebSocketServerFactory factory = new GGSSLWebSocketServerFactory(() -> null, 1);
+        factory.setThreads(3);
+        assertEquals(3, ((ThreadPoolExecutor) factory.exec).getMaximumPoolSize());
+        assertEquals(3, ((ThreadPoolExecutor) factory.exec).getCorePoolSize());
+        factory.close();
+        assertThrows(IllegalArgumentException.class, () -> new GGSSLWebSocketServerFactory(() -> null, null));
+    }
+}
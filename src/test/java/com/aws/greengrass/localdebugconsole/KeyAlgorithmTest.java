@@ -0,0 +1,60 @@
+/*
+ * Copyright Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package com.aws.greengrass.localdebugconsole;
+
+import com.aws.greengrass.testcommons.testutilities.GGExtension;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.security.Key;
+import java.security.KeyPair;
+import java.security.KeyStore;
+import java.security.cert.Certificate;
+import java.security.cert.X509Certificate;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@ExtendWith(GGExtension.class)
+class KeyAlgorithmTest {
+    private static final char[] PASSPHRASE = "passphrase".toCharArray();
+
+    @Test
+    void GIVEN_key_algorithms_WHEN_certificate_is_stored_in_keystore_THEN_it_is_loaded_with_its_algorithm()
+            throws Exception {
+        for (KeyAlgorithm algorithm : KeyAlgorithm.values()) {
+            KeyPair keyPair = algorithm.generateKeyPair();
+            X509Certificate cert = SimpleHttpServer.selfSign(keyPair, "localhost", algorithm);
+            KeyStore ks = KeyStore.getInstance("JKS");
+            ks.load(null, PASSPHRASE);
+            ks.setCertificateEntry(SimpleHttpServer.CERT_NAME, cert);
+            ks.setKeyEntry(SimpleHttpServer.PRIVATE_KEY_NAME, keyPair.getPrivate(), new char[0],
+                    new Certificate[]{cert});
+            ByteArrayOutputStream stored = new ByteArrayOutputStream();
+            ks.store(stored, PASSPHRASE);
+
+            KeyStore loaded = KeyStore.getInstance("JKS");
+            loaded.load(new ByteArrayInputStream(stored.toByteArray()), PASSPHRASE);
+            Key key = loaded.getKey(SimpleHttpServer.PRIVATE_KEY_NAME, new char[0]);
+            assertEquals(keyPair.getPrivate(), key);
+            loaded.getCertificate(SimpleHttpServer.CERT_NAME).verify(keyPair.getPublic());
+            assertTrue(algorithm.matches(key));
+            assertFalse((algorithm == KeyAlgorithm.RSA ? KeyAlgorithm.EC : KeyAlgorithm.RSA).matches(key));
+        }
+    }
+
+    @Test
+    void GIVEN_configured_value_WHEN_parsed_THEN_algorithm_is_found() {
+        assertEquals(KeyAlgorithm.EC, KeyAlgorithm.parse("ec"));
+        assertEquals(KeyAlgorithm.RSA, KeyAlgorithm.parse(" RSA "));
+        assertNull(KeyAlgorithm.parse("DSA"));
+        assertNull(KeyAlgorithm.parse(null));
+    }
+}
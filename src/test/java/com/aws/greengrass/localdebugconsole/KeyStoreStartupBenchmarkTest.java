@@ -0,0 +1,76 @@
+/*
+ * Copyright Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package com.aws.greengrass.localdebugconsole;
+
+import com.aws.greengrass.lifecyclemanager.Kernel;
+import com.aws.greengrass.logging.api.Logger;
+import com.aws.greengrass.logging.impl.LogManager;
+import com.aws.greengrass.testcommons.testutilities.GGExtension;
+import io.netty.bootstrap.ServerBootstrap;
+import io.netty.channel.Channel;
+import io.netty.channel.ChannelInitializer;
+import io.netty.channel.EventLoopGroup;
+import io.netty.channel.nio.NioEventLoopGroup;
+import io.netty.channel.socket.SocketChannel;
+import io.netty.channel.socket.nio.NioServerSocketChannel;
+import io.netty.handler.ssl.SslContext;
+import io.netty.handler.ssl.SslContextBuilder;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+
+import java.net.InetSocketAddress;
+import java.security.KeyPair;
+import java.security.cert.X509Certificate;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures what a component start pays for its HTTPS listener after the keystore was lost, for each key algorithm:
+ * generating the self-signed certificate, then building the TLS context and binding a listener with it. The times
+ * are only logged, they depend too much on the machine to be asserted.
+ */
+@ExtendWith(GGExtension.class)
+class KeyStoreStartupBenchmarkTest {
+    private static final Logger logger = LogManager.getLogger(Kernel.class);
+    private static final int ITERATIONS = 3;
+
+    @Test
+    void GIVEN_key_algorithms_WHEN_certificate_is_generated_and_bound_THEN_times_are_logged() throws Exception {
+        EventLoopGroup group = new NioEventLoopGroup(1);
+        try {
+            for (KeyAlgorithm algorithm : KeyAlgorithm.values()) {
+                long generateNanos = 0;
+                long bindNanos = 0;
+                for (int i = 0; i < ITERATIONS; i++) {
+                    long start = System.nanoTime();
+                    KeyPair keyPair = algorithm.generateKeyPair();
+                    X509Certificate cert = SimpleHttpServer.selfSign(keyPair, "localhost", algorithm);
+                    generateNanos += System.nanoTime() - start;
+
+                    start = System.nanoTime();
+                    Channel channel = bind(group, SslContextBuilder.forServer(keyPair.getPrivate(), cert).build());
+                    bindNanos += System.nanoTime() - start;
+                    channel.close().sync();
+                }
+                logger.atInfo().kv("keyAlgorithm", algorithm)
+                        .kv("generateMillis", TimeUnit.NANOSECONDS.toMillis(generateNanos / ITERATIONS))
+                        .kv("bindMillis", TimeUnit.NANOSECONDS.toMillis(bindNanos / ITERATIONS))
+                        .log("Keystore startup benchmark");
+            }
+        } finally {
+            group.shutdownGracefully(0, 0, TimeUnit.SECONDS);
+        }
+    }
+
+    private static Channel bind(EventLoopGroup group, SslContext context) throws InterruptedException {
+        return new ServerBootstrap().group(group).channel(NioServerSocketChannel.class)
+                .childHandler(new ChannelInitializer<SocketChannel>() {
+                    @Override
+                    protected void initChannel(SocketChannel ch) {
+                        ch.pipeline().addLast(context.newHandler(ch.alloc()));
+                    }
+                }).bind(new InetSocketAddress("localhost", 0)).sync().channel();
+    }
+}
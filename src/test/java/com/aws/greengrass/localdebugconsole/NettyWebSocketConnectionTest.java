@@ -0,0 +1,132 @@
+/*
+ * Copyright Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package com.aws.greengrass.localdebugconsole;
+
+import com.aws.greengrass.testcommons.testutilities.GGExtension;
+import io.netty.buffer.ByteBufUtil;
+import io.netty.channel.embedded.EmbeddedChannel;
+import io.netty.handler.codec.http.websocketx.BinaryWebSocketFrame;
+import io.netty.handler.codec.http.websocketx.CloseWebSocketFrame;
+import io.netty.handler.codec.http.websocketx.ContinuationWebSocketFrame;
+import io.netty.handler.codec.http.websocketx.TextWebSocketFrame;
+import org.java_websocket.enums.Opcode;
+import org.java_websocket.enums.ReadyState;
+import org.java_websocket.exceptions.WebsocketNotConnectedException;
+import org.java_websocket.framing.BinaryFrame;
+import org.java_websocket.framing.CloseFrame;
+import org.java_websocket.framing.ContinuousFrame;
+import org.java_websocket.framing.TextFrame;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@ExtendWith(GGExtension.class)
+class NettyWebSocketConnectionTest {
+
+    @Test
+    void GIVEN_upgraded_channel_WHEN_messages_are_sent_THEN_they_are_written_as_websocket_frames() {
+        EmbeddedChannel channel = new EmbeddedChannel();
+        NettyWebSocketConnection conn = new NettyWebSocketConnection(channel, "/ws");
+        assertTrue(conn.isOpen());
+        assertEquals(ReadyState.OPEN, conn.getReadyState());
+        assertFalse(conn.hasSSLSupport());
+        assertNull(conn.getAttachment());
+        conn.setAttachment(true);
+        assertEquals(Boolean.TRUE, conn.getAttachment());
+
+        conn.send("{}");
+        TextWebSocketFrame text = channel.readOutbound();
+        assertEquals("{}", text.text());
+        text.release();
+        conn.send(new byte[]{1, 2});
+        BinaryWebSocketFrame binary = channel.readOutbound();
+        assertArrayEquals(new byte[]{1, 2}, ByteBufUtil.getBytes(binary.content()));
+        binary.release();
+        assertEquals(0, conn.getPendingBytes());
+
+        conn.close(CloseFrame.TRY_AGAIN_LATER, "Slow consumer");
+        CloseWebSocketFrame close = channel.readOutbound();
+        assertEquals(CloseFrame.TRY_AGAIN_LATER, close.statusCode());
+        close.release();
+        assertTrue(conn.isClosed());
+        assertFalse(conn.isClosing());
+        assertEquals(ReadyState.CLOSED, conn.getReadyState());
+        assertThrows(WebsocketNotConnectedException.class, () -> conn.send("{}"));
+    }
+
+    @Test
+    void GIVEN_java_websocket_frames_WHEN_sent_THEN_they_are_written_as_netty_frames() {
+        EmbeddedChannel channel = new EmbeddedChannel();
+        NettyWebSocketConnection conn = new NettyWebSocketConnection(channel, "/ws");
+
+        TextFrame text = new TextFrame();
+        text.setPayload(ByteBuffer.wrap("hi".getBytes(StandardCharsets.UTF_8)));
+        conn.sendFrame(text);
+        TextWebSocketFrame written = channel.readOutbound();
+        assertEquals("hi", written.text());
+        assertTrue(written.isFinalFragment());
+        written.release();
+
+        BinaryFrame first = new BinaryFrame();
+        first.setPayload(ByteBuffer.wrap(new byte[]{1}));
+        first.setFin(false);
+        ContinuousFrame last = new ContinuousFrame();
+        last.setPayload(ByteBuffer.wrap(new byte[]{2}));
+        conn.sendFrame(Arrays.asList(first, last));
+        BinaryWebSocketFrame binary = channel.readOutbound();
+        assertFalse(binary.isFinalFragment());
+        assertArrayEquals(new byte[]{1}, ByteBufUtil.getBytes(binary.content()));
+        binary.release();
+        ContinuationWebSocketFrame continuation = channel.readOutbound();
+        assertTrue(continuation.isFinalFragment());
+        assertArrayEquals(new byte[]{2}, ByteBufUtil.getBytes(continuation.content()));
+        continuation.release();
+    }
+
+    @Test
+    void GIVEN_fragmented_message_WHEN_sent_THEN_later_fragments_are_continuations() {
+        EmbeddedChannel channel = new EmbeddedChannel();
+        NettyWebSocketConnection conn = new NettyWebSocketConnection(channel, "/ws");
+
+        conn.sendFragmentedFrame(Opcode.TEXT, ByteBuffer.wrap("a".getBytes(StandardCharsets.UTF_8)), false);
+        conn.sendFragmentedFrame(Opcode.TEXT, ByteBuffer.wrap("b".getBytes(StandardCharsets.UTF_8)), true);
+        conn.sendFragmentedFrame(Opcode.BINARY, ByteBuffer.wrap(new byte[]{3}), true);
+        TextWebSocketFrame text = channel.readOutbound();
+        assertFalse(text.isFinalFragment());
+        assertEquals("a", text.text());
+        text.release();
+        ContinuationWebSocketFrame continuation = channel.readOutbound();
+        assertTrue(continuation.isFinalFragment());
+        assertEquals("b", continuation.text());
+        continuation.release();
+        BinaryWebSocketFrame binary = channel.readOutbound();
+        assertTrue(binary.isFinalFragment());
+        binary.release();
+        assertThrows(IllegalArgumentException.class,
+                () -> conn.sendFragmentedFrame(Opcode.PING, ByteBuffer.allocate(0), true));
+    }
+
+    @Test
+    void GIVEN_channel_over_its_write_buffer_high_water_mark_WHEN_checked_THEN_it_has_buffered_data() {
+        EmbeddedChannel channel = new EmbeddedChannel();
+        NettyWebSocketConnection conn = new NettyWebSocketConnection(channel, "/ws");
+        assertFalse(conn.hasBufferedData());
+
+        channel.unsafe().outboundBuffer().setUserDefinedWritability(1, false);
+        assertEquals(Long.MAX_VALUE, conn.getPendingBytes());
+        assertTrue(conn.hasBufferedData());
+    }
+}
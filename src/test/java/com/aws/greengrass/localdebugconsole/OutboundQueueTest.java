@@ -0,0 +1,176 @@
+/*
+ * Copyright Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package com.aws.greengrass.localdebugconsole;
+
+import com.aws.greengrass.lifecyclemanager.Kernel;
+import com.aws.greengrass.localdebugconsole.messageutils.ConnectionMetrics;
+import com.aws.greengrass.localdebugconsole.messageutils.MessageType;
+import com.aws.greengrass.logging.impl.LogManager;
+import com.aws.greengrass.testcommons.testutilities.GGExtension;
+import org.java_websocket.WebSocket;
+import org.java_websocket.framing.CloseFrame;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InOrder;
+
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.inOrder;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(GGExtension.class)
+class OutboundQueueTest {
+    private WebSocket conn;
+    private final AtomicInteger evictions = new AtomicInteger();
+
+    @BeforeEach
+    void setup() {
+        conn = mock(WebSocket.class);
+        evictions.set(0);
+    }
+
+    private OutboundQueue newQueue(OutboundLimits limits) {
+        return new OutboundQueue(conn, () -> limits, mock(ScheduledExecutorService.class),
+                LogManager.getLogger(Kernel.class), evictions::incrementAndGet);
+    }
+
+    private static OutboundLimits limits(int maxMessages, long evictAfterMillis) {
+        return new OutboundLimits(maxMessages, OutboundLimits.DEFAULT_MAX_BYTES, evictAfterMillis,
+                OutboundLimits.DEFAULT_SOCKET_HIGH_WATER_BYTES, OverflowPolicy.DROP_OLDEST, OverflowPolicy.COALESCE);
+    }
+
+    @Test
+    void GIVEN_socket_keeping_up_WHEN_frames_are_offered_THEN_they_are_sent_directly() {
+        OutboundQueue queue = newQueue(limits(3, 1000));
+        queue.offer(MessageType.PUB_SUB_MSG, "sub/topic", "a");
+        queue.offer(MessageType.RESPONSE, null, "b");
+
+        verify(conn).send("a");
+        verify(conn).send("b");
+        assertEquals(0, queue.metrics().getQueuedMessages());
+        assertEquals(2, queue.metrics().getSentMessages());
+    }
+
+    @Test
+    void GIVEN_slow_socket_WHEN_pub_sub_overflows_THEN_oldest_messages_are_dropped() {
+        when(conn.hasBufferedData()).thenReturn(true);
+        OutboundQueue queue = newQueue(limits(3, 1000));
+        for (int i = 0; i < 5; i++) {
+            queue.offer(MessageType.PUB_SUB_MSG, "sub/topic", String.valueOf(i));
+        }
+        ConnectionMetrics metrics = queue.metrics();
+        assertEquals(3, metrics.getQueuedMessages());
+        assertEquals(2, metrics.getDroppedMessages());
+
+        when(conn.hasBufferedData()).thenReturn(false);
+        queue.drain();
+        InOrder inOrder = inOrder(conn);
+        inOrder.verify(conn).send("2");
+        inOrder.verify(conn).send("3");
+        inOrder.verify(conn).send("4");
+        verify(conn, never()).send("0");
+        assertEquals(0, queue.metrics().getQueuedMessages());
+        assertEquals(0, queue.metrics().getOverLimitMillis());
+    }
+
+    @Test
+    void GIVEN_slow_socket_WHEN_component_changes_repeat_THEN_they_are_coalesced() {
+        when(conn.hasBufferedData()).thenReturn(true);
+        OutboundQueue queue = newQueue(limits(3, 1000));
+        queue.offer(MessageType.COMPONENT_CHANGE, "foo", "foo-1");
+        queue.offer(MessageType.COMPONENT_CHANGE, "bar", "bar-1");
+        queue.offer(MessageType.COMPONENT_CHANGE, "foo", "foo-2");
+
+        ConnectionMetrics metrics = queue.metrics();
+        assertEquals(2, metrics.getQueuedMessages());
+        assertEquals(1, metrics.getCoalescedMessages());
+
+        when(conn.hasBufferedData()).thenReturn(false);
+        queue.drain();
+        InOrder inOrder = inOrder(conn);
+        inOrder.verify(conn).send("foo-2");
+        inOrder.verify(conn).send("bar-1");
+        verify(conn, never()).send("foo-1");
+    }
+
+    @Test
+    void GIVEN_socket_keeping_up_WHEN_frames_are_sent_THEN_backlog_is_not_measured_for_each_frame() {
+        OutboundQueue queue = newQueue(limits(3, 1000));
+        for (int i = 0; i < 10; i++) {
+            queue.offer(MessageType.PUB_SUB_MSG, "sub/topic", String.valueOf(i));
+        }
+
+        assertEquals(10, queue.metrics().getSentMessages());
+        // once for the first frame and once for the metrics
+        verify(conn, times(2)).hasBufferedData();
+    }
+
+    @Test
+    void GIVEN_full_queue_WHEN_frame_which_can_not_be_dropped_is_offered_THEN_connection_is_closed_right_away() {
+        when(conn.hasBufferedData()).thenReturn(true);
+        OutboundQueue queue = newQueue(limits(2, 60_000));
+        queue.offer(MessageType.RESPONSE, null, "a");
+        queue.offer(MessageType.COMPONENT_LOGS, null, "b");
+        assertEquals(2, queue.metrics().getQueuedMessages());
+        verify(conn, never()).close(anyInt(), anyString());
+
+        queue.offer(MessageType.STREAM_MESSAGES, null, "c");
+        verify(conn).close(CloseFrame.TRY_AGAIN_LATER, "Slow consumer");
+        assertEquals(1, evictions.get());
+        assertEquals(0, queue.metrics().getQueuedMessages());
+    }
+
+    @Test
+    void GIVEN_full_queue_WHEN_coalescing_frame_has_nothing_to_replace_THEN_queue_does_not_grow() {
+        when(conn.hasBufferedData()).thenReturn(true);
+        OutboundQueue queue = newQueue(limits(2, 60_000));
+        queue.offer(MessageType.COMPONENT_CHANGE, "foo", "foo-1");
+        queue.offer(MessageType.COMPONENT_CHANGE, "bar", "bar-1");
+        queue.offer(MessageType.COMPONENT_CHANGE, "foo", "foo-2");
+        assertEquals(2, queue.metrics().getQueuedMessages());
+
+        queue.offer(MessageType.COMPONENT_LIST, null, "list");
+        assertEquals(1, evictions.get());
+        queue.offer(MessageType.COMPONENT_CHANGE, "baz", "baz-1");
+        assertEquals(0, queue.metrics().getQueuedMessages());
+        verify(conn, never()).send(anyString());
+    }
+
+    @Test
+    void GIVEN_stuck_socket_WHEN_queue_stays_full_THEN_connection_is_closed() {
+        when(conn.hasBufferedData()).thenReturn(true);
+        OutboundQueue queue = newQueue(limits(1, 0));
+        queue.offer(MessageType.RESPONSE, null, "a");
+        queue.offer(MessageType.RESPONSE, null, "b");
+        queue.drain();
+
+        verify(conn).close(CloseFrame.TRY_AGAIN_LATER, "Slow consumer");
+        assertEquals(1, evictions.get());
+        // nothing is sent after the eviction
+        queue.offer(MessageType.RESPONSE, null, "c");
+        verify(conn, never()).send(anyString());
+    }
+
+    @Test
+    void GIVEN_slow_socket_WHEN_queue_is_under_limit_THEN_connection_is_kept() {
+        when(conn.hasBufferedData()).thenReturn(true);
+        OutboundQueue queue = newQueue(limits(3, 0));
+        queue.offer(MessageType.RESPONSE, null, "a");
+        queue.drain();
+
+        verify(conn, never()).close(anyInt(), anyString());
+        assertEquals(0, evictions.get());
+    }
+}
@@ -0,0 +1,72 @@
+/*
+ * Copyright Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package com.aws.greengrass.localdebugconsole;
+
+import com.aws.greengrass.lifecyclemanager.Kernel;
+import com.aws.greengrass.logging.impl.LogManager;
+import com.aws.greengrass.testcommons.testutilities.GGExtension;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.Mockito.after;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+@ExtendWith(GGExtension.class)
+class PushSchedulerTest {
+    private ScheduledExecutorService ses;
+    private KernelMessagePusher pusher;
+
+    @BeforeEach
+    void setup() {
+        ses = Executors.newSingleThreadScheduledExecutor();
+        pusher = mock(KernelMessagePusher.class);
+    }
+
+    @AfterEach
+    void tearDown() {
+        ses.shutdownNow();
+    }
+
+    @Test
+    void GIVEN_burst_of_events_WHEN_window_closes_THEN_pushes_are_coalesced() {
+        PushScheduler scheduler = new PushScheduler(pusher, ses, LogManager.getLogger(Kernel.class), 50);
+        for (int i = 0; i < 10; i++) {
+            scheduler.pushComponentChange("foo");
+            scheduler.pushComponentChange("bar");
+            scheduler.pushComponentListUpdate();
+        }
+
+        // all changed components go out as one batch
+        verify(pusher, after(300).times(1)).pushComponentChanges(argThat(names ->
+                names.size() == 2 && names.containsAll(Arrays.asList("foo", "bar"))));
+        verify(pusher, never()).pushComponentChange(anyString());
+        verify(pusher, times(1)).pushComponentListUpdate();
+        verify(pusher, never()).pushDependencyGraphUpdate();
+    }
+
+    @Test
+    void GIVEN_zero_window_WHEN_events_arrive_THEN_they_are_pushed_immediately() {
+        PushScheduler scheduler = new PushScheduler(pusher, ses, LogManager.getLogger(Kernel.class), 0);
+        scheduler.pushComponentChange("foo");
+        scheduler.pushComponentChange("foo");
+        scheduler.pushDependencyGraphUpdate();
+
+        verify(pusher, times(2)).pushComponentChanges(Collections.singletonList("foo"));
+        verify(pusher, times(1)).pushDependencyGraphUpdate();
+    }
+}
@@ -0,0 +1,55 @@
+/*
+ * Copyright Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package com.aws.greengrass.localdebugconsole;
+
+import com.aws.greengrass.testcommons.testutilities.GGExtension;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@ExtendWith(GGExtension.class)
+class SessionTokensTest {
+
+    @Test
+    void GIVEN_issued_token_WHEN_checked_THEN_it_is_valid_until_it_expires() {
+        SessionTokens tokens = new SessionTokens();
+        long now = System.currentTimeMillis();
+        String token = tokens.issue("debug.user", now + Duration.ofHours(1).toMillis());
+        assertTrue(tokens.isValid(token));
+
+        assertFalse(tokens.isValid(tokens.issue("debug.user", now - 1)));
+        // sessions don't survive a restart
+        assertFalse(new SessionTokens().isValid(token));
+    }
+
+    @Test
+    void GIVEN_tampered_token_WHEN_checked_THEN_it_is_rejected() {
+        SessionTokens tokens = new SessionTokens();
+        long expiresAt = System.currentTimeMillis() + Duration.ofHours(1).toMillis();
+        String token = tokens.issue("a", expiresAt);
+        String signature = token.substring(token.lastIndexOf('.'));
+
+        assertFalse(tokens.isValid(token.replace(Long.toString(expiresAt), Long.toString(expiresAt + 1))));
+        assertFalse(tokens.isValid(tokens.issue("b", expiresAt).replaceAll("\\.[^.]*$", signature)));
+        assertFalse(tokens.isValid(token.substring(0, token.length() - 1)));
+        assertFalse(tokens.isValid("a.b"));
+        assertFalse(tokens.isValid("garbage"));
+        assertFalse(tokens.isValid(null));
+    }
+
+    @Test
+    void GIVEN_cookie_header_WHEN_parsed_THEN_session_token_is_found() {
+        assertEquals("x.1.y", SessionTokens.fromCookieHeader("a=b; " + SessionTokens.COOKIE_NAME + "=x.1.y; c=d"));
+        assertNull(SessionTokens.fromCookieHeader("a=b"));
+        assertNull(SessionTokens.fromCookieHeader(null));
+    }
+}
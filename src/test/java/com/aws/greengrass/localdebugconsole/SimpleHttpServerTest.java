@@ -7,9 +7,47 @@
 package com.aws.greengrass.localdebugconsole;
 
 import com.aws.greengrass.config.Topic;
+import com.aws.greengrass.config.Topics;
+import com.aws.greengrass.dependency.State;
 import com.aws.greengrass.lifecyclemanager.Kernel;
+import com.aws.greengrass.localdebugconsole.dashboardtestmocks.DashboardClientMock;
+import com.aws.greengrass.logging.impl.GreengrassLogMessage;
+import com.aws.greengrass.logging.impl.LogManager;
 import com.aws.greengrass.testcommons.testutilities.GGExtension;
+import com.aws.greengrass.testcommons.testutilities.NoOpPathOwnershipHandler;
 import com.aws.greengrass.util.Pair;
+import io.netty.bootstrap.Bootstrap;
+import io.netty.channel.Channel;
+import io.netty.channel.ChannelHandler;
+import io.netty.channel.ChannelHandlerContext;
+import io.netty.channel.ChannelInboundHandlerAdapter;
+import io.netty.channel.ChannelInitializer;
+import io.netty.channel.EventLoopGroup;
+import io.netty.channel.SimpleChannelInboundHandler;
+import io.netty.channel.nio.NioEventLoopGroup;
+import io.netty.channel.socket.nio.NioSocketChannel;
+import io.netty.handler.codec.http.DefaultFullHttpRequest;
+import io.netty.handler.codec.http.FullHttpResponse;
+import io.netty.handler.codec.http.HttpHeaderNames;
+import io.netty.handler.codec.http.HttpMethod;
+import io.netty.handler.codec.http.HttpObjectAggregator;
+import io.netty.handler.codec.http.HttpResponseStatus;
+import io.netty.handler.codec.http.HttpVersion;
+import io.netty.handler.codec.http2.Http2FrameCodecBuilder;
+import io.netty.handler.codec.http2.Http2MultiplexHandler;
+import io.netty.handler.codec.http2.Http2SecurityUtil;
+import io.netty.handler.codec.http2.Http2StreamChannel;
+import io.netty.handler.codec.http2.Http2StreamChannelBootstrap;
+import io.netty.handler.codec.http2.Http2StreamFrameToHttpObjectCodec;
+import io.netty.handler.codec.http2.HttpConversionUtil;
+import io.netty.handler.ssl.ApplicationProtocolConfig;
+import io.netty.handler.ssl.ApplicationProtocolNames;
+import io.netty.handler.ssl.SslContext;
+import io.netty.handler.ssl.SslContextBuilder;
+import io.netty.handler.ssl.SslHandler;
+import io.netty.handler.ssl.SslProvider;
+import io.netty.handler.ssl.SupportedCipherSuiteFilter;
+import io.netty.handler.ssl.util.InsecureTrustManagerFactory;
 import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.Test;
@@ -17,35 +55,302 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.junit.jupiter.api.extension.ExtensionContext;
 import org.junit.jupiter.api.io.TempDir;
 
+import java.io.ByteArrayOutputStream;
 import java.io.IOException;
+import java.io.InputStream;
+import java.net.HttpURLConnection;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.net.URI;
+import java.net.URL;
+import java.nio.charset.StandardCharsets;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.time.Duration;
 import java.time.Instant;
+import java.util.Base64;
 import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+import javax.net.ssl.SSLContext;
+import javax.net.ssl.SSLParameters;
+import javax.net.ssl.SSLSocket;
 
+import static com.aws.greengrass.componentmanager.KernelConfigResolver.CONFIGURATION_CONFIG_KEY;
+import static com.aws.greengrass.lifecyclemanager.GreengrassService.SERVICES_NAMESPACE_TOPICS;
+import static com.aws.greengrass.localdebugconsole.SimpleHttpServer.AWS_GREENGRASS_DEBUG_SERVER;
 import static com.aws.greengrass.localdebugconsole.SimpleHttpServer.DEBUG_PASSWORD_NAMESPACE;
 import static com.aws.greengrass.localdebugconsole.SimpleHttpServer.EXPIRATION_NAMESPACE;
+import static com.aws.greengrass.localdebugconsole.SimpleHttpServer.WEBSOCKET_PATH;
+import static com.aws.greengrass.logging.impl.Slf4jLogAdapter.addGlobalListener;
+import static com.aws.greengrass.logging.impl.Slf4jLogAdapter.removeGlobalListener;
 import static com.aws.greengrass.testcommons.testutilities.ExceptionLogProtector.ignoreExceptionOfType;
+import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertNull;
 import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
 
 @ExtendWith(GGExtension.class)
 class SimpleHttpServerTest {
+    // the dashboard client logs in with these
+    private static final String USERNAME = "abc";
+    private static final String PASSWORD = "def";
+    private static final String BASIC_AUTHORIZATION = "Basic " + Base64.getEncoder()
+            .encodeToString((USERNAME + ":" + PASSWORD).getBytes(StandardCharsets.UTF_8));
 
     @TempDir
     Path rootDir;
 
     private Kernel kernel;
+    private DashboardClientMock client;
+    private Consumer<GreengrassLogMessage> logListener;
 
     @AfterEach
     void after() {
+        if (client != null) {
+            client.close();
+        }
+        if (logListener != null) {
+            removeGlobalListener(logListener);
+        }
         if (kernel != null) {
             kernel.shutdown();
         }
     }
 
+    /**
+     * Launches a kernel whose debug console listens on free ports, and waits until the console is running.
+     */
+    private SimpleHttpServer launch(boolean httpsEnabled, boolean websocketOnHttpPort, boolean nativeTransport)
+            throws Exception {
+        return launch(httpsEnabled, websocketOnHttpPort, nativeTransport, http -> {
+        });
+    }
+
+    /**
+     * Launches the console like {@link #launch(boolean, boolean, boolean)}, handing it to a callback on the thread
+     * which reports it running, at the time it is reported.
+     */
+    private SimpleHttpServer launch(boolean httpsEnabled, boolean websocketOnHttpPort, boolean nativeTransport,
+                                    Consumer<SimpleHttpServer> onRunning) throws Exception {
+        // Set this property for kernel to scan its own classpath to find plugins
+        System.setProperty("aws.greengrass.scanSelfClasspath", "true");
+        kernel = new Kernel();
+        NoOpPathOwnershipHandler.register(kernel);
+        kernel.parseArgs("-r", rootDir.toAbsolutePath().toString(), "-i",
+                SimpleHttpServerTest.class.getResource("httpServerTest.yaml").toString());
+        Topics configuration = kernel.getConfig()
+                .lookupTopics(SERVICES_NAMESPACE_TOPICS, AWS_GREENGRASS_DEBUG_SERVER, CONFIGURATION_CONFIG_KEY);
+        configuration.lookup("port").withValue(freePort());
+        configuration.lookup("websocketPort").withValue(freePort());
+        configuration.lookup("httpsEnabled").withValue(httpsEnabled);
+        configuration.lookup("websocketOnHttpPort").withValue(websocketOnHttpPort);
+        configuration.lookup("nativeTransport").withValue(nativeTransport);
+        kernel.getConfig().lookup(DEBUG_PASSWORD_NAMESPACE, USERNAME, PASSWORD, EXPIRATION_NAMESPACE)
+                .withValue(Instant.now().plus(Duration.ofHours(1)).toEpochMilli());
+
+        CountDownLatch running = new CountDownLatch(1);
+        kernel.getContext().addGlobalStateChangeListener((service, oldState, newState) -> {
+            if (AWS_GREENGRASS_DEBUG_SERVER.equals(service.getName()) && State.RUNNING.equals(newState)) {
+                onRunning.accept((SimpleHttpServer) service);
+                running.countDown();
+            }
+        });
+        kernel.launch();
+        assertTrue(running.await(30, TimeUnit.SECONDS));
+        return kernel.getContext().get(SimpleHttpServer.class);
+    }
+
+    private static int freePort() throws IOException {
+        try (ServerSocket socket = new ServerSocket(0)) {
+            return socket.getLocalPort();
+        }
+    }
+
+    private static boolean accepts(int port) {
+        try (Socket socket = new Socket("localhost", port)) {
+            return socket.isConnected();
+        } catch (IOException e) {
+            return false;
+        }
+    }
+
+    // trusts the self-signed certificate of the console
+    private static SSLContext trustAll() throws Exception {
+        SSLContext tls = SSLContext.getInstance("TLS");
+        tls.init(null, InsecureTrustManagerFactory.INSTANCE.getTrustManagers(), null);
+        return tls;
+    }
+
+    private DashboardClientMock connect(URI uri) throws Exception {
+        client = new DashboardClientMock(uri, LogManager.getLogger(Kernel.class)) {
+            @Override
+            protected void onSetSSLParameters(SSLParameters sslParameters) {
+                // the certificate is trusted without checking its name
+            }
+        };
+        client.setSocketFactory(trustAll().getSocketFactory());
+        assertEquals(true, client.init().get(5, TimeUnit.SECONDS));
+        return client;
+    }
+
+    @Test
+    void GIVEN_keystore_is_missing_WHEN_started_THEN_startup_returns_before_it_is_generated(ExtensionContext context)
+            throws Exception {
+        // the probes connect and leave without a handshake
+        ignoreExceptionOfType(context, IOException.class);
+        kernel = new Kernel();
+        kernel.parseArgs("-r", rootDir.toAbsolutePath().toString());
+        int port = freePort();
+        int websocketPort = freePort();
+        Topics configuration = kernel.getConfig()
+                .lookupTopics(SERVICES_NAMESPACE_TOPICS, AWS_GREENGRASS_DEBUG_SERVER, CONFIGURATION_CONFIG_KEY);
+        configuration.lookup("port").withValue(port);
+        configuration.lookup("websocketPort").withValue(websocketPort);
+        configuration.lookup("keyAlgorithm").withValue(KeyAlgorithm.RSA.name());
+        SimpleHttpServer http = kernel.getContext().get(SimpleHttpServer.class);
+        Path keyStore = kernel.getNucleusPaths().workPath(AWS_GREENGRASS_DEBUG_SERVER).resolve("keystore.jks");
+
+        http.startup();
+        // generating the RSA key takes far longer than handing the work to the executor
+        assertFalse(Files.exists(keyStore));
+        assertFalse(accepts(port));
+
+        long deadline = System.currentTimeMillis() + TimeUnit.MINUTES.toMillis(1);
+        while (!accepts(port) || !accepts(websocketPort)) {
+            assertTrue(System.currentTimeMillis() < deadline);
+            Thread.sleep(50);
+        }
+        assertTrue(Files.exists(keyStore));
+        http.shutdown();
+    }
+
+    @Test
+    void GIVEN_https_WHEN_launched_THEN_running_is_reported_once_both_ports_accept_connections(
+            ExtensionContext context) throws Exception {
+        ignoreExceptionOfType(context, IOException.class);
+        CompletableFuture<Boolean> acceptingWhenRunning = new CompletableFuture<>();
+        launch(true, false, true,
+                http -> acceptingWhenRunning.complete(accepts(http.port) && accepts(http.websocketPort)));
+        assertTrue(acceptingWhenRunning.get(5, TimeUnit.SECONDS));
+    }
+
+    @Test
+    void GIVEN_native_transport_is_off_WHEN_page_is_requested_THEN_it_is_served_over_nio() throws Exception {
+        CompletableFuture<String> transport = new CompletableFuture<>();
+        logListener = message -> {
+            if ("Selected httpd transport".equals(message.getMessage())) {
+                transport.complete(message.getContexts().get("transport"));
+            }
+        };
+        addGlobalListener(logListener);
+        SimpleHttpServer http = launch(false, false, false);
+        assertEquals("nio", transport.get(5, TimeUnit.SECONDS));
+
+        HttpURLConnection connection =
+                (HttpURLConnection) new URL("http://localhost:" + http.port + "/index.html").openConnection();
+        connection.setRequestProperty("Authorization", BASIC_AUTHORIZATION);
+        try (InputStream body = connection.getInputStream()) {
+            assertEquals(HttpURLConnection.HTTP_OK, connection.getResponseCode());
+            assertTrue(connection.getContentType().startsWith("text/html"));
+            assertTrue(new String(readAll(body), StandardCharsets.UTF_8).contains("<html"));
+        } finally {
+            connection.disconnect();
+        }
+    }
+
+    @Test
+    void GIVEN_client_negotiates_h2_WHEN_index_is_requested_THEN_it_is_served_on_a_stream() throws Exception {
+        assumeTrue(SslProvider.isAlpnSupported(SslProvider.JDK));
+        SimpleHttpServer http = launch(true, false, true);
+
+        SslContext clientContext = SslContextBuilder.forClient()
+                .trustManager(InsecureTrustManagerFactory.INSTANCE)
+                .ciphers(Http2SecurityUtil.CIPHERS, SupportedCipherSuiteFilter.INSTANCE)
+                .applicationProtocolConfig(new ApplicationProtocolConfig(ApplicationProtocolConfig.Protocol.ALPN,
+                        ApplicationProtocolConfig.SelectorFailureBehavior.NO_ADVERTISE,
+                        ApplicationProtocolConfig.SelectedListenerFailureBehavior.ACCEPT,
+                        ApplicationProtocolNames.HTTP_2))
+                .build();
+        EventLoopGroup group = new NioEventLoopGroup(1);
+        try {
+            Channel channel = new Bootstrap().group(group).channel(NioSocketChannel.class)
+                    .handler(new ChannelInitializer<Channel>() {
+                        @Override
+                        protected void initChannel(Channel ch) {
+                            ch.pipeline().addLast(clientContext.newHandler(ch.alloc(), "localhost", http.port));
+                            ch.pipeline().addLast(Http2FrameCodecBuilder.forClient().build());
+                            // the server doesn't push, so streams which it opens are not handled
+                            ch.pipeline().addLast(new Http2MultiplexHandler(new IgnoredStreams()));
+                        }
+                    }).connect("localhost", http.port).sync().channel();
+            SslHandler ssl = channel.pipeline().get(SslHandler.class);
+            assertTrue(ssl.handshakeFuture().await(5, TimeUnit.SECONDS));
+            assertTrue(ssl.handshakeFuture().isSuccess());
+            assertEquals(ApplicationProtocolNames.HTTP_2, ssl.applicationProtocol());
+            assertTrue(Http2SecurityUtil.CIPHERS.contains(ssl.engine().getSession().getCipherSuite()));
+
+            CompletableFuture<FullHttpResponse> response = new CompletableFuture<>();
+            Http2StreamChannel stream = new Http2StreamChannelBootstrap(channel)
+                    .handler(new ChannelInitializer<Channel>() {
+                        @Override
+                        protected void initChannel(Channel ch) {
+                            ch.pipeline().addLast(new Http2StreamFrameToHttpObjectCodec(false));
+                            ch.pipeline().addLast(new HttpObjectAggregator(4 * 1024 * 1024));
+                            ch.pipeline().addLast(new SimpleChannelInboundHandler<FullHttpResponse>() {
+                                @Override
+                                protected void channelRead0(ChannelHandlerContext ctx, FullHttpResponse msg) {
+                                    response.complete(msg.retain());
+                                }
+                            });
+                        }
+                    }).open().sync().getNow();
+            DefaultFullHttpRequest request =
+                    new DefaultFullHttpRequest(HttpVersion.HTTP_1_1, HttpMethod.GET, "/index.html");
+            request.headers().set(HttpHeaderNames.HOST, "localhost:" + http.port);
+            request.headers().set(HttpHeaderNames.AUTHORIZATION, BASIC_AUTHORIZATION);
+            request.headers().set(HttpConversionUtil.ExtensionHeaderNames.SCHEME.text(), "https");
+            stream.writeAndFlush(request).sync();
+
+            FullHttpResponse page = response.get(5, TimeUnit.SECONDS);
+            try {
+                assertEquals(HttpResponseStatus.OK, page.status());
+                assertTrue(page.headers().get(HttpHeaderNames.CONTENT_TYPE).startsWith("text/html"));
+                assertTrue(page.content().toString(StandardCharsets.UTF_8).contains("<html"));
+            } finally {
+                page.release();
+            }
+            channel.close().sync();
+        } finally {
+            group.shutdownGracefully(0, 0, TimeUnit.SECONDS);
+        }
+    }
+
+    @Test
+    void GIVEN_https_WHEN_websocket_connects_over_tls_THEN_it_shares_the_http2_cipher_suites() throws Exception {
+        SimpleHttpServer http = launch(true, false, true);
+
+        connect(new URI("wss://localhost:" + http.websocketPort));
+        assertTrue(client.getSocket() instanceof SSLSocket);
+        String cipherSuite = ((SSLSocket) client.getSocket()).getSession().getCipherSuite();
+        if (SslProvider.isAlpnSupported(SslProvider.JDK)) {
+            assertTrue(Http2SecurityUtil.CIPHERS.contains(cipherSuite), cipherSuite);
+        }
+    }
+
+    @Test
+    void GIVEN_websocket_on_https_port_WHEN_it_connects_without_alpn_THEN_it_is_upgraded_over_http1()
+            throws Exception {
+        SimpleHttpServer http = launch(true, true, true);
+
+        // the websocket client doesn't offer ALPN, so the server falls back to HTTP/1.1 and upgrades it
+        connect(new URI("wss://localhost:" + http.port + WEBSOCKET_PATH));
+        assertTrue(client.isOpen());
+    }
+
     @Test
     void GIVEN_server_WHEN_authenticate_THEN_cleans_storage(ExtensionContext context) throws IOException {
         ignoreExceptionOfType(context, IOException.class);
@@ -85,6 +390,19 @@ class SimpleHttpServerTest {
         qp("a=b&pause&abc=d=f", "a", "b", "pause", "", "abc", "d=f");
     }
 
+    private static byte[] readAll(InputStream in) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        byte[] buffer = new byte[8192];
+        for (int n = in.read(buffer); n != -1; n = in.read(buffer)) {
+            out.write(buffer, 0, n);
+        }
+        return out.toByteArray();
+    }
+
+    @ChannelHandler.Sharable
+    private static class IgnoredStreams extends ChannelInboundHandlerAdapter {
+    }
+
     private void qp(String q, String... kvs) {
         Map<String, String> m = SimpleHttpServer.parseQuery(q);
         int limit = kvs.length;
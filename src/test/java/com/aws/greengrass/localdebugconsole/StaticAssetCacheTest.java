@@ -0,0 +1,243 @@
+/*
+ * Copyright Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package com.aws.greengrass.localdebugconsole;
+
+import com.aws.greengrass.testcommons.testutilities.GGExtension;
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.ByteBufInputStream;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+import java.util.zip.GZIPInputStream;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@ExtendWith(GGExtension.class)
+class StaticAssetCacheTest {
+    @TempDir
+    Path rootDir;
+
+    private static byte[] bytes(ByteBuf buf) {
+        byte[] bytes = new byte[buf.readableBytes()];
+        buf.readBytes(bytes);
+        buf.release();
+        return bytes;
+    }
+
+    private static byte[] readAll(InputStream in) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        byte[] buf = new byte[4096];
+        int read;
+        while ((read = in.read(buf)) > 0) {
+            out.write(buf, 0, read);
+        }
+        return out.toByteArray();
+    }
+
+    @Test
+    void GIVEN_template_WHEN_served_THEN_only_its_placeholders_are_filled_in() throws IOException {
+        Path frontend = Files.createDirectories(rootDir.resolve("frontend"));
+        Files.write(frontend.resolve("index.html"),
+                "<script>var PORT = %WEBSOCKET_PORT%; var CN = %CHINA_PARTITION%; // 100%</script>"
+                        .getBytes(StandardCharsets.UTF_8));
+        byte[] png = {(byte) 0x89, 'P', 'N', 'G', '%', (byte) 0xff, 0};
+        Files.write(frontend.resolve("logo.png"), png);
+
+        List<String> requested = new ArrayList<>();
+        try (URLClassLoader classLoader = new URLClassLoader(new URL[]{rootDir.toUri().toURL()}, null)) {
+            StaticAssetCache cache = new StaticAssetCache(classLoader, "frontend/", Runnable::run);
+            for (int port = 1; port <= 2; port++) {
+                String value = Integer.toString(port);
+                ByteBuf page = cache.asset("index.html").render(placeholder -> {
+                    requested.add(placeholder);
+                    return StaticAssetCache.WEBSOCKET_PORT.equals(placeholder) ? value : "false";
+                });
+                assertEquals("<script>var PORT = " + port + "; var CN = false; // 100%</script>",
+                        new String(bytes(page), StandardCharsets.UTF_8));
+            }
+            assertEquals(4, requested.size());
+
+            requested.clear();
+            Function<String, String> record = placeholder -> {
+                requested.add(placeholder);
+                return "";
+            };
+            assertArrayEquals(png, bytes(cache.asset("logo.png").render(record)));
+            assertTrue(requested.isEmpty());
+            assertNull(cache.asset("missing.js"));
+
+            // served from memory after the first request
+            Files.delete(frontend.resolve("logo.png"));
+            assertArrayEquals(png, bytes(cache.asset("logo.png").render(record)));
+        }
+    }
+
+    @Test
+    void GIVEN_file_without_placeholders_WHEN_parsed_THEN_it_is_not_a_template() {
+        assertFalse(StaticAssetCache.Asset.parse("a % b %USER% %".getBytes(StandardCharsets.UTF_8)).isTemplate());
+        assertTrue(StaticAssetCache.Asset.parse("%CHINA_PARTITION%".getBytes(StandardCharsets.UTF_8)).isTemplate());
+    }
+
+    @Test
+    void GIVEN_hashed_bundle_WHEN_client_accepts_gzip_THEN_compressed_variant_is_served_with_etag()
+            throws IOException {
+        StringBuilder sb = new StringBuilder();
+        for (int i = 0; i < 1000; i++) {
+            sb.append("console.log(").append(i).append(");\n");
+        }
+        byte[] js = sb.toString().getBytes(StandardCharsets.UTF_8);
+        StaticAssetCache.Asset asset = StaticAssetCache.Asset.load("static/js/main.0123abcd.chunk.js", js, null, null);
+        assertEquals(StaticAssetCache.CACHE_IMMUTABLE, asset.getCacheControl());
+        assertTrue(asset.hasEncodings());
+        // served as is until the compression is done
+        assertNull(asset.select("gzip").getEncoding());
+        asset.compressIn(Runnable::run);
+
+        StaticAssetCache.Representation identity = asset.select("identity");
+        assertNull(identity.getEncoding());
+        StaticAssetCache.Representation gzip = asset.select("deflate, gzip;q=0.8");
+        assertEquals(StaticAssetCache.GZIP, gzip.getEncoding());
+        assertNotEquals(identity.getEtag(), gzip.getEtag());
+        try (InputStream in = new GZIPInputStream(new ByteBufInputStream(gzip.content(), true))) {
+            assertArrayEquals(js, readAll(in));
+        }
+        assertNull(asset.select("gzip;q=0").getEncoding());
+
+        assertEquals(gzip.getEtag(), asset.matchingEtag("\"other\", W/" + gzip.getEtag()));
+        assertEquals(identity.getEtag(), asset.matchingEtag(identity.getEtag()));
+        assertNull(asset.matchingEtag("\"other\""));
+        assertNull(asset.matchingEtag(null));
+    }
+
+    @Test
+    void GIVEN_unhashed_or_template_file_WHEN_loaded_THEN_cache_control_requires_revalidation() {
+        assertEquals(StaticAssetCache.CACHE_REVALIDATE,
+                StaticAssetCache.Asset.load("manifest.json", new byte[10], null, null).getCacheControl());
+        StaticAssetCache.Asset index = StaticAssetCache.Asset.load("index.html",
+                "var PORT = %WEBSOCKET_PORT%;".getBytes(StandardCharsets.UTF_8), null, null);
+        assertEquals(StaticAssetCache.CACHE_NONE, index.getCacheControl());
+        assertNull(index.matchingEtag("*"));
+    }
+
+    @Test
+    void GIVEN_accept_encoding_WHEN_checked_THEN_q_values_and_wildcard_are_honored() {
+        assertTrue(StaticAssetCache.accepts("gzip, deflate, br", "br"));
+        assertTrue(StaticAssetCache.accepts("*", "gzip"));
+        assertFalse(StaticAssetCache.accepts("*, gzip;q=0", "gzip"));
+        assertFalse(StaticAssetCache.accepts("deflate", "gzip"));
+        assertFalse(StaticAssetCache.accepts(null, "gzip"));
+    }
+
+    @Test
+    void GIVEN_other_spellings_of_a_path_WHEN_requested_THEN_they_share_one_entry() throws IOException {
+        Path frontend = Files.createDirectories(rootDir.resolve("frontend"));
+        Files.createDirectories(frontend.resolve("static"));
+        Files.write(frontend.resolve("static/main.js"), "var a;".getBytes(StandardCharsets.UTF_8));
+        Files.write(rootDir.resolve("secret.txt"), "secret".getBytes(StandardCharsets.UTF_8));
+
+        try (URLClassLoader classLoader = new URLClassLoader(new URL[]{rootDir.toUri().toURL()}, null)) {
+            StaticAssetCache cache = new StaticAssetCache(classLoader, "frontend/", Runnable::run);
+            StaticAssetCache.Asset asset = cache.asset("static/main.js");
+            assertSame(asset, cache.asset("./static/main.js"));
+            assertSame(asset, cache.asset("static//main.js"));
+            assertSame(asset, cache.asset("static/x/../main.js"));
+            assertNull(cache.asset("../secret.txt"));
+            assertNull(cache.asset("static/../../secret.txt"));
+        }
+        assertEquals("static/main.js", StaticAssetCache.normalize("/static/./main.js"));
+        assertNull(StaticAssetCache.normalize("."));
+        assertNull(StaticAssetCache.normalize("static\\..\\..\\secret.txt"));
+    }
+
+    @Test
+    void GIVEN_loaded_file_WHEN_requested_again_THEN_it_is_not_looked_up_again() throws IOException {
+        Path frontend = Files.createDirectories(rootDir.resolve("frontend"));
+        Files.write(frontend.resolve("main.js"), "var a;".getBytes(StandardCharsets.UTF_8));
+        for (int i = 0; i < StaticAssetCache.MAX_PATHS; i++) {
+            Files.write(frontend.resolve(i + ".js"), new byte[0]);
+        }
+
+        AtomicInteger lookups = new AtomicInteger();
+        try (URLClassLoader classLoader = new URLClassLoader(new URL[]{rootDir.toUri().toURL()}, null) {
+            @Override
+            public URL getResource(String name) {
+                lookups.incrementAndGet();
+                return super.getResource(name);
+            }
+        }) {
+            StaticAssetCache cache = new StaticAssetCache(classLoader, "frontend/", Runnable::run);
+            StaticAssetCache.Asset asset = cache.asset("main.js");
+            int loadLookups = lookups.get();
+            assertSame(asset, cache.asset("main.js"));
+            assertSame(asset, cache.asset("/./main.js"));
+            assertSame(asset, cache.asset("x/../main.js"));
+            assertEquals(loadLookups, lookups.get());
+
+            // the least recently requested path is forgotten, but the file stays loaded
+            for (int i = 0; i < StaticAssetCache.MAX_PATHS; i++) {
+                cache.asset(i + ".js");
+            }
+            lookups.set(0);
+            assertSame(asset, cache.asset("main.js"));
+            assertEquals(1, lookups.get());
+        }
+    }
+
+    @Test
+    void GIVEN_large_file_on_disk_WHEN_loaded_THEN_it_is_sent_from_the_file() throws IOException {
+        Path frontend = Files.createDirectories(rootDir.resolve("frontend"));
+        byte[] js = new byte[(int) StaticAssetCache.MIN_FILE_REGION_BYTES];
+        Arrays.fill(js, (byte) 'a');
+        Files.write(frontend.resolve("main.js"), js);
+        byte[] html = Arrays.copyOf(js, js.length + StaticAssetCache.WEBSOCKET_PORT.length());
+        System.arraycopy(StaticAssetCache.WEBSOCKET_PORT.getBytes(StandardCharsets.UTF_8), 0, html, js.length,
+                StaticAssetCache.WEBSOCKET_PORT.length());
+        Files.write(frontend.resolve("index.html"), html);
+
+        try (URLClassLoader classLoader = new URLClassLoader(new URL[]{rootDir.toUri().toURL()}, null)) {
+            StaticAssetCache cache = new StaticAssetCache(classLoader, "frontend/", Runnable::run);
+            StaticAssetCache.Representation identity = cache.asset("main.js").select(null);
+            assertEquals(frontend.resolve("main.js"), identity.getFile());
+            assertEquals(js.length, identity.getLength());
+            // same ETag as if the file was held in memory
+            assertEquals(StaticAssetCache.Asset.load("main.js", js, null, null).select(null).getEtag(),
+                    identity.getEtag());
+            // the compressed variant is sent from a temporary file as well
+            StaticAssetCache.Representation gzip = cache.asset("main.js").select("gzip");
+            assertEquals("gzip", gzip.getEncoding());
+            assertNotNull(gzip.getFile());
+            assertNotEquals(identity.getFile(), gzip.getFile());
+            assertEquals(Files.size(gzip.getFile()), gzip.getLength());
+            try (InputStream in = new GZIPInputStream(gzip.open())) {
+                assertArrayEquals(js, readAll(in));
+            }
+
+            // templates are always filled in from memory
+            assertTrue(cache.asset("index.html").isTemplate());
+        }
+    }
+}
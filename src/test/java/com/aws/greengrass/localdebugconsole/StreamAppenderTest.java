@@ -0,0 +1,246 @@
+/*
+ * Copyright Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package com.aws.greengrass.localdebugconsole;
+
+import com.amazonaws.greengrass.streammanager.client.exception.StreamManagerException;
+import com.aws.greengrass.lifecyclemanager.Kernel;
+import com.aws.greengrass.localdebugconsole.messageutils.StreamAppendProgress;
+import com.aws.greengrass.localdebugconsole.messageutils.StreamAppendRequest;
+import com.aws.greengrass.logging.impl.LogManager;
+import com.aws.greengrass.testcommons.testutilities.GGExtension;
+import org.java_websocket.WebSocket;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(GGExtension.class)
+class StreamAppenderTest {
+    private static final String STREAM = "telemetry";
+
+    private final StreamManagerHelper streamManager = mock(StreamManagerHelper.class);
+    private final WebSocket conn = mock(WebSocket.class);
+    private final ExecutorService executor = Executors.newSingleThreadExecutor();
+    private final BlockingQueue<StreamAppendProgress> pushed = new LinkedBlockingQueue<>();
+    private final List<byte[]> appended = new ArrayList<>();
+    // every reading of the clock is 100 ms later
+    private final AtomicLong nanos = new AtomicLong();
+    private int progressPushes;
+
+    @BeforeEach
+    void beforeEach() throws Exception {
+        when(conn.isOpen()).thenReturn(true);
+        doAnswer(invocation -> appended.add(invocation.getArgument(1))).when(streamManager)
+                .appendMessage(eq(STREAM), any());
+    }
+
+    @AfterEach
+    void afterEach() {
+        executor.shutdownNow();
+    }
+
+    private StreamAppender appender() {
+        return appender(executor);
+    }
+
+    private StreamAppender appender(ExecutorService executor) {
+        return new StreamAppender(streamManager, executor, LogManager.getLogger(Kernel.class),
+                (c, progress) -> pushed.add(progress),
+                () -> nanos.addAndGet(TimeUnit.MILLISECONDS.toNanos(100)));
+    }
+
+    private StreamAppendProgress start(StreamAppender appender, StreamAppendRequest request) {
+        return start(appender, conn, request);
+    }
+
+    private static StreamAppendProgress start(StreamAppender appender, WebSocket conn, StreamAppendRequest request) {
+        List<StreamAppendProgress> response = new ArrayList<>();
+        appender.start(conn, request, response::add);
+        assertEquals(1, response.size());
+        return response.get(0);
+    }
+
+    private StreamAppendProgress awaitDone() throws InterruptedException {
+        while (true) {
+            StreamAppendProgress progress = pushed.poll(5, TimeUnit.SECONDS);
+            assertNotNull(progress);
+            if (progress.isDone()) {
+                return progress;
+            }
+            progressPushes++;
+        }
+    }
+
+    @Test
+    void GIVEN_payloads_WHEN_appended_THEN_they_are_appended_in_order_as_utf8_and_throughput_is_reported()
+            throws Exception {
+        StreamAppender appender = appender();
+        StreamAppendProgress response =
+                start(appender, new StreamAppendRequest(STREAM, new String[]{"a", "ü", "c"}, 0, 0, null));
+        assertTrue(response.isSuccessful());
+        assertNotNull(response.getJobId());
+        assertEquals(3, response.getTotal());
+
+        StreamAppendProgress done = awaitDone();
+        assertTrue(done.isSuccessful());
+        assertEquals(response.getJobId(), done.getJobId());
+        assertEquals(3, done.getAppended());
+        assertEquals(4, done.getBytes());
+        assertTrue(done.getMessagesPerSecond() > 0);
+        assertTrue(done.getBytesPerSecond() > 0);
+        assertEquals(3, appended.size());
+        assertArrayEquals("ü".getBytes(StandardCharsets.UTF_8), appended.get(1));
+        assertEquals(0, appender.getJobCount());
+    }
+
+    @Test
+    void GIVEN_generator_spec_WHEN_appended_THEN_payloads_are_made_from_the_template() throws Exception {
+        StreamAppender appender = appender();
+        start(appender, new StreamAppendRequest(STREAM, null, 20, 8, "m{seq}"));
+
+        StreamAppendProgress done = awaitDone();
+        assertEquals(20, done.getAppended());
+        assertEquals(160, done.getBytes());
+        assertEquals("m0xxxxxx", new String(appended.get(0), StandardCharsets.UTF_8));
+        assertEquals("m19xxxxx", new String(appended.get(19), StandardCharsets.UTF_8));
+        // the clock passes the progress interval every few messages
+        assertTrue(progressPushes > 0);
+
+        assertEquals("long", new String(StreamAppender.generate(new StreamAppendRequest(STREAM, null, 1, 4,
+                "longer"), 0), StandardCharsets.UTF_8));
+    }
+
+    @Test
+    void GIVEN_invalid_request_WHEN_started_THEN_it_fails_without_a_job() {
+        StreamAppender appender = appender();
+        assertFalse(start(appender, new StreamAppendRequest(STREAM, null, 0, 0, "m")).isSuccessful());
+        assertFalse(start(appender, new StreamAppendRequest(STREAM, null,
+                StreamAppender.MAX_MESSAGES_PER_JOB + 1, 0, "m")).isSuccessful());
+        assertFalse(start(appender, new StreamAppendRequest(STREAM, null, 1,
+                StreamAppender.MAX_GENERATED_BYTES + 1, "m")).isSuccessful());
+        assertFalse(start(appender, new StreamAppendRequest(null, new String[]{"a"}, 0, 0, null)).isSuccessful());
+        assertEquals(0, appender.getJobCount());
+    }
+
+    @Test
+    void GIVEN_running_job_WHEN_stopped_THEN_it_is_done_early() throws Exception {
+        CountDownLatch appending = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        doAnswer(invocation -> {
+            appending.countDown();
+            release.await();
+            return null;
+        }).when(streamManager).appendMessage(eq(STREAM), any());
+        StreamAppender appender = appender();
+        StreamAppendProgress response = start(appender, new StreamAppendRequest(STREAM, null, 1000, 0, "m"));
+        assertTrue(appending.await(5, TimeUnit.SECONDS));
+
+        // only the connection which started the job can stop it
+        assertFalse(appender.stop(mock(WebSocket.class), response.getJobId()));
+        assertTrue(appender.stop(conn, response.getJobId()));
+        release.countDown();
+        StreamAppendProgress done = awaitDone();
+        assertTrue(done.isSuccessful());
+        assertEquals(1, done.getAppended());
+    }
+
+    @Test
+    void GIVEN_running_job_WHEN_the_connection_starts_another_THEN_it_is_rejected() throws Exception {
+        CountDownLatch appending = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        doAnswer(invocation -> {
+            appending.countDown();
+            release.await();
+            return null;
+        }).when(streamManager).appendMessage(eq(STREAM), any());
+        StreamAppender appender = appender();
+        assertTrue(start(appender, new StreamAppendRequest(STREAM, null, 1, 0, "m")).isSuccessful());
+        assertTrue(appending.await(5, TimeUnit.SECONDS));
+
+        StreamAppendProgress rejected = start(appender, new StreamAppendRequest(STREAM, null, 1, 0, "m"));
+        assertFalse(rejected.isSuccessful());
+        assertNotNull(rejected.getErrorMsg());
+        assertEquals(1, appender.getJobCount());
+
+        release.countDown();
+        assertTrue(awaitDone().isSuccessful());
+        // once the job is done the connection may start the next one
+        assertTrue(start(appender, new StreamAppendRequest(STREAM, null, 1, 0, "m")).isSuccessful());
+        assertTrue(awaitDone().isSuccessful());
+    }
+
+    @Test
+    void GIVEN_full_queue_WHEN_another_connection_starts_a_job_THEN_it_is_done_with_an_error() throws Exception {
+        CountDownLatch appending = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        doAnswer(invocation -> {
+            appending.countDown();
+            release.await();
+            return null;
+        }).when(streamManager).appendMessage(eq(STREAM), any());
+        ExecutorService bounded = new ThreadPoolExecutor(1, 1, 0, TimeUnit.MILLISECONDS, new ArrayBlockingQueue<>(1));
+        try {
+            StreamAppender appender = appender(bounded);
+            WebSocket waiting = mock(WebSocket.class);
+            when(waiting.isOpen()).thenReturn(true);
+            WebSocket overflowing = mock(WebSocket.class);
+            start(appender, new StreamAppendRequest(STREAM, null, 1, 0, "m"));
+            assertTrue(appending.await(5, TimeUnit.SECONDS));
+            start(appender, waiting, new StreamAppendRequest(STREAM, null, 1, 0, "m"));
+
+            StreamAppendProgress accepted =
+                    start(appender, overflowing, new StreamAppendRequest(STREAM, null, 1, 0, "m"));
+            StreamAppendProgress done = pushed.poll(5, TimeUnit.SECONDS);
+            assertNotNull(done);
+            assertEquals(accepted.getJobId(), done.getJobId());
+            assertTrue(done.isDone());
+            assertFalse(done.isSuccessful());
+            assertEquals(0, done.getAppended());
+            assertEquals(2, appender.getJobCount());
+            release.countDown();
+        } finally {
+            bounded.shutdownNow();
+        }
+    }
+
+    @Test
+    void GIVEN_stream_manager_fails_WHEN_appending_THEN_error_is_reported_with_progress() throws Exception {
+        doThrow(StreamManagerException.class).when(streamManager).appendMessage(eq(STREAM), any());
+        StreamAppender appender = appender();
+        start(appender, new StreamAppendRequest(STREAM, new String[]{"a", "b"}, 0, 0, null));
+
+        StreamAppendProgress done = awaitDone();
+        assertFalse(done.isSuccessful());
+        assertNotNull(done.getErrorMsg());
+        assertEquals(0, done.getAppended());
+        assertEquals(2, done.getTotal());
+    }
+}
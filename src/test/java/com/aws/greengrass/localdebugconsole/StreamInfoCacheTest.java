@@ -0,0 +1,103 @@
+/*
+ * Copyright Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package com.aws.greengrass.localdebugconsole;
+
+import com.amazonaws.greengrass.streammanager.client.exception.StreamManagerException;
+import com.aws.greengrass.testcommons.testutilities.GGExtension;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@ExtendWith(GGExtension.class)
+class StreamInfoCacheTest {
+    private final AtomicLong nanos = new AtomicLong();
+    private final AtomicInteger loads = new AtomicInteger();
+    private final ExecutorService executor = Executors.newFixedThreadPool(4);
+
+    @AfterEach
+    void afterEach() {
+        executor.shutdownNow();
+    }
+
+    private String load() {
+        return "value" + loads.incrementAndGet();
+    }
+
+    @Test
+    void GIVEN_cached_value_WHEN_time_to_live_passes_THEN_it_is_loaded_again() throws Exception {
+        StreamInfoCache<String> cache = new StreamInfoCache<>(1000, nanos::get);
+        assertEquals("value1", cache.get("a", this::load));
+        nanos.set(TimeUnit.MILLISECONDS.toNanos(999));
+        assertEquals("value1", cache.get("a", this::load));
+        assertEquals("value2", cache.get("b", this::load));
+
+        nanos.set(TimeUnit.MILLISECONDS.toNanos(1000));
+        assertEquals("value3", cache.get("a", this::load));
+        assertEquals(1, cache.getHits());
+        assertEquals(3, cache.getMisses());
+
+        // the console changed the stream itself
+        cache.invalidate("a");
+        assertEquals("value4", cache.get("a", this::load));
+    }
+
+    @Test
+    void GIVEN_load_in_flight_WHEN_same_key_is_requested_THEN_callers_share_the_load() throws Exception {
+        StreamInfoCache<String> cache = new StreamInfoCache<>(0, System::nanoTime);
+        CountDownLatch loading = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        Future<String> first = executor.submit(() -> cache.get("a", () -> {
+            loading.countDown();
+            try {
+                release.await();
+            } catch (InterruptedException e) {
+                throw new StreamManagerException(e);
+            }
+            return load();
+        }));
+        assertTrue(loading.await(5, TimeUnit.SECONDS));
+
+        List<Future<String>> waiting = new ArrayList<>();
+        for (int i = 0; i < 3; i++) {
+            waiting.add(executor.submit(() -> cache.get("a", this::load)));
+        }
+        // give the waiting callers time to join the load
+        Thread.sleep(200);
+        release.countDown();
+
+        assertEquals("value1", first.get(5, TimeUnit.SECONDS));
+        for (Future<String> future : waiting) {
+            assertEquals("value1", future.get(5, TimeUnit.SECONDS));
+        }
+        assertEquals(1, loads.get());
+
+        // without a time to live the next call loads again
+        assertEquals("value2", cache.get("a", this::load));
+    }
+
+    @Test
+    void GIVEN_failed_load_WHEN_requested_again_THEN_failure_is_not_cached() throws Exception {
+        StreamInfoCache<String> cache = new StreamInfoCache<>(1000, nanos::get);
+        assertThrows(StreamManagerException.class, () -> cache.get("a", () -> {
+            throw new StreamManagerException("unavailable");
+        }));
+        assertEquals("value1", cache.get("a", this::load));
+    }
+}
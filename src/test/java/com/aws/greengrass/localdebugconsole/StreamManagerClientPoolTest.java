@@ -0,0 +1,131 @@
+/*
+ * Copyright Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package com.aws.greengrass.localdebugconsole;
+
+import com.amazonaws.greengrass.streammanager.client.StreamManagerClient;
+import com.amazonaws.greengrass.streammanager.client.exception.ClientClosedException;
+import com.amazonaws.greengrass.streammanager.client.exception.StreamManagerException;
+import com.aws.greengrass.lifecyclemanager.Kernel;
+import com.aws.greengrass.logging.impl.LogManager;
+import com.aws.greengrass.testcommons.testutilities.GGExtension;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(GGExtension.class)
+class StreamManagerClientPoolTest {
+    // probes are run by the tests themselves
+    private static final long NO_PROBES = TimeUnit.HOURS.toMillis(1);
+
+    private final ScheduledExecutorService ses = Executors.newSingleThreadScheduledExecutor();
+    private final ExecutorService callers = Executors.newCachedThreadPool();
+
+    @AfterEach
+    void afterEach() {
+        ses.shutdownNow();
+        callers.shutdownNow();
+    }
+
+    @Test
+    void GIVEN_closed_client_WHEN_called_THEN_call_is_retried_with_a_new_client() throws Exception {
+        StreamManagerClient dead = mock(StreamManagerClient.class);
+        when(dead.listStreams()).thenThrow(ClientClosedException.class);
+        StreamManagerClient alive = mock(StreamManagerClient.class);
+        when(alive.listStreams()).thenReturn(Collections.singletonList("stream"));
+        StreamManagerClient[] created = {dead, alive};
+        int[] next = {0};
+        StreamManagerClientPool pool = new StreamManagerClientPool(() -> created[next[0]++], 1, ses, NO_PROBES,
+                LogManager.getLogger(Kernel.class));
+
+        assertEquals(Collections.singletonList("stream"), pool.call(StreamManagerClient::listStreams));
+        verify(dead).close();
+        assertEquals(2, pool.getConnects());
+        assertEquals(1, pool.getIdleClients());
+        assertEquals(0, pool.getClientsInUse());
+
+        // the healthy client is reused
+        pool.call(StreamManagerClient::listStreams);
+        assertEquals(2, pool.getConnects());
+        pool.close();
+        verify(alive).close();
+        assertThrows(StreamManagerException.class, () -> pool.call(StreamManagerClient::listStreams));
+    }
+
+    @Test
+    void GIVEN_concurrent_calls_WHEN_called_THEN_each_call_has_its_own_client() throws Exception {
+        StreamManagerClientPool pool = new StreamManagerClientPool(() -> mock(StreamManagerClient.class), 2, ses,
+                NO_PROBES, LogManager.getLogger(Kernel.class));
+        Set<StreamManagerClient> used = ConcurrentHashMap.newKeySet();
+        CountDownLatch bothRunning = new CountDownLatch(2);
+        CountDownLatch release = new CountDownLatch(1);
+        StreamManagerClientPool.ClientCall<List<String>> blockingCall = client -> {
+            used.add(client);
+            bothRunning.countDown();
+            try {
+                release.await();
+            } catch (InterruptedException e) {
+                throw new StreamManagerException(e);
+            }
+            return Collections.emptyList();
+        };
+        Future<?> first = callers.submit(() -> pool.call(blockingCall));
+        Future<?> second = callers.submit(() -> pool.call(blockingCall));
+
+        assertTrue(bothRunning.await(5, TimeUnit.SECONDS));
+        assertEquals(2, used.size());
+        assertEquals(2, pool.getClientsInUse());
+        release.countDown();
+        first.get(5, TimeUnit.SECONDS);
+        second.get(5, TimeUnit.SECONDS);
+        assertEquals(2, pool.getIdleClients());
+        pool.close();
+    }
+
+    @Test
+    void GIVEN_dead_idle_client_WHEN_probed_THEN_it_is_dropped_and_the_next_call_connects() throws Exception {
+        StreamManagerClient dead = mock(StreamManagerClient.class);
+        StreamManagerClient alive = mock(StreamManagerClient.class);
+        StreamManagerClient[] created = {dead, alive};
+        int[] next = {0};
+        StreamManagerClientPool pool = new StreamManagerClientPool(() -> created[next[0]++], 1, ses, NO_PROBES,
+                LogManager.getLogger(Kernel.class));
+        // an empty pool is not filled by probes, so a device without Stream Manager doesn't try to connect
+        pool.probe();
+        assertEquals(0, pool.getConnects());
+        assertEquals(0, pool.getIdleClients());
+
+        pool.call(StreamManagerClient::listStreams);
+        assertEquals(1, pool.getIdleClients());
+        when(dead.listStreams()).thenThrow(ClientClosedException.class);
+        pool.probe();
+        assertEquals(1, pool.getProbeFailures());
+        verify(dead).close();
+        assertEquals(0, pool.getIdleClients());
+        assertEquals(1, pool.getConnects());
+
+        assertEquals(alive, pool.call(client -> client));
+        assertEquals(2, pool.getConnects());
+        pool.close();
+    }
+}
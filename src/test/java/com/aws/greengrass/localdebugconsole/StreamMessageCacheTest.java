@@ -0,0 +1,171 @@
+/*
+ * Copyright Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package com.aws.greengrass.localdebugconsole;
+
+import com.amazonaws.greengrass.streammanager.client.exception.StreamManagerException;
+import com.amazonaws.greengrass.streammanager.model.Message;
+import com.aws.greengrass.testcommons.testutilities.GGExtension;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(GGExtension.class)
+class StreamMessageCacheTest {
+    private static final String STREAM = "telemetry";
+
+    // serves any range of an endless stream with payloads of 10 bytes
+    private final List<long[]> reads = new ArrayList<>();
+    private final StreamMessageCache.Reader reader = (streamName, start, min, max, timeout) -> {
+        reads.add(new long[]{start, max, timeout});
+        return messages(start, start + max - 1);
+    };
+    private final ExecutorService executor = Executors.newSingleThreadExecutor();
+
+    @AfterEach
+    void afterEach() {
+        executor.shutdownNow();
+    }
+
+    private static List<Message> messages(long from, long to) {
+        List<Message> messages = new ArrayList<>();
+        for (long i = from; i <= to; i++) {
+            Message message = mock(Message.class);
+            when(message.getSequenceNumber()).thenReturn(i);
+            when(message.getPayload()).thenReturn(new byte[10]);
+            messages.add(message);
+        }
+        return messages;
+    }
+
+    private static long first(List<Message> messages) {
+        return messages.get(0).getSequenceNumber();
+    }
+
+    @Test
+    void GIVEN_two_viewers_WHEN_they_read_the_same_range_THEN_stream_manager_reads_it_once() throws Exception {
+        StreamMessageCache cache = new StreamMessageCache();
+        List<Message> first = cache.read(reader, STREAM, 0, 1, 10, 1000, false);
+        List<Message> second = cache.read(reader, STREAM, 0, 1, 10, 1000, false);
+
+        assertEquals(first, second);
+        assertEquals(1, reads.size());
+        assertEquals(1, cache.getHits());
+        assertEquals(1, cache.getMisses());
+
+        // another stream is buffered separately
+        cache.read(reader, "other", 0, 1, 10, 1000, false);
+        assertEquals(2, reads.size());
+    }
+
+    @Test
+    void GIVEN_range_partly_buffered_WHEN_read_THEN_only_the_rest_is_read() throws Exception {
+        StreamMessageCache cache = new StreamMessageCache();
+        cache.read(reader, STREAM, 0, 1, 10, 1000, false);
+
+        List<Message> result = cache.read(reader, STREAM, 5, 1, 10, 1000, false);
+        assertEquals(10, result.size());
+        assertEquals(5, first(result));
+        assertEquals(10, reads.get(1)[0]);
+        assertEquals(5, reads.get(1)[1]);
+        // the buffer already had the minimum, so the rest is not waited for
+        assertEquals(0, reads.get(1)[2]);
+
+        // a tail takes what is buffered without waiting for more
+        result = cache.read(reader, STREAM, 12, 1, 100, 1000, true);
+        assertEquals(3, result.size());
+        assertEquals(2, reads.size());
+    }
+
+    @Test
+    void GIVEN_bounded_buffer_WHEN_more_is_read_THEN_oldest_messages_are_dropped() throws Exception {
+        StreamMessageCache cache = new StreamMessageCache(4, 1024);
+        cache.read(reader, STREAM, 0, 1, 10, 1000, false);
+
+        cache.read(reader, STREAM, 6, 1, 4, 1000, false);
+        assertEquals(1, reads.size());
+        cache.read(reader, STREAM, 5, 1, 1, 1000, false);
+        assertEquals(2, reads.size());
+
+        // payload bytes are bounded too, 3 messages of 10 bytes fit into 35 bytes
+        StreamMessageCache small = new StreamMessageCache(100, 35);
+        small.read(reader, STREAM, 0, 1, 10, 1000, false);
+        small.read(reader, STREAM, 7, 1, 3, 1000, false);
+        assertEquals(3, reads.size());
+        small.read(reader, STREAM, 6, 1, 1, 1000, false);
+        assertEquals(4, reads.size());
+    }
+
+    @Test
+    void GIVEN_buffer_reaches_newest_message_WHEN_read_THEN_stream_manager_is_not_asked_for_more() throws Exception {
+        // the stream ends at 9, so a read returns fewer messages than asked for
+        StreamMessageCache.Reader shortReader = (streamName, start, min, max, timeout) -> {
+            reads.add(new long[]{start, max, timeout});
+            return messages(start, Math.min(9, start + max - 1));
+        };
+        StreamMessageCache cache = new StreamMessageCache();
+        assertEquals(10, cache.read(shortReader, STREAM, 0, 1, 20, 1000, false).size());
+
+        List<Message> result = cache.read(shortReader, STREAM, 5, 1, 20, 1000, false);
+        assertEquals(5, result.size());
+        assertEquals(1, reads.size());
+        assertEquals(1, cache.getHits());
+
+        // an append moves the newest message past the buffer, so the rest is read again
+        cache.noteNewest(STREAM, 10);
+        cache.read(shortReader, STREAM, 5, 1, 20, 1000, false);
+        assertEquals(2, reads.size());
+    }
+
+    @Test
+    void GIVEN_read_waiting_for_new_messages_WHEN_buffered_range_is_read_THEN_it_does_not_wait() throws Exception {
+        StreamMessageCache cache = new StreamMessageCache();
+        cache.read(reader, STREAM, 0, 1, 10, 1000, false);
+        CountDownLatch waiting = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        Future<List<Message>> tail = executor.submit(() -> cache.read((streamName, start, min, max, timeout) -> {
+            waiting.countDown();
+            try {
+                release.await();
+            } catch (InterruptedException e) {
+                throw new StreamManagerException(e);
+            }
+            return messages(start, start);
+        }, STREAM, 10, 1, 10, 1000, true));
+        assertTrue(waiting.await(5, TimeUnit.SECONDS));
+
+        assertEquals(10, cache.read(reader, STREAM, 0, 1, 10, 1000, false).size());
+        assertFalse(tail.isDone());
+        release.countDown();
+        assertEquals(10, first(tail.get(5, TimeUnit.SECONDS)));
+        // what the waiting read returned was merged into the buffer
+        assertEquals(11, cache.read(reader, STREAM, 0, 1, 11, 1000, false).size());
+        assertEquals(1, reads.size());
+    }
+
+    @Test
+    void GIVEN_deleted_stream_WHEN_read_again_THEN_buffer_is_not_used() throws Exception {
+        StreamMessageCache cache = new StreamMessageCache();
+        cache.read(reader, STREAM, 0, 1, 10, 1000, false);
+        cache.invalidate(STREAM);
+        cache.read(reader, STREAM, 0, 1, 10, 1000, false);
+        assertEquals(2, reads.size());
+        assertEquals(0, cache.getHits());
+    }
+}
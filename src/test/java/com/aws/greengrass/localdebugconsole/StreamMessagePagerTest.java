@@ -0,0 +1,128 @@
+/*
+ * Copyright Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package com.aws.greengrass.localdebugconsole;
+
+import com.amazonaws.greengrass.streammanager.model.Message;
+import com.amazonaws.greengrass.streammanager.model.MessageStreamInfo;
+import com.aws.greengrass.localdebugconsole.messageutils.StreamMessageSummary;
+import com.aws.greengrass.localdebugconsole.messageutils.StreamMessagesPage;
+import com.aws.greengrass.localdebugconsole.messageutils.StreamMessagesRequest;
+import com.aws.greengrass.testcommons.testutilities.GGExtension;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.RETURNS_DEEP_STUBS;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(GGExtension.class)
+class StreamMessagePagerTest {
+    private static final String STREAM = "telemetry";
+
+    private final StreamManagerHelper streamManager = mock(StreamManagerHelper.class);
+
+    @BeforeEach
+    void beforeEach() throws Exception {
+        // messages 0 to 9, each payload is 1000 bytes of its sequence number
+        MessageStreamInfo info = mock(MessageStreamInfo.class, RETURNS_DEEP_STUBS);
+        when(info.getStorageStatus().getNewestSequenceNumber()).thenReturn(9L);
+        when(info.getStorageStatus().getOldestSequenceNumber()).thenReturn(0L);
+        when(streamManager.describeStream(STREAM)).thenReturn(info);
+        when(streamManager.readMessages(eq(STREAM), anyLong(), anyLong(), anyLong(), anyLong())).thenAnswer(
+                invocation -> messages(invocation.getArgument(1), invocation.getArgument(3)));
+    }
+
+    private static List<Message> messages(long from, long count) {
+        List<Message> messages = new ArrayList<>();
+        for (long i = from; i < from + count && i <= 9; i++) {
+            Message message = mock(Message.class);
+            when(message.getSequenceNumber()).thenReturn(i);
+            when(message.getIngestTime()).thenReturn(1000 + i);
+            byte[] payload = new byte[1000];
+            Arrays.fill(payload, (byte) i);
+            when(message.getPayload()).thenReturn(payload);
+            messages.add(message);
+        }
+        return messages;
+    }
+
+    private static long[] sequenceNumbers(StreamMessagesPage page) {
+        long[] result = new long[page.getMessages().length];
+        for (int i = 0; i < result.length; i++) {
+            result[i] = page.getMessages()[i].getSequenceNumber();
+        }
+        return result;
+    }
+
+    @Test
+    void GIVEN_newest_first_WHEN_pages_are_read_THEN_cursor_walks_back_to_the_oldest_message() throws Exception {
+        StreamMessagePager pager = new StreamMessagePager(streamManager);
+        StreamMessagesPage page = pager.read(new StreamMessagesRequest(STREAM, null, 4, 0, null, true));
+        assertTrue(page.isSuccessful());
+        assertArrayEquals(new long[]{9, 8, 7, 6}, sequenceNumbers(page));
+        assertNotNull(page.getNextCursor());
+
+        page = pager.read(new StreamMessagesRequest(STREAM, null, 4, 0, page.getNextCursor(), true));
+        assertArrayEquals(new long[]{5, 4, 3, 2}, sequenceNumbers(page));
+        page = pager.read(new StreamMessagesRequest(STREAM, null, 4, 0, page.getNextCursor(), true));
+        assertArrayEquals(new long[]{1, 0}, sequenceNumbers(page));
+        assertNull(page.getNextCursor());
+    }
+
+    @Test
+    void GIVEN_oldest_first_with_start_WHEN_pages_are_read_THEN_cursor_walks_forward_to_the_newest_message()
+            throws Exception {
+        StreamMessagePager pager = new StreamMessagePager(streamManager);
+        StreamMessagesPage page = pager.read(new StreamMessagesRequest(STREAM, 3L, 5, 0, null, false));
+        assertArrayEquals(new long[]{3, 4, 5, 6, 7}, sequenceNumbers(page));
+        page = pager.read(new StreamMessagesRequest(STREAM, null, 5, 0, page.getNextCursor(), false));
+        assertArrayEquals(new long[]{8, 9}, sequenceNumbers(page));
+        assertNull(page.getNextCursor());
+    }
+
+    @Test
+    void GIVEN_large_payloads_WHEN_page_is_read_THEN_only_previews_are_returned() throws Exception {
+        StreamMessagePager pager = new StreamMessagePager(streamManager);
+        StreamMessageSummary summary =
+                pager.read(new StreamMessagesRequest(STREAM, 5L, 1, 16, null, true)).getMessages()[0];
+        assertEquals(5, summary.getSequenceNumber());
+        assertEquals(1005L, summary.getIngestTime());
+        assertEquals(1000, summary.getSize());
+        assertEquals(16, summary.getPreview().length);
+        assertEquals(5, summary.getPreview()[0]);
+        assertTrue(summary.isTruncated());
+
+        summary = pager.read(new StreamMessagesRequest(STREAM, 5L, 1, 2000, null, true)).getMessages()[0];
+        assertEquals(1000, summary.getPreview().length);
+        assertFalse(summary.isTruncated());
+    }
+
+    @Test
+    void GIVEN_bad_cursor_WHEN_page_is_read_THEN_request_fails() throws Exception {
+        StreamMessagePager pager = new StreamMessagePager(streamManager);
+        assertFalse(pager.read(new StreamMessagesRequest(STREAM, null, 4, 0, "not a cursor", true)).isSuccessful());
+
+        // a cursor only continues the listing it came from
+        String cursor = pager.read(new StreamMessagesRequest(STREAM, null, 4, 0, null, true)).getNextCursor();
+        StreamMessagesPage page = pager.read(new StreamMessagesRequest(STREAM, null, 4, 0, cursor, false));
+        assertFalse(page.isSuccessful());
+        assertEquals("Invalid cursor", page.getErrorMsg());
+        assertFalse(pager.read(new StreamMessagesRequest("other", null, 4, 0, cursor, true)).isSuccessful());
+    }
+}
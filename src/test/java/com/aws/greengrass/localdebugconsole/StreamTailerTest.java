@@ -0,0 +1,166 @@
+/*
+ * Copyright Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package com.aws.greengrass.localdebugconsole;
+
+import com.amazonaws.greengrass.streammanager.client.exception.NotEnoughMessagesException;
+import com.amazonaws.greengrass.streammanager.client.exception.StreamManagerException;
+import com.amazonaws.greengrass.streammanager.model.Message;
+import com.amazonaws.greengrass.streammanager.model.MessageStreamInfo;
+import com.aws.greengrass.localdebugconsole.messageutils.StreamMessageBatch;
+import com.aws.greengrass.lifecyclemanager.Kernel;
+import com.aws.greengrass.logging.impl.LogManager;
+import com.aws.greengrass.testcommons.testutilities.GGExtension;
+import org.java_websocket.WebSocket;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.RETURNS_DEEP_STUBS;
+import static org.mockito.Mockito.atLeastOnce;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.doReturn;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.timeout;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(GGExtension.class)
+class StreamTailerTest {
+    private static final String STREAM = "telemetry";
+
+    private final StreamManagerHelper streamManager = mock(StreamManagerHelper.class);
+    private final WebSocket conn = mock(WebSocket.class);
+
+    private final ScheduledExecutorService ses = Executors.newSingleThreadScheduledExecutor();
+    private final BlockingQueue<StreamMessageBatch> pushed = new LinkedBlockingQueue<>();
+
+    @AfterEach
+    void afterEach() {
+        ses.shutdownNow();
+    }
+
+    private StreamTailer tailer() {
+        return new StreamTailer(streamManager, ses, LogManager.getLogger(Kernel.class),
+                (c, batch) -> pushed.add(batch));
+    }
+
+    private static List<Message> messages(long from, long to) {
+        List<Message> messages = new ArrayList<>();
+        for (long i = from; i <= to; i++) {
+            Message message = mock(Message.class);
+            when(message.getSequenceNumber()).thenReturn(i);
+            messages.add(message);
+        }
+        return messages;
+    }
+
+    @Test
+    void GIVEN_new_subscription_WHEN_stream_has_messages_THEN_newest_are_pushed_and_cursor_advances()
+            throws Exception {
+        MessageStreamInfo info = mock(MessageStreamInfo.class, RETURNS_DEEP_STUBS);
+        when(info.getStorageStatus().getNewestSequenceNumber()).thenReturn(20L);
+        when(info.getStorageStatus().getOldestSequenceNumber()).thenReturn(0L);
+        when(streamManager.describeStream(STREAM)).thenReturn(info);
+        when(streamManager.tailMessages(anyString(), anyLong(), anyLong(), anyLong()))
+                .thenThrow(NotEnoughMessagesException.class);
+        List<Message> newest = messages(11, 20);
+        // stubbed after the catch-all so that it takes precedence
+        doReturn(newest).when(streamManager)
+                .tailMessages(eq(STREAM), eq(11L), anyLong(), eq(StreamTailer.POLL_TIMEOUT_MILLIS));
+
+        StreamTailer tailer = tailer();
+        tailer.subscribe(conn, STREAM, null);
+        StreamMessageBatch batch = pushed.poll(5, TimeUnit.SECONDS);
+        assertNotNull(batch);
+        assertEquals(STREAM, batch.getStreamName());
+        assertEquals(newest, batch.getMessages());
+        assertEquals(21L, batch.getNextSequenceNumber());
+        assertNull(batch.getErrorMsg());
+
+        // the following reads wait for messages after the ones which were pushed
+        verify(streamManager, timeout(5000).atLeastOnce())
+                .tailMessages(eq(STREAM), eq(21L), anyLong(), eq(StreamTailer.POLL_TIMEOUT_MILLIS));
+        assertEquals(1, tailer.getSubscriptionCount());
+        tailer.unsubscribeAll(conn);
+        assertEquals(0, tailer.getSubscriptionCount());
+    }
+
+    @Test
+    void GIVEN_rate_limit_WHEN_stream_is_tailed_THEN_reads_are_limited_to_the_rate() throws Exception {
+        when(streamManager.tailMessages(anyString(), anyLong(), anyLong(), anyLong()))
+                .thenThrow(NotEnoughMessagesException.class);
+        StreamTailer tailer = tailer();
+        tailer.setMessagesPerSecond(5);
+        tailer.subscribe(conn, STREAM, 0L);
+
+        verify(streamManager, timeout(5000).atLeastOnce())
+                .tailMessages(eq(STREAM), eq(0L), eq(5L), eq(StreamTailer.POLL_TIMEOUT_MILLIS));
+        tailer.unsubscribe(conn, STREAM);
+        assertEquals(0, tailer.getSubscriptionCount());
+    }
+
+    @Test
+    void GIVEN_many_idle_subscriptions_WHEN_tailed_on_one_thread_THEN_each_is_read_every_interval()
+            throws Exception {
+        Map<String, AtomicInteger> reads = new ConcurrentHashMap<>();
+        // Stream Manager waits as long as it is asked to before it answers that there is nothing new
+        doAnswer(invocation -> {
+            reads.computeIfAbsent(invocation.getArgument(0), k -> new AtomicInteger()).incrementAndGet();
+            Thread.sleep((long) invocation.getArgument(3));
+            return Collections.emptyList();
+        }).when(streamManager).tailMessages(anyString(), anyLong(), anyLong(), anyLong());
+        StreamTailer tailer = tailer();
+        int streams = 20;
+        for (int i = 0; i < streams; i++) {
+            tailer.subscribe(conn, STREAM + i, 0L);
+        }
+
+        // waiting reads would take the single thread streams * interval to get around once
+        long deadline = System.currentTimeMillis() + 4 * StreamTailer.IDLE_POLL_INTERVAL_MILLIS;
+        while (System.currentTimeMillis() < deadline && (reads.size() < streams
+                || reads.values().stream().anyMatch(count -> count.get() < 2))) {
+            Thread.sleep(50);
+        }
+        assertEquals(streams, reads.size());
+        assertTrue(reads.values().stream().allMatch(count -> count.get() >= 2), reads::toString);
+        tailer.unsubscribeAll(conn);
+    }
+
+    @Test
+    void GIVEN_missing_stream_WHEN_tailed_THEN_error_is_pushed_once() throws Exception {
+        when(streamManager.describeStream(STREAM)).thenThrow(StreamManagerException.class);
+        StreamTailer tailer = tailer();
+        tailer.subscribe(conn, STREAM, null);
+
+        StreamMessageBatch batch = pushed.poll(5, TimeUnit.SECONDS);
+        assertNotNull(batch);
+        assertNotNull(batch.getErrorMsg());
+        assertEquals(0, batch.getMessages().size());
+        verify(streamManager, atLeastOnce()).describeStream(STREAM);
+        // retries are spaced out and not reported again
+        assertNull(pushed.poll(500, TimeUnit.MILLISECONDS));
+        tailer.unsubscribeAll(conn);
+    }
+}
@@ -0,0 +1,51 @@
+/*
+ * Copyright Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package com.aws.greengrass.localdebugconsole;
+
+import com.aws.greengrass.testcommons.testutilities.GGExtension;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+
+import java.util.HashMap;
+import java.util.Map;
+import javax.net.ssl.SSLSession;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(GGExtension.class)
+class TlsStatsTest {
+
+    @Test
+    void GIVEN_session_seen_before_WHEN_recorded_again_THEN_it_counts_as_resumed() {
+        TlsStats stats = new TlsStats();
+        assertEquals(0, stats.getResumptionRatio());
+
+        SSLSession first = session();
+        stats.record(first);
+        stats.record(first);
+        stats.record(first);
+        stats.record(session());
+        stats.record(null);
+
+        assertEquals(2, stats.getFullHandshakes());
+        assertEquals(2, stats.getResumedHandshakes());
+        assertEquals(0.5, stats.getResumptionRatio());
+    }
+
+    private static SSLSession session() {
+        Map<String, Object> values = new HashMap<>();
+        SSLSession session = mock(SSLSession.class);
+        when(session.getValue(anyString())).thenAnswer(invocation -> values.get(invocation.getArgument(0)));
+        doAnswer(invocation -> values.put(invocation.getArgument(0), invocation.getArgument(1))).when(session)
+                .putValue(anyString(), any());
+        return session;
+    }
+}
@@ -0,0 +1,85 @@
+/*
+ * Copyright Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package com.aws.greengrass.localdebugconsole;
+
+import com.aws.greengrass.lifecyclemanager.Kernel;
+import com.aws.greengrass.localdebugconsole.messageutils.Message;
+import com.aws.greengrass.localdebugconsole.messageutils.MessageType;
+import com.aws.greengrass.localdebugconsole.messageutils.StreamManagerResponseMessage;
+import com.aws.greengrass.logging.api.Logger;
+import com.aws.greengrass.logging.impl.LogManager;
+import com.aws.greengrass.testcommons.testutilities.GGExtension;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Compares the frame size and encode time of the JSON and CBOR wire formats for a Stream Manager read response,
+ * which is the largest and most binary-heavy message the dashboard sends.
+ */
+@ExtendWith(GGExtension.class)
+class WireFormatBenchmarkTest {
+    private static final Logger logger = LogManager.getLogger(Kernel.class);
+    private static final int MESSAGES = 100;
+    private static final int PAYLOAD_BYTES = 1024;
+    private static final int WARMUP_ITERATIONS = 200;
+    private static final int ITERATIONS = 1000;
+
+    private final ObjectMapper jsonMapper = new ObjectMapper();
+    private final ObjectMapper cborMapper = new ObjectMapper(new CBORFactory());
+
+    @Test
+    void GIVEN_stream_manager_read_response_WHEN_encoded_THEN_cbor_frame_is_smaller_than_json()
+            throws JsonProcessingException {
+        Random random = new Random(42);
+        List<com.amazonaws.greengrass.streammanager.model.Message> messages = new ArrayList<>(MESSAGES);
+        for (int i = 0; i < MESSAGES; i++) {
+            byte[] payload = new byte[PAYLOAD_BYTES];
+            random.nextBytes(payload);
+            messages.add(new com.amazonaws.greengrass.streammanager.model.Message().withStreamName("benchmark")
+                    .withSequenceNumber((long) i).withIngestTime(System.currentTimeMillis()).withPayload(payload));
+        }
+        StreamManagerResponseMessage response = new StreamManagerResponseMessage();
+        response.successful = true;
+        response.messagesList = messages;
+        Message msg = new Message(MessageType.RESPONSE, 1, response);
+
+        int jsonSize = jsonMapper.writeValueAsString(msg).getBytes().length;
+        int cborSize = cborMapper.writeValueAsBytes(msg).length;
+        long jsonNanos = timeEncode(() -> jsonMapper.writeValueAsString(msg));
+        long cborNanos = timeEncode(() -> cborMapper.writeValueAsBytes(msg));
+
+        logger.atInfo().kv("jsonBytes", jsonSize).kv("cborBytes", cborSize)
+                .kv("jsonMicrosPerEncode", jsonNanos / ITERATIONS / 1000)
+                .kv("cborMicrosPerEncode", cborNanos / ITERATIONS / 1000).log("Wire format benchmark");
+        // base64 inflates every payload by a third in JSON, CBOR carries it as a raw byte string
+        assertTrue(cborSize < jsonSize);
+        assertTrue(cborSize < MESSAGES * PAYLOAD_BYTES * 1.1);
+    }
+
+    private static long timeEncode(Encoder encoder) throws JsonProcessingException {
+        for (int i = 0; i < WARMUP_ITERATIONS; i++) {
+            encoder.encode();
+        }
+        long start = System.nanoTime();
+        for (int i = 0; i < ITERATIONS; i++) {
+            encoder.encode();
+        }
+        return System.nanoTime() - start;
+    }
+
+    private interface Encoder {
+        Object encode() throws JsonProcessingException;
+    }
+}
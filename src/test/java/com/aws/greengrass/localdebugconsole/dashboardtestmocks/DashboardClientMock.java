@@ -7,6 +7,7 @@ package com.aws.greengrass.localdebugconsole.dashboardtestmocks;
 
 import com.aws.greengrass.localdebugconsole.APICalls;
 import com.aws.greengrass.localdebugconsole.messageutils.ComponentItem;
+import com.aws.greengrass.localdebugconsole.messageutils.ComponentListDelta;
 import com.aws.greengrass.localdebugconsole.messageutils.DepGraphNode;
 import com.aws.greengrass.localdebugconsole.messageutils.Message;
 import com.aws.greengrass.localdebugconsole.messageutils.MessageType;
@@ -14,10 +15,13 @@ import com.aws.greengrass.localdebugconsole.messageutils.PackedRequest;
 import com.aws.greengrass.logging.api.Logger;
 import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
 import org.java_websocket.client.WebSocketClient;
 import org.java_websocket.handshake.ServerHandshake;
 
+import java.io.IOException;
 import java.net.URI;
+import java.nio.ByteBuffer;
 import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.Map;
@@ -29,39 +33,53 @@ import javax.annotation.Nullable;
 
 public class DashboardClientMock extends WebSocketClient {
     private final ObjectMapper jsonMapper = new ObjectMapper();
+    private final ObjectMapper cborMapper = new ObjectMapper(new CBORFactory());
     private final Logger logger;
+    private final boolean cbor;
 
     CompletableFuture<Object> connectionFuture = new CompletableFuture<>();
 
     public ArrayList<Message> responses = new ArrayList<>();
     public ArrayList<ComponentItem[]> listPushes = new ArrayList<>();
+    public ArrayList<ComponentListDelta> listDeltaPushes = new ArrayList<>();
     public ArrayList<DepGraphNode[]> depGraphPushes = new ArrayList<>();
     public ArrayList<ComponentItem> componentPushes = new ArrayList<>();
+    public ArrayList<ComponentItem[]> componentBatchPushes = new ArrayList<>();
     public ArrayList<Object> logPushes = new ArrayList<>();
 
     public Message latestResponse;
     public ComponentItem[] latestList;
+    public ComponentListDelta latestListDelta;
     public DepGraphNode[] latestDepGraph;
     public ComponentItem latestComponent;
     public Object latestLog;
+    public volatile int binaryFrames;
 
     public CountDownLatch responseLatch = new CountDownLatch(Integer.MAX_VALUE);
     public CountDownLatch listLatch = new CountDownLatch(Integer.MAX_VALUE);
+    public CountDownLatch listDeltaLatch = new CountDownLatch(Integer.MAX_VALUE);
     public CountDownLatch depGraphLatch = new CountDownLatch(Integer.MAX_VALUE);
     public CountDownLatch componentLatch = new CountDownLatch(Integer.MAX_VALUE);
+    public CountDownLatch componentBatchLatch = new CountDownLatch(Integer.MAX_VALUE);
     public CountDownLatch logLatch = new CountDownLatch(Integer.MAX_VALUE);
 
 
     Map<Long, CompletableFuture<Object>> openRequests = new HashMap<>();
 
     public DashboardClientMock(URI serverUri, Logger logger) {
+        this(serverUri, logger, false);
+    }
+
+    public DashboardClientMock(URI serverUri, Logger logger, boolean cbor) {
         super(serverUri);
         this.logger = logger;
+        this.cbor = cbor;
     }
 
     @Override
     public void onOpen(ServerHandshake serverHandshake) {
-        sendRequest(new PackedRequest(-1024, APICalls.init.name(), new String[]{"abc", "def"}));
+        String[] args = cbor ? new String[]{"abc", "def", "cbor"} : new String[]{"abc", "def"};
+        sendRequest(new PackedRequest(-1024, APICalls.init.name(), args));
     }
 
     public CompletableFuture<Object> init() {
@@ -78,6 +96,25 @@ public class DashboardClientMock extends WebSocketClient {
             logger.atError().setCause(e).log();
             return;
         }
+        onMessage(parsed);
+    }
+
+    @Override
+    public void onMessage(ByteBuffer bytes) {
+        binaryFrames++;
+        byte[] frame = new byte[bytes.remaining()];
+        bytes.get(frame);
+        Message parsed;
+        try {
+            parsed = cborMapper.readValue(frame, Message.class);
+        } catch (IOException e) {
+            logger.atError().setCause(e).log();
+            return;
+        }
+        onMessage(parsed);
+    }
+
+    private void onMessage(Message parsed) {
         switch (parsed.getMessageType()) {
             case MessageType.RESPONSE: {
                 responses.add(parsed);
@@ -97,6 +134,17 @@ public class DashboardClientMock extends WebSocketClient {
                 listLatch.countDown();
                 break;
             }
+            case MessageType.COMPONENT_LIST_DELTA: {
+                try {
+                    latestListDelta = jsonMapper.readValue(jsonMapper.writeValueAsString(parsed.getPayload()),
+                            ComponentListDelta.class);
+                } catch (JsonProcessingException e) {
+                    logger.atError().setCause(e).log();
+                }
+                listDeltaPushes.add(latestListDelta);
+                listDeltaLatch.countDown();
+                break;
+            }
             case MessageType.DEPS_GRAPH: {
                 try {
                     latestDepGraph = jsonMapper.readValue(jsonMapper.writeValueAsString(parsed.getPayload()),
@@ -119,6 +167,16 @@ public class DashboardClientMock extends WebSocketClient {
                 componentLatch.countDown();
                 break;
             }
+            case MessageType.COMPONENT_CHANGES: {
+                try {
+                    componentBatchPushes.add(jsonMapper.readValue(
+                            jsonMapper.writeValueAsString(parsed.getPayload()), ComponentItem[].class));
+                } catch (JsonProcessingException e) {
+                    logger.atError().setCause(e).log();
+                }
+                componentBatchLatch.countDown();
+                break;
+            }
             case MessageType.COMPONENT_LOGS: {
                 latestLog = parsed.getPayload();
                 logPushes.add(parsed.getPayload());
@@ -152,7 +210,11 @@ public class DashboardClientMock extends WebSocketClient {
         CompletableFuture<Object> handle = new CompletableFuture<>();
         openRequests.put(msg.requestID, handle);
         try {
-            send(jsonMapper.writeValueAsString(msg));
+            if (cbor) {
+                send(cborMapper.writeValueAsBytes(msg));
+            } else {
+                send(jsonMapper.writeValueAsString(msg));
+            }
         } catch (JsonProcessingException e) {
             logger.atError().setCause(e).log();
         }